@@ -46,6 +46,14 @@ public class AccumuloProperties extends StoreProperties {
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public static final String SPLITS_FILE_PATH = "accumulo.splits.file.path";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
+    public static final String SHARED_BATCH_WRITER = "accumulo.sharedBatchWriter";
+    public static final String INGEST_THREADS = "accumulo.ingest.threads";
+    public static final String INGEST_BATCH_SIZE = "accumulo.ingest.batchSize";
+    public static final String INGEST_QUEUE_SIZE = "accumulo.ingest.queueSize";
+    public static final String INGEST_PRE_AGGREGATE = "accumulo.ingest.preAggregate";
+    public static final String BATCH_SCANNER_PREFETCH_DEPTH = "accumulo.batchScannerPrefetchDepth";
+    public static final String BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT = "accumulo.batchScannerPrefetchIdleTimeoutInMilliseconds";
+    public static final String TARGET_RESULTS_PER_BATCH = "accumulo.targetResultsPerBatch";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
@@ -58,6 +66,14 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     private static final String SPLITS_FILE_PATH_DEFAULT = "/data/splits.txt";
+    private static final String SHARED_BATCH_WRITER_DEFAULT = "false";
+    private static final String INGEST_THREADS_DEFAULT = "1";
+    private static final String INGEST_BATCH_SIZE_DEFAULT = "1000";
+    private static final String INGEST_QUEUE_SIZE_DEFAULT = "10";
+    private static final String INGEST_PRE_AGGREGATE_DEFAULT = "true";
+    private static final String BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT = "0";
+    private static final String BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT_DEFAULT = "60000";
+    private static final String TARGET_RESULTS_PER_BATCH_DEFAULT = "500000";
 
     public AccumuloProperties() {
         super();
@@ -387,4 +403,178 @@ public class AccumuloProperties extends StoreProperties {
     public void setTableFileReplicationFactor(final String replicationFactor) {
         set(TABLE_REPLICATION_FACTOR, replicationFactor);
     }
+
+    /**
+     * Whether a single long lived batch writer should be shared by all calls
+     * to add elements. The shared batch writer is flushed at the end of each
+     * call and in the background according to the batch writer time out. It
+     * must be released by calling {@link AccumuloStore#close()}.
+     *
+     * @return true if a shared batch writer should be used
+     */
+    public boolean getSharedBatchWriter() {
+        return Boolean.parseBoolean(get(SHARED_BATCH_WRITER, SHARED_BATCH_WRITER_DEFAULT));
+    }
+
+    /**
+     * Set whether a single long lived batch writer should be shared by all
+     * calls to add elements.
+     *
+     * @param sharedBatchWriter true if a shared batch writer should be used
+     */
+    public void setSharedBatchWriter(final String sharedBatchWriter) {
+        set(SHARED_BATCH_WRITER, sharedBatchWriter);
+    }
+
+    /**
+     * Get the number of threads used to convert elements into mutations when
+     * adding elements. If this is 1 then elements are converted on the calling
+     * thread.
+     *
+     * @return the number of threads used to convert elements into mutations
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to convert elements into mutations when
+     * adding elements.
+     *
+     * @param ingestThreads the number of threads used to convert elements into mutations
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
+    /**
+     * Get the number of elements handed to an ingest thread at a time.
+     *
+     * @return the number of elements in each ingest batch
+     */
+    public int getIngestBatchSize() {
+        return Integer.parseInt(get(INGEST_BATCH_SIZE, INGEST_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of elements handed to an ingest thread at a time.
+     *
+     * @param ingestBatchSize the number of elements in each ingest batch
+     */
+    public void setIngestBatchSize(final String ingestBatchSize) {
+        set(INGEST_BATCH_SIZE, ingestBatchSize);
+    }
+
+    /**
+     * Get the maximum number of batches waiting to be converted. When the
+     * queue is full the thread adding elements blocks until a batch has been
+     * taken.
+     *
+     * @return the maximum number of batches waiting to be converted
+     */
+    public int getIngestQueueSize() {
+        return Integer.parseInt(get(INGEST_QUEUE_SIZE, INGEST_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of batches waiting to be converted.
+     *
+     * @param ingestQueueSize the maximum number of batches waiting to be converted
+     */
+    public void setIngestQueueSize(final String ingestQueueSize) {
+        set(INGEST_QUEUE_SIZE, ingestQueueSize);
+    }
+
+    /**
+     * Whether elements with the same key within an ingest batch should be
+     * aggregated, using the data schema aggregator, before they are written.
+     *
+     * @return true if elements should be aggregated within an ingest batch
+     */
+    public boolean getIngestPreAggregate() {
+        return Boolean.parseBoolean(get(INGEST_PRE_AGGREGATE, INGEST_PRE_AGGREGATE_DEFAULT));
+    }
+
+    /**
+     * Set whether elements with the same key within an ingest batch should be
+     * aggregated before they are written.
+     *
+     * @param ingestPreAggregate true if elements should be aggregated within an ingest batch
+     */
+    public void setIngestPreAggregate(final String ingestPreAggregate) {
+        set(INGEST_PRE_AGGREGATE, ingestPreAggregate);
+    }
+
+    /**
+     * Get the number of batches of seeds that are read ahead when retrieving
+     * elements for a list of seeds. Whilst the elements from one batch scanner
+     * are being consumed, the ranges for the next batches are created and
+     * their batch scanners are started in a background thread. A value of 0
+     * disables the read ahead so each batch scanner is only created once the
+     * previous one has been fully consumed. The read ahead is disabled by
+     * default; callers that enable it should close the iterators they do not
+     * consume fully, otherwise the read ahead scanners stay open until the
+     * prefetch idle timeout.
+     *
+     * @return the number of batches of seeds to read ahead
+     */
+    public int getBatchScannerPrefetchDepth() {
+        return Integer.parseInt(get(BATCH_SCANNER_PREFETCH_DEPTH, BATCH_SCANNER_PREFETCH_DEPTH_DEFAULT));
+    }
+
+    /**
+     * Set the number of batches of seeds that are read ahead when retrieving
+     * elements for a list of seeds.
+     *
+     * @param batchScannerPrefetchDepth the number of batches of seeds to read ahead
+     */
+    public void setBatchScannerPrefetchDepth(final String batchScannerPrefetchDepth) {
+        set(BATCH_SCANNER_PREFETCH_DEPTH, batchScannerPrefetchDepth);
+    }
+
+    /**
+     * Get the time that a read ahead batch waits to be consumed before the
+     * read ahead gives up. The read ahead thread then closes its batch
+     * scanners and stops, so an iterator that is abandoned without being
+     * closed does not hold them open forever. An iterator that carries on
+     * after this time has no more elements.
+     *
+     * @return the prefetch idle timeout in milliseconds
+     */
+    public long getBatchScannerPrefetchIdleTimeout() {
+        return Long.parseLong(get(BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT, BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT_DEFAULT));
+    }
+
+    /**
+     * Set the time that a read ahead batch waits to be consumed before the
+     * read ahead gives up.
+     *
+     * @param batchScannerPrefetchIdleTimeout the prefetch idle timeout in milliseconds
+     */
+    public void setBatchScannerPrefetchIdleTimeout(final String batchScannerPrefetchIdleTimeout) {
+        set(BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT, batchScannerPrefetchIdleTimeout);
+    }
+
+    /**
+     * Get the number of results that set based queries aim to retrieve from
+     * each batch of seeds. The number of seeds in each batch is adjusted from
+     * the number of results per seed in the previous batch, so seeds with a
+     * lot of edges are queried in smaller batches. The number of seeds in a
+     * batch never exceeds the maximum number of entries for the batch scanner.
+     *
+     * @return the target number of results per batch of seeds
+     */
+    public int getTargetResultsPerBatch() {
+        return Integer.parseInt(get(TARGET_RESULTS_PER_BATCH, TARGET_RESULTS_PER_BATCH_DEFAULT));
+    }
+
+    /**
+     * Set the number of results that set based queries aim to retrieve from
+     * each batch of seeds.
+     *
+     * @param targetResultsPerBatch the target number of results per batch of seeds
+     */
+    public void setTargetResultsPerBatch(final String targetResultsPerBatch) {
+        set(TARGET_RESULTS_PER_BATCH, targetResultsPerBatch);
+    }
 }
@@ -22,8 +22,11 @@ import static gaffer.store.StoreTrait.TRANSFORMATION;
 import static gaffer.store.StoreTrait.VALIDATION;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.ingest.IngestCounters;
+import gaffer.accumulostore.ingest.PipelinedElementWriter;
 import gaffer.accumulostore.key.AccumuloKeyPackage;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.operation.handler.AddElementsFromFileHandler;
 import gaffer.accumulostore.operation.handler.AddElementsHandler;
 import gaffer.accumulostore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
@@ -31,6 +34,7 @@ import gaffer.accumulostore.operation.handler.GetElementsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
 import gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
 import gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
+import gaffer.accumulostore.operation.impl.AddElementsFromFile;
 import gaffer.accumulostore.operation.impl.GetEdgesBetweenSets;
 import gaffer.accumulostore.operation.impl.GetEdgesInRanges;
 import gaffer.accumulostore.operation.impl.GetEdgesWithinSet;
@@ -38,6 +42,7 @@ import gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import gaffer.accumulostore.operation.impl.GetElementsInRanges;
 import gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import gaffer.accumulostore.operation.impl.GetEntitiesInRanges;
+import gaffer.accumulostore.retriever.SetRetrieverCounters;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.data.element.Element;
@@ -55,9 +60,13 @@ import gaffer.store.StoreProperties;
 import gaffer.store.StoreTrait;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.MultiTableBatchWriter;
 import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Mutation;
 import org.apache.accumulo.core.data.Value;
@@ -66,8 +75,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * An Accumulo Implementation of the Gaffer Framework
@@ -81,7 +96,23 @@ import java.util.Map;
 public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
     private static final List<StoreTrait> TRAITS = Arrays.asList(AGGREGATION, FILTERING, TRANSFORMATION, VALIDATION);
+    private static final ThreadFactory INGEST_THREAD_FACTORY = new ThreadFactory() {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = defaultFactory.newThread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+    private final IngestCounters ingestCounters = new IngestCounters();
+    private final SetRetrieverCounters setRetrieverCounters = new SetRetrieverCounters();
+    private final Set<String> existingTables = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
     private AccumuloKeyPackage keyPackage;
+    private volatile Connector connection;
+    private SharedBatchWriter sharedBatchWriter;
+    private ExecutorService ingestExecutor;
 
     @Override
     public void initialise(final DataSchema dataSchema, final StoreSchema storeSchema, final StoreProperties properties)
@@ -98,16 +129,60 @@ public class AccumuloStore extends Store {
     }
 
     /**
-     * Creates an Accumulo {@link org.apache.accumulo.core.client.Connector}
+     * Returns an Accumulo {@link org.apache.accumulo.core.client.Connector}
      * using the properties found in properties file associated with the
-     * AccumuloStore
+     * AccumuloStore. The connector is created on first use and then reused.
      *
-     * @return A new {@link Connector}
+     * @return A {@link Connector}
      * @throws StoreException if there is a failure to connect to accumulo.
      */
     public Connector getConnection() throws StoreException {
-        return TableUtils.getConnector(getProperties().getInstanceName(), getProperties().getZookeepers(),
-                    getProperties().getUserName(), getProperties().getPassword());
+        Connector conn = connection;
+        if (null == conn) {
+            synchronized (this) {
+                if (null == connection) {
+                    connection = TableUtils.getConnector(getProperties().getInstanceName(),
+                            getProperties().getZookeepers(), getProperties().getUserName(),
+                            getProperties().getPassword());
+                }
+                conn = connection;
+            }
+        }
+
+        return conn;
+    }
+
+    /**
+     * Shuts down the ingest threads and flushes and closes the shared batch writer, if they have been created.
+     * <p>
+     * A store that uses a shared batch writer or more than one ingest thread holds its threads and connections open
+     * until it is closed. Neither the
+     * {@link gaffer.store.Store} nor the {@code Graph} that wraps it has a close method, so whoever creates the store
+     * must call this method when they have finished adding elements. A store that is closed creates a new shared
+     * batch writer and ingest threads the next time elements are added. If elements are still being added when the store is closed, the
+     * last of those calls closes the batch writer when it finishes.
+     *
+     * @throws StoreException if the batch writer fails to close
+     */
+    public void close() throws StoreException {
+        final SharedBatchWriter shared;
+        synchronized (this) {
+            if (null != ingestExecutor) {
+                ingestExecutor.shutdown();
+                ingestExecutor = null;
+            }
+            shared = sharedBatchWriter;
+            sharedBatchWriter = null;
+            if (null == shared || shared.users > 0) {
+                return;
+            }
+        }
+
+        try {
+            shared.writer.close();
+        } catch (final MutationsRejectedException e) {
+            throw new StoreException("Accumulo batch writer failed to close", e);
+        }
     }
 
     @Override
@@ -124,6 +199,7 @@ public class AccumuloStore extends Store {
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
+        addOperationHandler(AddElementsFromFile.class, new AddElementsFromFileHandler());
         addOperationHandler(GetEdgesBetweenSets.class, new GetElementsBetweenSetsHandler());
         addOperationHandler(GetElementsBetweenSets.class, new GetElementsBetweenSetsHandler());
         addOperationHandler(GetEdgesInRanges.class, new GetElementsInRangesHandler());
@@ -160,24 +236,78 @@ public class AccumuloStore extends Store {
      * @throws StoreException failure to insert the elements into a table
      */
     public void addElements(final Iterable<Element> elements) throws StoreException {
-        TableUtils.ensureTableExists(this);
+        final String table = getProperties().getTable();
+        if (!existingTables.contains(table)) {
+            TableUtils.ensureTableExists(this);
+            existingTables.add(table);
+        }
         insertGraphElements(elements);
     }
 
     protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
-        // Create BatchWriter
-        final BatchWriter writer = TableUtils.createBatchWriter(this);
+        final long startTime = System.nanoTime();
+        try {
+            if (getProperties().getSharedBatchWriter()) {
+                insertGraphElementsWithSharedBatchWriter(elements);
+            } else {
+                final BatchWriter writer = TableUtils.createBatchWriter(this);
+                try {
+                    writeGraphElements(elements, writer);
+                } finally {
+                    try {
+                        writer.close();
+                    } catch (final MutationsRejectedException e) {
+                        LOGGER.warn("Accumulo batch writer failed to close", e);
+                    }
+                }
+            }
+        } finally {
+            ingestCounters.incrementIngestTime(System.nanoTime() - startTime);
+            LOGGER.debug("Finished adding elements: {}", ingestCounters);
+        }
+    }
+
+    @SuppressFBWarnings(value = "REC_CATCH_EXCEPTION", justification = "The shared batch writer must be released whatever is thrown")
+    private void insertGraphElementsWithSharedBatchWriter(final Iterable<Element> elements) throws StoreException {
+        final SharedBatchWriter shared = acquireSharedBatchWriter();
+        try {
+            writeGraphElements(elements, shared.getBatchWriter(getProperties().getTable()));
+        } catch (final Throwable e) {
+            // Release the batch writer without hiding the original exception.
+            try {
+                releaseSharedBatchWriter(shared);
+            } catch (final StoreException releaseException) {
+                e.addSuppressed(releaseException);
+            }
+            throw e;
+        }
+        releaseSharedBatchWriter(shared);
+    }
+
+    private void writeGraphElements(final Iterable<Element> elements, final BatchWriter writer)
+            throws StoreException {
+        if (getProperties().getIngestThreads() > 1) {
+            new PipelinedElementWriter(this, writer, getIngestExecutor(), ingestCounters).write(elements);
+        } else {
+            insertGraphElements(elements, writer);
+        }
+    }
+
+    private void insertGraphElements(final Iterable<Element> elements, final BatchWriter writer)
+            throws StoreException {
         // Loop through elements, convert to mutations, and add to
         // BatchWriter.as
         // The BatchWriter takes care of batching them up, sending them without
         // too high a latency, etc.
         for (final Element element : elements) {
+            ingestCounters.incrementElementsAdded(1);
             final Pair<Key> keys;
             try {
                 keys = keyPackage.getKeyConverter().getKeysFromElement(element);
             } catch (final AccumuloElementConversionException e) {
                 LOGGER.error("Failed to create an accumulo key from element of type " + element.getGroup()
                         + " when trying to insert elements");
+                ingestCounters.incrementElementsFailed(1);
                 continue;
             }
             final Value value;
@@ -186,6 +316,7 @@ public class AccumuloStore extends Store {
             } catch (final AccumuloElementConversionException e) {
                 LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup()
                         + " when trying to insert elements");
+                ingestCounters.incrementElementsFailed(1);
                 continue;
             }
             final Mutation m = new Mutation(keys.getFirst().getRow());
@@ -193,9 +324,13 @@ public class AccumuloStore extends Store {
                     new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
             try {
                 writer.addMutation(m);
+                ingestCounters.incrementMutationsWritten(1);
             } catch (final MutationsRejectedException e) {
                 LOGGER.error("Failed to create an accumulo key mutation");
+                ingestCounters.incrementElementsFailed(1);
                 continue;
+            } catch (final IllegalStateException e) {
+                throw new StoreException("Accumulo batch writer was closed whilst adding elements", e);
             }
             // If the GraphElement is a Vertex then there will only be 1 key,
             // and the second will be null.
@@ -207,18 +342,92 @@ public class AccumuloStore extends Store {
                         value);
                 try {
                     writer.addMutation(m2);
+                    ingestCounters.incrementMutationsWritten(1);
                 } catch (final MutationsRejectedException e) {
                     LOGGER.error("Failed to create an accumulo key mutation");
+                } catch (final IllegalStateException e) {
+                    throw new StoreException("Accumulo batch writer was closed whilst adding elements", e);
                 }
             }
         }
+    }
+
+    // The ingest threads are shared by all calls to add elements. Idle threads are reused and time out after a minute.
+    private synchronized ExecutorService getIngestExecutor() {
+        if (null == ingestExecutor) {
+            ingestExecutor = Executors.newCachedThreadPool(INGEST_THREAD_FACTORY);
+        }
+        return ingestExecutor;
+    }
+
+    private synchronized SharedBatchWriter acquireSharedBatchWriter() throws StoreException {
+        if (null == sharedBatchWriter) {
+            sharedBatchWriter = new SharedBatchWriter(
+                    getConnection().createMultiTableBatchWriter(TableUtils.getBatchWriterConfig(this)));
+        }
+        sharedBatchWriter.users++;
+        return sharedBatchWriter;
+    }
+
+    // Flushes the shared batch writer at the end of a call to add elements. A batch writer that has rejected mutations
+    // rejects everything added to it afterwards and cannot tell whose mutations were rejected, so it is replaced for
+    // new calls, every call that was using it fails and the last of those calls closes it.
+    private void releaseSharedBatchWriter(final SharedBatchWriter shared) throws StoreException {
+        MutationsRejectedException rejected = null;
         try {
-            writer.close();
+            shared.writer.flush();
         } catch (final MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+            rejected = e;
+        }
+
+        final boolean close;
+        synchronized (this) {
+            if (null != rejected) {
+                shared.failed = true;
+                if (shared == sharedBatchWriter) {
+                    sharedBatchWriter = null;
+                }
+            }
+            shared.users--;
+            close = 0 == shared.users && shared != sharedBatchWriter;
+        }
+
+        if (close) {
+            try {
+                shared.writer.close();
+            } catch (final MutationsRejectedException e) {
+                if (null == rejected) {
+                    rejected = e;
+                }
+                shared.failed = true;
+            }
+        }
+
+        if (shared.failed) {
+            throw new StoreException("The shared Accumulo batch writer rejected mutations, so elements added whilst it"
+                    + " was in use may not have been written", rejected);
         }
     }
 
+    /**
+     * Returns the counters describing the elements added to this AccumuloStore.
+     *
+     * @return the {@link IngestCounters} for this store
+     */
+    public IngestCounters getIngestCounters() {
+        return ingestCounters;
+    }
+
+    /**
+     * Returns the counters describing the set based queries run against this
+     * AccumuloStore, including the false positive rate of their Bloom filters.
+     *
+     * @return the {@link SetRetrieverCounters} for this store
+     */
+    public SetRetrieverCounters getSetRetrieverCounters() {
+        return setRetrieverCounters;
+    }
+
     /**
      * Returns the {@link gaffer.accumulostore.key.AccumuloKeyPackage} in use by
      * this AccumuloStore.
@@ -246,4 +455,25 @@ public class AccumuloStore extends Store {
     public boolean isValidationRequired() {
         return false;
     }
+
+    // A shared batch writer and the number of calls to add elements that are using it.
+    private static final class SharedBatchWriter {
+        private final MultiTableBatchWriter writer;
+        private int users;
+        private volatile boolean failed;
+
+        private SharedBatchWriter(final MultiTableBatchWriter writer) {
+            this.writer = writer;
+        }
+
+        private BatchWriter getBatchWriter(final String table) throws StoreException {
+            try {
+                return writer.getBatchWriter(table);
+            } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+                throw new StoreException("Failed to get a batch writer for table " + table, e);
+            } catch (final IllegalStateException e) {
+                throw new StoreException("Accumulo batch writer was closed whilst adding elements", e);
+            }
+        }
+    }
 }
@@ -34,6 +34,9 @@ public class MockAccumuloStore extends AccumuloStore {
 
     @Override
     public Connector getConnection() throws StoreException {
+        if (null != mockConnector) {
+            return mockConnector;
+        }
         try {
             mockConnector = mockAccumulo.getConnector("user", new PasswordToken("password"));
         } catch (AccumuloException | AccumuloSecurityException e) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.ingest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe counters describing the elements added to an
+ * {@link gaffer.accumulostore.AccumuloStore}. The counters are cumulative
+ * over the lifetime of the store.
+ */
+public class IngestCounters {
+    private final AtomicLong elementsAdded = new AtomicLong();
+    private final AtomicLong elementsAggregated = new AtomicLong();
+    private final AtomicLong elementsFailed = new AtomicLong();
+    private final AtomicLong mutationsWritten = new AtomicLong();
+    private final AtomicLong batchesConverted = new AtomicLong();
+    private final AtomicLong queueFullCount = new AtomicLong();
+    private final AtomicLong queueWaitNanos = new AtomicLong();
+    private final AtomicLong ingestNanos = new AtomicLong();
+
+    /**
+     * @return the number of elements passed to the store to be added
+     */
+    public long getElementsAdded() {
+        return elementsAdded.get();
+    }
+
+    /**
+     * @return the number of elements that were aggregated into another element with the same key before being written
+     */
+    public long getElementsAggregated() {
+        return elementsAggregated.get();
+    }
+
+    /**
+     * @return the number of elements that could not be converted or written
+     */
+    public long getElementsFailed() {
+        return elementsFailed.get();
+    }
+
+    /**
+     * @return the number of mutations handed to the batch writer
+     */
+    public long getMutationsWritten() {
+        return mutationsWritten.get();
+    }
+
+    /**
+     * @return the number of batches of elements converted by the ingest threads
+     */
+    public long getBatchesConverted() {
+        return batchesConverted.get();
+    }
+
+    /**
+     * @return the number of times a batch could not be queued straight away because the ingest queue was full
+     */
+    public long getQueueFullCount() {
+        return queueFullCount.get();
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent waiting for space in the ingest queue
+     */
+    public long getQueueWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(queueWaitNanos.get());
+    }
+
+    /**
+     * @return the total time, in milliseconds, spent adding elements
+     */
+    public long getIngestMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ingestNanos.get());
+    }
+
+    /**
+     * @return the average number of elements added per second whilst adding elements
+     */
+    public double getElementsPerSecond() {
+        final long nanos = ingestNanos.get();
+        if (0 == nanos) {
+            return 0;
+        }
+        return elementsAdded.get() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+    }
+
+    public void incrementElementsAdded(final long count) {
+        elementsAdded.addAndGet(count);
+    }
+
+    public void incrementElementsAggregated(final long count) {
+        elementsAggregated.addAndGet(count);
+    }
+
+    public void incrementElementsFailed(final long count) {
+        elementsFailed.addAndGet(count);
+    }
+
+    public void incrementMutationsWritten(final long count) {
+        mutationsWritten.addAndGet(count);
+    }
+
+    public void incrementBatchesConverted() {
+        batchesConverted.incrementAndGet();
+    }
+
+    public void incrementQueueFull(final long waitNanos) {
+        queueFullCount.incrementAndGet();
+        queueWaitNanos.addAndGet(waitNanos);
+    }
+
+    public void incrementIngestTime(final long nanos) {
+        ingestNanos.addAndGet(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "IngestCounters{"
+                + "elementsAdded=" + getElementsAdded()
+                + ", elementsAggregated=" + getElementsAggregated()
+                + ", elementsFailed=" + getElementsFailed()
+                + ", mutationsWritten=" + getMutationsWritten()
+                + ", batchesConverted=" + getBatchesConverted()
+                + ", queueFullCount=" + getQueueFullCount()
+                + ", queueWaitMillis=" + getQueueWaitMillis()
+                + ", ingestMillis=" + getIngestMillis()
+                + ", elementsPerSecond=" + getElementsPerSecond()
+                + '}';
+    }
+}
@@ -0,0 +1,566 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.ingest;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterators;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.IngestUtils;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.TableUtils;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.conf.AccumuloConfiguration;
+import org.apache.accumulo.core.conf.ConfigurationCopy;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.file.FileOperations;
+import org.apache.accumulo.core.file.FileSKVWriter;
+import org.apache.accumulo.core.file.rfile.RFile;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.Text;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A <code>LocalBulkImporter</code> bulk imports {@link Element}s into Accumulo without running a MapReduce job.
+ * <p>
+ * The calling thread converts the elements into keys and values and holds them in memory until the maximum number
+ * of entries is reached. The entries are then sorted, duplicate keys are aggregated and the sorted run is spilt to
+ * local disk as one file per tablet of the table. Once all the elements have been converted, a pool of writer
+ * threads merges the runs of each tablet, aggregates duplicate keys again and writes one RFile per tablet. The
+ * RFiles are then imported into the table with
+ * {@link org.apache.accumulo.core.client.admin.TableOperations#importDirectory(String, String, String, boolean)}.
+ * <p>
+ * Keys that only differ by timestamp are aggregated using the data schema aggregator, keeping the most recent
+ * timestamp, in the same way the table's aggregator iterator would combine them.
+ */
+public class LocalBulkImporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LocalBulkImporter.class);
+    private static final String SPILL_DIRECTORY_PREFIX = "gaffer-bulk-import-";
+    private static final String FILES_DIRECTORY = "files";
+    private static final String FAILURES_DIRECTORY = "failures";
+    private static final Comparator<Map.Entry<Key, Value>> KEY_COMPARATOR = new Comparator<Map.Entry<Key, Value>>() {
+        @Override
+        public int compare(final Map.Entry<Key, Value> entry, final Map.Entry<Key, Value> otherEntry) {
+            return entry.getKey().compareTo(otherEntry.getKey());
+        }
+    };
+
+    private final AccumuloStore store;
+    private final AccumuloElementConverter elementConverter;
+    private final DataSchema dataSchema;
+    private final IngestCounters counters;
+    private final int maxEntriesInMemory;
+    private final int numThreads;
+    private final Map<String, Boolean> groupsToAggregate = new ConcurrentHashMap<>();
+
+    public LocalBulkImporter(final AccumuloStore store, final int maxEntriesInMemory, final int numThreads) {
+        this.store = store;
+        this.elementConverter = store.getKeyPackage().getKeyConverter();
+        this.dataSchema = store.getDataSchema();
+        this.counters = store.getIngestCounters();
+        this.maxEntriesInMemory = Math.max(1, maxEntriesInMemory);
+        this.numThreads = Math.max(1, numThreads);
+    }
+
+    /**
+     * Sorts, aggregates and imports the elements. The files to import are written to a directory under the working
+     * path, which is deleted once the files have been imported. If any files fail to import they are left in the
+     * failures directory under the working path.
+     *
+     * @param elements    the elements to import
+     * @param workingPath the path to write the files to import to. This must not already exist.
+     * @throws StoreException if the elements cannot be written or imported
+     */
+    public void importElements(final Iterable<Element> elements, final Path workingPath) throws StoreException {
+        final long startTime = System.nanoTime();
+        TableUtils.ensureTableExists(store);
+        final String table = store.getProperties().getTable();
+        final Connector connector = store.getConnection();
+
+        File spillDirectory = null;
+        try {
+            final FileSystem fs = workingPath.getFileSystem(new Configuration());
+            if (fs.exists(workingPath)) {
+                throw new StoreException("Working path " + workingPath + " already exists");
+            }
+            final Path filesPath = new Path(workingPath, FILES_DIRECTORY);
+            final Path failuresPath = new Path(workingPath, FAILURES_DIRECTORY);
+
+            spillDirectory = Files.createTempDirectory(SPILL_DIRECTORY_PREFIX).toFile();
+            final List<Text> splits = new ArrayList<>(connector.tableOperations().listSplits(table));
+            Collections.sort(splits);
+            final List<Partition> partitions = sortElements(elements, splits, spillDirectory);
+
+            fs.mkdirs(filesPath);
+            fs.mkdirs(failuresPath);
+            writeFiles(partitions, fs, filesPath, getTableConfiguration(connector, table));
+            IngestUtils.setDirectoryPermsForAccumulo(fs, workingPath);
+
+            connector.tableOperations().importDirectory(table, filesPath.toString(), failuresPath.toString(), false);
+            if (fs.listStatus(failuresPath).length > 0) {
+                throw new StoreException("Some files failed to import into table " + table + ", see " + failuresPath);
+            }
+            fs.delete(workingPath, true);
+        } catch (final IOException | AccumuloException | AccumuloSecurityException | TableNotFoundException e) {
+            throw new StoreException("Failed to bulk import elements into table " + table, e);
+        } finally {
+            if (null != spillDirectory) {
+                deleteSpillDirectory(spillDirectory);
+            }
+            counters.incrementIngestTime(System.nanoTime() - startTime);
+            LOGGER.debug("Finished bulk importing elements: {}", counters);
+        }
+    }
+
+    /**
+     * Converts the elements into sorted and aggregated runs of entries. All but the last run are spilt to disk.
+     *
+     * @param elements       the elements to convert
+     * @param splits         the sorted split points of the table
+     * @param spillDirectory the directory to spill runs to
+     * @return the runs of entries for each tablet of the table
+     * @throws IOException if a run cannot be spilt
+     */
+    private List<Partition> sortElements(final Iterable<Element> elements, final List<Text> splits,
+                                         final File spillDirectory) throws IOException {
+        final List<Partition> partitions = new ArrayList<>(splits.size() + 1);
+        for (int i = 0; i <= splits.size(); i++) {
+            partitions.add(new Partition(i));
+        }
+
+        int numRuns = 0;
+        List<Map.Entry<Key, Value>> entries = new ArrayList<>();
+        for (final Element element : elements) {
+            counters.incrementElementsAdded(1);
+            final Pair<Key> keys;
+            final Value value;
+            try {
+                keys = elementConverter.getKeysFromElement(element);
+                value = elementConverter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error("Failed to create an accumulo key and value from element of type " + element.getGroup()
+                        + " when trying to bulk import elements", e);
+                counters.incrementElementsFailed(1);
+                continue;
+            }
+
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(keys.getFirst(), value));
+            // If the element is an Entity there will only be 1 key and the second will be null.
+            if (null != keys.getSecond()) {
+                entries.add(new AbstractMap.SimpleImmutableEntry<>(keys.getSecond(), value));
+            }
+
+            if (entries.size() >= maxEntriesInMemory) {
+                spill(sortAndAggregate(entries), splits, partitions, spillDirectory, numRuns++);
+                entries = new ArrayList<>();
+            }
+        }
+
+        // The last run is kept in memory
+        final List<Map.Entry<Key, Value>> lastRun = sortAndAggregate(entries);
+        final int[] partitionStarts = getPartitionStarts(lastRun, splits);
+        for (final Partition partition : partitions) {
+            partition.entries = lastRun.subList(partitionStarts[partition.index], partitionStarts[partition.index + 1]);
+        }
+
+        return partitions;
+    }
+
+    private List<Map.Entry<Key, Value>> sortAndAggregate(final List<Map.Entry<Key, Value>> entries) {
+        Collections.sort(entries, KEY_COMPARATOR);
+
+        final List<Map.Entry<Key, Value>> aggregatedEntries = new ArrayList<>(entries.size());
+        final EntryAggregator aggregator = new EntryAggregator();
+        for (final Map.Entry<Key, Value> entry : entries) {
+            final Map.Entry<Key, Value> completedEntry = aggregator.add(entry);
+            if (null != completedEntry) {
+                aggregatedEntries.add(completedEntry);
+            }
+        }
+        final Map.Entry<Key, Value> lastEntry = aggregator.finish();
+        if (null != lastEntry) {
+            aggregatedEntries.add(lastEntry);
+        }
+
+        return aggregatedEntries;
+    }
+
+    private void spill(final List<Map.Entry<Key, Value>> run, final List<Text> splits,
+                       final List<Partition> partitions, final File spillDirectory, final int runNumber)
+            throws IOException {
+        final int[] partitionStarts = getPartitionStarts(run, splits);
+        for (final Partition partition : partitions) {
+            final int start = partitionStarts[partition.index];
+            final int end = partitionStarts[partition.index + 1];
+            if (start < end) {
+                final File file = new File(spillDirectory, "run-" + runNumber + "-tablet-" + partition.index);
+                try (final DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(file)))) {
+                    for (final Map.Entry<Key, Value> entry : run.subList(start, end)) {
+                        entry.getKey().write(out);
+                        entry.getValue().write(out);
+                    }
+                }
+                partition.spillFiles.add(new SpillFile(file, end - start));
+            }
+        }
+        LOGGER.debug("Spilt run {} of {} entries to {}", runNumber, run.size(), spillDirectory);
+    }
+
+    /**
+     * Writes one RFile for each tablet that has entries, using a pool of threads.
+     *
+     * @param partitions the runs of entries for each tablet
+     * @param fs         the file system to write the files to
+     * @param filesPath  the directory to write the files to
+     * @param tableConf  the table configuration, used to configure the files
+     * @throws StoreException if a writer thread fails or the calling thread is interrupted
+     */
+    private void writeFiles(final List<Partition> partitions, final FileSystem fs, final Path filesPath,
+                            final AccumuloConfiguration tableConf) throws StoreException {
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        final List<Future<Long>> futures = new ArrayList<>(partitions.size());
+        for (final Partition partition : partitions) {
+            if (!partition.isEmpty()) {
+                final Path file = new Path(filesPath, String.format("tablet-%05d.%s", partition.index, RFile.EXTENSION));
+                futures.add(executor.submit(new TabletFileWriter(partition, fs, file, tableConf)));
+            }
+        }
+        executor.shutdown();
+
+        try {
+            for (final Future<Long> future : futures) {
+                counters.incrementMutationsWritten(future.get());
+            }
+        } catch (final InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst writing files to bulk import", e);
+        } catch (final ExecutionException e) {
+            executor.shutdownNow();
+            throw new StoreException("A writer thread failed whilst writing files to bulk import", e.getCause());
+        }
+    }
+
+    private AccumuloConfiguration getTableConfiguration(final Connector connector, final String table)
+            throws AccumuloException, TableNotFoundException {
+        final ConfigurationCopy tableConf = new ConfigurationCopy(AccumuloConfiguration.getDefaultConfiguration());
+        for (final Map.Entry<String, String> property : connector.tableOperations().getProperties(table)) {
+            tableConf.set(property.getKey(), property.getValue());
+        }
+
+        return tableConf;
+    }
+
+    private boolean shouldAggregate(final String group) {
+        Boolean shouldAggregate = groupsToAggregate.get(group);
+        if (null == shouldAggregate) {
+            final DataElementDefinition elementDef = dataSchema.getElement(group);
+            final ElementAggregator aggregator = null != elementDef ? elementDef.getAggregator() : null;
+            shouldAggregate = null != aggregator && null != aggregator.getFunctions()
+                    && !aggregator.getFunctions().isEmpty();
+            groupsToAggregate.put(group, shouldAggregate);
+        }
+
+        return shouldAggregate;
+    }
+
+    /**
+     * Works out where the entries of each tablet start in a sorted run of entries. The entries of tablet i are
+     * those from index starts[i] (inclusive) to starts[i + 1] (exclusive).
+     *
+     * @param run    the sorted run of entries
+     * @param splits the sorted split points of the table
+     * @return the start index of each tablet, followed by the size of the run
+     */
+    private static int[] getPartitionStarts(final List<Map.Entry<Key, Value>> run, final List<Text> splits) {
+        final int[] starts = new int[splits.size() + 2];
+        final Text row = new Text();
+        int nextPartition = 0;
+        for (int i = 0; i < run.size(); i++) {
+            final int partition = getPartition(run.get(i).getKey().getRow(row), splits);
+            while (nextPartition <= partition) {
+                starts[nextPartition++] = i;
+            }
+        }
+        while (nextPartition < starts.length) {
+            starts[nextPartition++] = run.size();
+        }
+
+        return starts;
+    }
+
+    /**
+     * @param row    the row
+     * @param splits the sorted split points of the table
+     * @return the index of the tablet the row belongs to. A tablet contains the rows after the previous split point,
+     * up to and including its own split point.
+     */
+    private static int getPartition(final Text row, final List<Text> splits) {
+        final int index = Collections.binarySearch(splits, row);
+        return index < 0 ? -index - 1 : index;
+    }
+
+    private static void deleteSpillDirectory(final File spillDirectory) {
+        final File[] files = spillDirectory.listFiles();
+        if (null != files) {
+            for (final File file : files) {
+                if (!file.delete()) {
+                    LOGGER.warn("Failed to delete spill file {}", file);
+                }
+            }
+        }
+        if (!spillDirectory.delete()) {
+            LOGGER.warn("Failed to delete spill directory {}", spillDirectory);
+        }
+    }
+
+    /**
+     * Aggregates consecutive entries of a sorted stream that have the same key, ignoring the timestamp. Each
+     * instance should only be used by a single thread.
+     */
+    private final class EntryAggregator {
+        private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        private Key key;
+        private Value value;
+        private String group;
+        private ElementAggregator aggregator;
+
+        /**
+         * @param entry the next entry
+         * @return the previous aggregated entry if the new entry has a different key, otherwise null
+         */
+        private Map.Entry<Key, Value> add(final Map.Entry<Key, Value> entry) {
+            if (null != key && key.equals(entry.getKey(), PartialKey.ROW_COLFAM_COLQUAL_COLVIS)) {
+                if (null == group) {
+                    group = key.getColumnFamily().toString();
+                }
+                if (shouldAggregate(group)) {
+                    // The entries are sorted by descending timestamp, so the first key is the most recent.
+                    aggregate(entry.getValue());
+                    return null;
+                }
+            }
+
+            final Map.Entry<Key, Value> completedEntry = finish();
+            key = entry.getKey();
+            value = entry.getValue();
+            return completedEntry;
+        }
+
+        /**
+         * @return the last aggregated entry, or null if there are no entries
+         */
+        private Map.Entry<Key, Value> finish() {
+            if (null == key) {
+                return null;
+            }
+
+            if (null != aggregator) {
+                final Properties properties = new Properties();
+                aggregator.state(properties);
+                try {
+                    value = elementConverter.getValueFromProperties(properties, group);
+                } catch (final AccumuloElementConversionException e) {
+                    throw new IllegalArgumentException("Failed to create an accumulo value from Properties", e);
+                }
+                aggregator = null;
+            }
+
+            final Map.Entry<Key, Value> entry = new AbstractMap.SimpleImmutableEntry<>(key, value);
+            key = null;
+            value = null;
+            group = null;
+            return entry;
+        }
+
+        private void aggregate(final Value newValue) {
+            try {
+                if (null == aggregator) {
+                    aggregator = aggregators.get(group);
+                    if (null == aggregator) {
+                        aggregator = dataSchema.getElement(group).getAggregator();
+                        aggregators.put(group, aggregator);
+                    }
+                    aggregator.initFunctions();
+                    aggregator.aggregate(elementConverter.getPropertiesFromValue(group, value));
+                }
+                aggregator.aggregate(elementConverter.getPropertiesFromValue(group, newValue));
+            } catch (final AccumuloElementConversionException e) {
+                throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
+            }
+        }
+    }
+
+    /**
+     * Merges the runs of a single tablet and writes them to an RFile.
+     */
+    private final class TabletFileWriter implements Callable<Long> {
+        private final Partition partition;
+        private final FileSystem fs;
+        private final Path file;
+        private final AccumuloConfiguration tableConf;
+
+        private TabletFileWriter(final Partition partition, final FileSystem fs, final Path file,
+                           final AccumuloConfiguration tableConf) {
+            this.partition = partition;
+            this.fs = fs;
+            this.file = file;
+            this.tableConf = tableConf;
+        }
+
+        @Override
+        public Long call() throws IOException {
+            final List<SpillFileIterator> spillFileIterators = new ArrayList<>(partition.spillFiles.size());
+            final FileSKVWriter writer = FileOperations.getInstance()
+                    .openWriter(file.toString(), fs, fs.getConf(), tableConf);
+            long numEntries = 0;
+            try {
+                final List<Iterator<Map.Entry<Key, Value>>> runs = new ArrayList<>(partition.spillFiles.size() + 1);
+                for (final SpillFile spillFile : partition.spillFiles) {
+                    final SpillFileIterator spillFileIterator = new SpillFileIterator(spillFile);
+                    spillFileIterators.add(spillFileIterator);
+                    runs.add(spillFileIterator);
+                }
+                runs.add(partition.entries.iterator());
+
+                writer.startDefaultLocalityGroup();
+                final EntryAggregator aggregator = new EntryAggregator();
+                final Iterator<Map.Entry<Key, Value>> entries = Iterators.mergeSorted(runs, KEY_COMPARATOR);
+                while (entries.hasNext()) {
+                    final Map.Entry<Key, Value> completedEntry = aggregator.add(entries.next());
+                    if (null != completedEntry) {
+                        writer.append(completedEntry.getKey(), completedEntry.getValue());
+                        numEntries++;
+                    }
+                }
+                final Map.Entry<Key, Value> lastEntry = aggregator.finish();
+                if (null != lastEntry) {
+                    writer.append(lastEntry.getKey(), lastEntry.getValue());
+                    numEntries++;
+                }
+            } finally {
+                writer.close();
+                for (final SpillFileIterator spillFileIterator : spillFileIterators) {
+                    spillFileIterator.close();
+                }
+            }
+
+            return numEntries;
+        }
+    }
+
+    /**
+     * The sorted runs of entries that belong to a single tablet of the table.
+     */
+    private static final class Partition {
+        private final int index;
+        private final List<SpillFile> spillFiles = new ArrayList<>();
+        private List<Map.Entry<Key, Value>> entries = Collections.emptyList();
+
+        private Partition(final int index) {
+            this.index = index;
+        }
+
+        private boolean isEmpty() {
+            return spillFiles.isEmpty() && entries.isEmpty();
+        }
+    }
+
+    private static final class SpillFile {
+        private final File file;
+        private final int numEntries;
+
+        private SpillFile(final File file, final int numEntries) {
+            this.file = file;
+            this.numEntries = numEntries;
+        }
+    }
+
+    private static final class SpillFileIterator extends AbstractIterator<Map.Entry<Key, Value>> implements Closeable {
+        private final DataInputStream in;
+        private int remaining;
+
+        private SpillFileIterator(final SpillFile spillFile) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile.file)));
+            this.remaining = spillFile.numEntries;
+        }
+
+        @Override
+        protected Map.Entry<Key, Value> computeNext() {
+            if (0 == remaining) {
+                return endOfData();
+            }
+
+            final Key key = new Key();
+            final Value value = new Value();
+            try {
+                key.readFields(in);
+                value.readFields(in);
+            } catch (final IOException e) {
+                throw new IllegalStateException("Failed to read from spill file", e);
+            }
+            remaining--;
+            return new AbstractMap.SimpleImmutableEntry<>(key, value);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
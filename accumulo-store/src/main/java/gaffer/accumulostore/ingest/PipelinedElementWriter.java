@@ -0,0 +1,318 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.ingest;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A <code>PipelinedElementWriter</code> adds {@link Element}s to Accumulo using threads from the store's ingest
+ * {@link ExecutorService}. The calling thread splits the elements into batches and puts them on a bounded queue,
+ * blocking when the queue is full. Each ingest thread takes batches from the queue, converts the elements into
+ * {@link Mutation}s and adds them to a single shared {@link BatchWriter}. An element that fails to convert is
+ * counted as failed and the rest of its batch is still written.
+ * <p>
+ * If pre-aggregation is enabled, elements within a batch that have the same key (ignoring the timestamp) are
+ * aggregated using the data schema aggregator before they are written, in the same way the table's
+ * aggregator iterator would combine them.
+ */
+public class PipelinedElementWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelinedElementWriter.class);
+    private static final List<Element> END_OF_ELEMENTS = new ArrayList<>(0);
+
+    private final AccumuloElementConverter elementConverter;
+    private final DataSchema dataSchema;
+    private final BatchWriter writer;
+    private final ExecutorService executor;
+    private final IngestCounters counters;
+    private final int numThreads;
+    private final int batchSize;
+    private final int queueSize;
+    private final boolean preAggregate;
+    private final Map<String, Boolean> groupsToAggregate = new ConcurrentHashMap<>();
+    private volatile StoreException failure;
+
+    public PipelinedElementWriter(final AccumuloStore store, final BatchWriter writer, final ExecutorService executor,
+                                  final IngestCounters counters) {
+        this.elementConverter = store.getKeyPackage().getKeyConverter();
+        this.dataSchema = store.getDataSchema();
+        this.writer = writer;
+        this.executor = executor;
+        this.counters = counters;
+        this.numThreads = Math.max(1, store.getProperties().getIngestThreads());
+        this.batchSize = Math.max(1, store.getProperties().getIngestBatchSize());
+        this.queueSize = Math.max(1, store.getProperties().getIngestQueueSize());
+        this.preAggregate = store.getProperties().getIngestPreAggregate();
+    }
+
+    /**
+     * Converts the elements into mutations and adds them to the batch writer. This method returns once all the
+     * elements have been added to the batch writer; it does not flush or close the batch writer.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if the ingest threads or the batch writer fail or the calling thread is interrupted
+     */
+    public void write(final Iterable<Element> elements) throws StoreException {
+        final BlockingQueue<List<Element>> queue = new ArrayBlockingQueue<>(queueSize);
+        final List<Future<?>> futures = new ArrayList<>(numThreads);
+        try {
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(new BatchConverter(queue)));
+            }
+
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() == batchSize) {
+                    enqueue(queue, batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                enqueue(queue, batch);
+            }
+            for (int i = 0; i < numThreads; i++) {
+                enqueue(queue, END_OF_ELEMENTS);
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+            if (null != failure) {
+                throw failure;
+            }
+        } catch (final InterruptedException e) {
+            cancel(futures);
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } catch (final ExecutionException e) {
+            cancel(futures);
+            throw new StoreException("An ingest thread failed whilst adding elements", e.getCause());
+        } catch (final RejectedExecutionException e) {
+            cancel(futures);
+            throw new StoreException("The store was closed whilst adding elements", e);
+        } catch (final RuntimeException e) {
+            cancel(futures);
+            throw e;
+        }
+    }
+
+    private void cancel(final List<Future<?>> futures) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+    }
+
+    private void enqueue(final BlockingQueue<List<Element>> queue, final List<Element> batch)
+            throws InterruptedException {
+        if (!queue.offer(batch)) {
+            final long startTime = System.nanoTime();
+            queue.put(batch);
+            counters.incrementQueueFull(System.nanoTime() - startTime);
+        }
+        if (END_OF_ELEMENTS != batch) {
+            counters.incrementElementsAdded(batch.size());
+        }
+    }
+
+    private void writeBatch(final List<Element> batch) throws StoreException {
+        final List<Mutation> mutations = new ArrayList<>(batch.size() * 2);
+        final Map<Key, PendingKeyValue> pendingKeyValues = new LinkedHashMap<>();
+        for (final Element element : batch) {
+            final Pair<Key> keys;
+            final Value value;
+            try {
+                keys = elementConverter.getKeysFromElement(element);
+                value = elementConverter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException | RuntimeException e) {
+                LOGGER.error("Failed to create an accumulo key and value from element of type " + element.getGroup()
+                        + " when trying to insert elements", e);
+                counters.incrementElementsFailed(1);
+                continue;
+            }
+
+            if (preAggregate && shouldAggregate(element.getGroup())) {
+                final Key keyWithoutTimestamp = new Key(keys.getFirst());
+                keyWithoutTimestamp.setTimestamp(Long.MAX_VALUE);
+                final PendingKeyValue pending = pendingKeyValues.get(keyWithoutTimestamp);
+                if (null == pending) {
+                    pendingKeyValues.put(keyWithoutTimestamp, new PendingKeyValue(element.getGroup(), keys, value));
+                } else {
+                    try {
+                        pending.aggregate(keys, value);
+                        counters.incrementElementsAggregated(1);
+                    } catch (final AccumuloElementConversionException | RuntimeException e) {
+                        LOGGER.error("Failed to aggregate element of type " + element.getGroup()
+                                + " when trying to insert elements", e);
+                        counters.incrementElementsFailed(1);
+                    }
+                }
+            } else {
+                addMutations(keys, value, mutations);
+            }
+        }
+
+        for (final PendingKeyValue pending : pendingKeyValues.values()) {
+            try {
+                addMutations(pending.keys, pending.getValue(), mutations);
+            } catch (final AccumuloElementConversionException | RuntimeException e) {
+                LOGGER.error("Failed to create an accumulo value from aggregated elements of type " + pending.group
+                        + " when trying to insert elements", e);
+                counters.incrementElementsFailed(1);
+            }
+        }
+
+        try {
+            writer.addMutations(mutations);
+            counters.incrementMutationsWritten(mutations.size());
+        } catch (final MutationsRejectedException e) {
+            LOGGER.error("Failed to add accumulo key mutations", e);
+            counters.incrementElementsFailed(batch.size());
+        } catch (final IllegalStateException e) {
+            throw new StoreException("Accumulo batch writer was closed whilst adding elements", e);
+        }
+        counters.incrementBatchesConverted();
+    }
+
+    private void addMutations(final Pair<Key> keys, final Value value, final List<Mutation> mutations) {
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the element is an Entity there will only be 1 key and the second will be null.
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+    }
+
+    private Mutation createMutation(final Key key, final Value value) {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()),
+                key.getTimestamp(), value);
+        return mutation;
+    }
+
+    private boolean shouldAggregate(final String group) {
+        Boolean shouldAggregate = groupsToAggregate.get(group);
+        if (null == shouldAggregate) {
+            final DataElementDefinition elementDef = dataSchema.getElement(group);
+            final ElementAggregator aggregator = null != elementDef ? elementDef.getAggregator() : null;
+            shouldAggregate = null != aggregator && null != aggregator.getFunctions()
+                    && !aggregator.getFunctions().isEmpty();
+            groupsToAggregate.put(group, shouldAggregate);
+        }
+
+        return shouldAggregate;
+    }
+
+    private final class PendingKeyValue {
+        private final String group;
+        private Pair<Key> keys;
+        private Value value;
+        private ElementAggregator aggregator;
+
+        private PendingKeyValue(final String group, final Pair<Key> keys, final Value value) {
+            this.group = group;
+            this.keys = keys;
+            this.value = value;
+        }
+
+        private void aggregate(final Pair<Key> newKeys, final Value newValue)
+                throws AccumuloElementConversionException {
+            if (null == aggregator) {
+                aggregator = dataSchema.getElement(group).getAggregator();
+                aggregator.aggregate(elementConverter.getPropertiesFromValue(group, value));
+            }
+            aggregator.aggregate(elementConverter.getPropertiesFromValue(group, newValue));
+
+            // Keep the most recent key, as the aggregator iterator would.
+            if (newKeys.getFirst().getTimestamp() > keys.getFirst().getTimestamp()) {
+                keys = newKeys;
+            }
+        }
+
+        private Value getValue() throws AccumuloElementConversionException {
+            if (null != aggregator) {
+                final Properties properties = new Properties();
+                aggregator.state(properties);
+                value = elementConverter.getValueFromProperties(properties, group);
+                aggregator = null;
+            }
+
+            return value;
+        }
+    }
+
+    private final class BatchConverter implements Runnable {
+        private final BlockingQueue<List<Element>> queue;
+
+        private BatchConverter(final BlockingQueue<List<Element>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final List<Element> batch = queue.take();
+                    if (END_OF_ELEMENTS == batch) {
+                        return;
+                    }
+                    // Once the batch writer has failed, keep taking batches so the calling thread is not blocked.
+                    if (null != failure) {
+                        counters.incrementElementsFailed(batch.size());
+                        continue;
+                    }
+                    try {
+                        writeBatch(batch);
+                    } catch (final StoreException e) {
+                        failure = e;
+                        counters.incrementElementsFailed(batch.size());
+                    } catch (final RuntimeException e) {
+                        LOGGER.error("Failed to write a batch of " + batch.size() + " elements", e);
+                        counters.incrementElementsFailed(batch.size());
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
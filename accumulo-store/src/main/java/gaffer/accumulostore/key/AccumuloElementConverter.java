@@ -149,6 +149,37 @@ public interface AccumuloElementConverter {
     Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Returns an {@link Element} whose identifiers are populated from the {@link Key} but whose
+     * properties are only deserialised from the {@link Key} and {@link Value} when they are first requested.
+     * The returned element holds references to the key and value so it should not be used after
+     * they have been modified.
+     *
+     * @param key     the accumulo Key containing serialised parts of the Element
+     * @param value   the accumulo Value containing serialised properties of the Element
+     * @param options operation options
+     * @return Returns a lazily loaded {@link Element}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyFullElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException;
+
+    /**
+     * Returns an {@link Element} of the given group whose identifiers are not populated and whose properties are
+     * only deserialised from the {@link Key} and {@link Value} when they are first requested. This avoids decoding
+     * the row key when only the properties of the element are needed, for example when filtering on properties.
+     * The returned element holds references to the key and value so it should not be used after
+     * they have been modified.
+     *
+     * @param group the group of the Element, as stored in the column family of the key
+     * @param key   the accumulo Key containing serialised parts of the Element
+     * @param value the accumulo Value containing serialised properties of the Element
+     * @return Returns a lazily loaded {@link Element} without identifiers
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyElementWithoutIdentifiers(final String group, final Key key, final Value value)
+            throws AccumuloElementConversionException;
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link gaffer.operation.data.EntitySeed} ) with the Identifier
@@ -22,7 +22,7 @@ import gaffer.accumulostore.operation.AbstractRangeOperation;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.GetOperation;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 
 /**
  * The iterator settings factory is designed to enable the AccumuloStore to
@@ -37,14 +37,14 @@ public interface IteratorSettingFactory {
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on their
      * vertices membership in a given
-     * {@link org.apache.hadoop.util.bloom.BloomFilter} to a
+     * {@link BlockedBloomFilter} to a
      * {@link org.apache.accumulo.core.client.Scanner}.
      *
      * @param filter the bloom filter
-     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link BloomFilter}
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link BlockedBloomFilter}
      * @throws IteratorSettingException if an iterator setting could not be created
      */
-    IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
+    IteratorSetting getBloomFilterIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException;
 
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
@@ -83,13 +83,17 @@ public interface IteratorSettingFactory {
 
     /**
      * Returns an Iterator that will aggregate values at query time this is to
-     * be used for the summarise option on getElement queries.
+     * be used for the summarise option on getElement queries. Elements are
+     * only summarised together if the group by properties in the {@link View}
+     * are equal.
      *
+     * @param view  the operation view
      * @param store the accumulo store
      * @return A new {@link IteratorSetting} for an Iterator that will aggregate elements at query time on the {@link gaffer.data.elementdefinition.schema.DataSchema}
      * @throws IteratorSettingException if an iterator setting could not be created
      */
-    IteratorSetting getQueryTimeAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException;
+    IteratorSetting getQueryTimeAggregatorIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException;
 
     /**
      * Returns an Iterator to be applied when doing
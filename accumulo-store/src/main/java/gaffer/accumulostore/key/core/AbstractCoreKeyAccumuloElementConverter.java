@@ -22,12 +22,19 @@ import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.accumulostore.utils.StorePositions;
+import gaffer.accumulostore.utils.ValueFormatUtils;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.element.ElementValueLoader;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.BufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.SerialisationUtils;
 import gaffer.store.schema.StoreElementDefinition;
 import gaffer.store.schema.StorePropertyDefinition;
 import gaffer.store.schema.StoreSchema;
@@ -35,24 +42,34 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.io.BytesWritable;
 import org.apache.hadoop.io.MapWritable;
-import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
-import org.apache.hadoop.io.WritableUtils;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
-    static final byte[] DELIMITER_ARRAY = new byte[]{0};
+    /**
+     * Buffers reused by each thread to hold unescaped bytes while keys are read, so these do not need to be
+     * allocated for every key.
+     */
+    private static final ThreadLocal<ByteArrayBuffer> UNESCAPE_BUFFERS = new ThreadLocal<ByteArrayBuffer>() {
+        @Override
+        protected ByteArrayBuffer initialValue() {
+            return new ByteArrayBuffer();
+        }
+    };
+    private static final int MAX_REUSED_BUFFER_SIZE = 1 << 16;
+
     protected final StoreSchema storeSchema;
+    private final Map<String, List<String>> valuePropertyNamesByGroup = new ConcurrentHashMap<>();
+    private final Map<String, ColumnQualifierCodec> columnQualifierCodecsByGroup = new ConcurrentHashMap<>();
 
     public AbstractCoreKeyAccumuloElementConverter(final StoreSchema storeSchema) {
         this.storeSchema = storeSchema;
@@ -106,25 +123,57 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Value getValueFromProperties(final Properties properties, final String group)
             throws AccumuloElementConversionException {
-        final MapWritable map = new MapWritable();
-        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
-            final String propertyName = entry.getKey();
-            final StorePropertyDefinition propertyDefinition = storeSchema.getElement(group).getProperty(propertyName);
-            if (propertyDefinition != null) {
-                if (StorePositions.VALUE.isEqual(propertyDefinition.getPosition())) {
-                    try {
-                        map.put(new Text(propertyName),
-                                new BytesWritable(propertyDefinition.getSerialiser().serialise(entry.getValue())));
-                    } catch (final SerialisationException e) {
-                        throw new AccumuloElementConversionException("Failed to serialise property " + propertyName, e);
-                    }
+        final StoreElementDefinition elementDefinition = getStoreElementDefinition(group);
+        final List<String> valuePropertyNames = getValuePropertyNames(group, elementDefinition);
+
+        // Serialise all the properties into one buffer, recording where each one ends.
+        final ByteArrayBuffer serialisedProperties = new ByteArrayBuffer();
+        final int[] ends = new int[valuePropertyNames.size()];
+        int numPropertiesToWrite = 0;
+        int size = 1;
+        for (int i = 0; i < ends.length; i++) {
+            final String propertyName = valuePropertyNames.get(i);
+            final Object property = properties.get(propertyName);
+            if (null != property) {
+                final int start = serialisedProperties.getLength();
+                try {
+                    SerialisationUtils.serialise(elementDefinition.getProperty(propertyName).getSerialiser(), property,
+                            serialisedProperties);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException("Failed to serialise property " + propertyName, e);
                 }
+                ends[i] = serialisedProperties.getLength();
+                final int length = ends[i] - start;
+                size += ValueFormatUtils.getVarIntSize(length + 1) + length;
+                numPropertiesToWrite = i + 1;
+            } else {
+                ends[i] = -1;
+                size++;
             }
         }
-        if (map.isEmpty()) {
+        if (0 == numPropertiesToWrite) {
             return new Value();
         }
-        return new Value(WritableUtils.toByteArray(map));
+
+        // Properties that are not set after the last set property are not written.
+        size -= ends.length - numPropertiesToWrite;
+        final byte[] bytes = new byte[size];
+        bytes[0] = ValueFormatUtils.VERSION_1;
+        int position = 1;
+        int start = 0;
+        for (int i = 0; i < numPropertiesToWrite; i++) {
+            if (ends[i] < 0) {
+                position = ValueFormatUtils.writeVarInt(0, bytes, position);
+            } else {
+                final int length = ends[i] - start;
+                position = ValueFormatUtils.writeVarInt(length + 1, bytes, position);
+                System.arraycopy(serialisedProperties.getBytes(), start, bytes, position, length);
+                position += length;
+                start = ends[i];
+            }
+        }
+
+        return new Value(bytes, false);
     }
 
     @Override
@@ -135,27 +184,128 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value)
             throws AccumuloElementConversionException {
+        if (value == null || value.getSize() == 0) {
+            return new Properties();
+        }
+
+        final StoreElementDefinition elementDefinition = getStoreElementDefinition(group);
+        final byte[] bytes = value.get();
+        if (ValueFormatUtils.VERSION_1 == bytes[0]) {
+            return getPropertiesFromSchemaOrderedValue(group, elementDefinition, bytes);
+        }
+        if (ValueFormatUtils.LEGACY_MAP_WRITABLE == bytes[0]) {
+            return getPropertiesFromMapWritableValue(elementDefinition, bytes);
+        }
+
+        throw new AccumuloElementConversionException("Unrecognised value format version " + bytes[0]);
+    }
+
+    private Properties getPropertiesFromSchemaOrderedValue(final String group,
+                                                           final StoreElementDefinition elementDefinition,
+                                                           final byte[] bytes)
+            throws AccumuloElementConversionException {
         final Properties properties = new Properties();
+        final List<String> valuePropertyNames = getValuePropertyNames(group, elementDefinition);
+        final int[] position = {1};
+        for (int i = 0; i < valuePropertyNames.size() && position[0] < bytes.length; i++) {
+            final String propertyName = valuePropertyNames.get(i);
+            final int length = readPropertyLength(propertyName, bytes, position);
+            if (length < 0) {
+                continue;
+            }
+
+            properties.put(propertyName, deserialiseValueProperty(elementDefinition, propertyName, bytes, position[0], length));
+            position[0] += length;
+        }
+
+        return properties;
+    }
+
+    /**
+     * Deserialises a single property from an Accumulo {@link Value}. Only the bytes of the requested
+     * property are deserialised; the other properties in the value are skipped over.
+     *
+     * @param group        the element group
+     * @param propertyName the name of the property to deserialise
+     * @param value        the Accumulo value
+     * @return the property, or null if it is not stored in the value
+     * @throws AccumuloElementConversionException if the value cannot be read
+     */
+    public Object getPropertyFromValue(final String group, final String propertyName, final Value value)
+            throws AccumuloElementConversionException {
         if (value == null || value.getSize() == 0) {
-            return properties;
+            return null;
+        }
+
+        final StoreElementDefinition elementDefinition = getStoreElementDefinition(group);
+        final byte[] bytes = value.get();
+        if (ValueFormatUtils.VERSION_1 != bytes[0]) {
+            return getPropertiesFromValue(group, value).get(propertyName);
+        }
+
+        final int index = getValuePropertyNames(group, elementDefinition).indexOf(propertyName);
+        if (index < 0) {
+            return null;
         }
+
+        final int[] position = {1};
+        for (int i = 0; position[0] < bytes.length; i++) {
+            final int length = readPropertyLength(propertyName, bytes, position);
+            if (i == index) {
+                return length < 0 ? null : deserialiseValueProperty(elementDefinition, propertyName, bytes, position[0], length);
+            }
+            if (length > 0) {
+                position[0] += length;
+            }
+        }
+
+        return null;
+    }
+
+    private int readPropertyLength(final String propertyName, final byte[] bytes, final int[] position)
+            throws AccumuloElementConversionException {
+        final int length;
+        try {
+            length = ValueFormatUtils.readVarInt(bytes, position) - 1;
+        } catch (final IllegalArgumentException e) {
+            throw new AccumuloElementConversionException("Failed to read the length of a property from value", e);
+        }
+        if (position[0] + length > bytes.length) {
+            throw new AccumuloElementConversionException("Value is too short to contain property " + propertyName);
+        }
+
+        return length;
+    }
+
+    private Object deserialiseValueProperty(final StoreElementDefinition elementDefinition, final String propertyName,
+                                            final byte[] bytes, final int offset, final int length)
+            throws AccumuloElementConversionException {
+        try {
+            return SerialisationUtils.deserialise(elementDefinition.getProperty(propertyName).getSerialiser(),
+                    bytes, offset, length);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+        }
+    }
+
+    private Properties getPropertiesFromMapWritableValue(final StoreElementDefinition elementDefinition,
+                                                         final byte[] bytes)
+            throws AccumuloElementConversionException {
+        final Properties properties = new Properties();
         final MapWritable map = new MapWritable();
-        try (final InputStream inStream = new ByteArrayInputStream(value.get());
+        try (final InputStream inStream = new ByteArrayInputStream(bytes);
              final DataInputStream dataStream = new DataInputStream(inStream)) {
             map.readFields(dataStream);
         } catch (final IOException e) {
             throw new AccumuloElementConversionException("Failed to read map writable from value", e);
         }
-        final StoreElementDefinition elementDefinition = storeSchema.getElement(group);
-        if (null == elementDefinition) {
-            throw new AccumuloElementConversionException("No StoreElementDefinition found for group " + group + " is this group in your Store Schema or do your table iterators need updating?");
-        }
         for (final Writable writeableKey : map.keySet()) {
             final String propertyName = writeableKey.toString();
             final BytesWritable propertyValueBytes = (BytesWritable) map.get(writeableKey);
             try {
-                properties.put(propertyName, elementDefinition.getProperty(propertyName).getSerialiser()
-                        .deserialise(propertyValueBytes.getBytes()));
+                properties.put(propertyName, SerialisationUtils.deserialise(
+                        elementDefinition.getProperty(propertyName).getSerialiser(),
+                        propertyValueBytes.getBytes(), 0, propertyValueBytes.getLength()));
             } catch (final SerialisationException e) {
                 throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
             }
@@ -171,11 +321,9 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Element getElementFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
-        final boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
-        if (keyRepresentsEntity) {
-            return getEntityFromKey(key);
-        }
-        return getEdgeFromKey(key, options);
+        final Element element = getElementIdentifiersFromKey(key, options);
+        addPropertiesToElement(element, key);
+        return element;
     }
 
     @Override
@@ -191,6 +339,31 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return element;
     }
 
+    @Override
+    public Element getLazyFullElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        final Element element = getElementIdentifiersFromKey(key, options);
+        final ElementValueLoader loader = new CoreKeyElementValueLoader(this, element.getGroup(),
+                getStoreElementDefinition(element.getGroup()), key, value);
+        if (element instanceof Entity) {
+            return new LazyEntity((Entity) element, loader);
+        }
+
+        return new LazyEdge((Edge) element, loader);
+    }
+
+    @Override
+    public Element getLazyElementWithoutIdentifiers(final String group, final Key key, final Value value)
+            throws AccumuloElementConversionException {
+        final ElementValueLoader loader = new CoreKeyElementValueLoader(this, group,
+                getStoreElementDefinition(group), key, value);
+        if (storeSchema.isEntity(group)) {
+            return new LazyEntity(new Entity(group), loader);
+        }
+
+        return new LazyEdge(new Edge(group), loader);
+    }
+
     @Override
     public byte[] buildColumnFamily(final String group) throws AccumuloElementConversionException {
         try {
@@ -249,7 +422,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 final Serialisation serialiser = property.getSerialiser();
                 try {
                     properties.put(propertyName,
-                            serialiser.deserialise(ByteArrayEscapeUtils.unEscape(columnVisibility)));
+                            deserialiseEscaped(serialiser, columnVisibility, 0, columnVisibility.length));
                 } catch (final SerialisationException e) {
                     throw new AccumuloElementConversionException(e.getMessage(), e);
                 }
@@ -262,61 +435,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties)
             throws AccumuloElementConversionException {
-        final StoreElementDefinition elDef = storeSchema.getElement(group);
-        if (elDef == null) {
-            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
-        }
-        Boolean first = true;
-        final List<byte[]> bytes = new ArrayList<>();
-        int totalLength = 0;
-        byte[] byteHolder;
-        for (final String propertyName : elDef.getProperties()) {
-            final StorePropertyDefinition property = elDef.getProperty(propertyName);
-            if (StorePositions.COLUMN_QUALIFIER.isEqual(property.getPosition())) {
-                final Object value = properties.get(propertyName);
-                if (value != null) {
-                    if (!first) {
-                        totalLength += 1;
-                        bytes.add(DELIMITER_ARRAY);
-                    }
-                    try {
-                        byteHolder = ByteArrayEscapeUtils.escape(propertyName.getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-                    } catch (final UnsupportedEncodingException e) {
-                        throw new AccumuloElementConversionException(
-                                "Failed to serialise Value for property " + propertyName, e);
-                    }
-                    bytes.add(byteHolder);
-                    totalLength += byteHolder.length + 1;
-                    bytes.add(DELIMITER_ARRAY);
-                    final Serialisation serialiser = property.getSerialiser();
-                    if (serialiser == null) {
-                        try {
-                            bytes.add(value.toString().getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-                        } catch (final UnsupportedEncodingException e) {
-                            throw new AccumuloElementConversionException(
-                                    "Failed to serialise Value for property " + propertyName, e);
-                        }
-                    } else {
-                        try {
-                            byteHolder = ByteArrayEscapeUtils.escape(property.getSerialiser().serialise(value));
-                            bytes.add(byteHolder);
-                            totalLength += byteHolder.length;
-                        } catch (final SerialisationException e) {
-                            throw new AccumuloElementConversionException(
-                                    "Failed to serialise Value for property " + propertyName, e);
-                        }
-                    }
-                    first = false;
-                }
-            }
-        }
-        final byte[] returnArr = new byte[totalLength];
-        int currentLength = 0;
-        for (final byte[] byteArr : bytes) {
-            System.arraycopy(byteArr, 0, returnArr, currentLength, byteArr.length);
-            currentLength += byteArr.length;
-        }
-        return returnArr;
+        return getColumnQualifierCodec(group).encode(properties);
     }
 
     @Override
@@ -326,62 +445,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         if (keyPortion == null || keyPortion.length == 0) {
             return result;
         }
-        final StoreElementDefinition elDef = storeSchema.getElement(group);
-        final List<Integer> positionsOfDelimiters = new ArrayList<>();
-        for (int i = 0; i < keyPortion.length; i++) {
-            if (keyPortion[i] == ByteArrayEscapeUtils.DELIMITER) {
-                positionsOfDelimiters.add(i);
-            }
-        }
-        final Iterator<Integer> delimiters = positionsOfDelimiters.iterator();
-        String propertyName;
-        Object propertyValue;
-        if (delimiters.hasNext()) {
-            Integer last = delimiters.next();
-            try {
-                propertyName = new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, 0, last)),
-                        AccumuloStoreConstants.UTF_8_CHARSET);
-            } catch (final UnsupportedEncodingException e) {
-                throw new AccumuloElementConversionException("Failed to get properties from column qualifier", e);
-            }
-            int nextPos;
-            if (delimiters.hasNext()) {
-                nextPos = delimiters.next();
-            } else {
-                nextPos = keyPortion.length;
-            }
-            try {
-                propertyValue = elDef.getProperty(propertyName).getSerialiser()
-                        .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, last + 1, nextPos)));
-            } catch (final SerialisationException e) {
-                throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-            }
-            last = nextPos;
-            result.put(propertyName, propertyValue);
-            while (delimiters.hasNext()) {
-                try {
-                    propertyName = new String(
-                            ByteArrayEscapeUtils
-                                    .unEscape(Arrays.copyOfRange(keyPortion, last + 1, last = delimiters.next())),
-                            AccumuloStoreConstants.UTF_8_CHARSET);
-                } catch (final UnsupportedEncodingException e) {
-                    throw new AccumuloElementConversionException(e.getMessage(), e);
-                }
-                if (delimiters.hasNext()) {
-                    nextPos = delimiters.next();
-                } else {
-                    nextPos = keyPortion.length;
-                }
-                try {
-                    propertyValue = elDef.getProperty(propertyName).getSerialiser().deserialise(
-                            ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, last + 1, nextPos)));
-                } catch (final SerialisationException e) {
-                    throw new AccumuloElementConversionException("Failed to serialise property " + propertyName, e);
-                }
-                result.put(propertyName, propertyValue);
-                last = nextPos;
-            }
-        }
+        getColumnQualifierCodec(group).decode(keyPortion, result);
         return result;
     }
 
@@ -428,12 +492,42 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected abstract boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException;
 
+    /**
+     * @param key the Accumulo key
+     * @return an Entity containing the group and vertex from the key, without any properties
+     * @throws AccumuloElementConversionException if the key cannot be converted
+     */
     protected abstract Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException;
 
+    /**
+     * Finds the serialised source and destination in a row key. The positions are returned as offsets into the row
+     * key so the vertices can be deserialised without copying them out of the key.
+     *
+     * @param rowKey                     the row key
+     * @param sourceDestinationPositions populated with the start and end (exclusive) of the escaped source and then
+     *                                   the start and end of the escaped destination
+     * @param options                    the operation options
+     * @return true if the edge is directed
+     * @throws AccumuloElementConversionException if the row key cannot be parsed
+     */
     protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey,
-                                                                 final byte[][] sourceValueDestinationValue, final Map<String, String> options)
+                                                                 final int[] sourceDestinationPositions, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Records the position of a vertex in a row key, for use in {@link #getSourceAndDestinationFromRowKey}.
+     *
+     * @param sourceDestinationPositions the positions of the source and destination
+     * @param index                      0 for the source or 1 for the destination
+     * @param start                      the start of the escaped vertex in the row key
+     * @param end                        the end (exclusive) of the escaped vertex in the row key
+     */
+    protected static void setVertexPositions(final int[] sourceDestinationPositions, final int index,
+                                             final int start, final int end) {
+        sourceDestinationPositions[2 * index] = start;
+        sourceDestinationPositions[2 * index + 1] = end;
+    }
+
     protected boolean selfEdge(final Edge edge) {
         return edge.getSource().equals(edge.getDestination());
     }
@@ -451,10 +545,84 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return storeSchema.getVertexSerialiser();
     }
 
+    /**
+     * Deserialises an escaped range of a byte array. If the range contains escaped bytes and the serialiser can read
+     * part of an array then it is unescaped into a reused buffer, otherwise the range is deserialised in place.
+     *
+     * @param serialiser the serialiser to use
+     * @param bytes      the array containing the escaped serialised bytes
+     * @param offset     the start of the escaped bytes
+     * @param length     the number of escaped bytes
+     * @return the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    protected Object deserialiseEscaped(final Serialisation serialiser, final byte[] bytes, final int offset,
+                                        final int length) throws SerialisationException {
+        return deserialiseEscaped(serialiser, bytes, offset, length,
+                ByteArrayEscapeUtils.needsUnEscaping(bytes, offset, length));
+    }
+
+    /**
+     * Serialises a vertex with the vertex serialiser. The bytes are not escaped.
+     *
+     * @param vertex the vertex to serialise
+     * @return the serialised vertex
+     * @throws AccumuloElementConversionException if the vertex fails to serialise
+     */
+    protected byte[] serialiseVertex(final Object vertex) throws AccumuloElementConversionException {
+        try {
+            return getVertexSerialiser().serialise(vertex);
+        } catch (final SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to serialise vertex", e);
+        }
+    }
+
+    /**
+     * Deserialises an escaped range of a byte array that is already known to contain escaped bytes or not.
+     *
+     * @param serialiser the serialiser to use
+     * @param bytes      the array containing the escaped serialised bytes
+     * @param offset     the start of the escaped bytes
+     * @param length     the number of escaped bytes
+     * @param escaped    true if the range contains escaped bytes
+     * @return the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    static Object deserialiseEscaped(final Serialisation serialiser, final byte[] bytes, final int offset,
+                                     final int length, final boolean escaped) throws SerialisationException {
+        if (!escaped) {
+            return SerialisationUtils.deserialise(serialiser, bytes, offset, length);
+        }
+
+        if (!(serialiser instanceof BufferSerialisation)) {
+            // The serialiser needs an array of its own, so unescape straight into one of the right length.
+            return serialiser.deserialise(ByteArrayEscapeUtils.unEscape(bytes, offset, length));
+        }
+
+        final ByteArrayBuffer unEscaped = UNESCAPE_BUFFERS.get();
+        unEscaped.reset();
+        ByteArrayEscapeUtils.unEscape(bytes, offset, length, unEscaped);
+        try {
+            return ((BufferSerialisation) serialiser).deserialise(unEscaped.getBytes(), 0, unEscaped.getLength());
+        } finally {
+            if (unEscaped.getBytes().length > MAX_REUSED_BUFFER_SIZE) {
+                // Don't keep hold of unusually large buffers
+                UNESCAPE_BUFFERS.remove();
+            }
+        }
+    }
+
+    /**
+     * @param key     the Accumulo key
+     * @param options the operation options
+     * @return an Edge containing the group, source, destination and directed flag from the key, without any properties
+     * @throws AccumuloElementConversionException if the key cannot be converted
+     */
     protected Edge getEdgeFromKey(final Key key, final Map<String, String> options)
             throws AccumuloElementConversionException {
-        final byte[][] result = new byte[3][];
-        final boolean directed = getSourceAndDestinationFromRowKey(key.getRowData().getBackingArray(), result, options);
+        final byte[] rowKey = key.getRowData().getBackingArray();
+        final int[] positions = new int[4];
+        final boolean directed = getSourceAndDestinationFromRowKey(rowKey, positions, options);
         String group;
         try {
             group = new String(key.getColumnFamilyData().getBackingArray(), AccumuloStoreConstants.UTF_8_CHARSET);
@@ -462,37 +630,81 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             throw new AccumuloElementConversionException(e.getMessage(), e);
         }
         try {
-            final Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]),
-                    getVertexSerialiser().deserialise(result[1]), directed);
-            addPropertiesToElement(edge, key);
+            final Edge edge = new Edge(group,
+                    deserialiseEscaped(getVertexSerialiser(), rowKey, positions[0], positions[1] - positions[0]),
+                    deserialiseEscaped(getVertexSerialiser(), rowKey, positions[2], positions[3] - positions[2]),
+                    directed);
             return edge;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Edge from key", e);
         }
     }
 
-    protected byte[] getSerialisedSource(final Edge edge) throws AccumuloElementConversionException {
+    protected String getGroupFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            return ByteArrayEscapeUtils.escape(getVertexSerialiser().serialise(edge.getSource()));
-        } catch (final SerialisationException e) {
-            throw new AccumuloElementConversionException("Failed to serialise Edge Source", e);
+            return new String(key.getColumnFamilyData().getBackingArray(), AccumuloStoreConstants.UTF_8_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new AccumuloElementConversionException("Failed to get element group from key", e);
         }
     }
 
-    protected byte[] getSerialisedDestination(final Edge edge) throws AccumuloElementConversionException {
-        try {
-            return ByteArrayEscapeUtils.escape(getVertexSerialiser().serialise(edge.getDestination()));
-        } catch (final SerialisationException e) {
-            throw new AccumuloElementConversionException("Failed to serialise Edge Destination", e);
+    private Element getElementIdentifiersFromKey(final Key key, final Map<String, String> options)
+            throws AccumuloElementConversionException {
+        if (doesKeyRepresentEntity(key.getRowData().getBackingArray())) {
+            return getEntityFromKey(key);
         }
+        return getEdgeFromKey(key, options);
     }
 
-    protected String getGroupFromKey(final Key key) throws AccumuloElementConversionException {
-        try {
-            return new String(key.getColumnFamilyData().getBackingArray(), AccumuloStoreConstants.UTF_8_CHARSET);
-        } catch (final UnsupportedEncodingException e) {
-            throw new AccumuloElementConversionException("Failed to get element group from key", e);
+    private StoreElementDefinition getStoreElementDefinition(final String group)
+            throws AccumuloElementConversionException {
+        final StoreElementDefinition elementDefinition = storeSchema.getElement(group);
+        if (null == elementDefinition) {
+            throw new AccumuloElementConversionException("No StoreElementDefinition found for group " + group + " is this group in your Store Schema or do your table iterators need updating?");
+        }
+
+        return elementDefinition;
+    }
+
+    /**
+     * @param group the element group
+     * @return the codec for the properties of the group stored in the column qualifier, compiled from the schema the
+     * first time it is needed
+     * @throws AccumuloElementConversionException if the group is not in the schema
+     */
+    protected ColumnQualifierCodec getColumnQualifierCodec(final String group)
+            throws AccumuloElementConversionException {
+        ColumnQualifierCodec codec = columnQualifierCodecsByGroup.get(group);
+        if (null == codec) {
+            final StoreElementDefinition elDef = storeSchema.getElement(group);
+            if (elDef == null) {
+                throw new AccumuloElementConversionException("No element definition found for element class: " + group);
+            }
+            codec = new ColumnQualifierCodec(elDef);
+            columnQualifierCodecsByGroup.put(group, codec);
+        }
+
+        return codec;
+    }
+
+    /**
+     * @param group             the element group
+     * @param elementDefinition the store element definition for the group
+     * @return the names of the properties stored in the Accumulo value, in the order they are written
+     */
+    private List<String> getValuePropertyNames(final String group, final StoreElementDefinition elementDefinition) {
+        List<String> valuePropertyNames = valuePropertyNamesByGroup.get(group);
+        if (null == valuePropertyNames) {
+            valuePropertyNames = new ArrayList<>();
+            for (final Map.Entry<String, StorePropertyDefinition> entry : elementDefinition.getPropertyMap().entrySet()) {
+                if (StorePositions.VALUE.isEqual(entry.getValue().getPosition())) {
+                    valuePropertyNames.add(entry.getKey());
+                }
+            }
+            valuePropertyNamesByGroup.put(group, valuePropertyNames);
         }
+
+        return valuePropertyNames;
     }
 
     private long buildTimestamp(final Element element) throws AccumuloElementConversionException {
@@ -24,16 +24,16 @@ import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.impl.AggregatorIterator;
 import gaffer.accumulostore.key.impl.ElementFilter;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
 import gaffer.data.elementdefinition.view.View;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 
 public abstract class AbstractCoreKeyIteratorSettingsFactory implements IteratorSettingFactory {
     private static final String ELEMENT_FILTER_CLASS_NAME = ElementFilter.class.getName();
 
     @Override
-    public IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException {
+    public IteratorSetting getBloomFilterIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException {
         return new IteratorSettingBuilder(AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_PRIORITY,
                 AccumuloStoreConstants.BLOOM_FILTER_ITERATOR_NAME, CoreKeyBloomFilterIterator.class).bloomFilter(filter).build();
     }
@@ -64,12 +64,17 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
     }
 
     @Override
-    public IteratorSetting getQueryTimeAggregatorIteratorSetting(final AccumuloStore store)
+    public IteratorSetting getQueryTimeAggregatorIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
+        try {
+            CoreKeyColumnQualifierVisibilityValueAggregatorIterator.validateGroupBy(view, store.getStoreSchema());
+        } catch (final IllegalArgumentException e) {
+            throw new IteratorSettingException(e.getMessage(), e);
+        }
         return new IteratorSettingBuilder(AccumuloStoreConstants.QUERY_TIME_AGGREGATOR_PRIORITY,
                 AccumuloStoreConstants.QUERY_TIME_AGGREGATION_ITERATOR_NAME,
                 CoreKeyColumnQualifierVisibilityValueAggregatorIterator.class).all().dataSchema(store.getDataSchema())
-                .storeSchema(store.getStoreSchema()).keyConverter(store.getKeyPackage().getKeyConverter())
+                .storeSchema(store.getStoreSchema()).view(view).keyConverter(store.getKeyPackage().getKeyConverter())
                 .build();
     }
 
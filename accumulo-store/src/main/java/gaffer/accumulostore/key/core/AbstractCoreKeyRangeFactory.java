@@ -19,19 +19,43 @@ package gaffer.accumulostore.key.core;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.RangeFactory;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.data.element.ElementComponentKey;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.exception.SerialisationException;
+import gaffer.function.FilterFunction;
+import gaffer.function.RangeFilter;
+import gaffer.function.context.ConsumerFunctionContext;
 import gaffer.operation.GetOperation;
 import gaffer.operation.GetOperation.IncludeEdgeType;
 import gaffer.operation.GetOperation.SeedMatchingType;
 import gaffer.operation.data.EdgeSeed;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
+import gaffer.serialisation.OrderPreservingSerialisation;
+import gaffer.serialisation.Serialisation;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.PartialKey;
 import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.WritableComparator;
+import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public abstract class AbstractCoreKeyRangeFactory implements RangeFactory {
+    /**
+     * The column qualifier codecs used to narrow entity ranges, compiled from the store schema the first time each
+     * group is looked up rather than for every seed.
+     */
+    private final Map<String, ColumnQualifierCodec> columnQualifierCodecsByGroup = new ConcurrentHashMap<>();
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
     @Override
@@ -90,6 +114,181 @@ public abstract class AbstractCoreKeyRangeFactory implements RangeFactory {
         return new Range(min.getStartKey(), max.getEndKey());
     }
 
+    /**
+     * Gets ranges that only cover the entities in an entity row that could pass the filters in the operation's view.
+     * <p>
+     * The column qualifier of an entity starts with its first column qualifier property, so when that property is
+     * serialised with an {@link OrderPreservingSerialisation} the bounds of any {@link RangeFilter}s on it can be
+     * turned into a range of column qualifiers. Two ranges are returned for each entity group in the view: one over
+     * the column qualifiers in the current format and one over any non empty column qualifiers in the legacy
+     * format, which cannot be narrowed down. The filters are still applied to the entities in these ranges.
+     *
+     * @param entityRowKey the row key of the entities
+     * @param operation    the operation
+     * @param storeSchema  the store schema
+     * @param <T>          the type of operation
+     * @return the ranges, or null if the entities cannot be narrowed down by the view.
+     * @throws RangeFactoryException if a range could not be created
+     */
+    protected <T extends GetOperation<?, ?>> List<Range> getEntityRanges(final byte[] entityRowKey, final T operation,
+            final StoreSchema storeSchema) throws RangeFactoryException {
+        final View view = operation.getView();
+        if (null == view || null == view.getEntities() || view.getEntities().isEmpty()) {
+            return null;
+        }
+
+        final List<Range> ranges = new ArrayList<>(2 * view.getEntities().size());
+        for (final Map.Entry<String, ViewEntityDefinition> entry : view.getEntities().entrySet()) {
+            final Range range = getEntityRange(entityRowKey, entry.getKey(), entry.getValue(), storeSchema);
+            if (null == range) {
+                return null;
+            }
+            ranges.add(getLegacyEntityRange(entityRowKey, entry.getKey()));
+            ranges.add(range);
+        }
+        return ranges;
+    }
+
+    private Range getEntityRange(final byte[] entityRowKey, final String group,
+            final ViewEntityDefinition viewElDef, final StoreSchema storeSchema) throws RangeFactoryException {
+        final StoreElementDefinition storeElDef = storeSchema.getElement(group);
+        if (null == storeElDef || null == viewElDef || null == viewElDef.getFilter()
+                || null == viewElDef.getFilter().getFunctions()) {
+            return null;
+        }
+
+        // Only the first property in the column qualifier can be used to narrow the range
+        ColumnQualifierCodec codec = columnQualifierCodecsByGroup.get(group);
+        if (null == codec) {
+            codec = new ColumnQualifierCodec(storeElDef);
+            columnQualifierCodecsByGroup.put(group, codec);
+        }
+        if (0 == codec.getNumProperties()) {
+            return null;
+        }
+        final String propertyName = codec.getPropertyName(0);
+        final Serialisation serialiser = codec.getSerialiser(0);
+        if (!(serialiser instanceof OrderPreservingSerialisation)) {
+            return null;
+        }
+
+        byte[] lowerBound = null;
+        boolean lowerBoundInclusive = true;
+        byte[] upperBound = null;
+        boolean upperBoundInclusive = true;
+        for (final ConsumerFunctionContext<ElementComponentKey, FilterFunction> context : viewElDef.getFilter().getFunctions()) {
+            final FilterFunction function = context.getFunction();
+            if (!(function instanceof RangeFilter) || function.isNot()
+                    || !isSelectedProperty(context.getSelection(), propertyName)) {
+                continue;
+            }
+
+            final RangeFilter rangeFilter = (RangeFilter) function;
+            final byte[] lower = serialiseBound(serialiser, rangeFilter.getLowerBound());
+            if (null != lower) {
+                final int compare = null == lowerBound ? 1 : compareBytes(lower, lowerBound);
+                if (compare > 0 || (0 == compare && !rangeFilter.isLowerBoundInclusive())) {
+                    lowerBound = lower;
+                    lowerBoundInclusive = rangeFilter.isLowerBoundInclusive();
+                }
+            }
+            final byte[] upper = serialiseBound(serialiser, rangeFilter.getUpperBound());
+            if (null != upper) {
+                final int compare = null == upperBound ? -1 : compareBytes(upper, upperBound);
+                if (compare < 0 || (0 == compare && !rangeFilter.isUpperBoundInclusive())) {
+                    upperBound = upper;
+                    upperBoundInclusive = rangeFilter.isUpperBoundInclusive();
+                }
+            }
+        }
+
+        if (null == lowerBound && null == upperBound) {
+            return null;
+        }
+
+        // The column qualifier starts with the format byte and the escaped value of the first property, followed by a
+        // delimiter and the next property if there is one. Escaped values never contain the delimiter, so every column
+        // qualifier for a value sorts before the value followed by DELIMITER_PLUS_ONE. A null first property is an
+        // empty field, which sorts before the smallest non null value, ColumnQualifierCodec.EMPTY_VALUE.
+        final byte[] columnFamily = getColumnFamily(group);
+        final byte[] startColumnQualifier = null == lowerBound
+                ? new byte[]{ColumnQualifierCodec.VERSION_1, ColumnQualifierCodec.EMPTY_VALUE}
+                : withSuffix(lowerBound, lowerBoundInclusive ? null : ByteArrayEscapeUtils.DELIMITER_PLUS_ONE);
+        final Key startKey = new Key(entityRowKey, columnFamily, startColumnQualifier,
+                AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE);
+        if (null == upperBound) {
+            return new Range(startKey, true, new Key(entityRowKey, columnFamily, AccumuloStoreConstants.EMPTY_BYTES,
+                    AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE).followingKey(PartialKey.ROW_COLFAM), false);
+        }
+
+        final byte[] endColumnQualifier = withSuffix(upperBound,
+                upperBoundInclusive ? ByteArrayEscapeUtils.DELIMITER_PLUS_ONE : null);
+        if (compareBytes(startColumnQualifier, endColumnQualifier) >= 0) {
+            // The bounds do not overlap, so no entities in this group can pass the filter.
+            return new Range(startKey, true, startKey, true);
+        }
+        return new Range(startKey, true, new Key(entityRowKey, columnFamily, endColumnQualifier,
+                AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE), false);
+    }
+
+    // Non empty column qualifiers in the legacy format sort at or after ByteArrayEscapeUtils.DELIMITER and before
+    // ColumnQualifierCodec.VERSION_1. Empty column qualifiers have no column qualifier properties set, so like null
+    // first properties in the current format they are left out.
+    private static Range getLegacyEntityRange(final byte[] entityRowKey, final String group)
+            throws RangeFactoryException {
+        final byte[] columnFamily = getColumnFamily(group);
+        return new Range(new Key(entityRowKey, columnFamily, new byte[]{ByteArrayEscapeUtils.DELIMITER},
+                AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE), true,
+                new Key(entityRowKey, columnFamily, new byte[]{ColumnQualifierCodec.VERSION_1},
+                        AccumuloStoreConstants.EMPTY_BYTES, Long.MAX_VALUE), false);
+    }
+
+    private static byte[] getColumnFamily(final String group) throws RangeFactoryException {
+        try {
+            return group.getBytes(AccumuloStoreConstants.UTF_8_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new RangeFactoryException("Failed to create a range for group " + group, e);
+        }
+    }
+
+    private static boolean isSelectedProperty(final List<ElementComponentKey> selection, final String propertyName) {
+        if (null == selection || 1 != selection.size()) {
+            return false;
+        }
+        final ElementComponentKey key = selection.get(0);
+        return null != key && !key.isId() && propertyName.equals(key.getPropertyName());
+    }
+
+    @SuppressFBWarnings(value = "PZLA_PREFER_ZERO_LENGTH_ARRAYS", justification = "null means there is no bound")
+    private static byte[] serialiseBound(final Serialisation serialiser, final Comparable bound)
+            throws RangeFactoryException {
+        if (null == bound || !serialiser.canHandle(bound.getClass())) {
+            return null;
+        }
+        try {
+            final byte[] escaped = ByteArrayEscapeUtils.escape(serialiser.serialise(bound));
+            final byte[] columnQualifier = new byte[escaped.length + 1];
+            columnQualifier[0] = ColumnQualifierCodec.VERSION_1;
+            System.arraycopy(escaped, 0, columnQualifier, 1, escaped.length);
+            return columnQualifier;
+        } catch (final SerialisationException e) {
+            throw new RangeFactoryException("Failed to serialise filter bound " + bound, e);
+        }
+    }
+
+    private static byte[] withSuffix(final byte[] value, final Byte suffix) {
+        if (null == suffix) {
+            return value;
+        }
+        final byte[] bytes = Arrays.copyOf(value, value.length + 1);
+        bytes[value.length] = suffix;
+        return bytes;
+    }
+
+    private static int compareBytes(final byte[] first, final byte[] second) {
+        return WritableComparator.compareBytes(first, 0, first.length, second, 0, second.length);
+    }
+
     protected abstract <T extends GetOperation<?, ?>> Key getKeyFromEdgeSeed(final EdgeSeed seed, final T operation,
             final boolean endKey) throws RangeFactoryException;
 
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.EscapedFieldScanner;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.SerialisationUtils;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>ColumnQualifierCodec</code> encodes and decodes the properties of a single group that are stored in the
+ * Accumulo column qualifier. It is compiled once per group from the {@link StoreElementDefinition}.
+ * <p>
+ * A column qualifier starts with a single format byte. In {@link #VERSION_1} properties are stored by position
+ * rather than by name: the format byte is followed by the escaped serialised value of each column qualifier
+ * property, in schema order, separated by {@link ByteArrayEscapeUtils#DELIMITER}. A null property is stored as an
+ * empty field and null properties at the end are left out. The column qualifier of an element with no column
+ * qualifier properties set is empty, with no format byte. A property that serialises to no bytes is stored as a
+ * lone {@link #EMPTY_VALUE} byte, which is not a valid escaped sequence, unescapes to no bytes and sorts before every
+ * other non empty field. So every non null value is stored as a field that sorts at or after {@link #EMPTY_VALUE},
+ * in the same order as the serialised values.
+ * <p>
+ * As the properties are positional, new column qualifier properties must only be appended to the end of a group in
+ * the schema. Removing or reordering column qualifier properties changes the meaning of the bytes already stored,
+ * so requires the data to be rewritten.
+ * <p>
+ * Column qualifiers written by older versions of Gaffer are the escaped name and escaped value of each property that
+ * is set, all separated by {@link ByteArrayEscapeUtils#DELIMITER}. These start with the first byte of a UTF-8
+ * property name, or with the delimiter, so never with {@link #VERSION_1}, and can still be read. Entries in the old
+ * format are not combined with entries for the same element in the new format until the data is rewritten.
+ */
+public final class ColumnQualifierCodec {
+    public static final byte EMPTY_VALUE = ByteArrayEscapeUtils.DELIMITER_PLUS_ONE;
+
+    /**
+     * The first byte of a column qualifier holding positional properties. The byte 0xFF never occurs in UTF-8, so
+     * it cannot start a column qualifier in the legacy name and value format.
+     */
+    public static final byte VERSION_1 = (byte) 0xFF;
+
+    /**
+     * Buffers reused by each thread to hold a serialised property before it is escaped into the column qualifier.
+     */
+    private static final ThreadLocal<ByteArrayBuffer> SERIALISE_BUFFERS = new ThreadLocal<ByteArrayBuffer>() {
+        @Override
+        protected ByteArrayBuffer initialValue() {
+            return new ByteArrayBuffer();
+        }
+    };
+    private static final int MAX_REUSED_BUFFER_SIZE = 1 << 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final String[] propertyNames;
+    private final Serialisation[] serialisers;
+    private final Map<String, Integer> indicesByName = new HashMap<>();
+
+    public ColumnQualifierCodec(final StoreElementDefinition elementDefinition) {
+        final List<String> names = new ArrayList<>();
+        final List<Serialisation> serialiserList = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getProperties()) {
+            final StorePropertyDefinition propertyDef = elementDefinition.getProperty(propertyName);
+            if (StorePositions.COLUMN_QUALIFIER.isEqual(propertyDef.getPosition())) {
+                names.add(propertyName);
+                serialiserList.add(propertyDef.getSerialiser());
+            }
+        }
+        propertyNames = names.toArray(new String[names.size()]);
+        serialisers = serialiserList.toArray(new Serialisation[serialiserList.size()]);
+        for (int i = 0; i < propertyNames.length; i++) {
+            indicesByName.put(propertyNames[i], i);
+        }
+    }
+
+    /**
+     * @return the number of properties stored in the column qualifier
+     */
+    public int getNumProperties() {
+        return propertyNames.length;
+    }
+
+    /**
+     * @param index the position of the property in the column qualifier
+     * @return the name of the property at the given position
+     */
+    public String getPropertyName(final int index) {
+        return propertyNames[index];
+    }
+
+    /**
+     * @param index the position of the property in the column qualifier
+     * @return the serialiser of the property at the given position
+     */
+    public Serialisation getSerialiser(final int index) {
+        return serialisers[index];
+    }
+
+    /**
+     * Builds the column qualifier for the given properties. Each property is serialised and escaped straight into a
+     * single buffer.
+     *
+     * @param properties the properties of the element
+     * @return the column qualifier
+     * @throws AccumuloElementConversionException if a property fails to serialise
+     */
+    public byte[] encode(final Properties properties) throws AccumuloElementConversionException {
+        int numFields = propertyNames.length;
+        while (numFields > 0 && null == properties.get(propertyNames[numFields - 1])) {
+            numFields--;
+        }
+        if (0 == numFields) {
+            return new byte[0];
+        }
+
+        final ByteArrayBuffer columnQualifier = new ByteArrayBuffer();
+        columnQualifier.append(VERSION_1);
+        final ByteArrayBuffer serialised = SERIALISE_BUFFERS.get();
+        for (int i = 0; i < numFields; i++) {
+            if (i > 0) {
+                columnQualifier.append(ByteArrayEscapeUtils.DELIMITER);
+            }
+            final Object value = properties.get(propertyNames[i]);
+            if (null != value) {
+                serialised.reset();
+                try {
+                    SerialisationUtils.serialise(serialisers[i], value, serialised);
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException(
+                            "Failed to serialise Value for property " + propertyNames[i], e);
+                }
+                if (0 == serialised.getLength()) {
+                    columnQualifier.append(EMPTY_VALUE);
+                } else {
+                    ByteArrayEscapeUtils.escape(serialised.getBytes(), 0, serialised.getLength(), columnQualifier);
+                }
+            }
+        }
+        if (serialised.getBytes().length > MAX_REUSED_BUFFER_SIZE) {
+            // Don't keep hold of unusually large buffers
+            SERIALISE_BUFFERS.remove();
+        }
+        return columnQualifier.toByteArray();
+    }
+
+    /**
+     * Reads the properties from a column qualifier in a single pass, adding them to the given properties.
+     *
+     * @param columnQualifier the column qualifier
+     * @param properties      the properties to add the decoded properties to
+     * @throws AccumuloElementConversionException if there are more fields than properties or a property fails to
+     *                                            deserialise
+     */
+    public void decode(final byte[] columnQualifier, final Properties properties)
+            throws AccumuloElementConversionException {
+        if (null == columnQualifier || 0 == columnQualifier.length) {
+            return;
+        }
+        if (VERSION_1 != columnQualifier[0]) {
+            decodeLegacy(columnQualifier, properties);
+            return;
+        }
+
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(columnQualifier, 1, columnQualifier.length - 1);
+        int index = 0;
+        while (scanner.next()) {
+            if (index >= propertyNames.length) {
+                throw new AccumuloElementConversionException("Found more than the expected " + propertyNames.length
+                        + " properties in the column qualifier");
+            }
+            // Empty fields are null properties. A lone EMPTY_VALUE byte unescapes to no bytes.
+            if (scanner.getFieldLength() > 0) {
+                try {
+                    properties.put(propertyNames[index], AbstractCoreKeyAccumuloElementConverter.deserialiseEscaped(
+                            serialisers[index], scanner.getBytes(), scanner.getFieldStart(),
+                            scanner.getFieldLength(), scanner.isFieldEscaped()));
+                } catch (final SerialisationException e) {
+                    throw new AccumuloElementConversionException(
+                            "Failed to deserialise property " + propertyNames[index], e);
+                }
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Reads the properties from a column qualifier written in the legacy format of escaped property names and
+     * values.
+     *
+     * @param columnQualifier the column qualifier
+     * @param properties      the properties to add the decoded properties to
+     * @throws AccumuloElementConversionException if a name is not a column qualifier property of this group, a name
+     *                                            has no value or a property fails to deserialise
+     */
+    private void decodeLegacy(final byte[] columnQualifier, final Properties properties)
+            throws AccumuloElementConversionException {
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(columnQualifier);
+        while (scanner.next()) {
+            final String propertyName = new String(ByteArrayEscapeUtils.unEscape(scanner.getBytes(),
+                    scanner.getFieldStart(), scanner.getFieldLength()), UTF_8);
+            final Integer index = indicesByName.get(propertyName);
+            if (null == index) {
+                throw new AccumuloElementConversionException("Found unknown property " + propertyName
+                        + " in the column qualifier");
+            }
+            if (!scanner.next()) {
+                throw new AccumuloElementConversionException("Found no value for property " + propertyName
+                        + " in the column qualifier");
+            }
+            try {
+                properties.put(propertyName, AbstractCoreKeyAccumuloElementConverter.deserialiseEscaped(
+                        serialisers[index], scanner.getBytes(), scanner.getFieldStart(), scanner.getFieldLength(),
+                        scanner.isFieldEscaped()));
+            } catch (final SerialisationException e) {
+                throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+            }
+        }
+    }
+}
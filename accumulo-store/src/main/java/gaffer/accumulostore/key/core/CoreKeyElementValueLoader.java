@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.ElementValueLoader;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.Properties;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+
+/**
+ * A <code>CoreKeyElementValueLoader</code> lazily deserialises the properties of an element from an Accumulo
+ * {@link Key} and {@link Value}. Properties stored in the value are deserialised individually; properties stored
+ * in the column qualifier or column visibility are deserialised together the first time any of them is requested.
+ * The identifiers are either populated eagerly from the row key or, for elements that are only needed for their
+ * properties, not populated at all.
+ */
+@SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Lazy elements are only used within a single iterator or retriever and are never serialised")
+class CoreKeyElementValueLoader implements ElementValueLoader {
+    private static final long serialVersionUID = -3166337536396541335L;
+    private final AbstractCoreKeyAccumuloElementConverter converter;
+    private final String group;
+    private final StoreElementDefinition elementDefinition;
+    private final Key key;
+    private final Value value;
+    private Properties columnQualifierProperties;
+    private Properties columnVisibilityProperties;
+
+    CoreKeyElementValueLoader(final AbstractCoreKeyAccumuloElementConverter converter,
+                              final String group, final StoreElementDefinition elementDefinition,
+                              final Key key, final Value value) {
+        this.converter = converter;
+        this.group = group;
+        this.elementDefinition = elementDefinition;
+        this.key = key;
+        this.value = value;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        final StorePropertyDefinition propertyDefinition = elementDefinition.getProperty(name);
+        if (null == propertyDefinition) {
+            return null;
+        }
+
+        final String position = propertyDefinition.getPosition();
+        try {
+            if (StorePositions.VALUE.isEqual(position)) {
+                return converter.getPropertyFromValue(group, name, value);
+            }
+            if (StorePositions.COLUMN_QUALIFIER.isEqual(position)) {
+                if (null == columnQualifierProperties) {
+                    columnQualifierProperties = converter.getPropertiesFromColumnQualifier(group,
+                            key.getColumnQualifierData().getBackingArray());
+                }
+                return columnQualifierProperties.get(name);
+            }
+            if (StorePositions.VISIBILITY.isEqual(position)) {
+                if (null == columnVisibilityProperties) {
+                    columnVisibilityProperties = converter.getPropertiesFromColumnVisibility(group,
+                            key.getColumnVisibilityData().getBackingArray());
+                }
+                return columnVisibilityProperties.get(name);
+            }
+            if (StorePositions.TIMESTAMP.isEqual(position)) {
+                return key.getTimestamp();
+            }
+        } catch (final AccumuloElementConversionException e) {
+            throw new IllegalArgumentException("Failed to load property " + name + " for group " + group, e);
+        }
+
+        return null;
+    }
+
+    @Override
+    public Object getIdentifier(final IdentifierType idType) {
+        // Identifiers are decoded from the row key when the lazy element is created.
+        return null;
+    }
+}
@@ -18,20 +18,16 @@ package gaffer.accumulostore.key.core.impl;
 
 import gaffer.accumulostore.key.exception.BloomFilterIteratorException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Filter;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
-import org.apache.hadoop.util.bloom.BloomFilter;
-import java.io.ByteArrayInputStream;
-import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -42,27 +38,33 @@ import java.util.Map;
  */
 public class CoreKeyBloomFilterIterator extends Filter {
 
-    private BloomFilter filter;
+    private BlockedBloomFilter filter;
 
     @Override
     public boolean accept(final Key key, final Value value) {
-        return filter.membershipTest(
-                new org.apache.hadoop.util.bloom.Key(getVertexFromKey(key.getRowData().getBackingArray())));
+        final ByteSequence row = key.getRowData();
+        final byte[] bytes = row.getBackingArray();
+        final int offset = row.offset();
+        return filter.membershipTest(bytes, offset, getVertexLength(bytes, offset, row.length()));
     }
 
-    protected byte[] getVertexFromKey(final byte[] key) {
-        int pos = -1;
-        for (int i = 0; i < key.length; ++i) {
+    /**
+     * Finds the length of the serialised vertex at the start of a row key, without copying it.
+     *
+     * @param key    the array containing the row key
+     * @param offset the offset of the row key in the array
+     * @param length the length of the row key
+     * @return the length of the vertex, which is the length of the row key if it has no delimiter
+     */
+    protected int getVertexLength(final byte[] key, final int offset, final int length) {
+        final int end = offset + length;
+        for (int i = offset; i < end; ++i) {
             if (key[i] == ByteArrayEscapeUtils.DELIMITER) {
-                pos = i;
-                break;
+                return i - offset;
             }
         }
-        if (pos != -1) {
-            return Arrays.copyOf(key, pos);
-        } else {
-            return key;
-        }
+
+        return length;
     }
 
     @Override
@@ -80,17 +82,8 @@ public class CoreKeyBloomFilterIterator extends Filter {
         if (!options.containsKey(AccumuloStoreConstants.BLOOM_FILTER)) {
             throw new BloomFilterIteratorException("Must set the " + AccumuloStoreConstants.BLOOM_FILTER + " option");
         }
-        filter = new BloomFilter();
-        final byte[] bytes;
         try {
-            bytes = options.get(AccumuloStoreConstants.BLOOM_FILTER).getBytes(AccumuloStoreConstants.BLOOM_FILTER_CHARSET);
-        } catch (UnsupportedEncodingException e) {
-            throw new BloomFilterIteratorException("Failed to re-create serialised bloom filter", e);
-        }
-
-        try (final InputStream inStream = new ByteArrayInputStream(bytes);
-             final DataInputStream dataStream = new DataInputStream(inStream)) {
-            filter.readFields(dataStream);
+            filter = BlockedBloomFilter.fromEncodedString(options.get(AccumuloStoreConstants.BLOOM_FILTER));
         } catch (final IOException e) {
             throw new BloomFilterIteratorException("Failed to re-create serialised bloom filter", e);
         }
@@ -18,9 +18,10 @@ package gaffer.accumulostore.key.core.impl;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.core.impl.model.ColumnQualifierColumnVisibilityValueTriple;
+import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
-import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
@@ -33,20 +34,25 @@ import org.apache.accumulo.core.iterators.OptionDescriber;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import org.apache.accumulo.core.iterators.WrappingIterator;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.TreeMap;
 
 /**
  * A copy of Accumulo {@link org.apache.accumulo.core.iterators.Combiner} but
- * combining values with identical rowKey and column family.
+ * combining values with identical rowKey and column family. Implementations may
+ * choose to reduce the values for a rowKey and column family into more than one
+ * value by overriding {@link #reduceGroups(Key, Iterator)}.
  * <p>
  * Users extending this class must specify a reduce() method.
  */
 public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extends WrappingIterator
         implements OptionDescriber {
+    @SuppressFBWarnings(value = "URF_UNREAD_PUBLIC_OR_PROTECTED_FIELD", justification = "storeSchema is available to subclasses")
     protected StoreSchema storeSchema;
 
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called prior to this method")
@@ -135,7 +141,8 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
 
     Key topKey;
     Value topValue;
-    ColumnQualifierColumnVisibilityValueTriple topVisValPair;
+    private final TreeMap<Key, Value> reducedKeyValues = new TreeMap<>();
+    private Iterator<Map.Entry<Key, Value>> reducedKeyValuesIterator;
 
     @Override
     public Key getTopKey() {
@@ -163,6 +170,10 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
     @Override
     public void next() throws IOException {
         if (topKey != null) {
+            if (reducedKeyValuesIterator.hasNext()) {
+                setTop(reducedKeyValuesIterator.next());
+                return;
+            }
             topKey = null;
             topValue = null;
         } else {
@@ -187,10 +198,18 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
 
             final Iterator<ColumnQualifierColumnVisibilityValueTriple> iter = new ColumnQualifierColumnVisibilityValueTripleIterator(
                     getSource());
-            topVisValPair = reduce(workKey, iter);
-            topValue = topVisValPair.getValue();
-            topKey = new Key(workKey.getRowData().getBackingArray(), workKey.getColumnFamilyData().getBackingArray(),
-                    topVisValPair.getColumnQualifier(), topVisValPair.getColumnVisibility(), workKey.getTimestamp());
+            final List<ColumnQualifierColumnVisibilityValueTriple> triples = reduceGroups(workKey, iter);
+            reducedKeyValues.clear();
+            for (final ColumnQualifierColumnVisibilityValueTriple triple : triples) {
+                final Key reducedKey = new Key(workKey.getRowData().getBackingArray(),
+                        workKey.getColumnFamilyData().getBackingArray(), triple.getColumnQualifier(),
+                        triple.getColumnVisibility(), workKey.getTimestamp());
+                if (null != reducedKeyValues.put(reducedKey, triple.getValue())) {
+                    throw new AggregationException("Reduced more than one value to the key " + reducedKey);
+                }
+            }
+            reducedKeyValuesIterator = reducedKeyValues.entrySet().iterator();
+            setTop(reducedKeyValuesIterator.next());
 
             while (iter.hasNext()) {
                 iter.next();
@@ -198,6 +217,11 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
         }
     }
 
+    private void setTop(final Map.Entry<Key, Value> keyValue) {
+        topKey = keyValue.getKey();
+        topValue = keyValue.getValue();
+    }
+
     @Override
     public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive)
             throws IOException {
@@ -233,6 +257,22 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
     public abstract ColumnQualifierColumnVisibilityValueTriple reduce(final Key key,
                                                                       final Iterator<ColumnQualifierColumnVisibilityValueTriple> iter);
 
+    /**
+     * Reduces a list of triples of (column qualifier, column visibility, Value)
+     * into one or more triples. The resulting triples are returned in key order.
+     * By default all of the triples are reduced into a single triple using
+     * {@link #reduce(Key, Iterator)}.
+     *
+     * @param key  The most recent version of the Key being reduced.
+     * @param iter An iterator over the Values for different versions of the key.
+     * @return The combined triples, this must contain at least one triple and each triple must have a different
+     * column qualifier or column visibility.
+     */
+    protected List<ColumnQualifierColumnVisibilityValueTriple> reduceGroups(final Key key,
+                                                                            final Iterator<ColumnQualifierColumnVisibilityValueTriple> iter) {
+        return Collections.singletonList(reduce(key, iter));
+    }
+
     @Override
     public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
         CoreKeyColumnQualifierColumnVisibilityValueCombiner newInstance;
@@ -256,11 +296,7 @@ public abstract class CoreKeyColumnQualifierColumnVisibilityValueCombiner extend
         if (!options.containsKey(AccumuloStoreConstants.STORE_SCHEMA)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.STORE_SCHEMA);
         }
-        try {
-            storeSchema = StoreSchema.fromJson(options.get(AccumuloStoreConstants.STORE_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the store schema", e);
-        }
+        storeSchema = IteratorOptionsCache.getStoreSchema(options);
         return true;
     }
 
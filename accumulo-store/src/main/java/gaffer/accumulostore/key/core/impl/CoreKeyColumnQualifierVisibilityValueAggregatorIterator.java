@@ -16,44 +16,101 @@
 package gaffer.accumulostore.key.core.impl;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 
-import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.core.impl.model.ColumnQualifierColumnVisibilityValueTriple;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
+import gaffer.accumulostore.utils.StorePositions;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.elementdefinition.schema.DataSchema;
-import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
 import gaffer.store.schema.StoreSchema;
 
+/**
+ * Aggregates the elements with the same row key and column family at query time. If the view has a group by list
+ * for a group, the elements of that group are aggregated separately for each distinct combination of group by
+ * values. The group by properties must be column qualifier or visibility properties, so that each combination is
+ * written to a different key.
+ */
 public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
         extends CoreKeyColumnQualifierColumnVisibilityValueCombiner {
     private DataSchema dataSchema;
+    private View view;
     private ElementAggregator aggregator;
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private final Map<String, List<ElementAggregator>> groupByAggregators = new HashMap<>();
+
+    @Override
+    protected List<ColumnQualifierColumnVisibilityValueTriple> reduceGroups(final Key key,
+            final Iterator<ColumnQualifierColumnVisibilityValueTriple> iter) {
+        final String group = getGroup(key);
+        final Set<String> groupBy = getGroupBy(group);
+        if (null == groupBy || groupBy.isEmpty()) {
+            return Collections.singletonList(reduce(key, iter));
+        }
+
+        final List<ElementAggregator> groupAggregators = getGroupByAggregators(group);
+        final Map<List<Object>, ElementAggregator> aggregatorsByGroupBy = new HashMap<>();
+        while (iter.hasNext()) {
+            final Properties properties = getProperties(group, iter.next());
+            final List<Object> groupByValues = new ArrayList<>(groupBy.size());
+            for (final String propertyName : groupBy) {
+                groupByValues.add(properties.get(propertyName));
+            }
+            ElementAggregator groupByAggregator = aggregatorsByGroupBy.get(groupByValues);
+            if (null == groupByAggregator) {
+                groupByAggregator = getGroupByAggregator(group, groupAggregators, aggregatorsByGroupBy.size());
+                aggregatorsByGroupBy.put(groupByValues, groupByAggregator);
+            }
+            groupByAggregator.aggregate(properties);
+        }
+
+        final List<ColumnQualifierColumnVisibilityValueTriple> triples = new ArrayList<>(aggregatorsByGroupBy.size());
+        for (final Map.Entry<List<Object>, ElementAggregator> entry : aggregatorsByGroupBy.entrySet()) {
+            final Properties properties = new Properties();
+            entry.getValue().state(properties);
+
+            // The group by properties are equal for all the aggregated elements so they should not be aggregated.
+            final Iterator<Object> groupByValues = entry.getKey().iterator();
+            for (final String propertyName : groupBy) {
+                final Object groupByValue = groupByValues.next();
+                if (null == groupByValue) {
+                    properties.remove(propertyName);
+                } else {
+                    properties.put(propertyName, groupByValue);
+                }
+            }
+            triples.add(createTriple(group, properties));
+        }
+
+        return triples;
+    }
 
     @Override
     public ColumnQualifierColumnVisibilityValueTriple reduce(final Key key,
             final Iterator<ColumnQualifierColumnVisibilityValueTriple> iter) {
         ColumnQualifierColumnVisibilityValueTriple triple;
-        final String group;
-        try {
-            group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
-        } catch (final AccumuloElementConversionException e) {
-            throw new RuntimeException(e);
-        }
-        aggregator = dataSchema.getElement(group).getAggregator();
+        final String group = getGroup(key);
+        aggregator = getAggregator(group);
         triple = iter.next();
         if (!iter.hasNext()) {
             return triple;
@@ -65,9 +122,31 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
         aggregateProperties(group, triple);
         final Properties properties = new Properties();
         aggregator.state(properties);
-        final ColumnQualifierColumnVisibilityValueTriple result;
+        return createTriple(group, properties);
+    }
+
+    private String getGroup(final Key key) {
         try {
-            result = new ColumnQualifierColumnVisibilityValueTriple(
+            return elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        } catch (final AccumuloElementConversionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private Set<String> getGroupBy(final String group) {
+        if (null == view) {
+            return null;
+        }
+        final ViewElementDefinition viewElementDef = view.getElement(group);
+        if (null == viewElementDef) {
+            return null;
+        }
+        return viewElementDef.getGroupBy();
+    }
+
+    private ColumnQualifierColumnVisibilityValueTriple createTriple(final String group, final Properties properties) {
+        try {
+            return new ColumnQualifierColumnVisibilityValueTriple(
                     elementConverter.buildColumnQualifier(group, properties),
                     elementConverter.buildColumnVisibility(group, properties),
                     elementConverter.getValueFromProperties(properties, group));
@@ -75,10 +154,51 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
             throw new AggregationException("ColumnQualifierVisibilityAggregatorIterator failed to re-create an element",
                     e);
         }
-        return result;
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator groupAggregator = aggregators.get(group);
+        if (null == groupAggregator) {
+            groupAggregator = dataSchema.getElement(group).getAggregator();
+            aggregators.put(group, groupAggregator);
+        }
+        groupAggregator.initFunctions();
+
+        return groupAggregator;
+    }
+
+    private List<ElementAggregator> getGroupByAggregators(final String group) {
+        List<ElementAggregator> groupAggregators = groupByAggregators.get(group);
+        if (null == groupAggregators) {
+            groupAggregators = new ArrayList<>();
+            groupByAggregators.put(group, groupAggregators);
+        }
+
+        return groupAggregators;
+    }
+
+    // Gets the aggregator for the index-th distinct combination of group by values of a key. The aggregators are kept
+    // and reset for the following keys, so an aggregator is only cloned when a key has more combinations than any
+    // earlier key of the group.
+    private ElementAggregator getGroupByAggregator(final String group, final List<ElementAggregator> groupAggregators,
+            final int index) {
+        final ElementAggregator groupByAggregator;
+        if (index < groupAggregators.size()) {
+            groupByAggregator = groupAggregators.get(index);
+        } else {
+            groupByAggregator = getAggregator(group).clone();
+            groupAggregators.add(groupByAggregator);
+        }
+        groupByAggregator.initFunctions();
+
+        return groupByAggregator;
     }
 
     private void aggregateProperties(final String group, final ColumnQualifierColumnVisibilityValueTriple triple) {
+        aggregator.aggregate(getProperties(group, triple));
+    }
+
+    private Properties getProperties(final String group, final ColumnQualifierColumnVisibilityValueTriple triple) {
         final Properties properties = new Properties();
         try {
             properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, triple.getColumnQualifier()));
@@ -87,7 +207,7 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
         } catch (final AccumuloElementConversionException e) {
             throw new RuntimeException(e);
         }
-        aggregator.aggregate(properties);
+        return properties;
     }
 
     @Override
@@ -105,28 +225,65 @@ public class CoreKeyColumnQualifierVisibilityValueAggregatorIterator
         if (!options.containsKey(AccumuloStoreConstants.DATA_SCHEMA)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.DATA_SCHEMA);
         }
-        try {
-            dataSchema = DataSchema.fromJson(options.get(AccumuloStoreConstants.DATA_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the store schema", e);
+        dataSchema = IteratorOptionsCache.getDataSchema(options);
+        if (options.containsKey(AccumuloStoreConstants.VIEW)) {
+            view = IteratorOptionsCache.getView(options);
+            validateGroupBy(view, storeSchema);
         }
         try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(StoreSchema.class)
-                    .newInstance(storeSchema);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
-                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
         }
         return true;
     }
 
+    /**
+     * Checks that every group by property in the view is stored in the column qualifier or the visibility. Elements
+     * that differ in any other property would be aggregated into the same key, so only one summary would be kept.
+     *
+     * @param view        the view to check
+     * @param storeSchema the store schema
+     * @throws IllegalArgumentException if a group by property is not a column qualifier or visibility property
+     */
+    public static void validateGroupBy(final View view, final StoreSchema storeSchema) {
+        if (null == view) {
+            return;
+        }
+        validateGroupBy(view.getEntities(), storeSchema);
+        validateGroupBy(view.getEdges(), storeSchema);
+    }
+
+    private static void validateGroupBy(final Map<String, ? extends ViewElementDefinition> viewElementDefs,
+            final StoreSchema storeSchema) {
+        if (null == viewElementDefs) {
+            return;
+        }
+        for (final Map.Entry<String, ? extends ViewElementDefinition> entry : viewElementDefs.entrySet()) {
+            final Set<String> groupBy = entry.getValue().getGroupBy();
+            if (null == groupBy) {
+                continue;
+            }
+            final StoreElementDefinition storeElementDef = storeSchema.getElement(entry.getKey());
+            for (final String propertyName : groupBy) {
+                final StorePropertyDefinition propertyDef = null != storeElementDef
+                        ? storeElementDef.getProperty(propertyName) : null;
+                if (null == propertyDef
+                        || !(StorePositions.COLUMN_QUALIFIER.isEqual(propertyDef.getPosition())
+                        || StorePositions.VISIBILITY.isEqual(propertyDef.getPosition()))) {
+                    throw new IllegalArgumentException("Group by property " + propertyName + " of group "
+                            + entry.getKey() + " must be a " + StorePositions.COLUMN_QUALIFIER.name() + " or "
+                            + StorePositions.VISIBILITY.name() + " property");
+                }
+            }
+        }
+    }
+
     @Override
     public IteratorOptions describeOptions() {
         return new IteratorOptionsBuilder(super.describeOptions()).addDataSchemaNamedOption()
-                .addElementConverterClassNamedOption().build();
+                .addViewNamedOption().addElementConverterClassNamedOption().build();
     }
 
 }
@@ -20,13 +20,13 @@ import gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.EscapedFieldScanner;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Entity;
 import gaffer.exception.SerialisationException;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -62,16 +62,19 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
 
     @Override
     protected byte[] getRowKeyFromEntity(final Entity entity) throws AccumuloElementConversionException {
-        byte[] value;
+        final byte[] vertex;
         try {
-            value = ByteArrayEscapeUtils.escape(getVertexSerialiser().serialise(entity.getVertex()));
-            final byte[] returnVal = Arrays.copyOf(value, value.length + 2);
-            returnVal[returnVal.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-            returnVal[returnVal.length - 1] = ByteEntityPositions.ENTITY;
-            return returnVal;
+            vertex = getVertexSerialiser().serialise(entity.getVertex());
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to serialise Entity Identifier", e);
         }
+
+        // Escape the vertex straight into the row key
+        final byte[] rowKey = new byte[ByteArrayEscapeUtils.getEscapedLength(vertex, 0, vertex.length) + 2];
+        ByteArrayEscapeUtils.escape(vertex, 0, vertex.length, rowKey, 0);
+        rowKey[rowKey.length - 2] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[rowKey.length - 1] = ByteEntityPositions.ENTITY;
+        return rowKey;
     }
 
     @Override
@@ -85,32 +88,34 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
             directionFlag1 = ByteEntityPositions.UNDIRECTED_EDGE;
             directionFlag2 = ByteEntityPositions.UNDIRECTED_EDGE;
         }
-        final byte[] source = getSerialisedSource(edge);
-        final byte[] destination = getSerialisedDestination(edge);
+        // Serialise the source and destination, then escape them straight into the row keys
+        final byte[] source = serialiseVertex(edge.getSource());
+        final byte[] destination = serialiseVertex(edge.getDestination());
+        final int escapedSourceLength = ByteArrayEscapeUtils.getEscapedLength(source, 0, source.length);
+        final int escapedDestinationLength = ByteArrayEscapeUtils.getEscapedLength(destination, 0, destination.length);
 
-        final int length = source.length + destination.length + 5;
+        final int length = escapedSourceLength + escapedDestinationLength + 5;
         final byte[] rowKey1 = new byte[length];
-        System.arraycopy(source, 0, rowKey1, 0, source.length);
-        rowKey1[source.length] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey1[source.length + 1] = directionFlag1;
-        rowKey1[source.length + 2] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(destination, 0, rowKey1, source.length + 3, destination.length);
-        rowKey1[rowKey1.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey1[rowKey1.length - 1] = directionFlag1;
-        final byte[] rowKey2 = new byte[length];
-        System.arraycopy(destination, 0, rowKey2, 0, destination.length);
-        rowKey2[destination.length] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey2[destination.length + 1] = directionFlag2;
-        rowKey2[destination.length + 2] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(source, 0, rowKey2, destination.length + 3, source.length);
-        rowKey2[rowKey2.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey2[rowKey2.length - 1] = directionFlag2;
+        writeRowKey(rowKey1, source, directionFlag1, destination);
         if (selfEdge(edge)) {
             return new Pair<>(rowKey1, null);
         }
+        final byte[] rowKey2 = new byte[length];
+        writeRowKey(rowKey2, destination, directionFlag2, source);
         return new Pair<>(rowKey1, rowKey2);
     }
 
+    private static void writeRowKey(final byte[] rowKey, final byte[] first, final byte directionFlag,
+                                    final byte[] second) {
+        int position = ByteArrayEscapeUtils.escape(first, 0, first.length, rowKey, 0);
+        rowKey[position++] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[position++] = directionFlag;
+        rowKey[position++] = ByteArrayEscapeUtils.DELIMITER;
+        position = ByteArrayEscapeUtils.escape(second, 0, second.length, rowKey, position);
+        rowKey[position++] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[position] = directionFlag;
+    }
+
     @Override
     protected boolean doesKeyRepresentEntity(final byte[] row) {
         return row[row.length - 1] == ByteEntityPositions.ENTITY;
@@ -119,10 +124,9 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser()
-                    .deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0,
-                            (key.getRowData().getBackingArray().length) - 2))));
-            addPropertiesToElement(entity, key);
+            final byte[] row = key.getRowData().getBackingArray();
+            final Entity entity = new Entity(getGroupFromKey(key),
+                    deserialiseEscaped(getVertexSerialiser(), row, 0, row.length - 2));
             return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
@@ -130,20 +134,23 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     }
 
     @Override
-    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue,
+    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final int[] sourceDestinationPositions,
                                                         final Map<String, String> options) throws AccumuloElementConversionException {
         // Get element class, sourceValue, destinationValue and directed flag from row key
-        // Expect to find 3 delimiters (4 fields)
-        final int[] positionsOfDelimiters = new int[3];
-        short numDelims = 0;
-        // Last byte will be directional flag so don't count it
-        for (int i = 0; i < rowKey.length - 1; ++i) {
-            if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
-                if (numDelims >= 3) {
-                    throw new AccumuloElementConversionException(
-                            "Too many delimiters found in row key - found more than the expected 3.");
-                }
-                positionsOfDelimiters[numDelims++] = i;
+        // Expect to find 3 delimiters (4 fields): vertex, flag, vertex, flag
+        // Last byte will be directional flag so don't scan it
+        final int[] vertexPositions = new int[4];
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(rowKey, 0, rowKey.length - 1);
+        short numDelims = -1;
+        while (scanner.next()) {
+            if (numDelims >= 3) {
+                throw new AccumuloElementConversionException(
+                        "Too many delimiters found in row key - found more than the expected 3.");
+            }
+            numDelims++;
+            if (numDelims == 0 || numDelims == 2) {
+                vertexPositions[numDelims] = scanner.getFieldStart();
+                vertexPositions[numDelims + 1] = scanner.getFieldEnd();
             }
         }
         if (numDelims != 3) {
@@ -161,17 +168,13 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
         }
         if (directionFlag == ByteEntityPositions.UNDIRECTED_EDGE) {
             // Edge is undirected
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            setVertexPositions(sourceDestinationPositions, 0, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, 1, vertexPositions[2], vertexPositions[3]);
             return false;
         } else if (directionFlag == ByteEntityPositions.CORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the first identifier is the source of the edge
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            setVertexPositions(sourceDestinationPositions, 0, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, 1, vertexPositions[2], vertexPositions[3]);
             return true;
         } else if (directionFlag == ByteEntityPositions.INCORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the second identifier is the source of the edge
@@ -182,10 +185,8 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
                 src = 0;
                 dst = 1;
             }
-            sourceValueDestinationValue[src] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            setVertexPositions(sourceDestinationPositions, src, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, dst, vertexPositions[2], vertexPositions[3]);
             return true;
         } else {
             throw new AccumuloElementConversionException(
@@ -31,6 +31,7 @@ import gaffer.serialisation.Serialisation;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -108,6 +109,18 @@ public class ByteEntityRangeFactory extends AbstractCoreKeyRangeFactory {
             throw new IllegalArgumentException("Need to include either Entities or Edges or both when getting Range");
         }
 
+        if (includeEntities) {
+            final List<Range> entityRanges = getEntityRanges(getEntityRowKey(serialisedVertex), operation, storeSchema);
+            if (null != entityRanges) {
+                if (includeEdges == IncludeEdgeType.NONE) {
+                    return entityRanges;
+                }
+                final List<Range> ranges = new ArrayList<>(entityRanges);
+                ranges.addAll(getEdgeRanges(serialisedVertex, includeEdges, inOutType));
+                return ranges;
+            }
+        }
+
         if (includeEdges == IncludeEdgeType.NONE) {
             // return only entities
             return Collections.singletonList(
@@ -156,41 +169,54 @@ public class ByteEntityRangeFactory extends AbstractCoreKeyRangeFactory {
                                 getUnDirectedEdgeKey(serialisedVertex, true), true));
                     }
                 }
-            } else if (includeEdges == IncludeEdgeType.DIRECTED) {
-                if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
-                    return Collections
-                            .singletonList(new Range(getDirectedEdgeKeyDestinationFirst(serialisedVertex, false), true,
-                                    getDirectedEdgeKeyDestinationFirst(serialisedVertex, true), true));
-                } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
-                    return Collections.singletonList(new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false),
-                            true, getDirectedEdgeKeySourceFirst(serialisedVertex, true), true));
-                } else {
-                    return Collections.singletonList(new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false),
-                            true, getDirectedEdgeKeyDestinationFirst(serialisedVertex, true), true));
-                }
-            } else if (includeEdges == IncludeEdgeType.UNDIRECTED) {
-                return Collections.singletonList(new Range(getUnDirectedEdgeKey(serialisedVertex, false), true,
-                        getUnDirectedEdgeKey(serialisedVertex, true), true));
+            }
+        }
+        return getEdgeRanges(serialisedVertex, includeEdges, inOutType);
+    }
+
+    private List<Range> getEdgeRanges(final byte[] serialisedVertex, final IncludeEdgeType includeEdges,
+            final IncludeIncomingOutgoingType inOutType) {
+        if (includeEdges == IncludeEdgeType.DIRECTED) {
+            if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
+                return Collections
+                        .singletonList(new Range(getDirectedEdgeKeyDestinationFirst(serialisedVertex, false), true,
+                                getDirectedEdgeKeyDestinationFirst(serialisedVertex, true), true));
+            } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
+                return Collections.singletonList(new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false),
+                        true, getDirectedEdgeKeySourceFirst(serialisedVertex, true), true));
             } else {
-                // return all edges
-                if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
-                    return Collections
-                            .singletonList(new Range(getDirectedEdgeKeyDestinationFirst(serialisedVertex, false), true,
-                                    getUnDirectedEdgeKey(serialisedVertex, true), true));
-                } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
-                    return Arrays.asList(
-                            new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false), true,
-                                    getDirectedEdgeKeySourceFirst(serialisedVertex, true), true),
-                            new Range(getUnDirectedEdgeKey(serialisedVertex, false), true,
-                                    getUnDirectedEdgeKey(serialisedVertex, true), true));
-                } else {
-                    final Pair<Key> keys = getAllEdgeOnlyKeys(serialisedVertex);
-                    return Collections.singletonList(new Range(keys.getFirst(), false, keys.getSecond(), false));
-                }
+                return Collections.singletonList(new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false),
+                        true, getDirectedEdgeKeyDestinationFirst(serialisedVertex, true), true));
+            }
+        } else if (includeEdges == IncludeEdgeType.UNDIRECTED) {
+            return Collections.singletonList(new Range(getUnDirectedEdgeKey(serialisedVertex, false), true,
+                    getUnDirectedEdgeKey(serialisedVertex, true), true));
+        } else {
+            // return all edges
+            if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
+                return Collections
+                        .singletonList(new Range(getDirectedEdgeKeyDestinationFirst(serialisedVertex, false), true,
+                                getUnDirectedEdgeKey(serialisedVertex, true), true));
+            } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
+                return Arrays.asList(
+                        new Range(getDirectedEdgeKeySourceFirst(serialisedVertex, false), true,
+                                getDirectedEdgeKeySourceFirst(serialisedVertex, true), true),
+                        new Range(getUnDirectedEdgeKey(serialisedVertex, false), true,
+                                getUnDirectedEdgeKey(serialisedVertex, true), true));
+            } else {
+                final Pair<Key> keys = getAllEdgeOnlyKeys(serialisedVertex);
+                return Collections.singletonList(new Range(keys.getFirst(), false, keys.getSecond(), false));
             }
         }
     }
 
+    private byte[] getEntityRowKey(final byte[] serialisedVertex) {
+        final byte[] key = Arrays.copyOf(serialisedVertex, serialisedVertex.length + 2);
+        key[serialisedVertex.length] = ByteArrayEscapeUtils.DELIMITER;
+        key[serialisedVertex.length + 1] = ByteEntityPositions.ENTITY;
+        return key;
+    }
+
     private Key getEntityKey(final byte[] serialisedVertex, final boolean endKey) {
         byte[] key;
         if (endKey) {
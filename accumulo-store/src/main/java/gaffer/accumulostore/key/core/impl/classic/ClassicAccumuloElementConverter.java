@@ -20,13 +20,13 @@ import gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.EscapedFieldScanner;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Entity;
 import gaffer.exception.SerialisationException;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
-import java.util.Arrays;
 import java.util.Map;
 
 public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElementConverter {
@@ -64,42 +64,45 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
             directionFlag2 = ClassicBytePositions.UNDIRECTED_EDGE;
         }
 
-        // Serialise source and destination to byte arrays, escaping if necessary
-        final byte[] source = getSerialisedSource(edge);
-        final byte[] destination = getSerialisedDestination(edge);
+        // Serialise source and destination to byte arrays, then escape them straight into the row keys
+        final byte[] source = serialiseVertex(edge.getSource());
+        final byte[] destination = serialiseVertex(edge.getDestination());
+        final int escapedSourceLength = ByteArrayEscapeUtils.getEscapedLength(source, 0, source.length);
+        final int escapedDestinationLength = ByteArrayEscapeUtils.getEscapedLength(destination, 0, destination.length);
 
-        // Length of row key is the length of the source plus the length of the destination
+        // Length of row key is the length of the escaped source plus the length of the escaped destination
         // plus one for the delimiter in between the source and destination
         // plus one for the delimiter in between the destination and the direction flag
         // plus one for the direction flag at the end.
-        final int length = source.length + destination.length + 3;
-        final byte[] rowKey1 = new byte[length];
-        final byte[] rowKey2 = new byte[length];
+        final int length = escapedSourceLength + escapedDestinationLength + 3;
 
         // Create first key: source DELIMITER destination
         // DELIMITER (CORRECT_WAY_DIRECTED_EDGE or UNDIRECTED_EDGE)
-        System.arraycopy(source, 0, rowKey1, 0, source.length);
-        rowKey1[source.length] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(destination, 0, rowKey1, source.length + 1, destination.length);
-        rowKey1[rowKey1.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey1[rowKey1.length - 1] = directionFlag1;
-
-        // Create second key: destination DELIMITER source
-        // DELIMITER (INCORRECT_WAY_DIRECTED_EDGE or UNDIRECTED_EDGE)
-        System.arraycopy(destination, 0, rowKey2, 0, destination.length);
-        rowKey2[destination.length] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(source, 0, rowKey2, destination.length + 1, source.length);
-        rowKey2[rowKey2.length - 2] = ByteArrayEscapeUtils.DELIMITER;
-        rowKey2[rowKey2.length - 1] = directionFlag2;
+        final byte[] rowKey1 = new byte[length];
+        writeRowKey(rowKey1, source, destination, directionFlag1);
 
         // Is this a self-edge? If so then return null for the second rowKey as
         // we don't want the same edge to go into Accumulo twice.
         if (selfEdge(edge)) {
             return new Pair<>(rowKey1, null);
         }
+
+        // Create second key: destination DELIMITER source
+        // DELIMITER (INCORRECT_WAY_DIRECTED_EDGE or UNDIRECTED_EDGE)
+        final byte[] rowKey2 = new byte[length];
+        writeRowKey(rowKey2, destination, source, directionFlag2);
         return new Pair<>(rowKey1, rowKey2);
     }
 
+    private static void writeRowKey(final byte[] rowKey, final byte[] first, final byte[] second,
+                                    final byte directionFlag) {
+        int position = ByteArrayEscapeUtils.escape(first, 0, first.length, rowKey, 0);
+        rowKey[position++] = ByteArrayEscapeUtils.DELIMITER;
+        position = ByteArrayEscapeUtils.escape(second, 0, second.length, rowKey, position);
+        rowKey[position++] = ByteArrayEscapeUtils.DELIMITER;
+        rowKey[position] = directionFlag;
+    }
+
     @Override
     protected boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException {
         short numDelims = 0;
@@ -120,9 +123,9 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            final Entity entity = new Entity(getGroupFromKey((key)), getVertexSerialiser()
-                    .deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
-            addPropertiesToElement(entity, key);
+            final byte[] row = key.getRowData().getBackingArray();
+            final Entity entity = new Entity(getGroupFromKey((key)),
+                    deserialiseEscaped(getVertexSerialiser(), row, 0, row.length));
             return entity;
         } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to re-create Entity from key", e);
@@ -130,19 +133,22 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     }
 
     @Override
-    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue,
+    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final int[] sourceDestinationPositions,
             final Map<String, String> options) throws AccumuloElementConversionException {
         // Get sourceValue, destinationValue and directed flag from row key
-        // Expect to find 2 delimiters (3 fields)
-        final int[] positionsOfDelimiters = new int[2];
-        short numDelims = 0;
-        for (int i = 0; i < rowKey.length; i++) {
-            if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
-                if (numDelims >= 2) {
-                    throw new AccumuloElementConversionException(
-                            "Too many delimiters found in row key - found more than the expected 2.");
-                }
-                positionsOfDelimiters[numDelims++] = i;
+        // Expect to find 2 delimiters (3 fields): vertex, vertex, flag
+        final int[] vertexPositions = new int[4];
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(rowKey);
+        short numDelims = -1;
+        while (scanner.next()) {
+            if (numDelims >= 2) {
+                throw new AccumuloElementConversionException(
+                        "Too many delimiters found in row key - found more than the expected 2.");
+            }
+            numDelims++;
+            if (numDelims < 2) {
+                vertexPositions[2 * numDelims] = scanner.getFieldStart();
+                vertexPositions[2 * numDelims + 1] = scanner.getFieldEnd();
             }
         }
         if (numDelims != 2) {
@@ -155,17 +161,13 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
         final int directionFlag = rowKey[rowKey.length - 1];
         if (directionFlag == ClassicBytePositions.UNDIRECTED_EDGE) {
             // Edge is undirected
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            setVertexPositions(sourceDestinationPositions, 0, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, 1, vertexPositions[2], vertexPositions[3]);
             return false;
         } else if (directionFlag == ClassicBytePositions.CORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the first identifier is the source of the edge
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            setVertexPositions(sourceDestinationPositions, 0, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, 1, vertexPositions[2], vertexPositions[3]);
             return true;
         } else if (directionFlag == ClassicBytePositions.INCORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the second identifier is the source of the edge
@@ -176,10 +178,8 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
                 src = 0;
                 dst = 1;
             }
-            sourceValueDestinationValue[src] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils
-                    .unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            setVertexPositions(sourceDestinationPositions, src, vertexPositions[0], vertexPositions[1]);
+            setVertexPositions(sourceDestinationPositions, dst, vertexPositions[2], vertexPositions[3]);
             return true;
         } else {
             throw new AccumuloElementConversionException(
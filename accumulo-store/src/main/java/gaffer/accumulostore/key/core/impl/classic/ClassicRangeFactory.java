@@ -15,6 +15,7 @@
  */
 package gaffer.accumulostore.key.core.impl.classic;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -67,6 +68,17 @@ public class ClassicRangeFactory extends AbstractCoreKeyRangeFactory {
             throw new IllegalArgumentException(
                     "Need to include either Entities or Edges or both when getting Range from a type and value");
         }
+        if (includeEntities) {
+            final List<Range> entityRanges = getEntityRanges(serialisedVertex, operation, storeSchema);
+            if (null != entityRanges) {
+                if (!returnEdges) {
+                    return entityRanges;
+                }
+                final List<Range> ranges = new ArrayList<>(entityRanges);
+                ranges.add(getEdgeRangeFromVertex(serialisedVertex));
+                return ranges;
+            }
+        }
         if (includeEntities && returnEdges) {
             return Collections.singletonList(getRange(serialisedVertex));
         } else if (includeEntities) {
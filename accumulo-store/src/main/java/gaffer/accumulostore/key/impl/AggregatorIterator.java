@@ -21,11 +21,10 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.AggregationException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
 import gaffer.data.element.Properties;
 import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.elementdefinition.schema.DataSchema;
-import gaffer.data.elementdefinition.schema.exception.SchemaException;
-import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Combiner;
@@ -33,7 +32,7 @@ import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -46,6 +45,7 @@ import java.util.Map;
 public class AggregatorIterator extends Combiner {
     private DataSchema dataSchema;
     private AccumuloElementConverter elementConverter;
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
 
     @Override
     public Value reduce(final Key key, final Iterator<Value> iter) {
@@ -69,7 +69,7 @@ public class AggregatorIterator extends Combiner {
         } catch (final AccumuloElementConversionException e) {
             throw new AggregationException("Failed to recreate a graph element from a key and value", e);
         }
-        aggregator = dataSchema.getElement(group).getAggregator();
+        aggregator = getAggregator(group);
         aggregator.aggregate(properties);
         while (iter.hasNext()) {
             value = iter.next();
@@ -89,6 +89,24 @@ public class AggregatorIterator extends Combiner {
         }
     }
 
+    /**
+     * Accumulo only calls reduce from a single thread, so a single aggregator is kept for each group and reset before
+     * each reduce rather than fetching a new one from the data schema for every key.
+     *
+     * @param group the element group
+     * @return the reset aggregator for the group
+     */
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = dataSchema.getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        }
+        aggregator.initFunctions();
+
+        return aggregator;
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
             final IteratorEnvironment env) throws IOException {
@@ -111,23 +129,13 @@ public class AggregatorIterator extends Combiner {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.DATA_SCHEMA);
         }
 
-        final StoreSchema storeSchema;
-        try {
-            dataSchema = DataSchema.fromJson(options.get(AccumuloStoreConstants.DATA_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-            storeSchema = StoreSchema.fromJson(options.get(AccumuloStoreConstants.STORE_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise the data/store schema", e);
-        }
-
+        dataSchema = IteratorOptionsCache.getDataSchema(options);
+        aggregators.clear();
         try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(StoreSchema.class)
-                    .newInstance(storeSchema);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException e) {
             throw new AggregationException("Failed to load element converter from class name provided : "
-                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
         }
         return true;
     }
@@ -21,39 +21,74 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.ElementFilterException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorOptionsBuilder;
-import gaffer.data.ElementValidator;
+import gaffer.accumulostore.utils.IteratorOptionsCache;
 import gaffer.data.element.Element;
-import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.data.element.ElementComponentKey;
 import gaffer.data.elementdefinition.view.View;
-import gaffer.store.schema.StoreSchema;
+import gaffer.function.FilterFunction;
+import gaffer.function.context.ConsumerFunctionContext;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Filter;
 import org.apache.accumulo.core.iterators.IteratorEnvironment;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
-import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The ElementFilter will filter out {@link Element}s based on the filtering
- * instructions given in the {@link View} that is passed to this iterator
+ * instructions given in the {@link View} that is passed to this iterator.
+ * <p>
+ * The view is analysed when the iterator is initialised. Elements whose group is not in the view are rejected and
+ * elements whose group has no filter are accepted, using only the column family of the key. For the remaining
+ * groups the element is created lazily, so only the properties the filter selects are deserialised, and the row
+ * key is only decoded if the filter selects an identifier.
  */
 public class ElementFilter extends Filter {
-    private ElementValidator validator;
     private AccumuloElementConverter elementConverter;
 
+    /**
+     * A clone of the filter for each group in the view that has one. The view may be shared with other iterators, so
+     * its filters are cloned before they are used.
+     */
+    private final Map<String, gaffer.data.element.function.ElementFilter> filters = new HashMap<>();
+    private final Set<String> unfilteredGroups = new HashSet<>();
+    private final Set<String> groupsFilteredOnIdentifiers = new HashSet<>();
+
     @Override
     public boolean accept(final Key key, final Value value) {
+        final String group;
+        try {
+            group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().toArray());
+        } catch (final AccumuloElementConversionException e) {
+            throw new ElementFilterException(
+                    "Element filter iterator failed to get the group from an accumulo key", e);
+        }
+
+        if (unfilteredGroups.contains(group)) {
+            return true;
+        }
+
+        final gaffer.data.element.function.ElementFilter filter = filters.get(group);
+        if (null == filter) {
+            return false;
+        }
+
         final Element element;
         try {
-            element = elementConverter.getFullElement(key, value);
+            if (groupsFilteredOnIdentifiers.contains(group)) {
+                element = elementConverter.getLazyFullElement(key, value, null);
+            } else {
+                element = elementConverter.getLazyElementWithoutIdentifiers(group, key, value);
+            }
         } catch (final AccumuloElementConversionException e) {
             throw new ElementFilterException(
                     "Element filter iterator failed to crete an element from an accumulo key value pair", e);
         }
-        return validator.validate(element);
+        return filter.filter(element);
     }
 
     @Override
@@ -77,32 +112,41 @@ public class ElementFilter extends Filter {
         if (!options.containsKey(AccumuloStoreConstants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + AccumuloStoreConstants.VIEW);
         }
+        initFilters(IteratorOptionsCache.getView(options));
         try {
-            validator = new ElementValidator(
-                    View.fromJson(options.get(AccumuloStoreConstants.VIEW).getBytes(AccumuloStoreConstants.UTF_8_CHARSET)));
-        } catch (final UnsupportedEncodingException e) {
-            throw new SchemaException("Unable to deserialise view from JSON", e);
-
+            elementConverter = IteratorOptionsCache.getElementConverter(options);
+        } catch (final ReflectiveOperationException e) {
+            throw new ElementFilterException("Failed to load element converter from class name provided : "
+                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS), e);
         }
+        return true;
+    }
 
-        final StoreSchema storeSchema;
-        try {
-            storeSchema = StoreSchema.fromJson(options.get(AccumuloStoreConstants.STORE_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
-        } catch (final UnsupportedEncodingException e) {
-            throw new ElementFilterException(e.getMessage(), e);
-        }
+    private void initFilters(final View view) {
+        filters.clear();
+        unfilteredGroups.clear();
+        groupsFilteredOnIdentifiers.clear();
 
-        try {
-            final Class<?> elementConverterClass = Class
-                    .forName(options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
-            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(StoreSchema.class)
-                    .newInstance(storeSchema);
-        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
-                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
-            throw new ElementFilterException("Failed to load element converter from class name provided : "
-                    + options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS));
+        final Set<String> groups = new HashSet<>(view.getEntityGroups());
+        groups.addAll(view.getEdgeGroups());
+        for (final String group : groups) {
+            final gaffer.data.element.function.ElementFilter filter = view.getElement(group).getFilter();
+            if (null == filter || null == filter.getFunctions() || filter.getFunctions().isEmpty()) {
+                unfilteredGroups.add(group);
+                continue;
+            }
+
+            filters.put(group, filter.clone());
+            for (final ConsumerFunctionContext<ElementComponentKey, FilterFunction> function : filter.getFunctions()) {
+                if (null != function.getSelection()) {
+                    for (final ElementComponentKey selection : function.getSelection()) {
+                        if (selection.isId()) {
+                            groupsFilteredOnIdentifiers.add(group);
+                        }
+                    }
+                }
+            }
         }
-        return true;
     }
 
     @Override
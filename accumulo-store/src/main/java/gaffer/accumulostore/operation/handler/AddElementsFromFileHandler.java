@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.AbstractIterator;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.ingest.LocalBulkImporter;
+import gaffer.accumulostore.operation.impl.AddElementsFromFile;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.data.ValidatedElements;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.OperationHandler;
+import org.apache.hadoop.fs.Path;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.UUID;
+
+public class AddElementsFromFileHandler implements OperationHandler<AddElementsFromFile, Void> {
+    @Override
+    public Void doOperation(final AddElementsFromFile operation, final Store store) throws OperationException {
+        doOperation(operation, (AccumuloStore) store);
+        return null;
+    }
+
+    public void doOperation(final AddElementsFromFile operation, final AccumuloStore store) throws OperationException {
+        if (null == operation.getFilename()) {
+            throw new IllegalArgumentException("A filename is required");
+        }
+        if (null == operation.getElementGenerator()) {
+            throw new IllegalArgumentException("An element generator is required");
+        }
+
+        final LocalBulkImporter importer = new LocalBulkImporter(store,
+                getIntOption(operation, AccumuloStoreConstants.OPERATION_LOCAL_MAX_ENTRIES_IN_MEMORY,
+                        AccumuloStoreConstants.OPERATION_LOCAL_MAX_ENTRIES_IN_MEMORY_DEFAULT),
+                getIntOption(operation, AccumuloStoreConstants.OPERATION_LOCAL_WRITER_THREADS,
+                        AccumuloStoreConstants.OPERATION_LOCAL_WRITER_THREADS_DEFAULT));
+
+        try (final BufferedReader reader = Files.newBufferedReader(Paths.get(operation.getFilename()),
+                StandardCharsets.UTF_8)) {
+            Iterable<Element> elements = operation.getElementGenerator().getElements(getLines(reader));
+            if (operation.isValidate()) {
+                elements = new ValidatedElements(elements, store.getDataSchema(), true);
+            }
+            importer.importElements(elements, getWorkingPath(operation));
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("Failed to add elements from file " + operation.getFilename(), e);
+        }
+    }
+
+    private Path getWorkingPath(final AddElementsFromFile operation) {
+        if (null != operation.getWorkingPath()) {
+            return new Path(operation.getWorkingPath());
+        }
+
+        return new Path(System.getProperty("java.io.tmpdir"), "gaffer-bulk-import-" + UUID.randomUUID());
+    }
+
+    private int getIntOption(final AddElementsFromFile operation, final String name, final String defaultValue) {
+        final String value = operation.getOption(name);
+        return Integer.parseInt(null != value ? value : defaultValue);
+    }
+
+    /**
+     * @param reader the reader to read lines from
+     * @return an {@link Iterable} that reads the lines lazily. It can only be iterated over once.
+     */
+    private static Iterable<String> getLines(final BufferedReader reader) {
+        return new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new AbstractIterator<String>() {
+                    @Override
+                    protected String computeNext() {
+                        final String line;
+                        try {
+                            line = reader.readLine();
+                        } catch (final IOException e) {
+                            throw new IllegalStateException("Failed to read line from file", e);
+                        }
+                        return null != line ? line : endOfData();
+                    }
+                };
+            }
+        };
+    }
+}
@@ -41,7 +41,7 @@ public class GetElementsBetweenSetsHandler
         try {
             if (operation.isSummarise()) {
                 ret = new AccumuloIDBetweenSetsRetriever(store, operation,
-                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(store));
+                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
             } else {
                 ret = new AccumuloIDBetweenSetsRetriever(store, operation);
             }
@@ -44,7 +44,7 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
                                 store),
                         store.getKeyPackage().getIteratorFactory()
                                 .getEdgeEntityDirectionFilterIteratorSetting(operation),
-                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(store));
+                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
             } else {
                 ret = new AccumuloSingleIDRetriever(store, operation);
             }
@@ -48,7 +48,7 @@ public class GetElementsInRangesHandler
                         store.getKeyPackage().getIteratorFactory()
                                 .getEdgeEntityDirectionFilterIteratorSetting(operation),
                         store.getKeyPackage().getIteratorFactory().getElementPropertyRangeQueryFilter(operation),
-                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(store));
+                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
             } else {
                 ret = new AccumuloRangeIDRetriever(store, operation);
             }
@@ -40,7 +40,7 @@ public class GetElementsWithinSetHandler implements OperationHandler<GetElements
         try {
             if (operation.isSummarise()) {
                 ret = new AccumuloIDWithinSetRetriever(store, operation,
-                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(store));
+                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(operation.getView(), store));
             } else {
                 ret = new AccumuloIDWithinSetRetriever(store, operation);
             }
@@ -21,6 +21,8 @@ import org.apache.hadoop.util.ToolRunner;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.operation.handler.tool.ImportElementsToAccumulo;
 import gaffer.accumulostore.operation.hdfs.handler.tool.FetchElementsFromHdfs;
+import gaffer.accumulostore.operation.hdfs.handler.tool.SampleDataAndCreateSplits;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.operation.OperationException;
 import gaffer.operation.simple.hdfs.AddElementsFromHdfs;
 import gaffer.store.Store;
@@ -35,10 +37,45 @@ public class AddElementsFromHdfsHandler implements OperationHandler<AddElementsF
     }
 
     public void doOperation(final AddElementsFromHdfs operation, final AccumuloStore store) throws OperationException {
+        if (isSampleSplits(operation)) {
+            sampleDataAndCreateSplits(operation, store);
+        }
         fetchElements(operation, store);
         importElements(operation, store);
     }
 
+    /**
+     * The data is only sampled if requested and the user has not provided their own splits file.
+     *
+     * @param operation the operation
+     * @return true if the data should be sampled to split the table before it is imported
+     */
+    private boolean isSampleSplits(final AddElementsFromHdfs operation) {
+        final String splitsFile = operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_SPLITS_FILE);
+        return "true".equalsIgnoreCase(operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_SAMPLE_SPLITS))
+                && (null == splitsFile || splitsFile.isEmpty());
+    }
+
+    private void sampleDataAndCreateSplits(final AddElementsFromHdfs operation, final AccumuloStore store)
+            throws OperationException {
+        final SampleDataAndCreateSplits sampleTool = new SampleDataAndCreateSplits(operation, store);
+
+        final int response;
+        try {
+            response = ToolRunner.run(sampleTool, new String[0]);
+        } catch (final Exception e) {
+            throw new OperationException("Failed to sample elements from HDFS to split the table", e);
+        }
+
+        if (SampleDataAndCreateSplits.SUCCESS_RESPONSE != response) {
+            throw new OperationException(
+                    "Failed to sample elements from HDFS to split the table. Response code was: " + response);
+        }
+
+        // Partition the import using the table's new splits, so there is one reducer per tablet.
+        operation.addOption(AccumuloStoreConstants.OPERATION_HDFS_USE_ACCUMULO_PARTITIONER, "true");
+    }
+
     private void fetchElements(final AddElementsFromHdfs operation, final AccumuloStore store)
             throws OperationException {
         final FetchElementsFromHdfs fetchTool = new FetchElementsFromHdfs(operation, store);
@@ -23,6 +23,7 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
@@ -43,6 +44,22 @@ public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFr
         super.setupJobConf(jobConf, operation, store);
         jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
                 ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        jobConf.setLong(AccumuloStoreConstants.OPERATION_HDFS_IMPORT_TIMESTAMP, System.currentTimeMillis());
+        final String mapperCacheSize = operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_MAPPER_CACHE_SIZE);
+        if (null != mapperCacheSize) {
+            jobConf.set(AccumuloStoreConstants.OPERATION_HDFS_MAPPER_CACHE_SIZE, mapperCacheSize);
+        }
+        final String compressionCodec = operation.getOption(
+                AccumuloStoreConstants.OPERATION_HDFS_MAP_OUTPUT_COMPRESSION_CODEC);
+        if (null != compressionCodec && !compressionCodec.isEmpty()) {
+            try {
+                jobConf.setMapOutputCompressorClass(Class.forName(compressionCodec).asSubclass(CompressionCodec.class));
+            } catch (final ClassNotFoundException | ClassCastException e) {
+                throw new IllegalArgumentException("Map output compression codec could not be found: "
+                        + compressionCodec, e);
+            }
+            jobConf.setCompressMapOutput(true);
+        }
     }
 
     @Override
@@ -50,6 +67,7 @@ public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFr
         super.setupJob(job, operation, store);
 
         setupMapper(job, operation, store);
+        setupCombiner(job, operation, store);
         setupReducer(job, operation, store);
         setupOutput(job, operation, store);
         String useAccumuloPartioner = operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_USE_ACCUMULO_PARTITIONER);
@@ -62,6 +80,14 @@ public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFr
         job.setMapperClass(AddElementsFromHdfsMapper.class);
         job.setMapOutputKeyClass(Key.class);
         job.setMapOutputValueClass(Value.class);
+        job.setSortComparatorClass(AccumuloKeyRawComparator.class);
+    }
+
+    private void setupCombiner(final Job job, final AddElementsFromHdfs operation, final Store store)
+            throws IOException {
+        if (!"false".equalsIgnoreCase(operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_USE_COMBINER))) {
+            job.setCombinerClass(AddElementsFromHdfsCombiner.class);
+        }
     }
 
     private void setupReducer(final Job job, final AddElementsFromHdfs operation, final Store store)
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import org.apache.accumulo.core.data.Key;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+/**
+ * A raw comparator for Accumulo {@link Key}s that compares their serialised form directly, so the keys do not need
+ * to be deserialised each time they are compared when map output is sorted and merged. Keys are ordered in the same
+ * way as {@link Key#compareTo(Key)}: by row, column family, column qualifier and column visibility, then by
+ * descending timestamp, with deleted keys first.
+ * <p>
+ * A serialised key is four variable length ints holding the end offsets of the row, column family, column
+ * qualifier and column visibility, followed by the bytes of those fields, the timestamp as a variable length long
+ * and a deleted flag.
+ */
+@SuppressFBWarnings(value = "SE_COMPARATOR_SHOULD_BE_SERIALIZABLE",
+        justification = "The comparator is created by Hadoop from its class name and is never serialised")
+public class AccumuloKeyRawComparator extends WritableComparator {
+    public AccumuloKeyRawComparator() {
+        super(Key.class);
+    }
+
+    @Override
+    public int compare(final byte[] b1, final int s1, final int l1, final byte[] b2, final int s2, final int l2) {
+        try {
+            int p1 = s1;
+            final int colFamilyOffset1 = readVInt(b1, p1);
+            p1 += WritableUtils.decodeVIntSize(b1[p1]);
+            final int colQualifierOffset1 = readVInt(b1, p1);
+            p1 += WritableUtils.decodeVIntSize(b1[p1]);
+            final int colVisibilityOffset1 = readVInt(b1, p1);
+            p1 += WritableUtils.decodeVIntSize(b1[p1]);
+            final int length1 = readVInt(b1, p1);
+            p1 += WritableUtils.decodeVIntSize(b1[p1]);
+
+            int p2 = s2;
+            final int colFamilyOffset2 = readVInt(b2, p2);
+            p2 += WritableUtils.decodeVIntSize(b2[p2]);
+            final int colQualifierOffset2 = readVInt(b2, p2);
+            p2 += WritableUtils.decodeVIntSize(b2[p2]);
+            final int colVisibilityOffset2 = readVInt(b2, p2);
+            p2 += WritableUtils.decodeVIntSize(b2[p2]);
+            final int length2 = readVInt(b2, p2);
+            p2 += WritableUtils.decodeVIntSize(b2[p2]);
+
+            int result = compareBytes(b1, p1, colFamilyOffset1, b2, p2, colFamilyOffset2);
+            if (0 != result) {
+                return result;
+            }
+            result = compareBytes(b1, p1 + colFamilyOffset1, colQualifierOffset1 - colFamilyOffset1,
+                    b2, p2 + colFamilyOffset2, colQualifierOffset2 - colFamilyOffset2);
+            if (0 != result) {
+                return result;
+            }
+            result = compareBytes(b1, p1 + colQualifierOffset1, colVisibilityOffset1 - colQualifierOffset1,
+                    b2, p2 + colQualifierOffset2, colVisibilityOffset2 - colQualifierOffset2);
+            if (0 != result) {
+                return result;
+            }
+            result = compareBytes(b1, p1 + colVisibilityOffset1, length1 - colVisibilityOffset1,
+                    b2, p2 + colVisibilityOffset2, length2 - colVisibilityOffset2);
+            if (0 != result) {
+                return result;
+            }
+
+            // Newer timestamps sort first
+            final int timestampStart1 = p1 + length1;
+            final int timestampStart2 = p2 + length2;
+            final long timestamp1 = readVLong(b1, timestampStart1);
+            final long timestamp2 = readVLong(b2, timestampStart2);
+            if (timestamp1 != timestamp2) {
+                return timestamp1 < timestamp2 ? 1 : -1;
+            }
+
+            // Deleted keys sort first
+            final boolean deleted1 = 0 != b1[timestampStart1 + WritableUtils.decodeVIntSize(b1[timestampStart1])];
+            final boolean deleted2 = 0 != b2[timestampStart2 + WritableUtils.decodeVIntSize(b2[timestampStart2])];
+            if (deleted1 == deleted2) {
+                return 0;
+            }
+            return deleted1 ? -1 : 1;
+        } catch (final IOException e) {
+            throw new IllegalArgumentException("Failed to compare serialised keys", e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Combiner for use in bulk import of data into Accumulo. It aggregates the
+ * values of identical keys on the map side, in the same way as
+ * {@link AddElementsFromHdfsReducer}, so each key is only shuffled once per
+ * map task rather than once per occurrence. As the schema aggregators are
+ * associative the reducer gives the same result whether or not the values
+ * have already been combined.
+ */
+public class AddElementsFromHdfsCombiner extends AddElementsFromHdfsReducer {
+    @Override
+    protected void reduce(final Key key, final Iterable<Value> values, final Context context)
+            throws IOException, InterruptedException {
+        final Iterator<Value> iter = values.iterator();
+        final Value firstValue = iter.next();
+        final boolean isMulti = iter.hasNext();
+
+        context.write(key, reduceValue(key, isMulti, iter, firstValue));
+        context.getCounter("Bulk import combiner", getCounterId(isMulti)).increment(1L);
+    }
+}
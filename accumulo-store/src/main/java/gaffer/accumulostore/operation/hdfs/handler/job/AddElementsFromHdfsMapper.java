@@ -18,6 +18,10 @@ package gaffer.accumulostore.operation.hdfs.handler.job;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
@@ -26,21 +30,46 @@ import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.StorePositions;
 import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.data.elementdefinition.schema.exception.SchemaException;
 import gaffer.operation.simple.hdfs.handler.AddElementsFromHdfsJobFactory;
 import gaffer.operation.simple.hdfs.handler.mapper.AbstractAddElementsFromHdfsMapper;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
 import gaffer.store.schema.StoreSchema;
 
+/**
+ * Mapper for use in bulk import of data into Accumulo. It converts each element into Accumulo keys and a value.
+ * <p>
+ * Keys of groups that do not store a property in the timestamp are all given the same timestamp, the time the job
+ * was created, so that the values of duplicate elements have identical keys and can be aggregated by the combiner and
+ * reducer.
+ * <p>
+ * If {@link AccumuloStoreConstants#OPERATION_HDFS_MAPPER_CACHE_SIZE} is set then the values of up to that many
+ * distinct keys are held in the mapper and the values of duplicate keys are aggregated into them before anything is
+ * written. When the cache is full the least recently used key is written out. This reduces the amount of data that
+ * is sorted and shuffled when the input contains many duplicate elements.
+ */
 public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
         extends AbstractAddElementsFromHdfsMapper<KEY_IN, VALUE_IN, Key, Value> {
     private AccumuloElementConverter elementConverter;
+    private StoreSchema storeSchema;
+    private DataSchema dataSchema;
+    private Long importTimestamp;
+    private final Map<String, Boolean> timestampPropertyByGroup = new HashMap<>();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+
+    private int cacheSize;
+    private LinkedHashMap<Key, CachedValue> cache;
 
     @Override
     protected void setup(final Context context) {
         super.setup(context);
 
-        final StoreSchema storeSchema;
         try {
             storeSchema = StoreSchema.fromJson(context.getConfiguration()
                     .get(AddElementsFromHdfsJobFactory.STORE_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
@@ -57,6 +86,23 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
                 | InvocationTargetException | NoSuchMethodException | SecurityException e) {
             throw new IllegalArgumentException("Element converter could not be created: " + converterClass, e);
         }
+
+        final String timestamp = context.getConfiguration().get(AccumuloStoreConstants.OPERATION_HDFS_IMPORT_TIMESTAMP);
+        if (null != timestamp) {
+            importTimestamp = Long.parseLong(timestamp);
+        }
+
+        cacheSize = context.getConfiguration().getInt(AccumuloStoreConstants.OPERATION_HDFS_MAPPER_CACHE_SIZE, 0);
+        if (cacheSize > 0) {
+            try {
+                dataSchema = DataSchema.fromJson(context.getConfiguration().get(AddElementsFromHdfsJobFactory.DATA_SCHEMA)
+                        .getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
+            } catch (final UnsupportedEncodingException e) {
+                throw new SchemaException("Unable to deserialise Data Schema from JSON");
+            }
+            // Access ordered, so the least recently used key is first
+            cache = new LinkedHashMap<>(16, 0.75f, true);
+        }
     }
 
     @Override
@@ -75,10 +121,120 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN>
             throw new IllegalArgumentException(e.getMessage(), e);
         }
 
-        context.write(keyPair.getFirst(), value);
+        final boolean useImportTimestamp = null != importTimestamp && !hasTimestampProperty(element.getGroup());
+        output(keyPair.getFirst(), value, element.getGroup(), useImportTimestamp, context);
         if (keyPair.getSecond() != null) {
-            context.write(keyPair.getSecond(), value);
+            output(keyPair.getSecond(), value, element.getGroup(), useImportTimestamp, context);
         }
         context.getCounter("Bulk import", element.getClass().getSimpleName() + " count").increment(1L);
     }
+
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        if (null != cache) {
+            final Iterator<Map.Entry<Key, CachedValue>> iter = cache.entrySet().iterator();
+            while (iter.hasNext()) {
+                final Map.Entry<Key, CachedValue> entry = iter.next();
+                iter.remove();
+                context.write(entry.getKey(), entry.getValue().getValue());
+            }
+        }
+        super.cleanup(context);
+    }
+
+    private void output(final Key key, final Value value, final String group, final boolean useImportTimestamp,
+                        final Context context) throws IOException, InterruptedException {
+        if (useImportTimestamp) {
+            key.setTimestamp(importTimestamp);
+        }
+
+        if (null == cache) {
+            context.write(key, value);
+            return;
+        }
+
+        final CachedValue cachedValue = cache.get(key);
+        if (null != cachedValue) {
+            cachedValue.aggregate(value);
+            context.getCounter("Bulk import", "Aggregated in mapper").increment(1L);
+            return;
+        }
+
+        cache.put(key, new CachedValue(group, value));
+        if (cache.size() > cacheSize) {
+            final Iterator<Map.Entry<Key, CachedValue>> iter = cache.entrySet().iterator();
+            final Map.Entry<Key, CachedValue> eldest = iter.next();
+            iter.remove();
+            context.write(eldest.getKey(), eldest.getValue().getValue());
+        }
+    }
+
+    private boolean hasTimestampProperty(final String group) {
+        Boolean hasTimestampProperty = timestampPropertyByGroup.get(group);
+        if (null == hasTimestampProperty) {
+            hasTimestampProperty = false;
+            final StoreElementDefinition elementDef = storeSchema.getElement(group);
+            if (null != elementDef) {
+                for (final StorePropertyDefinition propertyDef : elementDef.getPropertyDefinitions()) {
+                    if (StorePositions.TIMESTAMP.isEqual(propertyDef.getPosition())) {
+                        hasTimestampProperty = true;
+                        break;
+                    }
+                }
+            }
+            timestampPropertyByGroup.put(group, hasTimestampProperty);
+        }
+
+        return hasTimestampProperty;
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = dataSchema.getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        }
+        aggregator.initFunctions();
+
+        return aggregator;
+    }
+
+    /**
+     * The value of a key held in the mapper cache. The value is only deserialised into properties when a duplicate
+     * key is found, and the aggregated properties are only serialised again when the key is written out.
+     */
+    private final class CachedValue {
+        private final String group;
+        private Value value;
+        private Properties properties;
+
+        private CachedValue(final String group, final Value value) {
+            this.group = group;
+            this.value = value;
+        }
+
+        private void aggregate(final Value newValue) {
+            try {
+                final ElementAggregator aggregator = getAggregator(group);
+                aggregator.aggregate(null == properties ? elementConverter.getPropertiesFromValue(group, value) : properties);
+                aggregator.aggregate(elementConverter.getPropertiesFromValue(group, newValue));
+                properties = new Properties();
+                aggregator.state(properties);
+                value = null;
+            } catch (final AccumuloElementConversionException e) {
+                throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
+            }
+        }
+
+        private Value getValue() {
+            if (null == value) {
+                try {
+                    value = elementConverter.getValueFromProperties(properties, group);
+                } catch (final AccumuloElementConversionException e) {
+                    throw new IllegalArgumentException("Failed to create an accumulo value from Properties", e);
+                }
+            }
+            return value;
+        }
+    }
 }
@@ -30,7 +30,9 @@ import org.apache.hadoop.mapreduce.Reducer;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 
 /**
  * Reducer for use in bulk import of data into Accumulo. It merges all values
@@ -45,6 +47,7 @@ import java.util.Iterator;
 public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value> {
     private AccumuloElementConverter elementConverter;
     private DataSchema dataSchema;
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
 
     @Override
     protected void setup(final Context context) {
@@ -80,8 +83,8 @@ public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value>
         context.getCounter("Bulk import", getCounterId(isMulti)).increment(1L);
     }
 
-    private Value reduceValue(final Key key, final boolean isMulti, final Iterator<Value> iter,
-                              final Value firstValue) {
+    protected Value reduceValue(final Key key, final boolean isMulti, final Iterator<Value> iter,
+                                final Value firstValue) {
         return isMulti ? reduceMultiValue(key, iter, firstValue) : firstValue;
     }
 
@@ -96,7 +99,7 @@ public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value>
         Properties firstPropertySet;
         try {
             firstPropertySet = elementConverter.getPropertiesFromValue(group, firstValue);
-            aggregator = dataSchema.getElement(group).getAggregator();
+            aggregator = getAggregator(group);
             aggregator.aggregate(firstPropertySet);
             while (iter.hasNext()) {
                 aggregator.aggregate(elementConverter.getPropertiesFromValue(group, iter.next()));
@@ -113,7 +116,18 @@ public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value>
         }
     }
 
-    private String getCounterId(final boolean isMulti) {
+    private ElementAggregator getAggregator(final String group) {
+        ElementAggregator aggregator = aggregators.get(group);
+        if (null == aggregator) {
+            aggregator = dataSchema.getElement(group).getAggregator();
+            aggregators.put(group, aggregator);
+        }
+        aggregator.initFunctions();
+
+        return aggregator;
+    }
+
+    protected String getCounterId(final boolean isMulti) {
         return isMulti ? ">1 value" : "Only 1 value";
     }
 }
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import java.io.IOException;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.apache.hadoop.mapreduce.lib.output.FileOutputFormat;
+import org.apache.hadoop.mapreduce.lib.output.SequenceFileOutputFormat;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.operation.simple.hdfs.AddElementsFromHdfs;
+import gaffer.operation.simple.hdfs.handler.AbstractAddElementsFromHdfsJobFactory;
+import gaffer.store.Store;
+
+/**
+ * Creates the job that samples the rows of the keys that would be imported by an {@link AddElementsFromHdfs}
+ * operation. A single reducer writes the sampled rows, in order, to a sequence file in the sample output path.
+ */
+public class SampleDataForSplitPointsJobFactory extends AbstractAddElementsFromHdfsJobFactory {
+    private final Path sampleOutputPath;
+
+    public SampleDataForSplitPointsJobFactory(final Path sampleOutputPath) {
+        this.sampleOutputPath = sampleOutputPath;
+    }
+
+    @Override
+    protected void setupJobConf(final JobConf jobConf, final AddElementsFromHdfs operation, final Store store)
+            throws IOException {
+        super.setupJobConf(jobConf, operation, store);
+        jobConf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        final String sampleRatio = operation.getOption(AccumuloStoreConstants.OPERATION_HDFS_SAMPLE_RATIO);
+        if (null != sampleRatio) {
+            jobConf.set(AccumuloStoreConstants.OPERATION_HDFS_SAMPLE_RATIO, sampleRatio);
+        }
+    }
+
+    @Override
+    public void setupJob(final Job job, final AddElementsFromHdfs operation, final Store store) throws IOException {
+        super.setupJob(job, operation, store);
+
+        job.setMapperClass(SampleDataForSplitPointsMapper.class);
+        job.setMapOutputKeyClass(Text.class);
+        job.setMapOutputValueClass(NullWritable.class);
+
+        job.setReducerClass(Reducer.class);
+        job.setNumReduceTasks(1);
+        job.setOutputKeyClass(Text.class);
+        job.setOutputValueClass(NullWritable.class);
+
+        job.setOutputFormatClass(SequenceFileOutputFormat.class);
+        FileOutputFormat.setOutputPath(job, sampleOutputPath);
+    }
+
+    @Override
+    protected String getJobName(final Path inputPath, final Path outputPath) {
+        return "Sample HDFS data for split points: input=" + inputPath + ", output=" + sampleOutputPath;
+    }
+}
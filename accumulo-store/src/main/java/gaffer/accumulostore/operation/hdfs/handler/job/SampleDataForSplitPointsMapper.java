@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Random;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.operation.simple.hdfs.handler.AddElementsFromHdfsJobFactory;
+import gaffer.operation.simple.hdfs.handler.mapper.AbstractAddElementsFromHdfsMapper;
+import gaffer.store.schema.StoreSchema;
+
+/**
+ * Converts elements to Accumulo keys in the same way as {@link AddElementsFromHdfsMapper}, but rather than writing
+ * the keys it outputs the rows of a random sample of them and counts the number and size of all the keys and values.
+ * The sampled rows are used to choose split points for the table before the elements are imported.
+ */
+public class SampleDataForSplitPointsMapper<KEY_IN, VALUE_IN>
+        extends AbstractAddElementsFromHdfsMapper<KEY_IN, VALUE_IN, Text, NullWritable> {
+    public static final String COUNTER_GROUP = "Bulk import sampling";
+    public static final String NUM_KEYS_COUNTER = "Total keys";
+    public static final String NUM_BYTES_COUNTER = "Total key value bytes";
+
+    private final Random random = new Random();
+    private AccumuloElementConverter elementConverter;
+    private float sampleRatio;
+
+    @Override
+    protected void setup(final Context context) {
+        super.setup(context);
+
+        sampleRatio = Float.parseFloat(context.getConfiguration().get(
+                AccumuloStoreConstants.OPERATION_HDFS_SAMPLE_RATIO, AccumuloStoreConstants.OPERATION_HDFS_SAMPLE_RATIO_DEFAULT));
+
+        final StoreSchema storeSchema;
+        try {
+            storeSchema = StoreSchema.fromJson(context.getConfiguration()
+                    .get(AddElementsFromHdfsJobFactory.STORE_SCHEMA).getBytes(AccumuloStoreConstants.UTF_8_CHARSET));
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise Store Schema from JSON");
+        }
+
+        final String converterClass = context.getConfiguration().get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        try {
+            final Class<?> elementConverterClass = Class.forName(converterClass);
+            elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(StoreSchema.class)
+                    .newInstance(storeSchema);
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException | IllegalArgumentException
+                | InvocationTargetException | NoSuchMethodException | SecurityException e) {
+            throw new IllegalArgumentException("Element converter could not be created: " + converterClass, e);
+        }
+    }
+
+    @Override
+    protected void map(final Element element, final Context context) throws IOException, InterruptedException {
+        final Pair<Key> keyPair;
+        final Value value;
+        try {
+            keyPair = elementConverter.getKeysFromElement(element);
+            value = elementConverter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+
+        sample(keyPair.getFirst(), value, context);
+        if (keyPair.getSecond() != null) {
+            sample(keyPair.getSecond(), value, context);
+        }
+    }
+
+    private void sample(final Key key, final Value value, final Context context)
+            throws IOException, InterruptedException {
+        context.getCounter(COUNTER_GROUP, NUM_KEYS_COUNTER).increment(1L);
+        context.getCounter(COUNTER_GROUP, NUM_BYTES_COUNTER).increment(key.getSize() + value.getSize());
+        if (random.nextFloat() < sampleRatio) {
+            context.write(key.getRow(), NullWritable.get());
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.tool;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.hadoop.conf.Configured;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Counters;
+import org.apache.hadoop.mapreduce.Job;
+import org.apache.hadoop.util.Tool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.operation.hdfs.handler.job.SampleDataForSplitPointsJobFactory;
+import gaffer.accumulostore.operation.hdfs.handler.job.SampleDataForSplitPointsMapper;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.IngestUtils;
+import gaffer.accumulostore.utils.TableUtils;
+import gaffer.operation.OperationException;
+import gaffer.operation.simple.hdfs.AddElementsFromHdfs;
+
+/**
+ * Samples the keys that would be imported by an {@link AddElementsFromHdfs} operation and, if the table does not
+ * already have enough splits for the amount of data, adds split points chosen from the sample to the table.
+ * <p>
+ * The number of tablets wanted is the estimated size of the keys and values divided by
+ * {@link AccumuloStoreConstants#OPERATION_HDFS_BYTES_PER_REDUCER}, up to
+ * {@link AccumuloStoreConstants#OPERATION_HDFS_MAX_REDUCERS}. When the import job then partitions its output using
+ * the table's splits it uses one reducer per tablet, so the first import into an empty table is spread evenly
+ * across the reducers rather than written by a single reducer.
+ */
+public class SampleDataAndCreateSplits extends Configured implements Tool {
+    public static final int SUCCESS_RESPONSE = 1;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SampleDataAndCreateSplits.class);
+
+    private final AddElementsFromHdfs operation;
+    private final AccumuloStore store;
+    private final Path sampleOutputPath;
+
+    public SampleDataAndCreateSplits(final AddElementsFromHdfs operation, final AccumuloStore store) {
+        this.operation = operation;
+        this.store = store;
+        this.sampleOutputPath = new Path(operation.getOutputPath().toString() + "_sample");
+    }
+
+    @Override
+    public int run(final String[] strings) throws Exception {
+        TableUtils.ensureTableExists(store);
+
+        final Job job = new SampleDataForSplitPointsJobFactory(sampleOutputPath).createJob(operation, store);
+        job.waitForCompletion(true);
+
+        if (!job.isSuccessful()) {
+            throw new OperationException("Error running job");
+        }
+
+        final FileSystem fs = FileSystem.get(job.getConfiguration());
+        try {
+            createSplits(job.getCounters(), fs);
+        } finally {
+            fs.delete(sampleOutputPath, true);
+        }
+
+        return SUCCESS_RESPONSE;
+    }
+
+    private void createSplits(final Counters counters, final FileSystem fs) throws Exception {
+        final long totalBytes = counters.findCounter(SampleDataForSplitPointsMapper.COUNTER_GROUP,
+                SampleDataForSplitPointsMapper.NUM_BYTES_COUNTER).getValue();
+        final int numReducers = IngestUtils.getNumReducers(totalBytes,
+                Long.parseLong(getOption(AccumuloStoreConstants.OPERATION_HDFS_BYTES_PER_REDUCER,
+                        AccumuloStoreConstants.OPERATION_HDFS_BYTES_PER_REDUCER_DEFAULT)),
+                Integer.parseInt(getOption(AccumuloStoreConstants.OPERATION_HDFS_MAX_REDUCERS,
+                        AccumuloStoreConstants.OPERATION_HDFS_MAX_REDUCERS_DEFAULT)));
+
+        final Connector connector = store.getConnection();
+        final String table = store.getProperties().getTable();
+        final int numExistingSplits;
+        try {
+            numExistingSplits = connector.tableOperations().listSplits(table).size();
+        } catch (final TableNotFoundException | AccumuloSecurityException | AccumuloException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        LOGGER.info("Estimated " + totalBytes + " bytes to import, so want " + numReducers + " reducers. Table "
+                + table + " has " + numExistingSplits + " splits");
+        if (numReducers - 1 <= numExistingSplits) {
+            return;
+        }
+
+        final SortedSet<Text> splits = IngestUtils.getSplitsFromSample(readSample(fs), numReducers - 1);
+        LOGGER.info("Adding " + splits.size() + " splits to table " + table);
+        if (!splits.isEmpty()) {
+            connector.tableOperations().addSplits(table, splits);
+        }
+    }
+
+    private List<Text> readSample(final FileSystem fs) throws IOException {
+        final List<Text> sample = new ArrayList<>();
+        // There is only one reducer, so the rows are already in order
+        for (final FileStatus file : fs.globStatus(new Path(sampleOutputPath, "part-*"))) {
+            try (final SequenceFile.Reader reader = new SequenceFile.Reader(fs.getConf(),
+                    SequenceFile.Reader.file(file.getPath()))) {
+                Text row = new Text();
+                while (reader.next(row, NullWritable.get())) {
+                    sample.add(row);
+                    row = new Text();
+                }
+            }
+        }
+        return sample;
+    }
+
+    private String getOption(final String name, final String defaultValue) {
+        final String value = operation.getOption(name);
+        return null == value || value.isEmpty() ? defaultValue : value;
+    }
+}
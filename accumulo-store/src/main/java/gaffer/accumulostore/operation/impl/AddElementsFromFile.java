@@ -0,0 +1,108 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.data.generator.ElementGenerator;
+import gaffer.operation.AbstractOperation;
+import gaffer.operation.VoidInput;
+import gaffer.operation.VoidOutput;
+
+/**
+ * An <code>AddElementsFromFile</code> operation bulk imports {@link gaffer.data.element.Element}s from a local file
+ * without running a MapReduce job. Each line of the file is converted into elements by the
+ * {@link ElementGenerator}, the elements are sorted and aggregated in the client and then written to files that are
+ * imported directly into Accumulo.
+ * <p>
+ * The files to be imported are written under the working path, which must be on a file system the Accumulo tablet
+ * servers can read. If a working path is not provided a new directory in the system temporary directory is used.
+ * <p>
+ * For large amounts of data, or data that is already in HDFS, use
+ * {@link gaffer.operation.simple.hdfs.AddElementsFromHdfs}.
+ *
+ * @see gaffer.accumulostore.operation.impl.AddElementsFromFile.Builder
+ */
+public class AddElementsFromFile extends AbstractOperation<Void, Void> implements VoidInput<Void>, VoidOutput<Void> {
+    private String filename;
+    private ElementGenerator<String> elementGenerator;
+    private String workingPath;
+    private boolean validate = true;
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(final String filename) {
+        this.filename = filename;
+    }
+
+    public ElementGenerator<String> getElementGenerator() {
+        return elementGenerator;
+    }
+
+    public void setElementGenerator(final ElementGenerator<String> elementGenerator) {
+        this.elementGenerator = elementGenerator;
+    }
+
+    public String getWorkingPath() {
+        return workingPath;
+    }
+
+    public void setWorkingPath(final String workingPath) {
+        this.workingPath = workingPath;
+    }
+
+    public boolean isValidate() {
+        return validate;
+    }
+
+    public void setValidate(final boolean validate) {
+        this.validate = validate;
+    }
+
+    public static class Builder extends AbstractOperation.Builder<AddElementsFromFile, Void, Void> {
+        public Builder() {
+            super(new AddElementsFromFile());
+        }
+
+        public Builder filename(final String filename) {
+            op.setFilename(filename);
+            return this;
+        }
+
+        public Builder generator(final ElementGenerator<String> elementGenerator) {
+            op.setElementGenerator(elementGenerator);
+            return this;
+        }
+
+        public Builder workingPath(final String workingPath) {
+            op.setWorkingPath(workingPath);
+            return this;
+        }
+
+        public Builder validate(final boolean validate) {
+            op.setValidate(validate);
+            return this;
+        }
+
+        @Override
+        public Builder option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
@@ -36,11 +36,32 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? extends SEED_TYPE, ?>, SEED_TYPE>
         extends AccumuloRetriever<OP_TYPE> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
 
+    private static final ScannerBatch END_OF_BATCHES = new ScannerBatch(null,
+            Collections.<Map.Entry<Key, Value>>emptyIterator());
+    private static final String PREFETCH_THREAD_NAME_PREFIX = "batch-scanner-prefetch-";
+    private static final ThreadFactory PREFETCH_THREAD_FACTORY = new ThreadFactory() {
+        private final ThreadFactory defaultFactory = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = defaultFactory.newThread(runnable);
+            thread.setName(PREFETCH_THREAD_NAME_PREFIX + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    };
+
     private final Iterable<? extends SEED_TYPE> ids;
 
     protected AccumuloItemRetriever(final AccumuloStore store, final OP_TYPE operation,
@@ -67,79 +88,65 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
     protected abstract void addToRanges(final SEED_TYPE seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * An <code>ElementIterator</code> splits the seeds into batches of at most
+     * {@link gaffer.accumulostore.AccumuloProperties#getMaxEntriesForBatchScanner()} seeds and creates a
+     * {@link BatchScanner} for each batch. If the prefetch depth is greater than 0 then the ranges and scanners
+     * for the following batches are created in a background thread whilst the current batch is consumed. At most
+     * prefetch depth scanners wait to be consumed, so the read ahead is bounded. Closing the iterator stops the
+     * background thread and closes any scanners that have not been consumed. If a batch waits longer than the
+     * prefetch idle timeout to be consumed, the iterator is treated as abandoned: the background thread closes its
+     * scanners and stops, and the iterator has no more elements.
+     */
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
-        private BatchScanner scanner;
-        private Iterator<Map.Entry<Key, Value>> scannerIterator;
+        private final BlockingQueue<ScannerBatch> prefetchedBatches;
+        private final ExecutorService prefetchExecutor;
+        private final long prefetchIdleTimeout;
+        private volatile boolean closed;
+        private volatile boolean prefetchTimedOut;
+        private ScannerBatch currentBatch;
 
         protected ElementIterator() throws RetrieverException {
             idsIterator = ids.iterator();
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            currentBatch = createBatch();
 
-            // Create BatchScanner, appropriately configured (i.e. ranges,
-            // iterators, etc).
-            try {
-                scanner = getScanner(ranges);
-            } catch (TableNotFoundException | StoreException e) {
-                throw new RetrieverException(e);
+            final int prefetchDepth = store.getProperties().getBatchScannerPrefetchDepth();
+            prefetchIdleTimeout = store.getProperties().getBatchScannerPrefetchIdleTimeout();
+            if (prefetchDepth > 0 && idsIterator.hasNext()) {
+                prefetchedBatches = new ArrayBlockingQueue<>(prefetchDepth);
+                prefetchExecutor = Executors.newSingleThreadExecutor(PREFETCH_THREAD_FACTORY);
+                prefetchExecutor.execute(new BatchPrefetcher());
+                prefetchExecutor.shutdown();
+            } else {
+                prefetchedBatches = null;
+                prefetchExecutor = null;
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
         public boolean hasNext() {
             // If current scanner has next then return true.
-            if (scannerIterator.hasNext()) {
-                return true;
-            }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
-            // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
-                scanner.close();
-                try {
-                    scanner = getScanner(ranges);
-                } catch (TableNotFoundException | StoreException e) {
-                    LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+            // If current scanner is spent then move on to the next batch of seeds
+            // until a scanner with more elements is found or there are no more batches.
+            while (!currentBatch.getIterator().hasNext()) {
+                currentBatch.close();
+                if (END_OF_BATCHES == currentBatch) {
                     return false;
                 }
-                scannerIterator = scanner.iterator();
-            }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
+                currentBatch = nextBatch();
             }
-            return scannerIterator.hasNext();
+            return true;
         }
 
         @Override
         public Element next() {
-            final Map.Entry<Key, Value> entry = scannerIterator.next();
+            final Map.Entry<Key, Value> entry = currentBatch.getIterator().next();
             try {
-                final Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
+                final Element elm = elementConverter.getLazyFullElement(entry.getKey(), entry.getValue(),
                         operation.getOptions());
                 doTransformation(elm);
-                return elm;
+                return loadAllProperties(elm);
             } catch (final AccumuloElementConversionException e) {
                 LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
                         e);
@@ -154,7 +161,146 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
         @Override
         public void close() {
-            if (scanner != null) {
+            closed = true;
+            if (null != prefetchExecutor) {
+                prefetchExecutor.shutdownNow();
+                closePrefetchedBatches();
+            }
+            currentBatch.close();
+            currentBatch = END_OF_BATCHES;
+        }
+
+        private ScannerBatch nextBatch() {
+            if (null == prefetchedBatches) {
+                try {
+                    return createBatch();
+                } catch (final RetrieverException e) {
+                    LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+                    return END_OF_BATCHES;
+                }
+            }
+
+            try {
+                final ScannerBatch batch = prefetchedBatches.take();
+                if (END_OF_BATCHES == batch && prefetchTimedOut) {
+                    LOGGER.error("The read ahead stopped as the iterator was not used for " + prefetchIdleTimeout
+                            + "ms, returning iterator doesn't have any more elements");
+                }
+                return batch;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted whilst waiting for the next batch of elements, returning iterator doesn't have any more elements", e);
+                return END_OF_BATCHES;
+            }
+        }
+
+        /**
+         * Creates the ranges for the next batch of seeds and starts a {@link BatchScanner} over them.
+         *
+         * @return the batch, or END_OF_BATCHES if there are no more seeds
+         * @throws RetrieverException if the scanner could not be created
+         */
+        private ScannerBatch createBatch() throws RetrieverException {
+            if (!idsIterator.hasNext()) {
+                return END_OF_BATCHES;
+            }
+
+            int count = 0;
+            final Set<Range> ranges = new HashSet<>();
+            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+                count++;
+                try {
+                    addToRanges(idsIterator.next(), ranges);
+                } catch (final RangeFactoryException e) {
+                    LOGGER.error("Failed to create a range from given seed", e);
+                }
+            }
+
+            // Create BatchScanner, appropriately configured (i.e. ranges,
+            // iterators, etc).
+            final BatchScanner scanner;
+            try {
+                scanner = getScanner(ranges);
+            } catch (TableNotFoundException | StoreException e) {
+                throw new RetrieverException(e);
+            }
+            return new ScannerBatch(scanner, scanner.iterator());
+        }
+
+        private void closePrefetchedBatches() {
+            ScannerBatch batch = prefetchedBatches.poll();
+            while (null != batch) {
+                batch.close();
+                batch = prefetchedBatches.poll();
+            }
+        }
+
+        /**
+         * Creates the batches of seeds in order and adds them to the bounded queue, blocking whilst the queue is
+         * full. This is the only thread that reads the seeds once the first batch has been created.
+         */
+        private class BatchPrefetcher implements Runnable {
+            @Override
+            public void run() {
+                try {
+                    ScannerBatch batch;
+                    do {
+                        batch = createBatchOrEnd();
+                        try {
+                            if (!prefetchedBatches.offer(batch, prefetchIdleTimeout, TimeUnit.MILLISECONDS)) {
+                                batch.close();
+                                stopAbandonedReadAhead();
+                                return;
+                            }
+                        } catch (final InterruptedException e) {
+                            batch.close();
+                            return;
+                        }
+                    } while (!closed && END_OF_BATCHES != batch);
+                } finally {
+                    // The iterator may have been closed whilst the last batch was being added.
+                    if (closed) {
+                        closePrefetchedBatches();
+                    }
+                }
+            }
+
+            // The consumer has not taken a batch within the idle timeout, so it has probably been abandoned without
+            // being closed. The waiting scanners are closed and the end is queued in case the consumer comes back.
+            private void stopAbandonedReadAhead() {
+                prefetchTimedOut = true;
+                closePrefetchedBatches();
+                if (!prefetchedBatches.offer(END_OF_BATCHES)) {
+                    LOGGER.warn("Unable to mark the end of the abandoned read ahead");
+                }
+            }
+
+            private ScannerBatch createBatchOrEnd() {
+                try {
+                    return createBatch();
+                } catch (final RetrieverException | RuntimeException e) {
+                    LOGGER.error(e.getMessage() + " returning iterator doesn't have any more elements", e);
+                    return END_OF_BATCHES;
+                }
+            }
+        }
+    }
+
+    private static final class ScannerBatch {
+        private final BatchScanner scanner;
+        private final Iterator<Map.Entry<Key, Value>> iterator;
+
+        private ScannerBatch(final BatchScanner scanner, final Iterator<Map.Entry<Key, Value>> iterator) {
+            this.scanner = scanner;
+            this.iterator = iterator;
+        }
+
+        private Iterator<Map.Entry<Key, Value>> getIterator() {
+            return iterator;
+        }
+
+        private void close() {
+            if (null != scanner) {
                 scanner.close();
             }
         }
@@ -24,10 +24,12 @@ import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.CloseableIterable;
 import gaffer.accumulostore.utils.CloseableIterator;
 import gaffer.data.element.Element;
+import gaffer.data.element.LazyProperties;
 import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import gaffer.operation.GetOperation;
 import gaffer.store.StoreException;
+import gaffer.store.schema.StoreElementDefinition;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
@@ -75,6 +77,29 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         }
     }
 
+    /**
+     * Loads any properties of a lazily loaded element that have not yet been
+     * deserialised and returns the underlying element, so that the element
+     * returned to the user contains all of its properties.
+     *
+     * @param element the element to load
+     * @return the fully loaded element
+     */
+    protected Element loadAllProperties(final Element element) {
+        if (element.getProperties() instanceof LazyProperties) {
+            final StoreElementDefinition elementDef = store.getStoreSchema().getElement(element.getGroup());
+            if (null != elementDef) {
+                for (final String propertyName : elementDef.getProperties()) {
+                    if (null == element.getProperty(propertyName)) {
+                        element.getProperties().remove(propertyName);
+                    }
+                }
+            }
+        }
+
+        return element.getElement();
+    }
+
     @Override
     public void close() {
         if (iterator != null) {
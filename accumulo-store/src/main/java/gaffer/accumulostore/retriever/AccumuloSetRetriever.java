@@ -21,6 +21,7 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.BloomFilterUtils;
 import gaffer.accumulostore.utils.CloseableIterator;
 import gaffer.data.element.Edge;
@@ -35,9 +36,9 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -47,6 +48,7 @@ import java.util.Set;
 
 public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperation<EntitySeed, ?>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloSetRetriever.class);
+    private static final long CLIENT_SIDE_HASH_SEED = 0x61c8864680b583ebL;
     private boolean readEntriesIntoMemory;
 
     public AccumuloSetRetriever(final AccumuloStore store, final GetOperation<EntitySeed, ?> operation)
@@ -105,6 +107,54 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract AbstractElementIteratorFromBatches createElementIteratorFromBatches() throws RetrieverException;
 
+    /**
+     * Returns the number of seeds if they are held in a {@link Collection}.
+     * Other {@link Iterable}s are not counted as that would mean reading
+     * through the seeds an extra time.
+     *
+     * @param seeds the seeds
+     * @return the number of seeds, or -1 if the number is not known
+     */
+    protected static int getNumSeeds(final Iterable<?> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
+    /**
+     * Creates the Bloom filter to pass to the iterators, sized for the given
+     * number of vertices at the store's false positive rate but no larger
+     * than the maximum size of a Bloom filter to pass to an iterator.
+     *
+     * @param numVertices the number of vertices that will be added to the filter
+     * @return a new Bloom filter
+     */
+    protected BlockedBloomFilter createBloomFilter(final int numVertices) {
+        final BlockedBloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                Math.max(1, numVertices), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+        store.getSetRetrieverCounters().incrementBloomFilterBits(filter.getNumBits());
+        return filter;
+    }
+
+    /**
+     * Creates the Bloom filter that is used client-side as a secondary defeat
+     * of false positives. As it is the last check, it is sized for the square
+     * of the store's false positive rate, but no larger than the client-side
+     * Bloom filter size. It is hashed with a different seed to the filter
+     * passed to the iterators so that it does not share its false positives.
+     *
+     * @param numVertices the number of vertices that will be added to the filter
+     * @return a new Bloom filter
+     */
+    protected BlockedBloomFilter createClientSideBloomFilter(final int numVertices) {
+        final double falsePositiveRate = store.getProperties().getFalsePositiveRate();
+        final int numItems = Math.max(1, numVertices);
+        final int size = BloomFilterUtils.calculateBloomFilterSize(falsePositiveRate * falsePositiveRate, numItems,
+                store.getProperties().getClientSideBloomFilterSize());
+        final BlockedBloomFilter filter = new BlockedBloomFilter(size,
+                BloomFilterUtils.calculateNumHashes(size, numItems), CLIENT_SIDE_HASH_SEED);
+        store.getSetRetrieverCounters().incrementBloomFilterBits(filter.getNumBits());
+        return filter;
+    }
+
     protected Set<Object> extractVertices(final Iterable<EntitySeed> seeds) {
         final Set<Object> vertices = new HashSet<>();
         for (final EntitySeed seed : seeds) {
@@ -114,29 +164,29 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         return vertices;
     }
 
-    protected void addToBloomFilter(final Iterable<Object> vertices, final BloomFilter filter)
+    protected void addToBloomFilter(final Iterable<Object> vertices, final BlockedBloomFilter filter)
             throws RetrieverException {
         for (final Object vertex : vertices) {
             addToBloomFilter(vertex, filter);
         }
     }
 
-    protected void addToBloomFilter(final Iterable<EntitySeed> seeds, final BloomFilter filter1,
-                                    final BloomFilter filter2) throws RetrieverException {
+    protected void addToBloomFilter(final Iterable<EntitySeed> seeds, final BlockedBloomFilter filter1,
+                                    final BlockedBloomFilter filter2) throws RetrieverException {
         for (final EntitySeed seed : seeds) {
             addToBloomFilter(seed, filter1, filter2);
         }
     }
 
-    protected void addToBloomFilter(final EntitySeed seed, final BloomFilter filter1, final BloomFilter filter2)
+    protected void addToBloomFilter(final EntitySeed seed, final BlockedBloomFilter filter1, final BlockedBloomFilter filter2)
             throws RetrieverException {
         addToBloomFilter(seed.getVertex(), filter1);
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
-    private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+    private void addToBloomFilter(final Object vertex, final BlockedBloomFilter filter) throws RetrieverException {
         try {
-            filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(vertex)));
+            filter.add(elementConverter.serialiseVertexForBloomKey(vertex));
         } catch (final AccumuloElementConversionException e) {
             throw new RetrieverException("Failed to add identifier to the bloom key", e);
         }
@@ -147,7 +197,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         private Iterator<Element> iterator;
         private Element nextElm;
 
-        protected void initialise(final BloomFilter filter) throws RetrieverException {
+        protected void initialise(final BlockedBloomFilter filter) throws RetrieverException {
             IteratorSetting elementFilter = null;
             IteratorSetting bloomFilter = null;
             try {
@@ -239,7 +289,9 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             final Edge edge = (Edge) elm;
             final Object source = edge.getSource();
             final Object destination = edge.getDestination();
-            return checkIfBothEndsInSet(source, destination);
+            final boolean bothEndsInSet = checkIfBothEndsInSet(source, destination);
+            store.getSetRetrieverCounters().incrementEdgesCheckedInMemory(!bothEndsInSet);
+            return bothEndsInSet;
         }
 
     }
@@ -248,21 +300,36 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         protected Iterator<EntitySeed> idsAIterator;
         // The Bloom filter that is maintained client-side
         // as a secondary defeat of false positives.
-        protected BloomFilter clientSideFilter;
+        protected BlockedBloomFilter clientSideFilter;
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
-        protected BloomFilter filter;
+        protected BlockedBloomFilter filter;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
+        private int batchSize;
+        private long resultsInBatch;
 
         public AbstractElementIteratorFromBatches() {
-            // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
-            // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    store.getProperties().getMaxEntriesForBatchScanner(),
-                    store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            this(-1);
+        }
+
+        /**
+         * @param numSeeds the total number of seeds that will be added to the
+         *                 Bloom filters, or -1 if it is not known
+         */
+        public AbstractElementIteratorFromBatches(final int numSeeds) {
+            if (numSeeds < 0) {
+                // Set up client side filter
+                clientSideFilter = new BlockedBloomFilter(store.getProperties().getClientSideBloomFilterSize(), 13,
+                        CLIENT_SIDE_HASH_SEED);
+                store.getSetRetrieverCounters().incrementBloomFilterBits(clientSideFilter.getNumBits());
+                // Create Bloom filter to be passed to iterators.
+                filter = createBloomFilter(store.getProperties().getMaxEntriesForBatchScanner());
+            } else {
+                clientSideFilter = createClientSideBloomFilter(numSeeds);
+                filter = createBloomFilter(numSeeds);
+            }
             currentSeeds = new HashSet<>();
         }
 
@@ -274,8 +341,9 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             try {
                 while (_hasNext()) {
                     final Map.Entry<Key, Value> entry = scannerIterator.next();
+                    resultsInBatch++;
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(),
+                        nextElm = elementConverter.getLazyFullElement(entry.getKey(), entry.getValue(),
                                 operation.getOptions());
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
@@ -304,7 +372,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             Element nextReturn = nextElm;
             nextElm = null;
             doTransformation(nextReturn);
-            return nextReturn;
+            return loadAllProperties(nextReturn);
         }
 
         @Override
@@ -326,9 +394,11 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             // Read through the first N entities (where N =
             // maxEntriesForBatchScanner), create the associated ranges
             // and add them to a set.
+            updateBatchSize();
             count = 0;
+            resultsInBatch = 0;
             final Set<Range> ranges = new HashSet<>();
-            while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idsAIterator.hasNext() && count < batchSize) {
                 final EntitySeed seed = idsAIterator.next();
                 currentSeeds.add(seed.getVertex());
                 count++;
@@ -339,6 +409,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 }
                 updateBloomFilterIfRequired(seed);
             }
+            store.getSetRetrieverCounters().incrementBatches(count);
 
             try {
                 scanner = getScanner(ranges);
@@ -388,20 +459,38 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             final boolean destIsInCurrent = currentSeeds.contains(destination);
             boolean sourceMatchesClientFilter;
             try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(source)));
+                sourceMatchesClientFilter = clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(source));
             } catch (final AccumuloElementConversionException e) {
                 return false;
             }
             boolean destMatchesClientFilter;
             try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(
-                        new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(destination)));
+                destMatchesClientFilter = clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(destination));
             } catch (final AccumuloElementConversionException e) {
                 return false;
             }
-            return (sourceIsInCurrent && destMatchesClientFilter) || (destIsInCurrent && sourceMatchesClientFilter)
+            final boolean isValid = (sourceIsInCurrent && destMatchesClientFilter)
+                    || (destIsInCurrent && sourceMatchesClientFilter)
                     || (sourceIsInCurrent && destIsInCurrent);
+            store.getSetRetrieverCounters().incrementEdgesCheckedInBatches(!isValid);
+            return isValid;
+        }
+
+        /**
+         * Sets the number of seeds in the next batch so that it returns
+         * roughly the target number of results per batch, based on the number
+         * of results per seed in the previous batch. The batch size is never
+         * more than the maximum number of entries for the batch scanner.
+         */
+        private void updateBatchSize() {
+            final int maxBatchSize = store.getProperties().getMaxEntriesForBatchScanner();
+            if (count > 0 && resultsInBatch > 0) {
+                final double resultsPerSeed = resultsInBatch / (double) count;
+                final double targetBatchSize = store.getProperties().getTargetResultsPerBatch() / resultsPerSeed;
+                batchSize = (int) Math.max(1, Math.min(maxBatchSize, targetBatchSize));
+            } else {
+                batchSize = maxBatchSize;
+            }
         }
 
         private boolean _hasNext() throws RetrieverException {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.retriever;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread safe counters describing the set based queries run by the
+ * {@link AccumuloSetRetriever}s of an {@link gaffer.accumulostore.AccumuloStore}.
+ * The counters are cumulative over the lifetime of the store.
+ * <p>
+ * Every edge returned by the Bloom filter iterator is checked again on the
+ * client. When the seeds are read into memory the check is exact; otherwise
+ * the edge is checked against the current batch of seeds and the client-side
+ * Bloom filter. The two checks are counted separately. For each, the rejection
+ * rate is the proportion of the edges returned by the iterator that the check
+ * rejected. This is the proportion of the iterator's results that were false
+ * positives, not the false positive rate of the Bloom filter itself, which
+ * would be relative to the number of edges tested by the iterator.
+ */
+public class SetRetrieverCounters {
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong seedsQueried = new AtomicLong();
+    private final AtomicLong bloomFilterBits = new AtomicLong();
+    private final AtomicLong edgesCheckedInMemory = new AtomicLong();
+    private final AtomicLong edgesRejectedInMemory = new AtomicLong();
+    private final AtomicLong edgesCheckedInBatches = new AtomicLong();
+    private final AtomicLong edgesRejectedInBatches = new AtomicLong();
+
+    /**
+     * @return the number of batch scanners created to query batches of seeds
+     */
+    public long getBatches() {
+        return batches.get();
+    }
+
+    /**
+     * @return the number of seeds queried in batches
+     */
+    public long getSeedsQueried() {
+        return seedsQueried.get();
+    }
+
+    /**
+     * @return the total size, in bits, of the Bloom filters created
+     */
+    public long getBloomFilterBits() {
+        return bloomFilterBits.get();
+    }
+
+    /**
+     * @return the number of edges returned by the Bloom filter iterator that were checked against the seeds held in
+     * memory
+     */
+    public long getEdgesCheckedInMemory() {
+        return edgesCheckedInMemory.get();
+    }
+
+    /**
+     * @return the number of edges returned by the Bloom filter iterator that were not between the seeds held in memory
+     */
+    public long getEdgesRejectedInMemory() {
+        return edgesRejectedInMemory.get();
+    }
+
+    /**
+     * @return the proportion of the edges checked against the seeds held in memory that were rejected
+     */
+    public double getInMemoryRejectionRate() {
+        return getRate(edgesRejectedInMemory.get(), edgesCheckedInMemory.get());
+    }
+
+    /**
+     * @return the number of edges returned by the Bloom filter iterator that were checked against a batch of seeds
+     * and the client-side Bloom filter
+     */
+    public long getEdgesCheckedInBatches() {
+        return edgesCheckedInBatches.get();
+    }
+
+    /**
+     * @return the number of edges returned by the Bloom filter iterator that were rejected by the check against a
+     * batch of seeds and the client-side Bloom filter
+     */
+    public long getEdgesRejectedInBatches() {
+        return edgesRejectedInBatches.get();
+    }
+
+    /**
+     * @return the proportion of the edges checked against a batch of seeds and the client-side Bloom filter that
+     * were rejected
+     */
+    public double getInBatchesRejectionRate() {
+        return getRate(edgesRejectedInBatches.get(), edgesCheckedInBatches.get());
+    }
+
+    public void incrementBatches(final long seeds) {
+        batches.incrementAndGet();
+        seedsQueried.addAndGet(seeds);
+    }
+
+    public void incrementBloomFilterBits(final long bits) {
+        bloomFilterBits.addAndGet(bits);
+    }
+
+    public void incrementEdgesCheckedInMemory(final boolean rejected) {
+        edgesCheckedInMemory.incrementAndGet();
+        if (rejected) {
+            edgesRejectedInMemory.incrementAndGet();
+        }
+    }
+
+    public void incrementEdgesCheckedInBatches(final boolean rejected) {
+        edgesCheckedInBatches.incrementAndGet();
+        if (rejected) {
+            edgesRejectedInBatches.incrementAndGet();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SetRetrieverCounters{"
+                + "batches=" + getBatches()
+                + ", seedsQueried=" + getSeedsQueried()
+                + ", bloomFilterBits=" + getBloomFilterBits()
+                + ", edgesCheckedInMemory=" + getEdgesCheckedInMemory()
+                + ", edgesRejectedInMemory=" + getEdgesRejectedInMemory()
+                + ", edgesCheckedInBatches=" + getEdgesCheckedInBatches()
+                + ", edgesRejectedInBatches=" + getEdgesRejectedInBatches()
+                + '}';
+    }
+
+    private static double getRate(final long rejected, final long checked) {
+        if (0 == checked) {
+            return 0;
+        }
+        return rejected / (double) checked;
+    }
+}
@@ -20,11 +20,10 @@ import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.operation.AbstractAccumuloTwoSetSeededOperation;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
-import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import java.util.Set;
 
 /**
@@ -35,28 +34,28 @@ import java.util.Set;
  * {@link gaffer.operation.data.EntitySeed}s in set A.
  * <p>
  * This is done by querying for set A, and uses a
- * {@link org.apache.hadoop.util.bloom.BloomFilter}s in a filtering iterator to
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter}s in a filtering iterator to
  * identify edges that are likely to be between a member of set A and a member
  * of set B. Only these edges are returned to the client, and this reduces the
  * amount of data sent to the client.
  * <p>
  * This operates in two modes. In the first mode the seeds from both sets A and
  * B are loaded into memory (client-side). The seeds from set B are loaded into
- * a {@link org.apache.hadoop.util.bloom.BloomFilter}. This is passed to the
+ * a {@link gaffer.accumulostore.utils.BlockedBloomFilter}. This is passed to the
  * iterators to filter out all edges for which the non-query end is definitely
  * not in set B. A secondary check is done within this class to check that the
  * edge is definitely between elements of the set (this defeats any false
  * positives, i.e. edges that passed the
- * {@link org.apache.hadoop.util.bloom.BloomFilter} check in the iterators).
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter} check in the iterators).
  * This secondary check uses the in memory set of seeds (and hence there are
  * guaranteed to be no false positives returned to the user).
  * <p>
  * In the second mode, where there are too many seeds to be loaded into memory,
  * the seeds in set A are queried for in batches. The seeds in set B are loaded
- * into two {@link org.apache.hadoop.util.bloom.BloomFilter}s. The first of
+ * into two {@link gaffer.accumulostore.utils.BlockedBloomFilter}s. The first of
  * these is relatively small and is passed to the filtering iterator to filter
  * out edges that are definitely not to set B. The second, larger,
- * {@link org.apache.hadoop.util.bloom.BloomFilter} is used client-side to
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter} is used client-side to
  * further reduce the chances of false positives making it to the user.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
@@ -81,6 +80,12 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
         this.seedSetB = setB;
     }
 
+    private static int getNumSeeds(final Iterable<EntitySeed> setA, final Iterable<EntitySeed> setB) {
+        final int numSeedsA = getNumSeeds(setA);
+        final int numSeedsB = getNumSeeds(setB);
+        return numSeedsA < 0 || numSeedsB < 0 ? -1 : numSeedsA + numSeedsB;
+    }
+
     @Override
     protected boolean hasSeeds() {
         return seedSetA.iterator().hasNext() && seedSetB.iterator().hasNext();
@@ -106,8 +111,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
 
             // Create Bloom filter, read through set of entities B and add them
             // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            final BlockedBloomFilter filter = createBloomFilter(verticesA.size() + verticesB.size());
             addToBloomFilter(verticesB, filter);
             addToBloomFilter(verticesA, filter);
             initialise(filter);
@@ -127,6 +131,7 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumSeeds(seedSetA, seedSetB));
             addToBloomFilter(seedSetB, filter, clientSideFilter);
             addToBloomFilter(seedSetA, filter, clientSideFilter);
             idsAIterator = seedSetA.iterator();
@@ -19,12 +19,11 @@ package gaffer.accumulostore.retriever.impl;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
-import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.operation.GetOperation;
 import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import java.util.Set;
 
 /**
@@ -32,34 +31,34 @@ import java.util.Set;
  * set of {@link gaffer.operation.data.EntitySeed}'s and
  * {@link gaffer.data.element.Entity}s where the vertex is in the set.
  * <p>
- * {@link org.apache.hadoop.util.bloom.BloomFilter}s are used to identify on the
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter}s are used to identify on the
  * server edges that are likely to be between members of the set and to send
  * only these to the client. This reduces the amount of data sent to the client.
  * <p>
  * This operates in two modes. In the first mode the seeds are loaded into
  * memory (client-side). They are also loaded into a
- * {@link org.apache.hadoop.util.bloom.BloomFilter}. This is passed to the
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter}. This is passed to the
  * iterators to filter out all edges that are definitely not between elements of
  * the set. A secondary check is done within this class to check that the edge
  * is definitely between elements of the set (this defeats any false positives,
- * i.e. edges that passed the {@link org.apache.hadoop.util.bloom.BloomFilter}
+ * i.e. edges that passed the {@link gaffer.accumulostore.utils.BlockedBloomFilter}
  * check in the iterators). This secondary check uses the in memory set of seeds
  * (and hence there are guaranteed to be no false positives returned to the
  * user).
  * <p>
  * In the second mode, where there are too many seeds to be loaded into memory,
  * the seeds are queried one batch at a time. When the first batch is queried
- * for, a {@link org.apache.hadoop.util.bloom.BloomFilter} of the first batch is
+ * for, a {@link gaffer.accumulostore.utils.BlockedBloomFilter} of the first batch is
  * created and passed to the iterators. This filters out all edges that are
  * definitely not between elements of the first batch. When the second batch is
- * queried for, the same {@link org.apache.hadoop.util.bloom.BloomFilter} has
+ * queried for, the same {@link gaffer.accumulostore.utils.BlockedBloomFilter} has
  * the second batch added to it. This is passed to the iterators, which filters
  * out all edges that are definitely not between elements of the second batch
  * and the first or second batch. This process repeats until all seeds have been
  * queried for. This is best thought of as a square split into a grid (with the
  * same number of squares in both dimensions). As there are too many seeds to
  * load into memory, we use a client-side
- * {@link org.apache.hadoop.util.bloom.BloomFilter} to further reduce the
+ * {@link gaffer.accumulostore.utils.BlockedBloomFilter} to further reduce the
  * chances of false positives making it to the user.
  */
 public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
@@ -103,8 +102,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
 
             // Create Bloom filter, read through set of entities and add them to
             // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            final BlockedBloomFilter filter = createBloomFilter(vertices.size());
             addToBloomFilter(vertices, filter);
 
             initialise(filter);
@@ -123,6 +121,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumSeeds(seeds));
             idsAIterator = seeds.iterator();
             updateScanner();
         }
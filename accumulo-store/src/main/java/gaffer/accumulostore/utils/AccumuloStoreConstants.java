@@ -35,6 +35,10 @@ public final class AccumuloStoreConstants {
     public static final String VIEW = "View";
     public static final String DATA_SCHEMA = "Data_Schema";
     public static final String STORE_SCHEMA = "Store_Schema";
+    // Fingerprints of the view and schema options, so iterators can reuse a view or schema that has already been parsed.
+    public static final String VIEW_FINGERPRINT = "View_Fingerprint";
+    public static final String DATA_SCHEMA_FINGERPRINT = "Data_Schema_Fingerprint";
+    public static final String STORE_SCHEMA_FINGERPRINT = "Store_Schema_Fingerprint";
     public static final String INCLUDE_ENTITIES = "Include_All_Entities";
     public static final String INCLUDE_ALL_EDGES = "Include_All_Edges";
     public static final String NO_EDGES = "No_Edges";
@@ -66,6 +70,31 @@ public final class AccumuloStoreConstants {
     // Operations options
     public static final String OPERATION_HDFS_USE_ACCUMULO_PARTITIONER = "accumulostore.operation.hdfs.use_accumulo_partitioner";
     public static final String OPERATION_HDFS_SPLITS_FILE = "accumulostore.operation.hdfs.user_provided_splits_file";
+    // If true, the data is sampled before a bulk import to choose split points for the table and the number of reducers.
+    public static final String OPERATION_HDFS_SAMPLE_SPLITS = "accumulostore.operation.hdfs.sample_splits";
+    // The proportion of generated keys to sample when choosing split points.
+    public static final String OPERATION_HDFS_SAMPLE_RATIO = "accumulostore.operation.hdfs.sample_ratio";
+    public static final String OPERATION_HDFS_SAMPLE_RATIO_DEFAULT = "0.001";
+    // The approximate number of bytes of keys and values each reducer should write when the data is sampled.
+    public static final String OPERATION_HDFS_BYTES_PER_REDUCER = "accumulostore.operation.hdfs.bytes_per_reducer";
+    public static final String OPERATION_HDFS_BYTES_PER_REDUCER_DEFAULT = String.valueOf(1L << 30);
+    // The maximum number of reducers to use when the data is sampled.
+    public static final String OPERATION_HDFS_MAX_REDUCERS = "accumulostore.operation.hdfs.max_reducers";
+    public static final String OPERATION_HDFS_MAX_REDUCERS_DEFAULT = "1000";
+    // If false, duplicate keys are not aggregated on the map side by a combiner. Defaults to true.
+    public static final String OPERATION_HDFS_USE_COMBINER = "accumulostore.operation.hdfs.use_combiner";
+    // The maximum number of distinct keys each mapper holds and aggregates before writing them out. Not used if not set.
+    public static final String OPERATION_HDFS_MAPPER_CACHE_SIZE = "accumulostore.operation.hdfs.mapper_aggregation_cache_size";
+    // The timestamp given to the keys of a bulk import when the timestamp is not a property.
+    public static final String OPERATION_HDFS_IMPORT_TIMESTAMP = "accumulostore.operation.hdfs.import_timestamp";
+    // The class name of the codec used to compress map output. Map output is not compressed if not set.
+    public static final String OPERATION_HDFS_MAP_OUTPUT_COMPRESSION_CODEC = "accumulostore.operation.hdfs.map_output_compression_codec";
+    // The maximum number of keys and values a local bulk import sorts in memory before spilling them to disk.
+    public static final String OPERATION_LOCAL_MAX_ENTRIES_IN_MEMORY = "accumulostore.operation.local.max_entries_in_memory";
+    public static final String OPERATION_LOCAL_MAX_ENTRIES_IN_MEMORY_DEFAULT = "1000000";
+    // The number of threads a local bulk import uses to write files, one tablet at a time per thread.
+    public static final String OPERATION_LOCAL_WRITER_THREADS = "accumulostore.operation.local.writer_threads";
+    public static final String OPERATION_LOCAL_WRITER_THREADS_DEFAULT = "4";
     public static final String OPERATION_AUTHORISATIONS = "accumulostore.operation.authorisations";
     public static final String OPERATION_RETURN_MATCHED_SEEDS_AS_EDGE_SOURCE = "accumulostore.operation.return_matched_id_as_edge_source";
 
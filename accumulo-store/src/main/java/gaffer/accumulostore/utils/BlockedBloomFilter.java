@@ -0,0 +1,313 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.apache.commons.codec.binary.Base64;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A Bloom filter whose bits are split into blocks of one cache line (512 bits). Each item sets and tests bits in a
+ * single block, chosen by a 64-bit hash of the item, so a membership test touches one cache line instead of one
+ * per hash function. The items are byte array ranges, so callers can test part of a larger array without copying.
+ * <p>
+ * For the same number of bits a blocked filter has a slightly higher false positive rate than a standard Bloom
+ * filter, but it is much faster to test and is only hashed once per item.
+ * <p>
+ * The filter can be serialised to a compact form, in which the bits are deflated, and to a Base64 string of that
+ * form so that it can be passed to an iterator as an option. Filters that are sized for more items than are added
+ * to them compress well.
+ */
+public class BlockedBloomFilter {
+    public static final int BITS_PER_BLOCK = 512;
+    private static final int WORDS_PER_BLOCK = BITS_PER_BLOCK / Long.SIZE;
+    private static final int BLOCK_BIT_MASK = BITS_PER_BLOCK - 1;
+    private static final byte VERSION = 3;
+    private static final String STRING_CHARSET = "US-ASCII";
+
+    private static final long MURMUR_MULTIPLIER = 0xc6a4a7935bd1e995L;
+    private static final int MURMUR_SHIFT = 47;
+    private static final long DEFAULT_HASH_SEED = 0x2545f4914f6cdd1dL;
+    private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+    private static final int BITS_PER_INDEX = 9;
+    private static final int INDICES_PER_LONG = Long.SIZE / BITS_PER_INDEX;
+
+    private final int numBlocks;
+    private final int numHashes;
+    private final long hashSeed;
+    private final long[] words;
+
+    /**
+     * @param numBits   the minimum number of bits in the filter, which is rounded up to a whole number of blocks
+     * @param numHashes the number of bits to set for each item
+     */
+    public BlockedBloomFilter(final int numBits, final int numHashes) {
+        this(numBits, numHashes, DEFAULT_HASH_SEED);
+    }
+
+    /**
+     * Filters with different hash seeds set different bits for the same item, so their false positives are
+     * independent.
+     *
+     * @param numBits   the minimum number of bits in the filter, which is rounded up to a whole number of blocks
+     * @param numHashes the number of bits to set for each item
+     * @param hashSeed  the seed for the hash function
+     */
+    public BlockedBloomFilter(final int numBits, final int numHashes, final long hashSeed) {
+        this(Math.max(1, (int) ((numBits + (long) BITS_PER_BLOCK - 1) / BITS_PER_BLOCK)), numHashes, hashSeed,
+                null);
+    }
+
+    private BlockedBloomFilter(final int numBlocks, final int numHashes, final long hashSeed, final long[] words) {
+        if (numHashes < 1) {
+            throw new IllegalArgumentException("The number of hashes must be at least 1");
+        }
+        this.numBlocks = numBlocks;
+        this.numHashes = numHashes;
+        this.hashSeed = hashSeed;
+        this.words = null != words ? words : new long[numBlocks * WORDS_PER_BLOCK];
+    }
+
+    /**
+     * @param item the item to add
+     */
+    public void add(final byte[] item) {
+        add(item, 0, item.length);
+    }
+
+    /**
+     * @param bytes  the array containing the item to add
+     * @param offset the offset of the item in the array
+     * @param length the length of the item
+     */
+    public void add(final byte[] bytes, final int offset, final int length) {
+        final long hash = hash(bytes, offset, length, hashSeed);
+        final int blockStart = getBlock(hash) * WORDS_PER_BLOCK;
+        long state = hash;
+        long indices = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (0 == i % INDICES_PER_LONG) {
+                state += GOLDEN_RATIO;
+                indices = mix(state);
+            }
+            final int bit = (int) indices & BLOCK_BIT_MASK;
+            indices >>>= BITS_PER_INDEX;
+            words[blockStart + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param item the item to test
+     * @return false if the item is definitely not in the filter, otherwise true
+     */
+    public boolean membershipTest(final byte[] item) {
+        return membershipTest(item, 0, item.length);
+    }
+
+    /**
+     * @param bytes  the array containing the item to test
+     * @param offset the offset of the item in the array
+     * @param length the length of the item
+     * @return false if the item is definitely not in the filter, otherwise true
+     */
+    public boolean membershipTest(final byte[] bytes, final int offset, final int length) {
+        final long hash = hash(bytes, offset, length, hashSeed);
+        final int blockStart = getBlock(hash) * WORDS_PER_BLOCK;
+        long state = hash;
+        long indices = 0;
+        for (int i = 0; i < numHashes; i++) {
+            if (0 == i % INDICES_PER_LONG) {
+                state += GOLDEN_RATIO;
+                indices = mix(state);
+            }
+            final int bit = (int) indices & BLOCK_BIT_MASK;
+            indices >>>= BITS_PER_INDEX;
+            if (0 == (words[blockStart + (bit >>> 6)] & (1L << bit))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getNumBits() {
+        return numBlocks * BITS_PER_BLOCK;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    /**
+     * @return the number of bits that are set in the filter
+     */
+    public int getNumBitsSet() {
+        int count = 0;
+        for (final long word : words) {
+            count += Long.bitCount(word);
+        }
+
+        return count;
+    }
+
+    /**
+     * @return the serialised filter, in which the bits are deflated
+     */
+    public byte[] toBytes() {
+        final ByteBuffer buffer = ByteBuffer.allocate(words.length * (Long.SIZE / Byte.SIZE));
+        buffer.asLongBuffer().put(words);
+
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (final DataOutputStream out = new DataOutputStream(baos)) {
+            out.writeByte(VERSION);
+            out.writeInt(numBlocks);
+            out.writeInt(numHashes);
+            out.writeLong(hashSeed);
+            try (final DeflaterOutputStream deflaterOut = new DeflaterOutputStream(out, deflater)) {
+                deflaterOut.write(buffer.array());
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Unable to serialise bloom filter", e);
+        } finally {
+            deflater.end();
+        }
+
+        return baos.toByteArray();
+    }
+
+    /**
+     * @param bytes a filter serialised with {@link #toBytes()}
+     * @return the deserialised filter
+     * @throws IOException if the bytes are not a serialised filter
+     */
+    public static BlockedBloomFilter fromBytes(final byte[] bytes) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final byte version = in.readByte();
+            if (VERSION != version) {
+                throw new IOException("Unsupported bloom filter version " + version);
+            }
+            final int numBlocks = in.readInt();
+            final int numHashes = in.readInt();
+            final long hashSeed = in.readLong();
+            if (numBlocks < 1 || numBlocks > Integer.MAX_VALUE / BITS_PER_BLOCK || numHashes < 1) {
+                throw new IOException("Invalid bloom filter with " + numBlocks + " blocks and " + numHashes + " hashes");
+            }
+
+            final byte[] wordBytes = new byte[numBlocks * BITS_PER_BLOCK / Byte.SIZE];
+            try (final DataInputStream inflaterIn = new DataInputStream(new InflaterInputStream(in))) {
+                inflaterIn.readFully(wordBytes);
+            }
+            final long[] words = new long[numBlocks * WORDS_PER_BLOCK];
+            ByteBuffer.wrap(wordBytes).asLongBuffer().get(words);
+            return new BlockedBloomFilter(numBlocks, numHashes, hashSeed, words);
+        }
+    }
+
+    /**
+     * @return the serialised filter encoded as a Base64 string
+     */
+    public String toEncodedString() {
+        try {
+            return new String(Base64.encodeBase64(toBytes()), STRING_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to encode bloom filter", e);
+        }
+    }
+
+    /**
+     * @param encoded a filter encoded with {@link #toEncodedString()}
+     * @return the deserialised filter
+     * @throws IOException if the string is not an encoded filter
+     */
+    public static BlockedBloomFilter fromEncodedString(final String encoded) throws IOException {
+        return fromBytes(Base64.decodeBase64(encoded.getBytes(STRING_CHARSET)));
+    }
+
+    /**
+     * A 64-bit MurmurHash (MurmurHash64A) of a range of a byte array.
+     *
+     * @param bytes  the array containing the item to hash
+     * @param offset the offset of the item in the array
+     * @param length the length of the item
+     * @param seed   the seed for the hash
+     * @return the hash
+     */
+    static long hash(final byte[] bytes, final int offset, final int length, final long seed) {
+        long hash = seed ^ (length * MURMUR_MULTIPLIER);
+        final int end = offset + (length & ~7);
+        int pos = offset;
+        while (pos < end) {
+            long k = (bytes[pos] & 0xffL)
+                    | (bytes[pos + 1] & 0xffL) << 8
+                    | (bytes[pos + 2] & 0xffL) << 16
+                    | (bytes[pos + 3] & 0xffL) << 24
+                    | (bytes[pos + 4] & 0xffL) << 32
+                    | (bytes[pos + 5] & 0xffL) << 40
+                    | (bytes[pos + 6] & 0xffL) << 48
+                    | (bytes[pos + 7] & 0xffL) << 56;
+            k *= MURMUR_MULTIPLIER;
+            k ^= k >>> MURMUR_SHIFT;
+            k *= MURMUR_MULTIPLIER;
+            hash ^= k;
+            hash *= MURMUR_MULTIPLIER;
+            pos += 8;
+        }
+
+        final int remaining = length & 7;
+        if (remaining > 0) {
+            for (int i = remaining - 1; i >= 0; i--) {
+                hash ^= (bytes[pos + i] & 0xffL) << (8 * i);
+            }
+            hash *= MURMUR_MULTIPLIER;
+        }
+
+        hash ^= hash >>> MURMUR_SHIFT;
+        hash *= MURMUR_MULTIPLIER;
+        hash ^= hash >>> MURMUR_SHIFT;
+        return hash;
+    }
+
+    private int getBlock(final long hash) {
+        // Maps the top 32 bits of the hash onto [0, numBlocks) without a division.
+        return (int) (((hash >>> 32) * numBlocks) >>> 32);
+    }
+
+    /**
+     * The SplitMix64 finaliser, used to generate a stream of independent bit indices from the hash of an item. The
+     * top bits of the hash choose the block, so deriving the indices from the hash rather than reusing its bits
+     * stops items in the same block from sharing their bit patterns.
+     *
+     * @param value the value to mix
+     * @return the mixed value
+     */
+    private static long mix(final long value) {
+        long mixed = value;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+        return mixed ^ (mixed >>> 31);
+    }
+}
@@ -16,9 +16,6 @@
 
 package gaffer.accumulostore.utils;
 
-import org.apache.hadoop.util.bloom.BloomFilter;
-import org.apache.hadoop.util.hash.Hash;
-
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 /**
@@ -32,7 +29,7 @@ public final class BloomFilterUtils {
 
     /**
      * Calculates the size of the
-     * {@link org.apache.hadoop.util.bloom.BloomFilter} needed to achieve the
+     * {@link BlockedBloomFilter} needed to achieve the
      * desired false positive rate given that the specified number of items will
      * be added to the set, but with the maximum size limited as specified.
      *
@@ -50,7 +47,7 @@ public final class BloomFilterUtils {
 
     /**
      * Calculates the optimal number of hash functions to use in a
-     * {@link org.apache.hadoop.util.bloom.BloomFilter} of the given size, to
+     * {@link BlockedBloomFilter} of the given size, to
      * which the given number of items will be added.
      *
      * @param bloomFilterSize   the size of the bloom filter
@@ -63,7 +60,7 @@ public final class BloomFilterUtils {
     }
 
     /**
-     * Returns a {@link org.apache.hadoop.util.bloom.BloomFilter} of the
+     * Returns a {@link BlockedBloomFilter} of the
      * necessary size to achieve the given false positive rate (subject to the
      * given maximum size), configured with the optimal number of hash
      * functions.
@@ -71,23 +68,23 @@ public final class BloomFilterUtils {
      * @param falsePositiveRate the false positive rate
      * @param numItemsToBeAdded the number of items to be added
      * @param maximumSize       the maximum size
-     * @return A new BloomFilter with the desired Settings
+     * @return A new BlockedBloomFilter with the desired Settings
      */
-    public static BloomFilter getBloomFilter(final double falsePositiveRate, final int numItemsToBeAdded,
+    public static BlockedBloomFilter getBloomFilter(final double falsePositiveRate, final int numItemsToBeAdded,
             final int maximumSize) {
         final int size = calculateBloomFilterSize(falsePositiveRate, numItemsToBeAdded, maximumSize);
         final int numHashes = calculateNumHashes(size, numItemsToBeAdded);
-        return new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+        return new BlockedBloomFilter(size, numHashes);
     }
 
     /**
-     * Returns a {@link org.apache.hadoop.util.bloom.BloomFilter} of the given
+     * Returns a {@link BlockedBloomFilter} of the given
      * size.
      *
      * @param size the size of the bloom filter to create
-     * @return A new BloomFilter of the desired size
+     * @return A new BlockedBloomFilter of the desired size
      */
-    public static BloomFilter getBloomFilter(final int size) {
-        return new BloomFilter(size, 13, Hash.MURMUR_HASH);
+    public static BlockedBloomFilter getBloomFilter(final int size) {
+        return new BlockedBloomFilter(size, 13);
     }
 }
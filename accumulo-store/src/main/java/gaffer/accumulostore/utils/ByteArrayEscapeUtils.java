@@ -14,10 +14,17 @@
  * limitations under the License.
  */
 
+
 package gaffer.accumulostore.utils;
 
+import gaffer.serialisation.ByteArrayBuffer;
+
 /**
  * Removes the 0 byte from a byte array. Preserves ordering.
+ * <p>
+ * Each method makes a single pass over the bytes. The methods that return a new array work out the exact length of
+ * the result first, so only that array is allocated, and there are variants that write into a caller provided
+ * array or {@link ByteArrayBuffer} so no array needs to be allocated at all.
  */
 public final class ByteArrayEscapeUtils {
 
@@ -40,22 +47,87 @@ public final class ByteArrayEscapeUtils {
      * @return the escaped byte array
      */
     public static byte[] escape(final byte[] bytes) {
-        final byte[] temp = new byte[2 * bytes.length];
-        int currentPosition = 0;
-        for (final byte b : bytes) {
+        final byte[] escaped = new byte[getEscapedLength(bytes, 0, bytes.length)];
+        escape(bytes, 0, bytes.length, escaped, 0);
+        return escaped;
+    }
+
+    /**
+     * Escapes a range of the provided byte array into a destination array,
+     * which must have room for {@link #getEscapedLength(byte[], int, int)}
+     * bytes from the destination offset.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to escape
+     * @param offset
+     *            the start of the bytes to escape
+     * @param length
+     *            the number of bytes to escape
+     * @param destination
+     *            the array to write the escaped bytes to
+     * @param destinationOffset
+     *            the position in the destination array to start writing at
+     * @return the position in the destination array after the last escaped
+     *         byte
+     */
+    public static int escape(final byte[] bytes, final int offset, final int length, final byte[] destination,
+                             final int destinationOffset) {
+        int currentPosition = destinationOffset;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
             if (b == ESCAPE_CHAR) {
-                temp[currentPosition++] = ESCAPE_CHAR;
-                temp[currentPosition++] = REPLACEMENT_CHAR;
+                destination[currentPosition++] = ESCAPE_CHAR;
+                destination[currentPosition++] = REPLACEMENT_CHAR;
             } else if (b == DELIMITER) {
-                temp[currentPosition++] = ESCAPE_CHAR;
-                temp[currentPosition++] = ESCAPE_CHAR;
+                destination[currentPosition++] = ESCAPE_CHAR;
+                destination[currentPosition++] = ESCAPE_CHAR;
             } else {
-                temp[currentPosition++] = b;
+                destination[currentPosition++] = b;
             }
         }
-        final byte[] escaped = new byte[currentPosition];
-        System.arraycopy(temp, 0, escaped, 0, currentPosition);
-        return escaped;
+        return currentPosition;
+    }
+
+    /**
+     * Escapes a range of the provided byte array, appending the escaped bytes
+     * to a buffer.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to escape
+     * @param offset
+     *            the start of the bytes to escape
+     * @param length
+     *            the number of bytes to escape
+     * @param buffer
+     *            the buffer to append the escaped bytes to
+     */
+    public static void escape(final byte[] bytes, final int offset, final int length, final ByteArrayBuffer buffer) {
+        // Escaping at most doubles the length, which avoids counting the bytes to escape first.
+        buffer.ensureCapacity(2 * length);
+        buffer.setLength(escape(bytes, offset, length, buffer.getBytes(), buffer.getLength()));
+    }
+
+    /**
+     * Gets the length of a range of a byte array once it has been escaped.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to escape
+     * @param offset
+     *            the start of the bytes to escape
+     * @param length
+     *            the number of bytes to escape
+     * @return the number of bytes the range will be escaped to
+     */
+    public static int getEscapedLength(final byte[] bytes, final int offset, final int length) {
+        int escapedLength = length;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == ESCAPE_CHAR || bytes[i] == DELIMITER) {
+                escapedLength++;
+            }
+        }
+        return escapedLength;
     }
 
     /**
@@ -67,29 +139,137 @@ public final class ByteArrayEscapeUtils {
      * @return the unescaped byte array
      */
     public static byte[] unEscape(final byte[] bytes) {
-        final byte[] temp = new byte[bytes.length];
-        int currentPosition = 0;
+        return unEscape(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Unescapes a range of the provided byte array - this should only be
+     * called on bytes that have been through the <code>escape</code> method.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to unescape
+     * @param offset
+     *            the start of the bytes to unescape
+     * @param length
+     *            the number of bytes to unescape
+     * @return the unescaped byte array
+     */
+    public static byte[] unEscape(final byte[] bytes, final int offset, final int length) {
+        final byte[] unEscaped = new byte[getUnEscapedLength(bytes, offset, length)];
+        unEscape(bytes, offset, length, unEscaped, 0);
+        return unEscaped;
+    }
+
+    /**
+     * Unescapes a range of the provided byte array into a destination array,
+     * which must have room for {@link #getUnEscapedLength(byte[], int, int)}
+     * bytes from the destination offset. The destination may be the source
+     * array, as long as the destination offset is not after the source offset.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to unescape
+     * @param offset
+     *            the start of the bytes to unescape
+     * @param length
+     *            the number of bytes to unescape
+     * @param destination
+     *            the array to write the unescaped bytes to
+     * @param destinationOffset
+     *            the position in the destination array to start writing at
+     * @return the position in the destination array after the last unescaped
+     *         byte
+     */
+    public static int unEscape(final byte[] bytes, final int offset, final int length, final byte[] destination,
+                               final int destinationOffset) {
+        int currentPosition = destinationOffset;
         boolean isEscaped = false;
-        for (final byte b : bytes) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
             if (isEscaped) {
                 if (b == REPLACEMENT_CHAR) {
-                    temp[currentPosition++] = ESCAPE_CHAR;
+                    destination[currentPosition++] = ESCAPE_CHAR;
                 } else if (b == ESCAPE_CHAR) {
-                    temp[currentPosition++] = DELIMITER;
+                    destination[currentPosition++] = DELIMITER;
                 } else {
-                    temp[currentPosition++] = b;
+                    destination[currentPosition++] = b;
                 }
                 isEscaped = false;
             } else {
                 if (b == ESCAPE_CHAR) {
                     isEscaped = true;
                 } else {
-                    temp[currentPosition++] = b;
+                    destination[currentPosition++] = b;
                 }
             }
         }
-        final byte[] unEscaped = new byte[currentPosition];
-        System.arraycopy(temp, 0, unEscaped, 0, currentPosition);
-        return unEscaped;
+        return currentPosition;
+    }
+
+    /**
+     * Unescapes a range of the provided byte array, appending the unescaped
+     * bytes to a buffer.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to unescape
+     * @param offset
+     *            the start of the bytes to unescape
+     * @param length
+     *            the number of bytes to unescape
+     * @param buffer
+     *            the buffer to append the unescaped bytes to
+     */
+    public static void unEscape(final byte[] bytes, final int offset, final int length, final ByteArrayBuffer buffer) {
+        // Unescaping never increases the length, which avoids counting the escaped bytes first.
+        buffer.ensureCapacity(length);
+        buffer.setLength(unEscape(bytes, offset, length, buffer.getBytes(), buffer.getLength()));
+    }
+
+    /**
+     * Gets the length of a range of an escaped byte array once it has been
+     * unescaped.
+     *
+     * @param bytes
+     *            the byte array containing the bytes to unescape
+     * @param offset
+     *            the start of the bytes to unescape
+     * @param length
+     *            the number of bytes to unescape
+     * @return the number of bytes the range will be unescaped to
+     */
+    public static int getUnEscapedLength(final byte[] bytes, final int offset, final int length) {
+        int unEscapedLength = length;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == ESCAPE_CHAR) {
+                unEscapedLength--;
+                // Skip the byte after the escape character
+                i++;
+            }
+        }
+        return unEscapedLength;
+    }
+
+    /**
+     * Checks whether a range of an escaped byte array contains any escaped
+     * bytes. If it does not then the range is identical to its unescaped form
+     * and can be used without calling <code>unEscape</code>.
+     *
+     * @param bytes
+     *            the byte array containing the escaped bytes
+     * @param offset
+     *            the start of the escaped bytes
+     * @param length
+     *            the number of escaped bytes
+     * @return true if the range contains an escaped byte
+     */
+    public static boolean needsUnEscaping(final byte[] bytes, final int offset, final int length) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == ESCAPE_CHAR) {
+                return true;
+            }
+        }
+        return false;
     }
 }
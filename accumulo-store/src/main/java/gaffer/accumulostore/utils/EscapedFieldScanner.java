@@ -0,0 +1,156 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * An <code>EscapedFieldScanner</code> steps through the fields of a byte array that has been built from values
+ * escaped with {@link ByteArrayEscapeUtils} and separated by {@link ByteArrayEscapeUtils#DELIMITER}, such as a
+ * row key or column qualifier.
+ * <p>
+ * Each call to {@link #next()} finds the end of the next field and, in the same pass, whether the field contains
+ * any escaped bytes, so fields can be read in place without being copied out or scanned a second time.
+ * Nothing is allocated while scanning, so a scanner can be reset and reused. It is not thread safe.
+ */
+public final class EscapedFieldScanner {
+    private static final byte ESCAPE_CHAR = (byte) 1;
+
+    private byte[] bytes;
+    private int end;
+    private int position;
+    private int fieldStart;
+    private int fieldEnd;
+    private boolean fieldEscaped;
+    private boolean fieldDelimited;
+
+    public EscapedFieldScanner() {
+        reset(new byte[0]);
+    }
+
+    public EscapedFieldScanner(final byte[] bytes) {
+        reset(bytes);
+    }
+
+    public EscapedFieldScanner(final byte[] bytes, final int offset, final int length) {
+        reset(bytes, offset, length);
+    }
+
+    /**
+     * Resets the scanner to read the fields of a whole byte array.
+     *
+     * @param bytes the bytes to scan
+     * @return this scanner
+     */
+    public EscapedFieldScanner reset(final byte[] bytes) {
+        return reset(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Resets the scanner to read the fields of a range of a byte array.
+     *
+     * @param bytes  the array containing the bytes to scan
+     * @param offset the start of the bytes to scan
+     * @param length the number of bytes to scan
+     * @return this scanner
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "Fields are read in place to avoid copying")
+    public EscapedFieldScanner reset(final byte[] bytes, final int offset, final int length) {
+        this.bytes = bytes;
+        this.end = offset + length;
+        this.position = offset;
+        this.fieldStart = offset;
+        this.fieldEnd = offset;
+        this.fieldEscaped = false;
+        this.fieldDelimited = false;
+        return this;
+    }
+
+    /**
+     * Moves on to the next field. A range with n delimiters has n + 1 fields, so an empty range has a single empty
+     * field.
+     *
+     * @return true if there was another field, false if all the fields have been read
+     */
+    public boolean next() {
+        if (position > end) {
+            return false;
+        }
+
+        fieldStart = position;
+        fieldEscaped = false;
+        int i = position;
+        while (i < end) {
+            final byte b = bytes[i];
+            if (ByteArrayEscapeUtils.DELIMITER == b) {
+                break;
+            }
+            if (ESCAPE_CHAR == b) {
+                fieldEscaped = true;
+            }
+            i++;
+        }
+        fieldEnd = i;
+        fieldDelimited = i < end;
+        position = i + 1;
+        return true;
+    }
+
+    /**
+     * @return the array being scanned. This is not a copy.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "Fields are read in place to avoid copying")
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the position of the first byte of the current field
+     */
+    public int getFieldStart() {
+        return fieldStart;
+    }
+
+    /**
+     * @return the position after the last byte of the current field
+     */
+    public int getFieldEnd() {
+        return fieldEnd;
+    }
+
+    /**
+     * @return the number of escaped bytes in the current field
+     */
+    public int getFieldLength() {
+        return fieldEnd - fieldStart;
+    }
+
+    /**
+     * @return true if the current field contains escaped bytes and so must be unescaped before it is used
+     */
+    public boolean isFieldEscaped() {
+        return fieldEscaped;
+    }
+
+    /**
+     * @return true if the current field is followed by a delimiter, false if it is the last field
+     */
+    public boolean isFieldDelimited() {
+        return fieldDelimited;
+    }
+}
@@ -34,6 +34,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintStream;
 import java.util.Collection;
+import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
@@ -104,6 +105,49 @@ public final class IngestUtils {
         }
     }
 
+    /**
+     * Works out how many reducers should be used to write the given amount of data
+     * <p>
+     *
+     * @param totalBytes      - The estimated number of bytes of keys and values that will be written
+     * @param bytesPerReducer - The approximate number of bytes each reducer should write
+     * @param maxReducers     - The maximum number of reducers to use
+     * @return The number of reducers to use, which is at least 1 and at most maxReducers
+     */
+    public static int getNumReducers(final long totalBytes, final long bytesPerReducer, final int maxReducers) {
+        if (bytesPerReducer <= 0) {
+            throw new IllegalArgumentException("The number of bytes per reducer must be positive");
+        }
+        final long numReducers = (totalBytes + bytesPerReducer - 1) / bytesPerReducer;
+        return (int) Math.max(1L, Math.min(numReducers, Math.max(1, maxReducers)));
+    }
+
+    /**
+     * Chooses split points from a sorted sample of rows so that the sample is divided evenly between the resulting
+     * tablets. Duplicate rows are only used once, so fewer split points may be returned if the sample does not
+     * contain enough distinct rows.
+     * <p>
+     *
+     * @param sortedSample - The sampled rows, in order
+     * @param numSplits    - The number of split points to choose
+     * @return The chosen split points
+     */
+    public static SortedSet<Text> getSplitsFromSample(final List<Text> sortedSample, final int numSplits) {
+        final SortedSet<Text> splits = new TreeSet<>();
+        if (numSplits <= 0 || sortedSample.isEmpty()) {
+            return splits;
+        }
+
+        final double step = sortedSample.size() / (double) (numSplits + 1);
+        for (int i = 1; i <= numSplits; i++) {
+            final int index = (int) (i * step);
+            if (index < sortedSample.size()) {
+                splits.add(sortedSample.get(index));
+            }
+        }
+        return splits;
+    }
+
     /**
      * Read a splits file and get the number of split points within
      *
@@ -26,6 +26,7 @@ public class IteratorOptionsBuilder {
     private static final String VIEW_DESCRIPTION = "Required: The json serialised form of a view";
     private static final String DATA_SCHEMA_DESCRIPTION = "Required: The json serialised form of the data schema";
     private static final String STORE_SCHEMA_DESCRIPTION = "Required: The json serialised form of the store schema";
+    private static final String FINGERPRINT_DESCRIPTION = "Optional: A fingerprint of the json, used to avoid parsing it again if it has already been parsed";
     private static final String ACCUMULO_ELEMENT_CONVERTER_CLASS_DESCRIPTION = "Required: The element coverter class to be used for key/value conversion";
 
     public IteratorOptions options;
@@ -46,14 +47,17 @@ public class IteratorOptionsBuilder {
     }
 
     public IteratorOptionsBuilder addViewNamedOption() {
+        addNamedOption(AccumuloStoreConstants.VIEW_FINGERPRINT, FINGERPRINT_DESCRIPTION);
         return addNamedOption(AccumuloStoreConstants.VIEW, VIEW_DESCRIPTION);
     }
 
     public IteratorOptionsBuilder addStoreSchemaNamedOption() {
+        addNamedOption(AccumuloStoreConstants.STORE_SCHEMA_FINGERPRINT, FINGERPRINT_DESCRIPTION);
         return addNamedOption(AccumuloStoreConstants.STORE_SCHEMA, STORE_SCHEMA_DESCRIPTION);
     }
 
     public IteratorOptionsBuilder addDataSchemaNamedOption() {
+        addNamedOption(AccumuloStoreConstants.DATA_SCHEMA_FINGERPRINT, FINGERPRINT_DESCRIPTION);
         return addNamedOption(AccumuloStoreConstants.DATA_SCHEMA, DATA_SCHEMA_DESCRIPTION);
     }
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.store.schema.StoreSchema;
+import org.apache.commons.codec.digest.DigestUtils;
+import java.io.UnsupportedEncodingException;
+import java.util.Map;
+
+/**
+ * A JVM wide cache of the {@link DataSchema}s, {@link StoreSchema}s, {@link View}s and
+ * {@link AccumuloElementConverter}s parsed from iterator options.
+ * <p>
+ * Iterators are created and initialised for every scan session and every compaction of every tablet, but the views
+ * and schemas in their options rarely change, so parsing the JSON and constructing a new converter each time can
+ * cost more than the scan itself. Parsed objects are cached using a fingerprint of their JSON. If the options
+ * contain a fingerprint, as added by {@link IteratorSettingBuilder}, the JSON does not need to be read at all once
+ * it has been parsed; otherwise a fingerprint is calculated from the JSON.
+ * <p>
+ * The cached objects are shared between iterators that may be used by different threads at the same time, so they
+ * must only be read. In particular the filters and aggregators in a cached view or data schema must be cloned before
+ * they are used. For a cached data schema,
+ * {@link gaffer.data.elementdefinition.schema.DataElementDefinition#getAggregator()} and
+ * {@link gaffer.data.elementdefinition.schema.DataElementDefinition#getValidator()} are the only safe ways to get
+ * its functions, as they return clones of functions that are compiled once and safely published to every thread.
+ */
+public final class IteratorOptionsCache {
+    private static final int MAX_SCHEMAS = 100;
+    private static final int MAX_VIEWS = 1000;
+
+    private static final Cache<String, DataSchema> DATA_SCHEMAS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SCHEMAS).build();
+    private static final Cache<String, StoreSchema> STORE_SCHEMAS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SCHEMAS).build();
+    private static final Cache<String, View> VIEWS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_VIEWS).build();
+    private static final Cache<String, AccumuloElementConverter> ELEMENT_CONVERTERS = CacheBuilder.newBuilder()
+            .maximumSize(MAX_SCHEMAS).build();
+
+    private IteratorOptionsCache() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * @param json the JSON to fingerprint
+     * @return a fingerprint of the JSON, which is the same for any identical JSON
+     */
+    public static String getFingerprint(final String json) {
+        return DigestUtils.md5Hex(json);
+    }
+
+    /**
+     * @param options the iterator options
+     * @return the data schema in the options
+     * @throws SchemaException if the data schema cannot be deserialised
+     */
+    public static DataSchema getDataSchema(final Map<String, String> options) {
+        final String fingerprint = getFingerprint(options, AccumuloStoreConstants.DATA_SCHEMA,
+                AccumuloStoreConstants.DATA_SCHEMA_FINGERPRINT);
+        DataSchema dataSchema = DATA_SCHEMAS.getIfPresent(fingerprint);
+        if (null == dataSchema) {
+            dataSchema = DataSchema.fromJson(getBytes(options.get(AccumuloStoreConstants.DATA_SCHEMA)));
+            DATA_SCHEMAS.put(fingerprint, dataSchema);
+        }
+
+        return dataSchema;
+    }
+
+    /**
+     * @param options the iterator options
+     * @return the store schema in the options
+     * @throws SchemaException if the store schema cannot be deserialised
+     */
+    public static StoreSchema getStoreSchema(final Map<String, String> options) {
+        final String fingerprint = getFingerprint(options, AccumuloStoreConstants.STORE_SCHEMA,
+                AccumuloStoreConstants.STORE_SCHEMA_FINGERPRINT);
+        StoreSchema storeSchema = STORE_SCHEMAS.getIfPresent(fingerprint);
+        if (null == storeSchema) {
+            storeSchema = StoreSchema.fromJson(getBytes(options.get(AccumuloStoreConstants.STORE_SCHEMA)));
+            STORE_SCHEMAS.put(fingerprint, storeSchema);
+        }
+
+        return storeSchema;
+    }
+
+    /**
+     * @param options the iterator options
+     * @return the view in the options
+     * @throws SchemaException if the view cannot be deserialised
+     */
+    public static View getView(final Map<String, String> options) {
+        final String fingerprint = getFingerprint(options, AccumuloStoreConstants.VIEW,
+                AccumuloStoreConstants.VIEW_FINGERPRINT);
+        View view = VIEWS.getIfPresent(fingerprint);
+        if (null == view) {
+            view = View.fromJson(getBytes(options.get(AccumuloStoreConstants.VIEW)));
+            VIEWS.put(fingerprint, view);
+        }
+
+        return view;
+    }
+
+    /**
+     * @param options the iterator options
+     * @return an element converter of the class in the options, using the store schema in the options
+     * @throws ReflectiveOperationException if the element converter cannot be constructed
+     * @throws SchemaException              if the store schema cannot be deserialised
+     */
+    public static AccumuloElementConverter getElementConverter(final Map<String, String> options)
+            throws ReflectiveOperationException {
+        final String converterClassName = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
+        final String key = converterClassName + ":" + getFingerprint(options, AccumuloStoreConstants.STORE_SCHEMA,
+                AccumuloStoreConstants.STORE_SCHEMA_FINGERPRINT);
+        AccumuloElementConverter elementConverter = ELEMENT_CONVERTERS.getIfPresent(key);
+        if (null == elementConverter) {
+            elementConverter = Class.forName(converterClassName).asSubclass(AccumuloElementConverter.class)
+                    .getConstructor(StoreSchema.class).newInstance(getStoreSchema(options));
+            ELEMENT_CONVERTERS.put(key, elementConverter);
+        }
+
+        return elementConverter;
+    }
+
+    /**
+     * Removes everything from the cache.
+     */
+    public static void clear() {
+        DATA_SCHEMAS.invalidateAll();
+        STORE_SCHEMAS.invalidateAll();
+        VIEWS.invalidateAll();
+        ELEMENT_CONVERTERS.invalidateAll();
+    }
+
+    private static String getFingerprint(final Map<String, String> options, final String jsonOption,
+                                         final String fingerprintOption) {
+        final String fingerprint = options.get(fingerprintOption);
+        if (null != fingerprint) {
+            return fingerprint;
+        }
+
+        final String json = options.get(jsonOption);
+        if (null == json) {
+            throw new IllegalArgumentException("Must specify the " + jsonOption);
+        }
+        return getFingerprint(json);
+    }
+
+    private static byte[] getBytes(final String json) {
+        try {
+            return json.getBytes(AccumuloStoreConstants.UTF_8_CHARSET);
+        } catch (final UnsupportedEncodingException e) {
+            throw new SchemaException("Unable to deserialise JSON", e);
+        }
+    }
+}
@@ -16,19 +16,14 @@
 
 package gaffer.accumulostore.utils;
 
-import java.io.ByteArrayOutputStream;
-import java.io.DataOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
-import org.apache.hadoop.util.bloom.BloomFilter;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
-import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.data.elementdefinition.schema.exception.SchemaException;
 import gaffer.data.elementdefinition.view.View;
@@ -61,20 +56,8 @@ public class IteratorSettingBuilder {
         return this;
     }
 
-    public IteratorSettingBuilder bloomFilter(final BloomFilter filter) throws IteratorSettingException {
-        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        try {
-            filter.write(new DataOutputStream(baos));
-        } catch (final IOException e) {
-            throw new IteratorSettingException("Failed to write bloom filter", e);
-        }
-
-        try {
-            setting.addOption(AccumuloStoreConstants.BLOOM_FILTER, new String(baos.toByteArray(), AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
-        } catch (final UnsupportedEncodingException e) {
-            throw new IteratorSettingException("Failed to encode the bloom filter to a string", e);
-        }
-
+    public IteratorSettingBuilder bloomFilter(final BlockedBloomFilter filter) {
+        setting.addOption(AccumuloStoreConstants.BLOOM_FILTER, filter.toEncodedString());
         return this;
     }
 
@@ -110,7 +93,9 @@ public class IteratorSettingBuilder {
 
     public IteratorSettingBuilder dataSchema(final DataSchema dataSchema) {
         try {
-            setting.addOption(AccumuloStoreConstants.DATA_SCHEMA, new String(dataSchema.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+            final String json = new String(dataSchema.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET);
+            setting.addOption(AccumuloStoreConstants.DATA_SCHEMA, json);
+            setting.addOption(AccumuloStoreConstants.DATA_SCHEMA_FINGERPRINT, IteratorOptionsCache.getFingerprint(json));
         } catch (final UnsupportedEncodingException e) {
             throw new SchemaException("Unable to deserialise data schema from JSON", e);
         }
@@ -119,7 +104,9 @@ public class IteratorSettingBuilder {
 
     public IteratorSettingBuilder storeSchema(final StoreSchema storeSchema) {
         try {
-            setting.addOption(AccumuloStoreConstants.STORE_SCHEMA, new String(storeSchema.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+            final String json = new String(storeSchema.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET);
+            setting.addOption(AccumuloStoreConstants.STORE_SCHEMA, json);
+            setting.addOption(AccumuloStoreConstants.STORE_SCHEMA_FINGERPRINT, IteratorOptionsCache.getFingerprint(json));
         } catch (final UnsupportedEncodingException e) {
             throw new SchemaException("Unable to deserialise store schema from JSON", e);
         }
@@ -128,7 +115,9 @@ public class IteratorSettingBuilder {
 
     public IteratorSettingBuilder view(final View view) {
         try {
-            setting.addOption(AccumuloStoreConstants.VIEW, new String(view.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+            final String json = new String(view.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET);
+            setting.addOption(AccumuloStoreConstants.VIEW, json);
+            setting.addOption(AccumuloStoreConstants.VIEW_FINGERPRINT, IteratorOptionsCache.getFingerprint(json));
         } catch (final UnsupportedEncodingException e) {
             throw new SchemaException("Unable to deserialise view from JSON", e);
         }
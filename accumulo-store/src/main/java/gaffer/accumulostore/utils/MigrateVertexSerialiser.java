@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.AccumuloKeyPackage;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.store.StoreException;
+import gaffer.store.StoreProperties;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * This class copies the data in a table that was written with one vertex
+ * serialiser into a new table, re-serialising the vertices in every row key
+ * with the vertex serialiser of a store's schema.
+ * <p>
+ * It is intended for tables written when the default vertex serialiser was the
+ * {@link JavaSerialiser}, so the store schema can opt in to a faster vertex
+ * serialiser. The row keys are re-serialised and the column qualifiers are
+ * rewritten in the current format, so tables written by older versions of
+ * Gaffer can be migrated too. The visibilities, timestamps and values are
+ * copied as they are.
+ * <p>
+ * This class also has an executable main method. It takes a path to a data
+ * schema, a path to the store schema to migrate to and a path to a store
+ * properties file, whose table is the new table to write to. In addition it
+ * takes the name of the table to migrate and, optionally, the class name of
+ * the vertex serialiser that table was written with, which defaults to the
+ * {@link JavaSerialiser}.
+ */
+public final class MigrateVertexSerialiser {
+    private static final Logger LOGGER = LoggerFactory.getLogger(MigrateVertexSerialiser.class);
+
+    private MigrateVertexSerialiser() {
+        // private to prevent this class being instantiated. All methods are
+        // static and should be called directly.
+    }
+
+    /**
+     * Copies all the entries in the source table into the store's table,
+     * re-serialising their vertices with the store's vertex serialiser. The
+     * store's table is created if it does not exist.
+     *
+     * @param store               the accumulo store to migrate the data into
+     * @param sourceTable         the table to migrate
+     * @param oldVertexSerialiser the vertex serialiser the source table was written with
+     * @return the number of entries migrated
+     * @throws StoreException if any issues occur reading, converting or writing the data
+     */
+    public static long migrate(final AccumuloStore store, final String sourceTable,
+                               final Serialisation oldVertexSerialiser) throws StoreException {
+        if (sourceTable.equals(store.getProperties().getTable())) {
+            throw new IllegalArgumentException("The data must be migrated into a different table to " + sourceTable);
+        }
+
+        final AccumuloElementConverter oldConverter = createConverter(store, oldVertexSerialiser);
+        final AccumuloElementConverter newConverter = store.getKeyPackage().getKeyConverter();
+        final Connector connection = store.getConnection();
+        final Scanner scanner;
+        try {
+            scanner = connection.createScanner(sourceTable, TableUtils.getCurrentAuthorizations(connection));
+        } catch (final TableNotFoundException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+
+        TableUtils.ensureTableExists(store);
+        final BatchWriter writer = TableUtils.createBatchWriter(store);
+        long count = 0;
+        try {
+            for (final Map.Entry<Key, Value> entry : scanner) {
+                writer.addMutation(migrate(entry.getKey(), entry.getValue(), oldConverter, newConverter));
+                count++;
+            }
+        } catch (final MutationsRejectedException | AccumuloElementConversionException e) {
+            throw new StoreException("Failed to migrate table " + sourceTable, e);
+        } finally {
+            try {
+                writer.close();
+            } catch (final MutationsRejectedException e) {
+                throw new StoreException("Failed to migrate table " + sourceTable, e);
+            }
+        }
+
+        LOGGER.info("Migrated {} entries from table {} to table {}", count, sourceTable,
+                store.getProperties().getTable());
+        return count;
+    }
+
+    public static void main(final String[] args) throws StoreException, SchemaException, IOException {
+        if (args.length < 4) {
+            System.err.println("Wrong number of arguments. \nUsage: "
+                    + "<data_schema_path> <store_schema_path> <store_properties_path> <source_table> "
+                    + "[<old_vertex_serialiser_class>]");
+            System.exit(1);
+        }
+
+        final AccumuloStore store = new AccumuloStore();
+        store.initialise(DataSchema.fromJson(Paths.get(args[0])), StoreSchema.fromJson(Paths.get(args[1])),
+                StoreProperties.loadStoreProperties(Paths.get(args[2])));
+        final StoreSchema oldSchema = new StoreSchema();
+        oldSchema.setVertexSerialiserClass(args.length > 4 ? args[4] : JavaSerialiser.class.getName());
+        migrate(store, args[3], oldSchema.getVertexSerialiser());
+    }
+
+    private static Mutation migrate(final Key key, final Value value, final AccumuloElementConverter oldConverter,
+                                    final AccumuloElementConverter newConverter)
+            throws AccumuloElementConversionException {
+        final Element element = oldConverter.getFullElement(key, value);
+
+        // An edge is stored under two row keys, so find out which one this is.
+        final Key oldSecondKey = oldConverter.getKeysFromElement(element).getSecond();
+        final Pair<Key> newKeys = newConverter.getKeysFromElement(element);
+        final Key newKey = null != oldSecondKey && oldSecondKey.getRowData().equals(key.getRowData())
+                ? newKeys.getSecond() : newKeys.getFirst();
+
+        final Mutation mutation = new Mutation(newKey.getRow());
+        mutation.put(newKey.getColumnFamily(), newKey.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        return mutation;
+    }
+
+    private static AccumuloElementConverter createConverter(final AccumuloStore store,
+                                                            final Serialisation vertexSerialiser)
+            throws StoreException {
+        final StoreSchema oldSchema = StoreSchema.fromJson(store.getStoreSchema().toJson(false));
+        oldSchema.setVertexSerialiser(vertexSerialiser);
+        final AccumuloKeyPackage keyPackage;
+        try {
+            keyPackage = store.getKeyPackage().getClass().newInstance();
+        } catch (final InstantiationException | IllegalAccessException e) {
+            throw new StoreException("Unable to construct an instance of key package: "
+                    + store.getKeyPackage().getClass().getName(), e);
+        }
+        keyPackage.setStoreSchema(oldSchema);
+        return keyPackage.getKeyConverter();
+    }
+}
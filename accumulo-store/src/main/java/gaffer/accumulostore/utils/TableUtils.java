@@ -272,19 +272,30 @@ public final class TableUtils {
 
     private static BatchWriter createBatchWriter(final AccumuloStore store, final String tableName)
             throws StoreException {
-        final BatchWriterConfig batchConfig = new BatchWriterConfig();
-        batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
-        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
-                TimeUnit.MILLISECONDS);
-        batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
         try {
-            return store.getConnection().createBatchWriter(tableName, batchConfig);
+            return store.getConnection().createBatchWriter(tableName, getBatchWriterConfig(store));
         } catch (final TableNotFoundException e) {
             throw new StoreException("Table not set up! Use table gaffer.accumulostore.utils to create the table"
                     + store.getProperties().getTable(), e);
         }
     }
 
+    /**
+     * Creates a {@link BatchWriterConfig} using the batch writer settings
+     * defined in the gaffer.accumulostore properties
+     *
+     * @param store the accumulo store
+     * @return A new BatchWriterConfig
+     */
+    public static BatchWriterConfig getBatchWriterConfig(final AccumuloStore store) {
+        final BatchWriterConfig batchConfig = new BatchWriterConfig();
+        batchConfig.setMaxMemory(store.getProperties().getMaxBufferSizeForBatchWriterInBytes());
+        batchConfig.setMaxLatency(store.getProperties().getMaxTimeOutForBatchWriterInMilliseconds(),
+                TimeUnit.MILLISECONDS);
+        batchConfig.setMaxWriteThreads(store.getProperties().getNumThreadsForBatchWriter());
+        return batchConfig;
+    }
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * specifies the age off iterator.
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+/**
+ * Constants and helper methods for the format of the Accumulo {@link org.apache.accumulo.core.data.Value}s that hold
+ * the {@link StorePositions#VALUE} properties of an element.
+ * <p>
+ * A value starts with a single version byte. In version {@link #VERSION_1} the properties follow in the order they
+ * are defined in the {@link gaffer.store.schema.StoreSchema}, each written as a variable length int followed by the
+ * serialised property bytes. The variable length int holds the number of bytes plus one, so 0 marks a property that
+ * is not set. Trailing properties that are not set are omitted, so new properties can be appended to the end of a
+ * group in the schema without rewriting existing data. Removing or reordering properties requires the data to be
+ * rewritten.
+ * <p>
+ * Values written by older versions of Gaffer are Hadoop MapWritables keyed by property name. These always start
+ * with {@link #LEGACY_MAP_WRITABLE} (the count of non standard Writable classes in the map) so they can still be read.
+ */
+public final class ValueFormatUtils {
+    /**
+     * The first byte of a value serialised as a MapWritable of property name to serialised property.
+     */
+    public static final byte LEGACY_MAP_WRITABLE = (byte) 0;
+
+    /**
+     * The first byte of a value serialised as schema ordered, length prefixed properties.
+     */
+    public static final byte VERSION_1 = (byte) 1;
+
+    private static final int SEVEN_BITS = 0x7F;
+    private static final int CONTINUATION_BIT = 0x80;
+
+    private ValueFormatUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * @param value a non negative int
+     * @return the number of bytes needed to write the value with {@link #writeVarInt(int, byte[], int)}
+     */
+    public static int getVarIntSize(final int value) {
+        int size = 1;
+        int remaining = value >>> 7;
+        while (0 != remaining) {
+            size++;
+            remaining >>>= 7;
+        }
+
+        return size;
+    }
+
+    /**
+     * Writes a non negative int into the given array, 7 bits per byte, least significant group first.
+     *
+     * @param value  the value to write
+     * @param bytes  the array to write into
+     * @param offset the position in the array to start writing at
+     * @return the position in the array after the written value
+     */
+    public static int writeVarInt(final int value, final byte[] bytes, final int offset) {
+        int remaining = value;
+        int position = offset;
+        while ((remaining & ~SEVEN_BITS) != 0) {
+            bytes[position++] = (byte) ((remaining & SEVEN_BITS) | CONTINUATION_BIT);
+            remaining >>>= 7;
+        }
+        bytes[position++] = (byte) remaining;
+
+        return position;
+    }
+
+    /**
+     * Reads an int written by {@link #writeVarInt(int, byte[], int)}.
+     *
+     * @param bytes    the array to read from
+     * @param position a single element array holding the position to start reading from, this is updated to the
+     *                 position after the value that has been read
+     * @return the value
+     */
+    public static int readVarInt(final byte[] bytes, final int[] position) {
+        int value = 0;
+        int shift = 0;
+        int pos = position[0];
+        byte b;
+        do {
+            if (pos >= bytes.length || shift > 28) {
+                throw new IllegalArgumentException("Malformed variable length int at position " + position[0]);
+            }
+            b = bytes[pos++];
+            value |= (b & SEVEN_BITS) << shift;
+            shift += 7;
+        } while ((b & CONTINUATION_BIT) != 0);
+        position[0] = pos;
+
+        return value;
+    }
+}
@@ -19,6 +19,17 @@ package gaffer.accumulostore;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Element;
@@ -30,12 +41,26 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsSeed;
 import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.BatchWriterConfig;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.MultiTableBatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class AccumuloStoreTest {
 
@@ -88,4 +113,159 @@ public class AccumuloStoreTest {
         assertFalse(resultsIter.hasNext());
     }
 
+    @Test
+    public void shouldAddElementsUsingSharedBatchWriter() throws Exception {
+        // Given
+        final AccumuloStore sharedWriterStore = new MockAccumuloStoreForTest();
+        sharedWriterStore.getProperties().setSharedBatchWriter("true");
+        final Entity entity1 = new Entity(TestGroups.ENTITY, "1");
+        final Entity entity2 = new Entity(TestGroups.ENTITY, "2");
+
+        // When
+        sharedWriterStore.execute(new AddElements.Builder()
+                .elements(Collections.<Element>singletonList(entity1))
+                .build());
+        sharedWriterStore.execute(new AddElements.Builder()
+                .elements(Collections.<Element>singletonList(entity2))
+                .build());
+
+        // Then
+        final GetElements<EntitySeed, Element> getBySeed = new GetElementsSeed.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .addSeed(new EntitySeed("1"))
+                .addSeed(new EntitySeed("2"))
+                .build();
+        final List<Element> results = new ArrayList<>();
+        for (final Element element : sharedWriterStore.execute(getBySeed)) {
+            results.add(element);
+        }
+        assertEquals(2, results.size());
+        assertTrue(results.contains(entity1));
+        assertTrue(results.contains(entity2));
+
+        sharedWriterStore.close();
+    }
+
+    @Test
+    public void shouldReplaceSharedBatchWriterAfterItRejectsMutations() throws Exception {
+        // Given
+        final MultiTableBatchWriter failingWriter = mock(MultiTableBatchWriter.class);
+        given(failingWriter.getBatchWriter(anyString())).willReturn(mock(BatchWriter.class));
+        doThrow(mock(MutationsRejectedException.class)).when(failingWriter).flush();
+        final Connector connector = spy(new MockAccumuloStoreForTest().getConnection());
+        doReturn(failingWriter).when(connector).createMultiTableBatchWriter(any(BatchWriterConfig.class));
+        final AccumuloStore sharedWriterStore = new MockAccumuloStoreForTest() {
+            @Override
+            public Connector getConnection() {
+                return connector;
+            }
+        };
+        sharedWriterStore.getProperties().setSharedBatchWriter("true");
+        final List<Element> elements = Collections.<Element>singletonList(new Entity(TestGroups.ENTITY, "1"));
+
+        // When / Then
+        try {
+            sharedWriterStore.addElements(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getCause() instanceof MutationsRejectedException);
+        }
+        verify(failingWriter).close();
+
+        // When / Then
+        try {
+            sharedWriterStore.addElements(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getCause() instanceof MutationsRejectedException);
+        }
+        verify(connector, times(2)).createMultiTableBatchWriter(any(BatchWriterConfig.class));
+    }
+
+    @Test
+    public void shouldFailEveryCallUsingSharedBatchWriterThatRejectedMutations() throws Exception {
+        // Given
+        final MultiTableBatchWriter failingWriter = mock(MultiTableBatchWriter.class);
+        given(failingWriter.getBatchWriter(anyString())).willReturn(mock(BatchWriter.class));
+        doThrow(mock(MutationsRejectedException.class)).doNothing().when(failingWriter).flush();
+        final AccumuloStore sharedWriterStore = createStoreWithSharedBatchWriter(failingWriter);
+        final List<Element> elements = Collections.<Element>singletonList(new Entity(TestGroups.ENTITY, "1"));
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch proceed = new CountDownLatch(1);
+        final Iterable<Element> slowElements = new Iterable<Element>() {
+            @Override
+            public Iterator<Element> iterator() {
+                started.countDown();
+                try {
+                    proceed.await();
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return elements.iterator();
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<?> slowAdd = executor.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                sharedWriterStore.addElements(slowElements);
+                return null;
+            }
+        });
+        started.await();
+
+        // When / Then
+        try {
+            sharedWriterStore.addElements(elements);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getCause() instanceof MutationsRejectedException);
+        }
+        verify(failingWriter, never()).close();
+
+        // When / Then
+        proceed.countDown();
+        try {
+            slowAdd.get();
+            fail("Exception expected");
+        } catch (final ExecutionException e) {
+            assertTrue(e.getCause() instanceof StoreException);
+        } finally {
+            executor.shutdown();
+        }
+        verify(failingWriter).close();
+    }
+
+    @Test
+    public void shouldThrowStoreExceptionWhenSharedBatchWriterHasBeenClosed() throws Exception {
+        // Given
+        final BatchWriter closedWriter = mock(BatchWriter.class);
+        doThrow(new IllegalStateException("Closed")).when(closedWriter).addMutation(any(Mutation.class));
+        final MultiTableBatchWriter writer = mock(MultiTableBatchWriter.class);
+        given(writer.getBatchWriter(anyString())).willReturn(closedWriter);
+        final AccumuloStore sharedWriterStore = createStoreWithSharedBatchWriter(writer);
+
+        // When / Then
+        try {
+            sharedWriterStore.addElements(Collections.<Element>singletonList(new Entity(TestGroups.ENTITY, "1")));
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private AccumuloStore createStoreWithSharedBatchWriter(final MultiTableBatchWriter writer) throws Exception {
+        final Connector connector = spy(new MockAccumuloStoreForTest().getConnection());
+        doReturn(writer).when(connector).createMultiTableBatchWriter(any(BatchWriterConfig.class));
+        final AccumuloStore sharedWriterStore = new MockAccumuloStoreForTest() {
+            @Override
+            public Connector getConnection() {
+                return connector;
+            }
+        };
+        sharedWriterStore.getProperties().setSharedBatchWriter("true");
+        return sharedWriterStore;
+    }
 }
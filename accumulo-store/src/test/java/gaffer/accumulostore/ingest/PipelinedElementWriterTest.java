@@ -0,0 +1,171 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.ingest;
+
+import static org.junit.Assert.assertEquals;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetElementsSeed;
+import org.junit.Before;
+import org.junit.Test;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PipelinedElementWriterTest {
+    private static final int NUM_VERTICES = 50;
+    private AccumuloStore store;
+
+    @Before
+    public void setup() {
+        store = new MockAccumuloStoreForTest();
+        store.getProperties().setIngestThreads("4");
+        store.getProperties().setIngestBatchSize("10");
+        store.getProperties().setIngestQueueSize("1");
+    }
+
+    @Test
+    public void shouldAddElementsUsingIngestThreadsAndAggregateDuplicatesWithinABatch() throws OperationException {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(createEntity(i));
+            elements.add(createEntity(i));
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .elements(elements)
+                .build());
+
+        // Then
+        final List<Element> results = getAllEntities();
+        assertEquals(NUM_VERTICES, results.size());
+        for (final Element result : results) {
+            assertEquals(2, result.getProperty(AccumuloPropertyNames.COUNT));
+        }
+
+        final IngestCounters counters = store.getIngestCounters();
+        assertEquals(2 * NUM_VERTICES, counters.getElementsAdded());
+        assertEquals(NUM_VERTICES, counters.getElementsAggregated());
+        assertEquals(NUM_VERTICES, counters.getMutationsWritten());
+        assertEquals(2 * NUM_VERTICES / 10, counters.getBatchesConverted());
+        assertEquals(0, counters.getElementsFailed());
+    }
+
+    @Test
+    public void shouldNotAggregateElementsWhenPreAggregationIsDisabled() throws OperationException {
+        // Given
+        store.getProperties().setIngestPreAggregate("false");
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(createEntity(i));
+            elements.add(createEntity(i));
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .elements(elements)
+                .build());
+
+        // Then
+        final List<Element> results = getAllEntities();
+        assertEquals(NUM_VERTICES, results.size());
+        for (final Element result : results) {
+            assertEquals(2, result.getProperty(AccumuloPropertyNames.COUNT));
+        }
+
+        final IngestCounters counters = store.getIngestCounters();
+        assertEquals(0, counters.getElementsAggregated());
+        assertEquals(2 * NUM_VERTICES, counters.getMutationsWritten());
+    }
+
+    @Test
+    public void shouldOnlyFailTheElementsThatCannotBeConverted() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(createEntity(i));
+        }
+        // The store schema uses a String vertex serialiser, so an Integer vertex fails to convert.
+        final Entity invalidEntity = new Entity(TestGroups.ENTITY, NUM_VERTICES);
+        invalidEntity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        elements.add(5, invalidEntity);
+
+        // When
+        store.addElements(elements);
+
+        // Then
+        assertEquals(NUM_VERTICES, getAllEntities().size());
+        final IngestCounters counters = store.getIngestCounters();
+        assertEquals(1, counters.getElementsFailed());
+        assertEquals(NUM_VERTICES, counters.getMutationsWritten());
+    }
+
+    @Test
+    public void shouldAddElementsAgainAfterTheStoreIsClosed() throws Exception {
+        // Given
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            elements.add(createEntity(i));
+        }
+        store.addElements(elements);
+
+        // When
+        store.close();
+        store.addElements(elements);
+
+        // Then
+        final List<Element> results = getAllEntities();
+        assertEquals(NUM_VERTICES, results.size());
+        for (final Element result : results) {
+            assertEquals(2, result.getProperty(AccumuloPropertyNames.COUNT));
+        }
+    }
+
+    private Entity createEntity(final int vertex) {
+        final Entity entity = new Entity(TestGroups.ENTITY, String.valueOf(vertex));
+        entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        return entity;
+    }
+
+    private List<Element> getAllEntities() throws OperationException {
+        final GetElementsSeed.Builder<EntitySeed, Element> builder = new GetElementsSeed.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build());
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            builder.addSeed(new EntitySeed(String.valueOf(i)));
+        }
+        final GetElements<EntitySeed, Element> getElements = builder.build();
+
+        final List<Element> results = new ArrayList<>();
+        for (final Element element : store.execute(getElements)) {
+            results.add(element);
+        }
+        return results;
+    }
+}
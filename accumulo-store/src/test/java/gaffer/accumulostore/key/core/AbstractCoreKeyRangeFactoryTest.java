@@ -0,0 +1,250 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.AccumuloKeyPackage;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedLongSerialiser;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.junit.Test;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class AbstractCoreKeyRangeFactoryTest {
+    private static final String ENTITY_GROUP = "BasicEntity";
+    private static final String EDGE_GROUP = "BasicEdge";
+    private static final String VERTEX = "vertex";
+    private static final String DATE = "date";
+    private static final String BUCKET = "bucket";
+
+    @Test
+    public void shouldOnlyIncludeEntitiesThatPassRangeFiltersOnFirstColumnQualifierProperty() throws Exception {
+        shouldOnlyIncludeEntitiesThatPassRangeFiltersOnFirstColumnQualifierProperty(new ByteEntityKeyPackage(createStoreSchema(true)));
+        shouldOnlyIncludeEntitiesThatPassRangeFiltersOnFirstColumnQualifierProperty(new ClassicKeyPackage(createStoreSchema(true)));
+    }
+
+    private void shouldOnlyIncludeEntitiesThatPassRangeFiltersOnFirstColumnQualifierProperty(final AccumuloKeyPackage keyPackage) throws Exception {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation(DATE, IncludeEdgeType.NONE);
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        for (long date = -300L; date <= 300L; date++) {
+            final boolean passesFilter = date > -100L && date <= 200L;
+            assertEquals("date " + date, passesFilter, isInRanges(ranges, getEntityKey(keyPackage, date, null)));
+            assertEquals("date " + date, passesFilter, isInRanges(ranges, getEntityKey(keyPackage, date, "bucket" + date)));
+        }
+        assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, null, "bucket")));
+    }
+
+    @Test
+    public void shouldStillIncludeEdgesWhenEntitiesAreNarrowedDown() throws Exception {
+        shouldStillIncludeEdgesWhenEntitiesAreNarrowedDown(new ByteEntityKeyPackage(createStoreSchema(true)));
+        shouldStillIncludeEdgesWhenEntitiesAreNarrowedDown(new ClassicKeyPackage(createStoreSchema(true)));
+    }
+
+    private void shouldStillIncludeEdgesWhenEntitiesAreNarrowedDown(final AccumuloKeyPackage keyPackage) throws Exception {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation(DATE, IncludeEdgeType.ALL);
+        final Edge edge = new Edge(EDGE_GROUP, VERTEX, "destination", true);
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        assertEquals(true, isInRanges(ranges, keyPackage.getKeyConverter().getKeysFromEdge(edge).getFirst()));
+        assertEquals(true, isInRanges(ranges, getEntityKey(keyPackage, 0L, null)));
+        assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, 300L, null)));
+    }
+
+    @Test
+    public void shouldNotNarrowDownEntitiesWhenFilterIsNotOnFirstColumnQualifierProperty() throws Exception {
+        shouldNotNarrowDownEntities(new ByteEntityKeyPackage(createStoreSchema(true)), BUCKET);
+        shouldNotNarrowDownEntities(new ClassicKeyPackage(createStoreSchema(true)), BUCKET);
+    }
+
+    @Test
+    public void shouldNotNarrowDownEntitiesWhenSerialiserDoesNotPreserveOrder() throws Exception {
+        shouldNotNarrowDownEntities(new ByteEntityKeyPackage(createStoreSchema(false)), DATE);
+        shouldNotNarrowDownEntities(new ClassicKeyPackage(createStoreSchema(false)), DATE);
+    }
+
+    private void shouldNotNarrowDownEntities(final AccumuloKeyPackage keyPackage, final String filteredProperty) throws Exception {
+        // Given
+        final GetElements<ElementSeed, ?> operation = createOperation(filteredProperty, IncludeEdgeType.NONE);
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        assertEquals(1, ranges.size());
+        assertEquals(true, isInRanges(ranges, getEntityKey(keyPackage, -300L, null)));
+        assertEquals(true, isInRanges(ranges, getEntityKey(keyPackage, 300L, "bucket")));
+    }
+
+    @Test
+    public void shouldNotIncludeEntitiesWithoutTheFirstColumnQualifierPropertyWhenThereIsNoLowerBound() throws Exception {
+        // Given
+        final AccumuloKeyPackage keyPackage = new ClassicKeyPackage(createStoreSchema(true));
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP, new ViewEntityDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(DATE)
+                                .execute(new IsLessThan(0L))
+                                .build())
+                        .build())
+                .build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, Collections.<ElementSeed>singletonList(new EntitySeed(VERTEX)));
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.NONE);
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        assertEquals(true, isInRanges(ranges, getEntityKey(keyPackage, Long.MIN_VALUE, "bucket")));
+        assertEquals(true, isInRanges(ranges, getEntityKey(keyPackage, -1L, null)));
+        assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, 0L, null)));
+        assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, null, null)));
+        assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, null, "bucket")));
+    }
+
+    @Test
+    public void shouldIncludeEntitiesWithLegacyColumnQualifiersWhenEntitiesAreNarrowedDown() throws Exception {
+        // Given
+        final AccumuloKeyPackage keyPackage = new ByteEntityKeyPackage(createStoreSchema(true));
+        final GetElements<ElementSeed, ?> operation = createOperation(DATE, IncludeEdgeType.NONE);
+        final Key key = getEntityKey(keyPackage, 300L, null);
+        final byte[] legacyColumnQualifier = new byte[]{'d', 'a', 't', 'e', ByteArrayEscapeUtils.DELIMITER, 1};
+        final Key legacyKey = new Key(key.getRowData().toArray(), key.getColumnFamilyData().toArray(),
+                legacyColumnQualifier, key.getColumnVisibilityData().toArray(), key.getTimestamp());
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        assertEquals(false, isInRanges(ranges, key));
+        assertEquals(true, isInRanges(ranges, legacyKey));
+    }
+
+    @Test
+    public void shouldNotIncludeAnyEntitiesWhenBoundsDoNotOverlap() throws Exception {
+        // Given
+        final AccumuloKeyPackage keyPackage = new ByteEntityKeyPackage(createStoreSchema(true));
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP, new ViewEntityDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(DATE)
+                                .execute(new IsMoreThan(10L))
+                                .select(DATE)
+                                .execute(new IsLessThan(5L))
+                                .build())
+                        .build())
+                .build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, Collections.<ElementSeed>singletonList(new EntitySeed(VERTEX)));
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(IncludeEdgeType.NONE);
+
+        // When
+        final List<Range> ranges = keyPackage.getRangeFactory().getRange(new EntitySeed(VERTEX), operation);
+
+        // Then
+        for (long date = 0L; date <= 15L; date++) {
+            assertEquals(false, isInRanges(ranges, getEntityKey(keyPackage, date, null)));
+        }
+    }
+
+    private static GetElements<ElementSeed, ?> createOperation(final String filteredProperty, final IncludeEdgeType includeEdges) {
+        final View view = new View.Builder()
+                .entity(ENTITY_GROUP, new ViewEntityDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(filteredProperty)
+                                .execute(new IsMoreThan(-100L))
+                                .select(filteredProperty)
+                                .execute(new IsLessThan(200L, true))
+                                .build())
+                        .build())
+                .edge(EDGE_GROUP, new ViewEdgeDefinition())
+                .build();
+        final GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, Collections.<ElementSeed>singletonList(new EntitySeed(VERTEX)));
+        operation.setIncludeEntities(true);
+        operation.setIncludeEdges(includeEdges);
+        return operation;
+    }
+
+    private static StoreSchema createStoreSchema(final boolean orderPreserving) {
+        final StoreElementDefinition elementDef = new StoreElementDefinition.Builder()
+                .property(DATE, new StorePropertyDefinition(
+                        orderPreserving ? new OrderedLongSerialiser() : new JavaSerialiser(),
+                        StorePositions.COLUMN_QUALIFIER.name()))
+                .property(BUCKET, new StorePropertyDefinition(new StringSerialiser(),
+                        StorePositions.COLUMN_QUALIFIER.name()))
+                .build();
+        return new StoreSchema.Builder()
+                .entity(ENTITY_GROUP, elementDef)
+                .edge(EDGE_GROUP, new StoreElementDefinition())
+                .vertexSerialiser(new StringSerialiser())
+                .build();
+    }
+
+    private static Key getEntityKey(final AccumuloKeyPackage keyPackage, final Long date, final String bucket) throws Exception {
+        final Entity entity = new Entity(ENTITY_GROUP, VERTEX);
+        if (null != date) {
+            entity.putProperty(DATE, date);
+        }
+        if (null != bucket) {
+            entity.putProperty(BUCKET, bucket);
+        }
+        return keyPackage.getKeyConverter().getKeyFromEntity(entity);
+    }
+
+    private static boolean isInRanges(final List<Range> ranges, final Key key) {
+        for (final Range range : ranges) {
+            if (range.contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
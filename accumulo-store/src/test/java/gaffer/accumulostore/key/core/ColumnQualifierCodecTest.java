@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.Properties;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedLongSerialiser;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import org.apache.hadoop.io.WritableComparator;
+import org.junit.Test;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ColumnQualifierCodecTest {
+    private static final String COUNT = "count";
+    private static final String NAME = "name";
+    private static final String IN_VALUE = "inValue";
+
+    private final ColumnQualifierCodec codec = new ColumnQualifierCodec(new StoreElementDefinition.Builder()
+            .property(COUNT, new StorePropertyDefinition(new OrderedLongSerialiser(),
+                    StorePositions.COLUMN_QUALIFIER.name()))
+            .property(IN_VALUE, new StorePropertyDefinition(new StringSerialiser(), StorePositions.VALUE.name()))
+            .property(NAME, new StorePropertyDefinition(new StringSerialiser(),
+                    StorePositions.COLUMN_QUALIFIER.name()))
+            .build());
+
+    @Test
+    public void shouldOnlyIncludeColumnQualifierPropertiesInSchemaOrder() {
+        assertEquals(2, codec.getNumProperties());
+        assertEquals(COUNT, codec.getPropertyName(0));
+        assertEquals(NAME, codec.getPropertyName(1));
+    }
+
+    @Test
+    public void shouldEncodeAndDecodeProperties() throws Exception {
+        shouldEncodeAndDecodeProperties(5L, "a\u0000b\u0001c");
+        shouldEncodeAndDecodeProperties(null, "name");
+        shouldEncodeAndDecodeProperties(-7L, null);
+        shouldEncodeAndDecodeProperties(0L, "");
+        shouldEncodeAndDecodeProperties(null, "");
+    }
+
+    private void shouldEncodeAndDecodeProperties(final Long count, final String name) throws Exception {
+        // Given
+        final Properties properties = createProperties(count, name);
+        properties.put(IN_VALUE, "not in the column qualifier");
+
+        // When
+        final byte[] columnQualifier = codec.encode(properties);
+        final Properties decoded = new Properties();
+        codec.decode(columnQualifier, decoded);
+
+        // Then
+        assertEquals(createProperties(count, name), decoded);
+    }
+
+    @Test
+    public void shouldStartWithTheFormatByte() throws Exception {
+        assertEquals(ColumnQualifierCodec.VERSION_1, codec.encode(createProperties(null, "name"))[0]);
+        assertEquals(ColumnQualifierCodec.VERSION_1, codec.encode(createProperties(1L, null))[0]);
+    }
+
+    @Test
+    public void shouldDecodeLegacyNameAndValueColumnQualifier() throws Exception {
+        // Given
+        final byte[] columnQualifier = createLegacyColumnQualifier(
+                NAME, new StringSerialiser().serialise("a\u0000b"),
+                COUNT, new OrderedLongSerialiser().serialise(5L));
+
+        // When
+        final Properties decoded = new Properties();
+        codec.decode(columnQualifier, decoded);
+
+        // Then
+        assertEquals(createProperties(5L, "a\u0000b"), decoded);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenLegacyColumnQualifierHasUnknownProperty() throws Exception {
+        // Given
+        final byte[] columnQualifier = createLegacyColumnQualifier(
+                IN_VALUE, new StringSerialiser().serialise("value"));
+
+        // When / Then
+        try {
+            codec.decode(columnQualifier, new Properties());
+            fail("Exception expected");
+        } catch (final AccumuloElementConversionException e) {
+            assertTrue(e.getMessage().contains(IN_VALUE));
+        }
+    }
+
+    @Test
+    public void shouldLeaveOutTrailingNullProperties() throws Exception {
+        assertEquals(0, codec.encode(new Properties()).length);
+        assertEquals(codec.encode(createProperties(1L, null)).length + 2,
+                codec.encode(createProperties(1L, "x")).length);
+    }
+
+    @Test
+    public void shouldSortByFirstPropertyThenNullsFirst() throws Exception {
+        assertTrue(compare(codec.encode(createProperties(null, "z")), codec.encode(createProperties(-1L, "a"))) < 0);
+        assertTrue(compare(codec.encode(createProperties(-1L, "z")), codec.encode(createProperties(0L, "a"))) < 0);
+        assertTrue(compare(codec.encode(createProperties(1L, null)), codec.encode(createProperties(1L, ""))) < 0);
+        assertTrue(compare(codec.encode(createProperties(1L, "")), codec.encode(createProperties(1L, "\u0000"))) < 0);
+    }
+
+    private static Properties createProperties(final Long count, final String name) {
+        final Properties properties = new Properties();
+        if (null != count) {
+            properties.put(COUNT, count);
+        }
+        if (null != name) {
+            properties.put(NAME, name);
+        }
+        return properties;
+    }
+
+    private static byte[] createLegacyColumnQualifier(final Object... namesAndValues) throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            if (i > 0) {
+                out.write(ByteArrayEscapeUtils.DELIMITER);
+            }
+            out.write(ByteArrayEscapeUtils.escape(((String) namesAndValues[i]).getBytes("UTF-8")));
+            out.write(ByteArrayEscapeUtils.DELIMITER);
+            out.write(ByteArrayEscapeUtils.escape((byte[]) namesAndValues[i + 1]));
+        }
+        return out.toByteArray();
+    }
+
+    private static int compare(final byte[] first, final byte[] second) {
+        return WritableComparator.compareBytes(first, 0, first.length, second, 0, second.length);
+    }
+}
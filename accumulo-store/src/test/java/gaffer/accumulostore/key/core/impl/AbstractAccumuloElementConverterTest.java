@@ -21,13 +21,21 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.ValueFormatUtils;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.StreamUtil;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.schema.exception.SchemaException;
+import gaffer.serialisation.implementation.JavaSerialiser;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.MapWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.WritableUtils;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -37,6 +45,9 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 public abstract class AbstractAccumuloElementConverterTest {
 
@@ -169,4 +180,104 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(true, newEdge.isDirected());
         assertEquals("Test", newEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldOnlyDeserialiseRequestedPropertiesOfLazyElement() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.F1, 1);
+        edge.putProperty(AccumuloPropertyNames.F2, 2);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 10);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Edge lazyEdge = (Edge) converter.getLazyFullElement(keys.getFirst(), value, null);
+
+        // Then
+        assertEquals("1", lazyEdge.getSource());
+        assertEquals("2", lazyEdge.getDestination());
+        assertTrue(lazyEdge.isDirected());
+        assertTrue(lazyEdge.getProperties().isEmpty());
+        assertEquals(2, lazyEdge.getProperty(AccumuloPropertyNames.F2));
+        assertEquals(100, lazyEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(lazyEdge.getProperty(AccumuloPropertyNames.F3));
+        assertEquals(3, lazyEdge.getProperties().size());
+        assertFalse(lazyEdge.getProperties().containsKey(AccumuloPropertyNames.F1));
+        assertFalse(lazyEdge.getProperties().containsKey(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldLoadSamePropertiesForLazyEntityAsFullEntity() throws AccumuloElementConversionException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY, "3");
+        entity.putProperty(AccumuloPropertyNames.F1, 1);
+        entity.putProperty(AccumuloPropertyNames.F4, 4);
+        entity.putProperty(AccumuloPropertyNames.COUNT, 10);
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 100);
+        final Key key = converter.getKeyFromEntity(entity);
+        final Value value = converter.getValueFromElement(entity);
+        final Entity fullEntity = (Entity) converter.getFullElement(key, value);
+
+        // When
+        final Entity lazyEntity = (Entity) converter.getLazyFullElement(key, value, null);
+
+        // Then
+        for (final String propertyName : fullEntity.getProperties().keySet()) {
+            assertEquals(fullEntity.getProperty(propertyName), lazyEntity.getProperty(propertyName));
+        }
+        assertEquals(fullEntity, lazyEntity.getElement());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseValuePropertiesInSchemaOrder() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.F1, 1);
+        properties.put(AccumuloPropertyNames.F3, 3);
+        properties.put(AccumuloPropertyNames.COUNT, 10);
+
+        // When
+        final Value value = converter.getValueFromProperties(properties, TestGroups.EDGE);
+        final Properties deserialisedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, value);
+
+        // Then
+        assertEquals(ValueFormatUtils.VERSION_1, value.get()[0]);
+        assertEquals(properties, deserialisedProperties);
+        assertNull(deserialisedProperties.get(AccumuloPropertyNames.F2));
+    }
+
+    @Test
+    public void shouldSerialiseEmptyValueWhenNoValuePropertiesAreSet() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+
+        // When
+        final Value value = converter.getValueFromProperties(properties, TestGroups.EDGE);
+
+        // Then
+        assertEquals(0, value.getSize());
+        assertEquals(new Properties(), converter.getPropertiesFromValue(TestGroups.EDGE, value));
+    }
+
+    @Test
+    public void shouldDeserialiseLegacyMapWritableValue() throws Exception {
+        // Given
+        final JavaSerialiser serialiser = new JavaSerialiser();
+        final MapWritable map = new MapWritable();
+        map.put(new Text(AccumuloPropertyNames.F2), new BytesWritable(serialiser.serialise(2)));
+        map.put(new Text(AccumuloPropertyNames.COUNT), new BytesWritable(serialiser.serialise(10)));
+        final Value value = new Value(WritableUtils.toByteArray(map));
+
+        // When
+        final Properties properties = converter.getPropertiesFromValue(TestGroups.EDGE, value);
+
+        // Then
+        final Properties expectedProperties = new Properties();
+        expectedProperties.put(AccumuloPropertyNames.F2, 2);
+        expectedProperties.put(AccumuloPropertyNames.COUNT, 10);
+        assertEquals(expectedProperties, properties);
+    }
+}
@@ -19,7 +19,10 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.concurrent.TimeUnit;
 
@@ -42,19 +45,24 @@ import org.junit.Test;
 import gaffer.accumulostore.MockAccumuloStore;
 import gaffer.accumulostore.MockAccumuloStoreForTest;
 import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyPackage;
 import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
 import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
 import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
 import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.AccumuloStoreConstants;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.accumulostore.utils.StorePositions;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Properties;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
 import gaffer.store.StoreException;
 
 public class ColumnQualifierVisibilityValueAggregatorTest {
@@ -351,5 +359,244 @@ public class ColumnQualifierVisibilityValueAggregatorTest {
         }
     }
 
+    @Test
+    public void testAggregatingMultiplePropertySetsWithGroupBy() throws StoreException, AccumuloElementConversionException {
+        testAggregatingMultiplePropertySetsWithGroupBy(byteEntityStore, byteEntityElementConverter);
+        testAggregatingMultiplePropertySetsWithGroupBy(gaffer1KeyStore, gaffer1ElementConverter);
+    }
+
+    public void testAggregatingMultiplePropertySetsWithGroupBy(final MockAccumuloStore store, final AccumuloElementConverter elementConverter) throws StoreException, AccumuloElementConversionException {
+        String visibilityString = "public";
+        try {
+            // Create table
+            TableUtils.createTable(store);
+
+            // Create edges that only differ by their column qualifier property
+            Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 8);
+
+            Edge edge2 = new Edge(TestGroups.EDGE, "1", "2", true);
+            edge2.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+
+            Properties properties1 = new Properties();
+            properties1.put(AccumuloPropertyNames.COUNT, 1);
+
+            Properties properties2 = new Properties();
+            properties2.put(AccumuloPropertyNames.COUNT, 2);
+
+            Properties properties3 = new Properties();
+            properties3.put(AccumuloPropertyNames.COUNT, 10);
+
+            // Accumulo keys
+            Key key = elementConverter.getKeysFromEdge(edge).getFirst();
+            Key key2 = elementConverter.getKeysFromEdge(edge2).getFirst();
+
+            // Accumulo values
+            Value value1 = elementConverter.getValueFromProperties(properties1, TestGroups.EDGE);
+            Value value2 = elementConverter.getValueFromProperties(properties2, TestGroups.EDGE);
+            Value value3 = elementConverter.getValueFromProperties(properties3, TestGroups.EDGE);
+
+            // Create mutations
+            Mutation m1 = new Mutation(key.getRow());
+            m1.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value1);
+            Mutation m2 = new Mutation(key.getRow());
+            m2.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp() + 1, value2);
+            Mutation m3 = new Mutation(key2.getRow());
+            m3.put(key2.getColumnFamily(), key2.getColumnQualifier(), new ColumnVisibility(key2.getColumnVisibility()), key2.getTimestamp(), value3);
+            Mutation m4 = new Mutation(key2.getRow());
+            m4.put(key2.getColumnFamily(), key2.getColumnQualifier(), new ColumnVisibility(key2.getColumnVisibility()), key2.getTimestamp() + 1, value1);
+
+            // Write mutations
+            BatchWriterConfig writerConfig = new BatchWriterConfig();
+            writerConfig.setMaxMemory(1000000L);
+            writerConfig.setMaxLatency(1000L, TimeUnit.MILLISECONDS);
+            writerConfig.setMaxWriteThreads(1);
+            BatchWriter writer = store.getMockConnector().createBatchWriter(store.getProperties().getTable(), writerConfig);
+            writer.addMutation(m1);
+            writer.addMutation(m2);
+            writer.addMutation(m3);
+            writer.addMutation(m4);
+            writer.close();
+
+            // Read data back grouping by the column qualifier property and check we get one element per column qualifier
+            View view = new View.Builder()
+                    .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                            .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                            .build())
+                    .build();
+            Authorizations authorizations = new Authorizations(visibilityString);
+            Scanner scanner = store.getMockConnector().createScanner(store.getProperties().getTable(), authorizations);
+            IteratorSetting iteratorSetting = new IteratorSettingBuilder(AccumuloStoreConstants.QUERY_TIME_AGGREGATOR_PRIORITY,
+                    "KeyCombiner", CoreKeyColumnQualifierVisibilityValueAggregatorIterator.class)
+                    .all()
+                    .dataSchema(store.getDataSchema())
+                    .storeSchema(store.getStoreSchema())
+                    .view(view)
+                    .keyConverter(store.getKeyPackage().getKeyConverter())
+                    .build();
+            scanner.addScanIterator(iteratorSetting);
+            Iterator<Entry<Key, Value>> it = scanner.iterator();
+            Entry<Key, Value> entry = it.next();
+            Element readEdge = elementConverter.getFullElement(entry.getKey(), entry.getValue());
+            assertEquals(edge2, readEdge);
+            assertEquals(1, readEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+            assertEquals(11, readEdge.getProperty(AccumuloPropertyNames.COUNT));
 
-}
\ No newline at end of file
+            entry = it.next();
+            readEdge = elementConverter.getFullElement(entry.getKey(), entry.getValue());
+            assertEquals(edge, readEdge);
+            assertEquals(8, readEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+            assertEquals(3, readEdge.getProperty(AccumuloPropertyNames.COUNT));
+
+            // Check no more entries
+            if (it.hasNext()) {
+                fail("Additional row found.");
+            }
+        } catch (AccumuloException | TableExistsException | TableNotFoundException e) {
+            fail(this.getClass().getSimpleName() + " failed with exception: " + e);
+        }
+    }
+
+    @Test
+    public void testAggregatingMultiplePropertySetsWithGroupByOnSubsetOfColumnQualifierProperties() throws StoreException, AccumuloElementConversionException {
+        testAggregatingMultiplePropertySetsWithGroupByOnSubsetOfColumnQualifierProperties(ByteEntityKeyPackage.class);
+        testAggregatingMultiplePropertySetsWithGroupByOnSubsetOfColumnQualifierProperties(ClassicKeyPackage.class);
+    }
+
+    public void testAggregatingMultiplePropertySetsWithGroupByOnSubsetOfColumnQualifierProperties(final Class<? extends AbstractCoreKeyPackage> keyPackageClass) throws StoreException, AccumuloElementConversionException {
+        String visibilityString = "public";
+        try {
+            // Store property1 in the column qualifier as well, so edges have two column qualifier properties
+            MockAccumuloStore store = new MockAccumuloStoreForTest(keyPackageClass);
+            store.getProperties().setTable("Test3");
+            store.getStoreSchema().getElement(TestGroups.EDGE).getProperty(AccumuloPropertyNames.F1)
+                    .setPosition(StorePositions.COLUMN_QUALIFIER.name());
+            AbstractCoreKeyPackage keyPackage = keyPackageClass.newInstance();
+            keyPackage.setStoreSchema(store.getStoreSchema());
+            AccumuloElementConverter elementConverter = keyPackage.getKeyConverter();
+            TableUtils.createTable(store);
+
+            Edge edge1 = createEdge(1, 1, 1);
+            Edge edge2 = createEdge(1, 2, 2);
+            Edge edge3 = createEdge(2, 1, 10);
+
+            BatchWriter writer = store.getMockConnector().createBatchWriter(store.getProperties().getTable(), new BatchWriterConfig());
+            for (final Edge edge : Arrays.asList(edge1, edge2, edge3)) {
+                Key key = elementConverter.getKeysFromEdge(edge).getFirst();
+                Mutation m = new Mutation(key.getRow());
+                m.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), elementConverter.getValueFromElement(edge));
+                writer.addMutation(m);
+            }
+            writer.close();
+
+            // Read data back grouping by only the first column qualifier property
+            View view = new View.Builder()
+                    .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                            .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                            .build())
+                    .build();
+            Scanner scanner = store.getMockConnector().createScanner(store.getProperties().getTable(), new Authorizations(visibilityString));
+            scanner.addScanIterator(keyPackage.getIteratorFactory().getQueryTimeAggregatorIteratorSetting(view, store));
+            Iterator<Entry<Key, Value>> it = scanner.iterator();
+            Entry<Key, Value> entry = it.next();
+            assertEquals(createEdge(1, 3, 3), elementConverter.getFullElement(entry.getKey(), entry.getValue()));
+
+            entry = it.next();
+            assertEquals(edge3, elementConverter.getFullElement(entry.getKey(), entry.getValue()));
+
+            // Check no more entries
+            if (it.hasNext()) {
+                fail("Additional row found.");
+            }
+        } catch (AccumuloException | TableExistsException | TableNotFoundException | IteratorSettingException
+                | ReflectiveOperationException e) {
+            fail(this.getClass().getSimpleName() + " failed with exception: " + e);
+        }
+    }
+
+    @Test
+    public void shouldResetReusedGroupByAggregatorsForEachKey() throws StoreException, AccumuloElementConversionException {
+        shouldResetReusedGroupByAggregatorsForEachKey(ByteEntityKeyPackage.class);
+        shouldResetReusedGroupByAggregatorsForEachKey(ClassicKeyPackage.class);
+    }
+
+    public void shouldResetReusedGroupByAggregatorsForEachKey(final Class<? extends AbstractCoreKeyPackage> keyPackageClass) throws StoreException, AccumuloElementConversionException {
+        String visibilityString = "public";
+        try {
+            // Given
+            MockAccumuloStore store = new MockAccumuloStoreForTest(keyPackageClass);
+            store.getProperties().setTable("Test4");
+            store.getStoreSchema().getElement(TestGroups.EDGE).getProperty(AccumuloPropertyNames.F1)
+                    .setPosition(StorePositions.COLUMN_QUALIFIER.name());
+            AbstractCoreKeyPackage keyPackage = keyPackageClass.newInstance();
+            keyPackage.setStoreSchema(store.getStoreSchema());
+            AccumuloElementConverter elementConverter = keyPackage.getKeyConverter();
+            TableUtils.createTable(store);
+
+            BatchWriter writer = store.getMockConnector().createBatchWriter(store.getProperties().getTable(), new BatchWriterConfig());
+            for (final Edge edge : Arrays.asList(createEdge("1", 1, 1, 1), createEdge("1", 1, 2, 2),
+                    createEdge("1", 2, 1, 10), createEdge("3", 1, 1, 4), createEdge("3", 1, 2, 5),
+                    createEdge("3", 2, 1, 7))) {
+                Key key = elementConverter.getKeysFromEdge(edge).getFirst();
+                Mutation m = new Mutation(key.getRow());
+                m.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), elementConverter.getValueFromElement(edge));
+                writer.addMutation(m);
+            }
+            writer.close();
+
+            View view = new View.Builder()
+                    .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                            .groupBy(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                            .build())
+                    .build();
+            Scanner scanner = store.getMockConnector().createScanner(store.getProperties().getTable(), new Authorizations(visibilityString));
+            scanner.addScanIterator(keyPackage.getIteratorFactory().getQueryTimeAggregatorIteratorSetting(view, store));
+
+            // When
+            final List<Element> results = new ArrayList<>();
+            for (final Entry<Key, Value> entry : scanner) {
+                results.add(elementConverter.getFullElement(entry.getKey(), entry.getValue()));
+            }
+
+            // Then
+            final List<Edge> expectedEdges = Arrays.asList(createEdge("1", 1, 3, 3), createEdge("1", 2, 1, 10),
+                    createEdge("3", 1, 3, 9), createEdge("3", 2, 1, 7));
+            assertEquals(expectedEdges, results);
+            for (int i = 0; i < expectedEdges.size(); i++) {
+                for (final String propertyName : Arrays.asList(AccumuloPropertyNames.COLUMN_QUALIFIER,
+                        AccumuloPropertyNames.F1, AccumuloPropertyNames.COUNT)) {
+                    assertEquals(expectedEdges.get(i).getProperty(propertyName),
+                            results.get(i).getProperty(propertyName));
+                }
+            }
+        } catch (AccumuloException | TableExistsException | TableNotFoundException | IteratorSettingException
+                | ReflectiveOperationException e) {
+            fail(this.getClass().getSimpleName() + " failed with exception: " + e);
+        }
+    }
+
+    @Test(expected = IteratorSettingException.class)
+    public void shouldNotGroupByValueProperty() throws IteratorSettingException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .groupBy(AccumuloPropertyNames.COUNT)
+                        .build())
+                .build();
+
+        // When / Then
+        byteEntityStore.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(view, byteEntityStore);
+    }
+
+    private static Edge createEdge(final int columnQualifier, final int property1, final int count) {
+        return createEdge("1", columnQualifier, property1, count);
+    }
+
+    private static Edge createEdge(final String source, final int columnQualifier, final int property1, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.F1, property1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
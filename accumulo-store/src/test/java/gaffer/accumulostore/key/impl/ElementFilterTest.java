@@ -0,0 +1,182 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.key.impl;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.function.ElementFilter.Builder;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.function.simple.filter.IsEqual;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Test;
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class ElementFilterTest {
+    private StoreSchema storeSchema;
+
+    @Before
+    public void setup() {
+        storeSchema = StoreSchema.fromJson(StreamUtil.storeSchema(getClass()));
+    }
+
+    @Test
+    public void shouldAcceptGroupsWithoutFilterAndRejectGroupsNotInView() throws Exception {
+        shouldAcceptGroupsWithoutFilterAndRejectGroupsNotInView(new ByteEntityAccumuloElementConverter(storeSchema));
+        shouldAcceptGroupsWithoutFilterAndRejectGroupsNotInView(new ClassicAccumuloElementConverter(storeSchema));
+    }
+
+    @Test
+    public void shouldFilterOnPropertiesWithoutDecodingRowKey() throws Exception {
+        shouldFilterOnPropertiesWithoutDecodingRowKey(new ByteEntityAccumuloElementConverter(storeSchema));
+        shouldFilterOnPropertiesWithoutDecodingRowKey(new ClassicAccumuloElementConverter(storeSchema));
+    }
+
+    @Test
+    public void shouldFilterOnIdentifiers() throws Exception {
+        shouldFilterOnIdentifiers(new ByteEntityAccumuloElementConverter(storeSchema));
+        shouldFilterOnIdentifiers(new ClassicAccumuloElementConverter(storeSchema));
+    }
+
+    private void shouldAcceptGroupsWithoutFilterAndRejectGroupsNotInView(final AccumuloElementConverter converter)
+            throws Exception {
+        // Given
+        final ElementFilter filter = createFilter(converter, new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition())
+                .build());
+        final Entity entity = createEntity("vertex", 1);
+        final Edge edge = createEdge("source", "dest", 1);
+
+        // When
+        final boolean entityAccepted = filter.accept(getGarbledKey(converter.getKeyFromEntity(entity)),
+                converter.getValueFromElement(entity));
+        final boolean edgeAccepted = filter.accept(getGarbledKey(converter.getKeysFromEdge(edge).getFirst()),
+                converter.getValueFromElement(edge));
+
+        // Then
+        assertTrue(entityAccepted);
+        assertFalse(edgeAccepted);
+    }
+
+    private void shouldFilterOnPropertiesWithoutDecodingRowKey(final AccumuloElementConverter converter)
+            throws Exception {
+        // Given
+        final ElementFilter filter = createFilter(converter, new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .filter(new Builder()
+                                .select(AccumuloPropertyNames.F1)
+                                .execute(new IsEqual(1))
+                                .build())
+                        .build())
+                .build());
+        final Edge matchingEdge = createEdge("source", "dest", 1);
+        final Edge otherEdge = createEdge("source", "dest", 2);
+
+        // When
+        final boolean matchingAccepted = filter.accept(getGarbledKey(converter.getKeysFromEdge(matchingEdge).getFirst()),
+                converter.getValueFromElement(matchingEdge));
+        final boolean otherAccepted = filter.accept(getGarbledKey(converter.getKeysFromEdge(otherEdge).getFirst()),
+                converter.getValueFromElement(otherEdge));
+
+        // Then
+        assertTrue(matchingAccepted);
+        assertFalse(otherAccepted);
+    }
+
+    private void shouldFilterOnIdentifiers(final AccumuloElementConverter converter) throws Exception {
+        // Given
+        final ElementFilter filter = createFilter(converter, new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition.Builder()
+                        .filter(new Builder()
+                                .select(IdentifierType.VERTEX)
+                                .execute(new IsEqual("vertex1"))
+                                .build())
+                        .build())
+                .build());
+        final Entity matchingEntity = createEntity("vertex1", 1);
+        final Entity otherEntity = createEntity("vertex2", 1);
+
+        // When
+        final boolean matchingAccepted = filter.accept(converter.getKeyFromEntity(matchingEntity),
+                converter.getValueFromElement(matchingEntity));
+        final boolean otherAccepted = filter.accept(converter.getKeyFromEntity(otherEntity),
+                converter.getValueFromElement(otherEntity));
+
+        // Then
+        assertTrue(matchingAccepted);
+        assertFalse(otherAccepted);
+    }
+
+    private ElementFilter createFilter(final AccumuloElementConverter converter, final View view)
+            throws UnsupportedEncodingException {
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.VIEW, new String(view.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        options.put(AccumuloStoreConstants.STORE_SCHEMA,
+                new String(storeSchema.toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, converter.getClass().getName());
+
+        final ElementFilter filter = new ElementFilter();
+        filter.validateOptions(options);
+        return filter;
+    }
+
+    /**
+     * Replaces the row of the key with bytes that cannot be decoded, so the filter can only use the rest of the key.
+     */
+    private Key getGarbledKey(final Key key) {
+        return new Key(new Text(new byte[]{0, 0, 0}), key.getColumnFamily(), key.getColumnQualifier(),
+                key.getColumnVisibility(), key.getTimestamp());
+    }
+
+    private Entity createEntity(final String vertex, final int property1) {
+        final Entity entity = new Entity(TestGroups.ENTITY);
+        entity.setVertex(vertex);
+        entity.putProperty(AccumuloPropertyNames.F1, property1);
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        return entity;
+    }
+
+    private Edge createEdge(final String source, final String destination, final int property1) {
+        final Edge edge = new Edge(TestGroups.EDGE);
+        edge.setSource(source);
+        edge.setDestination(destination);
+        edge.setDirected(true);
+        edge.putProperty(AccumuloPropertyNames.F1, property1);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        return edge;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.operation.impl.AddElementsFromFile;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.TableUtils;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.generator.OneToOneElementGenerator;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import org.apache.hadoop.io.Text;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+public class AddElementsFromFileHandlerTest {
+    private static final int NUM_VERTICES = 50;
+
+    @Rule
+    public final TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private AccumuloStore store;
+
+    @Before
+    public void setup() {
+        store = new MockAccumuloStoreForTest();
+    }
+
+    @Test
+    public void shouldSortAggregateAndImportElementsFromFileAcrossSpillsAndTablets() throws Exception {
+        // Given
+        splitTable(String.valueOf(NUM_VERTICES / 3), String.valueOf(2 * NUM_VERTICES / 3));
+        final File inputFile = writeInputFile();
+        final File workingPath = new File(tempFolder.getRoot(), "working");
+
+        // When
+        store.execute(new AddElementsFromFile.Builder()
+                .filename(inputFile.getAbsolutePath())
+                .generator(new LineGenerator())
+                .workingPath(workingPath.getAbsolutePath())
+                .option(AccumuloStoreConstants.OPERATION_LOCAL_MAX_ENTRIES_IN_MEMORY, "7")
+                .option(AccumuloStoreConstants.OPERATION_LOCAL_WRITER_THREADS, "2")
+                .build());
+
+        // Then
+        final List<Element> results = getAllElements();
+        int numEntities = 0;
+        int numEdges = 0;
+        for (final Element result : results) {
+            if (result instanceof Entity) {
+                numEntities++;
+            } else {
+                numEdges++;
+            }
+            assertEquals(2, result.getProperty(AccumuloPropertyNames.COUNT));
+        }
+        assertEquals(NUM_VERTICES, numEntities);
+        // Each edge is found from both its source and its destination
+        assertEquals(2 * (NUM_VERTICES - 1), numEdges);
+
+        assertEquals(4 * NUM_VERTICES - 2, store.getIngestCounters().getElementsAdded());
+        assertEquals(0, store.getIngestCounters().getElementsFailed());
+        assertEquals(3 * NUM_VERTICES - 2, store.getIngestCounters().getMutationsWritten());
+        assertFalse(workingPath.exists());
+    }
+
+    @Test(expected = OperationException.class)
+    public void shouldNotImportIntoExistingWorkingPath() throws Exception {
+        // Given
+        final File inputFile = writeInputFile();
+        final File workingPath = tempFolder.newFolder("working");
+
+        // When / Then
+        store.execute(new AddElementsFromFile.Builder()
+                .filename(inputFile.getAbsolutePath())
+                .generator(new LineGenerator())
+                .workingPath(workingPath.getAbsolutePath())
+                .build());
+    }
+
+    private File writeInputFile() throws IOException {
+        final File inputFile = tempFolder.newFile("elements.txt");
+        try (final PrintWriter writer = new PrintWriter(inputFile, "UTF-8")) {
+            for (int copy = 0; copy < 2; copy++) {
+                for (int i = 0; i < NUM_VERTICES; i++) {
+                    writer.println(i);
+                    if (i > 0) {
+                        writer.println((i - 1) + "," + i);
+                    }
+                }
+            }
+        }
+        return inputFile;
+    }
+
+    private void splitTable(final String... vertices) throws StoreException, AccumuloElementConversionException {
+        TableUtils.ensureTableExists(store);
+        final SortedSet<Text> splits = new TreeSet<>();
+        for (final String vertex : vertices) {
+            splits.add(store.getKeyPackage().getKeyConverter()
+                    .getKeysFromElement(new Entity(TestGroups.ENTITY, vertex)).getFirst().getRow());
+        }
+        try {
+            store.getConnection().tableOperations().addSplits(store.getProperties().getTable(), splits);
+        } catch (final Exception e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+    }
+
+    private List<Element> getAllElements() throws OperationException {
+        final GetRelatedElements.Builder<EntitySeed, Element> builder = new GetRelatedElements.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build());
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            builder.addSeed(new EntitySeed(String.valueOf(i)));
+        }
+        final GetElements<EntitySeed, Element> getElements = builder.build();
+
+        final List<Element> results = new ArrayList<>();
+        for (final Element element : store.execute(getElements)) {
+            results.add(element);
+        }
+        return results;
+    }
+
+    public static class LineGenerator extends OneToOneElementGenerator<String> {
+        @Override
+        public Element getElement(final String line) {
+            final Element element;
+            if (line.contains(",")) {
+                final String[] parts = line.split(",");
+                element = new Edge(TestGroups.EDGE, parts[0], parts[1], true);
+            } else {
+                element = new Entity(TestGroups.ENTITY, line);
+            }
+            element.putProperty(AccumuloPropertyNames.COUNT, 1);
+            return element;
+        }
+
+        @Override
+        public String getObject(final Element element) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AccumuloKeyRawComparatorTest {
+    private final AccumuloKeyRawComparator comparator = new AccumuloKeyRawComparator();
+
+    @Test
+    public void shouldCompareSerialisedKeysInTheSameOrderAsKeys() throws IOException {
+        // Given
+        final List<Key> keys = new ArrayList<>();
+        for (final String row : new String[]{"", "a", "ab", "b"}) {
+            for (final String colFamily : new String[]{"", "cf", "cf2"}) {
+                for (final String colQualifier : new String[]{"", "\u0000", "cq"}) {
+                    for (final String colVisibility : new String[]{"", "public"}) {
+                        for (final long timestamp : new long[]{0L, 1L, 1000000L, Long.MAX_VALUE}) {
+                            keys.add(new Key(row, colFamily, colQualifier, colVisibility, timestamp));
+                        }
+                    }
+                }
+            }
+        }
+        final Key deletedKey = new Key("a", "cf", "cq", "", 1L);
+        deletedKey.setDeleted(true);
+        keys.add(deletedKey);
+        keys.add(new Key(new byte[]{(byte) 0xFF}, new byte[]{(byte) 0x80}, new byte[0], new byte[0], -1L));
+
+        // When / Then
+        for (final Key key : keys) {
+            final byte[] serialisedKey = serialise(key);
+            for (final Key otherKey : keys) {
+                final byte[] serialisedOtherKey = serialise(otherKey);
+                assertEquals(key + " compared to " + otherKey, Integer.signum(key.compareTo(otherKey)),
+                        Integer.signum(comparator.compare(serialisedKey, 0, serialisedKey.length,
+                                serialisedOtherKey, 0, serialisedOtherKey.length)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldCompareSerialisedKeysAtAnOffset() throws IOException {
+        // Given
+        final DataOutputBuffer buffer = new DataOutputBuffer();
+        buffer.write(new byte[]{1, 2, 3});
+        new Key("row", "cf", "cq", 10L).write(buffer);
+        final int secondKeyStart = buffer.getLength();
+        new Key("row", "cf", "cq", 5L).write(buffer);
+
+        // When
+        final int result = comparator.compare(buffer.getData(), 3, secondKeyStart - 3,
+                buffer.getData(), secondKeyStart, buffer.getLength() - secondKeyStart);
+
+        // Then
+        assertEquals(-1, Integer.signum(result));
+    }
+
+    private byte[] serialise(final Key key) throws IOException {
+        final DataOutputBuffer buffer = new DataOutputBuffer();
+        key.write(buffer);
+        final byte[] bytes = new byte[buffer.getLength()];
+        System.arraycopy(buffer.getData(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+}
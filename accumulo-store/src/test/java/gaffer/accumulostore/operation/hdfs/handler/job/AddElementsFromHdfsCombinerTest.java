@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.operation.simple.hdfs.handler.AddElementsFromHdfsJobFactory;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class AddElementsFromHdfsCombinerTest {
+    private final AccumuloStore store = new MockAccumuloStoreForTest();
+    private final AccumuloElementConverter elementConverter = store.getKeyPackage().getKeyConverter();
+
+    @Test
+    public void shouldCombineDuplicateKeysIntoSameValueAsReducer() throws Exception {
+        // Given
+        final Key key = elementConverter.getKeysFromElement(createEdge(1)).getFirst();
+        final List<Value> values = Arrays.asList(elementConverter.getValueFromElement(createEdge(1)),
+                elementConverter.getValueFromElement(createEdge(2)),
+                elementConverter.getValueFromElement(createEdge(4)));
+
+        // When
+        final List<Value> combined = reduce(new AddElementsFromHdfsCombiner(), key, values);
+        final List<Value> reduced = reduce(new AddElementsFromHdfsReducer(), key, values);
+
+        // Then
+        assertEquals(1, combined.size());
+        assertEquals(reduced, combined);
+        assertEquals(createEdge(7), elementConverter.getFullElement(key, combined.get(0)));
+    }
+
+    @Test
+    public void shouldGiveSameValueWhenReducerIsRunOnCombinedValues() throws Exception {
+        // Given
+        final Key key = elementConverter.getKeysFromElement(createEdge(1)).getFirst();
+        final List<Value> values = Arrays.asList(elementConverter.getValueFromElement(createEdge(1)),
+                elementConverter.getValueFromElement(createEdge(2)),
+                elementConverter.getValueFromElement(createEdge(4)));
+        final List<Value> partlyCombinedValues = new ArrayList<>(
+                reduce(new AddElementsFromHdfsCombiner(), key, values.subList(0, 2)));
+        partlyCombinedValues.add(values.get(2));
+
+        // When
+        final List<Value> reducedCombined = reduce(new AddElementsFromHdfsReducer(), key, partlyCombinedValues);
+        final List<Value> reduced = reduce(new AddElementsFromHdfsReducer(), key, values);
+
+        // Then
+        assertEquals(reduced, reducedCombined);
+    }
+
+    @Test
+    public void shouldWriteSingleValueUnchanged() throws Exception {
+        // Given
+        final Key key = elementConverter.getKeysFromElement(createEdge(1)).getFirst();
+        final Value value = elementConverter.getValueFromElement(createEdge(1));
+
+        // When
+        final List<Value> combined = reduce(new AddElementsFromHdfsCombiner(), key, Collections.singletonList(value));
+
+        // Then
+        assertEquals(Collections.singletonList(value), combined);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Value> reduce(final AddElementsFromHdfsReducer reducer, final Key key, final List<Value> values)
+            throws Exception {
+        final Configuration conf = new Configuration();
+        conf.set(AddElementsFromHdfsJobFactory.DATA_SCHEMA, new String(store.getDataSchema().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        conf.set(AddElementsFromHdfsJobFactory.STORE_SCHEMA, new String(store.getStoreSchema().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        conf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, elementConverter.getClass().getName());
+
+        final List<Value> output = new ArrayList<>();
+        final Reducer<Key, Value, Key, Value>.Context context = mock(Reducer.Context.class);
+        when(context.getConfiguration()).thenReturn(conf);
+        when(context.getCounter(anyString(), anyString())).thenReturn(mock(Counter.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                assertEquals(key, invocation.getArguments()[0]);
+                output.add(new Value((Value) invocation.getArguments()[1]));
+                return null;
+            }
+        }).when(context).write(any(Key.class), any(Value.class));
+
+        reducer.setup(context);
+        reducer.reduce(key, values, context);
+        return output;
+    }
+
+    private static Edge createEdge(final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.AccumuloStoreConstants;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.operation.simple.hdfs.handler.AddElementsFromHdfsJobFactory;
+import gaffer.operation.simple.hdfs.handler.mapper.TextMapperGenerator;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class AddElementsFromHdfsMapperTest {
+    private static final long IMPORT_TIMESTAMP = 1000L;
+
+    private AccumuloStore store;
+    private AccumuloElementConverter elementConverter;
+    private final List<Map.Entry<Key, Value>> output = new ArrayList<>();
+
+    @Before
+    public void setup() {
+        store = new MockAccumuloStoreForTest();
+        // Store the edge timestamp property in the value, so edges take the import timestamp
+        store.getStoreSchema().getElement(TestGroups.EDGE).getProperty(AccumuloPropertyNames.TIMESTAMP)
+                .setPosition(StorePositions.VALUE.name());
+        elementConverter = store.getKeyPackage().getKeyConverter();
+    }
+
+    @Test
+    public void shouldAggregateDuplicateKeysInCacheAndWriteThemInCleanup() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = new AddElementsFromHdfsMapper<>();
+        final Mapper<Object, Object, Key, Value>.Context context = createContext(10);
+        mapper.setup(context);
+
+        // When
+        mapper.map(createEdge("A", 1), context);
+        mapper.map(createEdge("A", 2), context);
+        mapper.map(createEdge("B", 3), context);
+
+        // Then
+        assertTrue(output.isEmpty());
+
+        // When
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(4, output.size());
+        assertEquals(createEdge("A", 3), getElement(0));
+        assertEquals(createEdge("A", 3), getElement(1));
+        assertEquals(createEdge("B", 3), getElement(2));
+        assertEquals(createEdge("B", 3), getElement(3));
+    }
+
+    @Test
+    public void shouldWriteLeastRecentlyUsedKeyWhenCacheIsFull() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = new AddElementsFromHdfsMapper<>();
+        final Mapper<Object, Object, Key, Value>.Context context = createContext(2);
+        mapper.setup(context);
+
+        // When
+        mapper.map(createEntity("A", 1, 5L), context);
+        mapper.map(createEntity("B", 2, 5L), context);
+        mapper.map(createEntity("A", 3, 5L), context);
+        mapper.map(createEntity("C", 4, 5L), context);
+
+        // Then
+        assertEquals(1, output.size());
+        assertEquals(createEntity("B", 2, 5L), getElement(0));
+
+        // When
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(3, output.size());
+        assertEquals(createEntity("A", 4, 5L), getElement(1));
+        assertEquals(createEntity("C", 4, 5L), getElement(2));
+    }
+
+    @Test
+    public void shouldOnlyUseImportTimestampForGroupsWithoutTimestampProperty() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = new AddElementsFromHdfsMapper<>();
+        final Mapper<Object, Object, Key, Value>.Context context = createContext(10);
+        mapper.setup(context);
+
+        // When
+        mapper.map(createEntity("A", 1, 5L), context);
+        mapper.map(createEntity("A", 2, 6L), context);
+        mapper.map(createEntity("A", 4, 5L), context);
+        mapper.map(createEdge("A", 1), context);
+        mapper.cleanup(context);
+
+        // Then
+        assertEquals(4, output.size());
+        assertEquals(createEntity("A", 2, 6L), getElement(0));
+        assertEquals(6L, output.get(0).getKey().getTimestamp());
+        assertEquals(createEntity("A", 5, 5L), getElement(1));
+        assertEquals(5L, output.get(1).getKey().getTimestamp());
+        assertEquals(IMPORT_TIMESTAMP, output.get(2).getKey().getTimestamp());
+        assertEquals(IMPORT_TIMESTAMP, output.get(3).getKey().getTimestamp());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Mapper<Object, Object, Key, Value>.Context createContext(final int cacheSize) throws Exception {
+        final Configuration conf = new Configuration();
+        conf.set(AddElementsFromHdfsJobFactory.DATA_SCHEMA, new String(store.getDataSchema().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        conf.set(AddElementsFromHdfsJobFactory.STORE_SCHEMA, new String(store.getStoreSchema().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        conf.set(AddElementsFromHdfsJobFactory.MAPPER_GENERATOR, TextMapperGenerator.class.getName());
+        conf.set(AddElementsFromHdfsJobFactory.VALIDATE, "false");
+        conf.set(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS, elementConverter.getClass().getName());
+        conf.setLong(AccumuloStoreConstants.OPERATION_HDFS_IMPORT_TIMESTAMP, IMPORT_TIMESTAMP);
+        conf.setInt(AccumuloStoreConstants.OPERATION_HDFS_MAPPER_CACHE_SIZE, cacheSize);
+
+        final Mapper<Object, Object, Key, Value>.Context context = mock(Mapper.Context.class);
+        when(context.getConfiguration()).thenReturn(conf);
+        when(context.getCounter(anyString(), anyString())).thenReturn(mock(Counter.class));
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(final InvocationOnMock invocation) {
+                output.add(new AbstractMap.SimpleEntry<>(new Key((Key) invocation.getArguments()[0]),
+                        new Value((Value) invocation.getArguments()[1])));
+                return null;
+            }
+        }).when(context).write(any(Key.class), any(Value.class));
+        return context;
+    }
+
+    private Element getElement(final int index) throws Exception {
+        return elementConverter.getFullElement(output.get(index).getKey(), output.get(index).getValue());
+    }
+
+    private static Edge createEdge(final String source, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, "X", true);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+
+    private static Entity createEntity(final String vertex, final int count, final long timestamp) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(AccumuloPropertyNames.COUNT, count);
+        entity.putProperty(AccumuloPropertyNames.TIMESTAMP, timestamp);
+        return entity;
+    }
+}
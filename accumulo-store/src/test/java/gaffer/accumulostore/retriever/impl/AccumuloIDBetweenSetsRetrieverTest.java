@@ -26,8 +26,6 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
-import org.apache.hadoop.util.bloom.BloomFilter;
-import org.apache.hadoop.util.hash.Hash;
 import org.junit.AfterClass;
 import org.junit.BeforeClass;
 import org.junit.Test;
@@ -41,6 +39,7 @@ import gaffer.accumulostore.operation.AbstractAccumuloTwoSetSeededOperation;
 import gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import gaffer.accumulostore.retriever.AccumuloRetriever;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
@@ -361,9 +360,9 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         // (m/n)ln 2 where m is the size of the filter in bits and n is the number of items that will be added to the set.
         int numHashes = Math.max(1, (int) ((size / numItemsToBeAdded) * Math.log(2)));
         // Create Bloom filter and add seeds to it
-        BloomFilter filter = new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+        BlockedBloomFilter filter = new BlockedBloomFilter(size, numHashes);
         for (EntitySeed seed : seeds) {
-            filter.add(new org.apache.hadoop.util.bloom.Key(store.getKeyPackage().getKeyConverter().serialiseVertexForBloomKey(seed.getVertex())));
+            filter.add(store.getKeyPackage().getKeyConverter().serialiseVertexForBloomKey(seed.getVertex()));
         }
 
         // Test random items against it - should only have to test MAX_SIZE_BLOOM_FILTER / 2 on average before find a
@@ -372,7 +371,7 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         int maxNumberOfTries = 50 * store.getProperties().getMaxBloomFilterToPassToAnIterator();
         while (count < maxNumberOfTries) {
             count++;
-            if (filter.membershipTest(new org.apache.hadoop.util.bloom.Key(("" + count).getBytes()))) {
+            if (filter.membershipTest(("" + count).getBytes())) {
                 break;
             }
         }
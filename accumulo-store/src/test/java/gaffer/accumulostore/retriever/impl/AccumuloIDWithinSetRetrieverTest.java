@@ -27,8 +27,6 @@ import java.util.List;
 import java.util.Set;
 
 import org.apache.accumulo.core.client.TableExistsException;
-import org.apache.hadoop.util.bloom.BloomFilter;
-import org.apache.hadoop.util.hash.Hash;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
@@ -38,6 +36,7 @@ import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
 import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
@@ -343,9 +342,9 @@ public class AccumuloIDWithinSetRetrieverTest {
         // (m/n)ln 2 where m is the size of the filter in bits and n is the number of items that will be added to the set.
         int numHashes = Math.max(1, (int) ((size / numItemsToBeAdded) * Math.log(2)));
         // Create Bloom filter and add seeds to it
-        BloomFilter filter = new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
+        BlockedBloomFilter filter = new BlockedBloomFilter(size, numHashes);
         for (EntitySeed seed : seeds) {
-            filter.add(new org.apache.hadoop.util.bloom.Key(store.getKeyPackage().getKeyConverter().serialiseVertexForBloomKey(seed.getVertex())));
+            filter.add(store.getKeyPackage().getKeyConverter().serialiseVertexForBloomKey(seed.getVertex()));
         }
 
         // Test random items against it - should only have to test MAX_SIZE_BLOOM_FILTER / 2 on average before find a
@@ -354,7 +353,7 @@ public class AccumuloIDWithinSetRetrieverTest {
         int maxNumberOfTries = 50 * store.getProperties().getMaxBloomFilterToPassToAnIterator();
         while (count < maxNumberOfTries) {
             count++;
-            if (filter.membershipTest(new org.apache.hadoop.util.bloom.Key(("" + count).getBytes()))) {
+            if (filter.membershipTest(("" + count).getBytes())) {
                 break;
             }
         }
@@ -368,6 +367,7 @@ public class AccumuloIDWithinSetRetrieverTest {
         Set<Element> elms = new HashSet<>();
         elms.add(edge);
         GetElements<EntitySeed, ?> op = new GetRelatedElements<>(defaultView, seeds);
+        final long edgesRejectedBefore = getEdgesRejected(loadIntoMemory, store);
         // Now query for all edges in set - shouldn't get the false positive
         AccumuloIDWithinSetRetriever retriever = new AccumuloIDWithinSetRetriever(store, op, loadIntoMemory);
         Set<Element> results = new HashSet<>();
@@ -388,6 +388,12 @@ public class AccumuloIDWithinSetRetrieverTest {
         expectedElement3.putProperty(AccumuloPropertyNames.COUNT, 23);
         expectedResults.add(expectedElement3);
         assertEquals(expectedResults, results);
+        assertTrue(getEdgesRejected(loadIntoMemory, store) > edgesRejectedBefore);
+    }
+
+    private static long getEdgesRejected(final boolean loadIntoMemory, final AccumuloStore store) {
+        return loadIntoMemory ? store.getSetRetrieverCounters().getEdgesRejectedInMemory()
+                : store.getSetRetrieverCounters().getEdgesRejectedInBatches();
     }
 
     /**
@@ -17,8 +17,11 @@
 package gaffer.accumulostore.retriever.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import gaffer.accumulostore.AccumuloProperties;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.MockAccumuloStoreForTest;
 import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
@@ -48,6 +51,7 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
@@ -304,6 +308,135 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries * 2, count);
     }
 
+    @Test
+    public void testEntitySeedQueryReadingAheadSmallBatches() throws AccumuloException, StoreException, IteratorSettingException {
+        testEntitySeedQueryWithPrefetchDepth(byteEntityStore, "0");
+        testEntitySeedQueryWithPrefetchDepth(byteEntityStore, "1");
+        testEntitySeedQueryWithPrefetchDepth(gaffer1KeyStore, "3");
+    }
+
+    public void testEntitySeedQueryWithPrefetchDepth(final AccumuloStore store, final String prefetchDepth) throws AccumuloException, StoreException, IteratorSettingException {
+        setupGraph(store, numEntries);
+        final String maxEntries = store.getProperties().get(AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER);
+        final String depth = store.getProperties().get(AccumuloProperties.BATCH_SCANNER_PREFETCH_DEPTH);
+        store.getProperties().setMaxEntriesForBatchScanner("7");
+        store.getProperties().setBatchScannerPrefetchDepth(prefetchDepth);
+        try {
+            // Create set to query for
+            Set<ElementSeed> ids = new HashSet<>();
+            for (int i = 0; i < numEntries; i++) {
+                ids.add(new EntitySeed("" + i));
+            }
+            final View view = new View.Builder().edge(TestGroups.EDGE, new ViewEdgeDefinition()).entity(TestGroups.ENTITY, new ViewEntityDefinition()).build();
+
+            GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+            operation.setIncludeEntities(true);
+            operation.setIncludeEdges(IncludeEdgeType.ALL);
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation);
+            final Set<Element> results = new HashSet<>();
+            int count = 0;
+            for (Element element : retriever) {
+                count++;
+                results.add(element);
+            }
+            retriever.close();
+
+            //Should find both i-B and i-C edges and entities i, each exactly once
+            assertEquals(numEntries * 3, count);
+            assertEquals(numEntries * 3, results.size());
+        } finally {
+            setProperty(store, AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntries);
+            setProperty(store, AccumuloProperties.BATCH_SCANNER_PREFETCH_DEPTH, depth);
+        }
+    }
+
+    @Test
+    public void shouldStopReadingAheadWhenClosedBeforeAllElementsAreConsumed() throws AccumuloException, StoreException, IteratorSettingException {
+        // Given
+        setupGraph(byteEntityStore, numEntries);
+        final String maxEntries = byteEntityStore.getProperties().get(AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER);
+        byteEntityStore.getProperties().setMaxEntriesForBatchScanner("10");
+        try {
+            Set<ElementSeed> ids = new HashSet<>();
+            for (int i = 0; i < numEntries; i++) {
+                ids.add(new EntitySeed("" + i));
+            }
+            final View view = new View.Builder().entity(TestGroups.ENTITY, new ViewEntityDefinition()).build();
+            GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+            operation.setIncludeEdges(IncludeEdgeType.NONE);
+            final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(byteEntityStore, operation);
+            final Iterator<Element> iterator = retriever.iterator();
+
+            // When
+            int count = 0;
+            while (count < 15 && iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            retriever.close();
+
+            // Then
+            assertEquals(15, count);
+            assertFalse(iterator.hasNext());
+        } finally {
+            setProperty(byteEntityStore, AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntries);
+        }
+    }
+
+    @Test
+    public void shouldStopReadingAheadWhenIteratorIsAbandonedWithoutBeingClosed() throws Exception {
+        // Given
+        setupGraph(byteEntityStore, numEntries);
+        final String maxEntries = byteEntityStore.getProperties().get(AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER);
+        final String depth = byteEntityStore.getProperties().get(AccumuloProperties.BATCH_SCANNER_PREFETCH_DEPTH);
+        final String idleTimeout = byteEntityStore.getProperties().get(AccumuloProperties.BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT);
+        byteEntityStore.getProperties().setMaxEntriesForBatchScanner("10");
+        byteEntityStore.getProperties().setBatchScannerPrefetchDepth("1");
+        byteEntityStore.getProperties().setBatchScannerPrefetchIdleTimeout("100");
+        try {
+            Set<ElementSeed> ids = new HashSet<>();
+            for (int i = 0; i < numEntries; i++) {
+                ids.add(new EntitySeed("" + i));
+            }
+            final View view = new View.Builder().entity(TestGroups.ENTITY, new ViewEntityDefinition()).build();
+            GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+            operation.setIncludeEdges(IncludeEdgeType.NONE);
+            final Iterator<Element> iterator = new AccumuloSingleIDRetriever(byteEntityStore, operation).iterator();
+            iterator.next();
+            assertTrue(isPrefetchThreadAlive());
+
+            // When
+            final long deadline = System.currentTimeMillis() + 10000;
+            while (isPrefetchThreadAlive() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+
+            // Then
+            assertFalse(isPrefetchThreadAlive());
+        } finally {
+            setProperty(byteEntityStore, AccumuloProperties.MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntries);
+            setProperty(byteEntityStore, AccumuloProperties.BATCH_SCANNER_PREFETCH_DEPTH, depth);
+            setProperty(byteEntityStore, AccumuloProperties.BATCH_SCANNER_PREFETCH_IDLE_TIMEOUT, idleTimeout);
+        }
+    }
+
+    private static boolean isPrefetchThreadAlive() {
+        for (final Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith("batch-scanner-prefetch-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setProperty(final AccumuloStore store, final String key, final String value) {
+        if (null == value) {
+            store.getProperties().getProperties().remove(key);
+        } else {
+            store.getProperties().set(key, value);
+        }
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockedBloomFilterTest {
+
+    @Test
+    public void shouldContainAllAddedItems() {
+        // Given
+        final BlockedBloomFilter filter = BloomFilterUtils.getBloomFilter(0.001, 1000, 100000);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            filter.add(("item" + i).getBytes());
+        }
+
+        // Then
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(filter.membershipTest(("item" + i).getBytes()));
+        }
+    }
+
+    @Test
+    public void shouldHaveLowFalsePositiveRate() {
+        // Given
+        final BlockedBloomFilter filter = BloomFilterUtils.getBloomFilter(0.001, 1000, 100000);
+        for (int i = 0; i < 1000; i++) {
+            filter.add(("item" + i).getBytes());
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 100000; i++) {
+            if (filter.membershipTest(("other" + i).getBytes())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 500);
+    }
+
+    @Test
+    public void shouldNotShareBitPatternsBetweenItemsInTheSameBlock() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(BlockedBloomFilter.BITS_PER_BLOCK, 13);
+        for (int i = 0; i < 12; i++) {
+            filter.add(("item" + i).getBytes());
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < 200000; i++) {
+            if (filter.membershipTest(("other" + i).getBytes())) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 5);
+    }
+
+    @Test
+    public void shouldHaveIndependentFalsePositivesWithDifferentHashSeeds() {
+        // Given
+        final BlockedBloomFilter filter1 = new BlockedBloomFilter(BlockedBloomFilter.BITS_PER_BLOCK, 5);
+        final BlockedBloomFilter filter2 = new BlockedBloomFilter(BlockedBloomFilter.BITS_PER_BLOCK, 5, 1L);
+        for (int i = 0; i < 50; i++) {
+            filter1.add(("item" + i).getBytes());
+            filter2.add(("item" + i).getBytes());
+        }
+
+        // When
+        int falsePositives = 0;
+        int falsePositivesInBoth = 0;
+        for (int i = 0; i < 100000; i++) {
+            final byte[] item = ("other" + i).getBytes();
+            if (filter1.membershipTest(item)) {
+                falsePositives++;
+                if (filter2.membershipTest(item)) {
+                    falsePositivesInBoth++;
+                }
+            }
+        }
+
+        // Then
+        assertTrue("Too few false positives to compare: " + falsePositives, falsePositives > 100);
+        assertTrue("Too many shared false positives: " + falsePositivesInBoth + " of " + falsePositives,
+                falsePositivesInBoth < falsePositives / 10);
+    }
+
+    @Test
+    public void shouldTestRangeOfArrayWithoutCopying() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1024, 5);
+        filter.add("vertex".getBytes());
+        final byte[] rowKey = "xxvertex\u0000rest".getBytes();
+
+        // When
+        final boolean inRange = filter.membershipTest(rowKey, 2, 6);
+
+        // Then
+        assertTrue(inRange);
+    }
+
+    @Test
+    public void shouldRoundTripThroughEncodedString() throws IOException {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(100000, 7, 42L);
+        for (int i = 0; i < 100; i++) {
+            filter.add(("item" + i).getBytes());
+        }
+
+        // When
+        final BlockedBloomFilter read = BlockedBloomFilter.fromEncodedString(filter.toEncodedString());
+
+        // Then
+        assertEquals(filter.getNumBits(), read.getNumBits());
+        assertEquals(filter.getNumHashes(), read.getNumHashes());
+        assertEquals(filter.getNumBitsSet(), read.getNumBitsSet());
+        assertArrayEquals(filter.toBytes(), read.toBytes());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(read.membershipTest(("item" + i).getBytes()));
+        }
+    }
+
+    @Test
+    public void shouldCompressSparseFilter() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1000000, 7);
+        for (int i = 0; i < 100; i++) {
+            filter.add(("item" + i).getBytes());
+        }
+
+        // When
+        final byte[] bytes = filter.toBytes();
+
+        // Then
+        assertTrue("Serialised filter is too large: " + bytes.length, bytes.length < filter.getNumBits() / 8 / 10);
+    }
+
+    @Test
+    public void shouldRoundNumberOfBitsUpToWholeBlocks() {
+        // When
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1, 3);
+
+        // Then
+        assertEquals(BlockedBloomFilter.BITS_PER_BLOCK, filter.getNumBits());
+        assertFalse(filter.membershipTest("item".getBytes()));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldRejectUnknownVersion() throws IOException {
+        BlockedBloomFilter.fromBytes(new byte[]{99, 0, 0, 0, 1, 0, 0, 0, 1});
+    }
+}
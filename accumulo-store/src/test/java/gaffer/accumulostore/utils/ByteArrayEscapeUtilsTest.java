@@ -16,6 +16,7 @@
 
 package gaffer.accumulostore.utils;
 
+import gaffer.serialisation.ByteArrayBuffer;
 import org.apache.accumulo.core.data.Key;
 import org.apache.commons.lang.math.RandomUtils;
 import org.junit.Test;
@@ -25,6 +26,8 @@ import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -135,10 +138,76 @@ public class ByteArrayEscapeUtilsTest {
         }
     }
 
+    @Test
+    public void shouldUnEscapeRangeOfLargerArray() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, ESCAPE_CHAR, (byte) 0, (byte) 20};
+        final byte[] escaped = ByteArrayEscapeUtils.escape(bytes);
+        final byte[] padded = new byte[escaped.length + 2];
+        System.arraycopy(escaped, 0, padded, 1, escaped.length);
+
+        // When
+        final byte[] unescaped = ByteArrayEscapeUtils.unEscape(padded, 1, escaped.length);
+
+        // Then
+        assertArrayEquals(bytes, unescaped);
+        assertTrue(ByteArrayEscapeUtils.needsUnEscaping(padded, 1, escaped.length));
+        assertFalse(ByteArrayEscapeUtils.needsUnEscaping(padded, 1, 1));
+    }
+
+    @Test
+    public void shouldEscapeAndUnEscapeIntoProvidedArrays() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, ESCAPE_CHAR, (byte) 0, (byte) 20};
+        final byte[] expectedEscaped = ByteArrayEscapeUtils.escape(bytes);
+        final byte[] escaped = new byte[expectedEscaped.length + 2];
+        final byte[] unescaped = new byte[bytes.length + 2];
+
+        // When
+        final int escapedEnd = ByteArrayEscapeUtils.escape(bytes, 0, bytes.length, escaped, 1);
+        final int unescapedEnd = ByteArrayEscapeUtils.unEscape(escaped, 1, expectedEscaped.length, unescaped, 1);
+
+        // Then
+        assertEquals(expectedEscaped.length + 1, escapedEnd);
+        assertEquals(bytes.length + 1, unescapedEnd);
+        assertEquals(expectedEscaped.length, ByteArrayEscapeUtils.getEscapedLength(bytes, 0, bytes.length));
+        assertEquals(bytes.length, ByteArrayEscapeUtils.getUnEscapedLength(escaped, 1, expectedEscaped.length));
+        for (int i = 0; i < expectedEscaped.length; i++) {
+            assertEquals(expectedEscaped[i], escaped[i + 1]);
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            assertEquals(bytes[i], unescaped[i + 1]);
+        }
+    }
+
+    @Test
+    public void shouldEscapeAndUnEscapeIntoBuffers() {
+        // Given
+        final byte[] bytes = new byte[]{ESCAPE_CHAR, (byte) 0, REPLACEMENT_CHAR, (byte) 0};
+        final ByteArrayBuffer escaped = new ByteArrayBuffer(1);
+        final ByteArrayBuffer unescaped = new ByteArrayBuffer(1);
+        escaped.append((byte) 10);
+
+        // When
+        ByteArrayEscapeUtils.escape(bytes, 0, bytes.length, escaped);
+        ByteArrayEscapeUtils.unEscape(escaped.getBytes(), 1, escaped.getLength() - 1, unescaped);
+
+        // Then
+        final byte[] expectedEscaped = ByteArrayEscapeUtils.escape(bytes);
+        assertEquals(expectedEscaped.length + 1, escaped.getLength());
+        assertEquals((byte) 10, escaped.getBytes()[0]);
+        for (int i = 0; i < expectedEscaped.length; i++) {
+            assertEquals(expectedEscaped[i], escaped.getBytes()[i + 1]);
+        }
+        assertArrayEquals(bytes, unescaped.toByteArray());
+    }
+
     private static void check(final byte[] bytes) {
         byte[] escaped = ByteArrayEscapeUtils.escape(bytes);
         byte[] unescaped = ByteArrayEscapeUtils.unEscape(escaped);
         assertArrayEquals(bytes, unescaped);
+        assertEquals(escaped.length, ByteArrayEscapeUtils.getEscapedLength(bytes, 0, bytes.length));
+        assertEquals(bytes.length, ByteArrayEscapeUtils.getUnEscapedLength(escaped, 0, escaped.length));
         for (byte anEscaped : escaped) {
             assertNotEquals(ByteArrayEscapeUtils.DELIMITER, anEscaped);
         }
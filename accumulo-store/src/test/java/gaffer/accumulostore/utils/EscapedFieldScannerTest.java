@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EscapedFieldScannerTest {
+    private static final byte[] FIRST = new byte[]{(byte) 10, (byte) 0, (byte) 20};
+    private static final byte[] SECOND = new byte[]{(byte) 30};
+
+    @Test
+    public void shouldFindEachFieldAndWhetherItIsEscaped() {
+        // Given
+        final byte[] escapedFirst = ByteArrayEscapeUtils.escape(FIRST);
+        final byte[] bytes = new byte[escapedFirst.length + 2];
+        System.arraycopy(escapedFirst, 0, bytes, 0, escapedFirst.length);
+        bytes[escapedFirst.length] = ByteArrayEscapeUtils.DELIMITER;
+        bytes[escapedFirst.length + 1] = SECOND[0];
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(bytes);
+
+        // When / Then
+        assertTrue(scanner.next());
+        assertEquals(0, scanner.getFieldStart());
+        assertEquals(escapedFirst.length, scanner.getFieldEnd());
+        assertTrue(scanner.isFieldEscaped());
+        assertTrue(scanner.isFieldDelimited());
+
+        assertTrue(scanner.next());
+        assertEquals(escapedFirst.length + 1, scanner.getFieldStart());
+        assertEquals(1, scanner.getFieldLength());
+        assertFalse(scanner.isFieldEscaped());
+        assertFalse(scanner.isFieldDelimited());
+
+        assertFalse(scanner.next());
+    }
+
+    @Test
+    public void shouldFindEmptyFieldsBetweenAndAfterDelimiters() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 5, ByteArrayEscapeUtils.DELIMITER, ByteArrayEscapeUtils.DELIMITER,
+                (byte) 6, ByteArrayEscapeUtils.DELIMITER};
+
+        // When
+        final EscapedFieldScanner scanner = new EscapedFieldScanner(bytes);
+        int numFields = 0;
+        int numEmptyFields = 0;
+        while (scanner.next()) {
+            numFields++;
+            if (0 == scanner.getFieldLength()) {
+                numEmptyFields++;
+            }
+        }
+
+        // Then
+        assertEquals(4, numFields);
+        assertEquals(2, numEmptyFields);
+    }
+
+    @Test
+    public void shouldOnlyScanTheGivenRange() {
+        // Given
+        final byte[] bytes = new byte[]{ByteArrayEscapeUtils.DELIMITER, (byte) 7, (byte) 8,
+                ByteArrayEscapeUtils.DELIMITER};
+        final EscapedFieldScanner scanner = new EscapedFieldScanner();
+
+        // When
+        scanner.reset(bytes, 1, 2);
+
+        // Then
+        assertTrue(scanner.next());
+        assertEquals(1, scanner.getFieldStart());
+        assertEquals(3, scanner.getFieldEnd());
+        assertFalse(scanner.isFieldDelimited());
+        assertFalse(scanner.next());
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IngestUtilsTest {
+
+    @Test
+    public void shouldSizeReducersFromDataVolume() {
+        assertEquals(1, IngestUtils.getNumReducers(0L, 100L, 10));
+        assertEquals(1, IngestUtils.getNumReducers(100L, 100L, 10));
+        assertEquals(2, IngestUtils.getNumReducers(101L, 100L, 10));
+        assertEquals(10, IngestUtils.getNumReducers(100000L, 100L, 10));
+    }
+
+    @Test
+    public void shouldChooseEvenlySpacedSplitsFromSample() {
+        // Given
+        final List<Text> sample = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            sample.add(new Text(String.format("row%03d", i)));
+        }
+
+        // When
+        final SortedSet<Text> splits = IngestUtils.getSplitsFromSample(sample, 3);
+
+        // Then
+        assertEquals(new TreeSet<>(Arrays.asList(new Text("row025"), new Text("row050"), new Text("row075"))), splits);
+    }
+
+    @Test
+    public void shouldOnlyUseDistinctRowsAsSplits() {
+        // Given
+        final List<Text> sample = Arrays.asList(new Text("a"), new Text("a"), new Text("a"), new Text("b"));
+
+        // When
+        final SortedSet<Text> splits = IngestUtils.getSplitsFromSample(sample, 3);
+
+        // Then
+        assertEquals(new TreeSet<>(Arrays.asList(new Text("a"), new Text("b"))), splits);
+    }
+
+    @Test
+    public void shouldNotChooseSplitsFromEmptySample() {
+        assertTrue(IngestUtils.getSplitsFromSample(Collections.<Text>emptyList(), 3).isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.store.schema.StoreSchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.UnsupportedEncodingException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class IteratorOptionsCacheTest {
+
+    @Before
+    public void setUp() {
+        IteratorOptionsCache.clear();
+    }
+
+    @Test
+    public void shouldReturnSameDataSchemaForSameJson() throws UnsupportedEncodingException {
+        // Given
+        final String json = getDataSchemaJson();
+        final Map<String, String> options1 = new HashMap<>();
+        options1.put(AccumuloStoreConstants.DATA_SCHEMA, json);
+        final Map<String, String> options2 = new HashMap<>();
+        options2.put(AccumuloStoreConstants.DATA_SCHEMA, new String(json));
+
+        // When
+        final DataSchema dataSchema1 = IteratorOptionsCache.getDataSchema(options1);
+        final DataSchema dataSchema2 = IteratorOptionsCache.getDataSchema(options2);
+
+        // Then
+        assertSame(dataSchema1, dataSchema2);
+    }
+
+    @Test
+    public void shouldNotParseJsonAgainWhenFingerprintIsCached() throws UnsupportedEncodingException {
+        // Given
+        final String json = getDataSchemaJson();
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.DATA_SCHEMA, json);
+        options.put(AccumuloStoreConstants.DATA_SCHEMA_FINGERPRINT, IteratorOptionsCache.getFingerprint(json));
+        final DataSchema dataSchema = IteratorOptionsCache.getDataSchema(options);
+
+        // When
+        options.put(AccumuloStoreConstants.DATA_SCHEMA, "not json");
+        final DataSchema cachedDataSchema = IteratorOptionsCache.getDataSchema(options);
+
+        // Then
+        assertSame(dataSchema, cachedDataSchema);
+    }
+
+    @Test
+    public void shouldReturnDifferentViewsForDifferentJson() throws UnsupportedEncodingException {
+        // Given
+        final Map<String, String> entityOptions = new HashMap<>();
+        entityOptions.put(AccumuloStoreConstants.VIEW, new String(new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition())
+                .build().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+        final Map<String, String> edgeOptions = new HashMap<>();
+        edgeOptions.put(AccumuloStoreConstants.VIEW, new String(new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition())
+                .build().toJson(false), AccumuloStoreConstants.UTF_8_CHARSET));
+
+        // When
+        final View entityView = IteratorOptionsCache.getView(entityOptions);
+        final View edgeView = IteratorOptionsCache.getView(edgeOptions);
+
+        // Then
+        assertNotSame(entityView, edgeView);
+        assertEquals(1, entityView.getEntityGroups().size());
+        assertEquals(1, edgeView.getEdgeGroups().size());
+        assertSame(entityView, IteratorOptionsCache.getView(entityOptions));
+    }
+
+    @Test
+    public void shouldCacheElementConverterPerClassAndStoreSchema() throws ReflectiveOperationException, UnsupportedEncodingException {
+        // Given
+        final String storeSchemaJson = new String(StoreSchema.fromJson(StreamUtil.storeSchema(getClass())).toJson(false),
+                AccumuloStoreConstants.UTF_8_CHARSET);
+        final Map<String, String> byteEntityOptions = new HashMap<>();
+        byteEntityOptions.put(AccumuloStoreConstants.STORE_SCHEMA, storeSchemaJson);
+        byteEntityOptions.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+        final Map<String, String> classicOptions = new HashMap<>(byteEntityOptions);
+        classicOptions.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ClassicAccumuloElementConverter.class.getName());
+
+        // When
+        final AccumuloElementConverter byteEntityConverter = IteratorOptionsCache.getElementConverter(byteEntityOptions);
+        final AccumuloElementConverter classicConverter = IteratorOptionsCache.getElementConverter(classicOptions);
+
+        // Then
+        assertEquals(ByteEntityAccumuloElementConverter.class, byteEntityConverter.getClass());
+        assertEquals(ClassicAccumuloElementConverter.class, classicConverter.getClass());
+        assertSame(byteEntityConverter, IteratorOptionsCache.getElementConverter(byteEntityOptions));
+        assertSame(IteratorOptionsCache.getStoreSchema(byteEntityOptions), IteratorOptionsCache.getStoreSchema(classicOptions));
+    }
+
+    private String getDataSchemaJson() throws UnsupportedEncodingException {
+        return new String(DataSchema.fromJson(StreamUtil.dataSchema(getClass())).toJson(false),
+                AccumuloStoreConstants.UTF_8_CHARSET);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyPackage;
+import gaffer.accumulostore.key.core.ColumnQualifierCodec;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.serialisation.implementation.CompactVertexSerialiser;
+import gaffer.serialisation.implementation.JavaSerialiser;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.Scanner;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class MigrateVertexSerialiserTest {
+    private static final View VIEW = new View.Builder()
+            .edge(TestGroups.EDGE, new ViewEdgeDefinition())
+            .entity(TestGroups.ENTITY, new ViewEntityDefinition())
+            .build();
+
+    @Test
+    public void shouldMigrateByteEntityTable() throws Exception {
+        shouldMigrateTable(ByteEntityKeyPackage.class);
+    }
+
+    @Test
+    public void shouldMigrateClassicTable() throws Exception {
+        shouldMigrateTable(ClassicKeyPackage.class);
+    }
+
+    @Test
+    public void shouldMigrateTableWithLegacyColumnQualifiers() throws Exception {
+        // Given
+        final AccumuloStore store = new MockAccumuloStoreForTest(ByteEntityKeyPackage.class);
+        store.getProperties().setTable("oldTable");
+        store.getStoreSchema().setVertexSerialiser(new JavaSerialiser());
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 2);
+        final byte[] legacyColumnQualifier = createLegacyColumnQualifier(AccumuloPropertyNames.COLUMN_QUALIFIER,
+                new JavaSerialiser().serialise(1));
+        final AccumuloElementConverter converter = store.getKeyPackage().getKeyConverter();
+        final Value value = converter.getValueFromElement(edge);
+        TableUtils.ensureTableExists(store);
+        final BatchWriter writer = TableUtils.createBatchWriter(store);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        for (final Key key : Arrays.asList(keys.getFirst(), keys.getSecond())) {
+            final Mutation mutation = new Mutation(key.getRow());
+            mutation.put(key.getColumnFamily(), new Text(legacyColumnQualifier),
+                    new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+            writer.addMutation(mutation);
+        }
+        writer.close();
+
+        store.getStoreSchema().setVertexSerialiser(new CompactVertexSerialiser());
+        store.getProperties().setTable("newTable");
+
+        // When
+        final long count = MigrateVertexSerialiser.migrate(store, "oldTable", new JavaSerialiser());
+
+        // Then
+        assertEquals(2, count);
+        assertEquals(Collections.<Element>singleton(edge), getRelatedElements(store, "A"));
+        assertEquals(Collections.<Element>singleton(edge), getRelatedElements(store, "B"));
+        final Scanner scanner = store.getConnection().createScanner("newTable",
+                TableUtils.getCurrentAuthorizations(store.getConnection()));
+        for (final Map.Entry<Key, Value> entry : scanner) {
+            assertEquals(ColumnQualifierCodec.VERSION_1, entry.getKey().getColumnQualifierData().byteAt(0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotMigrateTableIntoItself() throws Exception {
+        // Given
+        final AccumuloStore store = new MockAccumuloStoreForTest();
+
+        // When / Then
+        MigrateVertexSerialiser.migrate(store, store.getProperties().getTable(), new JavaSerialiser());
+    }
+
+    private void shouldMigrateTable(final Class<? extends AbstractCoreKeyPackage> keyPackageClass) throws Exception {
+        // Given
+        final AccumuloStore store = new MockAccumuloStoreForTest(keyPackageClass);
+        store.getProperties().setTable("oldTable");
+        store.getStoreSchema().setVertexSerialiser(new JavaSerialiser());
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 2);
+        store.addElements(Arrays.<Element>asList(entity, edge));
+
+        store.getStoreSchema().setVertexSerialiser(new CompactVertexSerialiser());
+        store.getProperties().setTable("newTable");
+
+        // When
+        final long count = MigrateVertexSerialiser.migrate(store, "oldTable", new JavaSerialiser());
+
+        // Then
+        assertEquals(3, count);
+        assertEquals(new HashSet<Element>(Arrays.asList(entity, edge)), getRelatedElements(store, "A"));
+        assertEquals(Collections.<Element>singleton(edge), getRelatedElements(store, "B"));
+    }
+
+    private static byte[] createLegacyColumnQualifier(final String propertyName, final byte[] value)
+            throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(ByteArrayEscapeUtils.escape(propertyName.getBytes("UTF-8")));
+        out.write(ByteArrayEscapeUtils.DELIMITER);
+        out.write(ByteArrayEscapeUtils.escape(value));
+        return out.toByteArray();
+    }
+
+    private Set<Element> getRelatedElements(final AccumuloStore store, final String vertex) throws Exception {
+        final GetRelatedElements<ElementSeed, Element> operation = new GetRelatedElements<>(VIEW,
+                Collections.<ElementSeed>singletonList(new EntitySeed(vertex)));
+        final AccumuloSingleIDRetriever retriever = new AccumuloSingleIDRetriever(store, operation);
+        final Set<Element> results = new HashSet<>();
+        for (final Element element : retriever) {
+            results.add(element);
+        }
+        retriever.close();
+        return results;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class ValueFormatUtilsTest {
+
+    @Test
+    public void shouldWriteAndReadVarInts() {
+        final int[] values = {0, 1, 127, 128, 16383, 16384, 2097151, 2097152, 268435455, 268435456, Integer.MAX_VALUE};
+        for (final int value : values) {
+            final byte[] bytes = new byte[ValueFormatUtils.getVarIntSize(value) + 1];
+
+            final int end = ValueFormatUtils.writeVarInt(value, bytes, 1);
+            final int[] position = {1};
+            final int result = ValueFormatUtils.readVarInt(bytes, position);
+
+            assertEquals(bytes.length, end);
+            assertEquals(value, result);
+            assertEquals(end, position[0]);
+        }
+    }
+
+    @Test
+    public void shouldWriteSmallVarIntsInOneByte() {
+        assertEquals(1, ValueFormatUtils.getVarIntSize(0));
+        assertEquals(1, ValueFormatUtils.getVarIntSize(127));
+        assertEquals(2, ValueFormatUtils.getVarIntSize(128));
+        assertEquals(5, ValueFormatUtils.getVarIntSize(Integer.MAX_VALUE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenVarIntIsTruncated() {
+        final byte[] bytes = new byte[ValueFormatUtils.getVarIntSize(16384)];
+        ValueFormatUtils.writeVarInt(16384, bytes, 0);
+
+        ValueFormatUtils.readVarInt(new byte[]{bytes[0], bytes[1]}, new int[]{0});
+    }
+}
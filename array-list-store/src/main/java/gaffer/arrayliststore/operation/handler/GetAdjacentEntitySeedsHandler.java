@@ -17,6 +17,8 @@
 package gaffer.arrayliststore.operation.handler;
 
 import gaffer.arrayliststore.ArrayListStore;
+import gaffer.data.TransformOneToManyIterable;
+import gaffer.data.Validator;
 import gaffer.data.element.Edge;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EntitySeed;
@@ -24,8 +26,8 @@ import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Collections;
 
 import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.INCOMING;
 import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.OUTGOING;
@@ -36,24 +38,38 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
         return doOperation(operation, (ArrayListStore) store);
     }
 
-    private List<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ArrayListStore store) {
-        final EntitySeed[] reuseableTuple = new EntitySeed[2];
-        final List<EntitySeed> result = new ArrayList<>();
-        for (final Edge edge : store.getEdges()) {
-            if (operation.validateFlags(edge)) {
+    /**
+     * Returns a lazy {@link Iterable} of the adjacent entity seeds. The edges are only checked as the results are
+     * iterated over, so consumers that stop early do not cause every edge to be checked.
+     *
+     * @param operation the operation
+     * @param store     the store to get the edges from
+     * @return the adjacent entity seeds
+     */
+    private static Iterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ArrayListStore store) {
+        return new TransformOneToManyIterable<Edge, EntitySeed>(store.getEdges(), new Validator<Edge>() {
+            @Override
+            public boolean validate(final Edge edge) {
+                return operation.validateFlags(edge);
+            }
+        }, true) {
+            private final EntitySeed[] reuseableTuple = new EntitySeed[2];
+
+            @Override
+            protected Iterable<EntitySeed> transform(final Edge edge) {
                 extractOtherEndOfSeededEdge(edge, operation, reuseableTuple);
-                if ((null != reuseableTuple[0] || null != reuseableTuple[1]) && operation.validateFilter(edge)) {
-                    if (null != reuseableTuple[0]) {
-                        result.add(reuseableTuple[0]);
-                    }
-                    if (null != reuseableTuple[1]) {
-                        result.add(reuseableTuple[1]);
-                    }
+                if ((null == reuseableTuple[0] && null == reuseableTuple[1]) || !operation.validateFilter(edge)) {
+                    return null;
                 }
+                if (null == reuseableTuple[0]) {
+                    return Collections.singletonList(reuseableTuple[1]);
+                }
+                if (null == reuseableTuple[1]) {
+                    return Collections.singletonList(reuseableTuple[0]);
+                }
+                return Arrays.asList(reuseableTuple[0], reuseableTuple[1]);
             }
-        }
-
-        return result;
+        };
     }
 
     /**
@@ -63,9 +79,9 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
      * @param operation      the operation
      * @param reuseableTuple instead of creating an array every time the method is called this array is reused.
      */
-    private void extractOtherEndOfSeededEdge(final Edge edge,
-                                             final GetAdjacentEntitySeeds operation,
-                                             final EntitySeed[] reuseableTuple) {
+    private static void extractOtherEndOfSeededEdge(final Edge edge,
+                                                    final GetAdjacentEntitySeeds operation,
+                                                    final EntitySeed[] reuseableTuple) {
         reuseableTuple[0] = null;
         reuseableTuple[1] = null;
         boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
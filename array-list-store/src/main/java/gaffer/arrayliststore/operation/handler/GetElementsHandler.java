@@ -16,7 +16,10 @@
 
 package gaffer.arrayliststore.operation.handler;
 
+import com.google.common.collect.Iterables;
 import gaffer.arrayliststore.ArrayListStore;
+import gaffer.data.TransformIterable;
+import gaffer.data.Validator;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -28,9 +31,8 @@ import gaffer.operation.impl.get.GetElements;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 import static gaffer.operation.GetOperation.IncludeEdgeType;
@@ -42,43 +44,75 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         return doOperation(operation, (ArrayListStore) store);
     }
 
-    private List<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ArrayListStore store) {
-        final ArrayList<Element> result = new ArrayList<>();
+    /**
+     * Returns a lazy {@link Iterable} of the matching elements. The flags, filters and seeds are only checked as the
+     * results are iterated over, so consumers that stop early do not cause every element to be checked.
+     *
+     * @param operation the operation
+     * @param store     the store to get the elements from
+     * @return the matching elements
+     */
+    private static Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ArrayListStore store) {
+        final Iterable<Element> entities;
         if (operation.isIncludeEntities()) {
-            for (final Entity entity : store.getEntities()) {
-                if (operation.validateFlags(entity) && operation.validateFilter(entity)) {
-                    if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
-                        if (isSeedEqual(ElementSeed.createSeed(entity), operation.getSeeds(), operation.getIncludeEdges())) {
-                            result.add(entity);
-                        }
-                    } else {
-                        if (isSeedRelated(ElementSeed.createSeed(entity), operation.getSeeds()).isMatch()) {
-                            result.add(entity);
-                        }
-                    }
+            entities = new TransformIterable<Entity, Element>(store.getEntities(), new Validator<Entity>() {
+                @Override
+                public boolean validate(final Entity entity) {
+                    return isMatchingEntity(operation, entity);
                 }
-            }
+            }, true) {
+                @Override
+                protected Element transform(final Entity entity) {
+                    return entity;
+                }
+            };
+        } else {
+            entities = Collections.emptyList();
         }
+
+        final Iterable<Element> edges;
         if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
-            for (final Edge edge : store.getEdges()) {
-                if (operation.validateFlags(edge) && operation.validateFilter(edge)) {
-                    if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
-                        if (isSeedEqual(ElementSeed.createSeed(edge), operation.getSeeds(), operation.getIncludeEdges())) {
-                            result.add(edge);
-                        }
-                    } else {
-                        if (isSeedRelated(operation, edge)) {
-                            result.add(edge);
-                        }
-                    }
+            edges = new TransformIterable<Edge, Element>(store.getEdges(), new Validator<Edge>() {
+                @Override
+                public boolean validate(final Edge edge) {
+                    return isMatchingEdge(operation, edge);
                 }
-            }
+            }, true) {
+                @Override
+                protected Element transform(final Edge edge) {
+                    return edge;
+                }
+            };
+        } else {
+            edges = Collections.emptyList();
         }
 
-        return result;
+        return Iterables.concat(entities, edges);
+    }
+
+    private static boolean isMatchingEntity(final GetElements<ElementSeed, Element> operation, final Entity entity) {
+        if (!operation.validateFlags(entity) || !operation.validateFilter(entity)) {
+            return false;
+        }
+
+        if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
+            return isSeedEqual(ElementSeed.createSeed(entity), operation.getSeeds(), operation.getIncludeEdges());
+        }
+        return isSeedRelated(ElementSeed.createSeed(entity), operation.getSeeds()).isMatch();
+    }
+
+    private static boolean isMatchingEdge(final GetElements<ElementSeed, Element> operation, final Edge edge) {
+        if (!operation.validateFlags(edge) || !operation.validateFilter(edge)) {
+            return false;
+        }
+
+        if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
+            return isSeedEqual(ElementSeed.createSeed(edge), operation.getSeeds(), operation.getIncludeEdges());
+        }
+        return isSeedRelated(operation, edge);
     }
 
-    private boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge) {
+    private static boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge) {
         final Matches seedMatches = isSeedRelated(ElementSeed.createSeed(edge), operation.getSeeds());
         final IncludeEdgeType includeEdgeType = operation.getIncludeEdges();
         final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
@@ -133,7 +167,7 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         return false;
     }
 
-    private Matches isSeedRelated(final ElementSeed elementSeed, final Iterable<ElementSeed> seeds) {
+    private static Matches isSeedRelated(final ElementSeed elementSeed, final Iterable<ElementSeed> seeds) {
         Set<Matches> matchesSet = new HashSet<>();
         for (final ElementSeed seed : seeds) {
             final Matches isRelatedMatch = elementSeed.isRelated(seed);
@@ -155,7 +189,7 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         return Matches.NONE;
     }
 
-    private boolean isSeedEqual(final ElementSeed elementSeed, final Iterable<ElementSeed> seeds, final IncludeEdgeType includeEdges) {
+    private static boolean isSeedEqual(final ElementSeed elementSeed, final Iterable<ElementSeed> seeds, final IncludeEdgeType includeEdges) {
         for (final ElementSeed seed : seeds) {
             if (elementSeed.equals(seed)) {
                 if (elementSeed instanceof EdgeSeed
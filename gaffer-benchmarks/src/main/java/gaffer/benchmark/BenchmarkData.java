@@ -0,0 +1,137 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.store.schema.StoreSchema;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Utility methods for creating the schemas, views and elements used by the benchmarks.
+ * <p>
+ * All elements are generated from a {@link Random} with a fixed seed so that each benchmark run works on exactly
+ * the same data, which keeps the results comparable between runs and between versions of Gaffer.
+ */
+public final class BenchmarkData {
+    public static final String ENTITY_GROUP = "BenchmarkEntity";
+    public static final String EDGE_GROUP = "BenchmarkEdge";
+
+    public static final String COLUMN_QUALIFIER = "columnQualifier";
+    public static final String VISIBILITY = "visibility";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String COUNT = "count";
+    public static final String TOTAL = "total";
+    public static final String SCORE = "score";
+
+    public static final long SEED = 20160401L;
+
+    /**
+     * The number of elements in each generated batch. A power of 2 so benchmarks can cycle through the batch
+     * using a mask rather than a modulus.
+     */
+    public static final int BATCH_SIZE = 1024;
+    public static final int BATCH_MASK = BATCH_SIZE - 1;
+
+    private static final String DATA_SCHEMA = "/dataSchema.json";
+    private static final String STORE_SCHEMA = "/storeSchema.json";
+    private static final String VIEW = "/view.json";
+
+    private static final int NUM_VERTICES = 10000;
+    private static final String[] VISIBILITIES = {"public", "private", "public|private"};
+
+    private BenchmarkData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static DataSchema dataSchema() throws IOException {
+        try (final InputStream stream = openStream(DATA_SCHEMA)) {
+            return DataSchema.fromJson(stream);
+        }
+    }
+
+    public static StoreSchema storeSchema() throws IOException {
+        try (final InputStream stream = openStream(STORE_SCHEMA)) {
+            return StoreSchema.fromJson(stream);
+        }
+    }
+
+    public static View view() throws IOException {
+        try (final InputStream stream = openStream(VIEW)) {
+            return View.fromJson(stream);
+        }
+    }
+
+    /**
+     * @return a batch of {@link #BATCH_SIZE} fully populated edges, roughly half of which are directed.
+     */
+    public static List<Edge> edges() {
+        final Random random = new Random(SEED);
+        final List<Edge> edges = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final Edge edge = new Edge(EDGE_GROUP, vertex(random), vertex(random), random.nextBoolean());
+            edge.putProperty(COLUMN_QUALIFIER, random.nextInt(10));
+            addProperties(edge.getProperties(), random);
+            edges.add(edge);
+        }
+
+        return edges;
+    }
+
+    /**
+     * @return a batch of {@link #BATCH_SIZE} fully populated entities.
+     */
+    public static List<Entity> entities() {
+        final Random random = new Random(SEED);
+        final List<Entity> entities = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            final Entity entity = new Entity(ENTITY_GROUP, vertex(random));
+            addProperties(entity.getProperties(), random);
+            entities.add(entity);
+        }
+
+        return entities;
+    }
+
+    private static void addProperties(final Properties properties, final Random random) {
+        properties.put(VISIBILITY, VISIBILITIES[random.nextInt(VISIBILITIES.length)]);
+        properties.put(TIMESTAMP, 1459468800000L + random.nextInt(Integer.MAX_VALUE));
+        properties.put(COUNT, random.nextInt(20));
+        properties.put(TOTAL, (long) random.nextInt(2000000));
+        properties.put(SCORE, random.nextDouble());
+    }
+
+    private static String vertex(final Random random) {
+        return "vertex" + random.nextInt(NUM_VERTICES);
+    }
+
+    private static InputStream openStream(final String path) throws IOException {
+        final InputStream stream = BenchmarkData.class.getResourceAsStream(path);
+        if (null == stream) {
+            throw new IOException("Unable to find benchmark resource " + path);
+        }
+
+        return stream;
+    }
+}
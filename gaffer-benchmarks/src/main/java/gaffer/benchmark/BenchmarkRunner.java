@@ -0,0 +1,65 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the Gaffer benchmarks with the {@link GCProfiler} enabled so that every throughput result is reported
+ * alongside its allocation rate (gc.alloc.rate.norm is the number of bytes allocated per operation).
+ * <p>
+ * Usage: java -jar gaffer-benchmarks.jar [standard JMH options] [benchmark regex]
+ * <p>
+ * By default the results are written as JSON to {@link #DEFAULT_RESULT_FILE} so that a baseline from one build can
+ * be compared against another. Use -rf and -rff to change the format and file.
+ */
+public final class BenchmarkRunner {
+    public static final String DEFAULT_INCLUDE = "gaffer\\.benchmark\\..*Benchmark.*";
+    public static final String DEFAULT_RESULT_FILE = "gaffer-benchmarks-result.json";
+
+    private BenchmarkRunner() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        final ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class);
+
+        if (commandLineOptions.getIncludes().isEmpty()) {
+            options.include(DEFAULT_INCLUDE);
+        }
+
+        if (!commandLineOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!commandLineOptions.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.AccumuloKeyPackage;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.benchmark.BenchmarkData;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the conversion of {@link Element}s to and from Accumulo {@link Key}s and {@link Value}s for each of the
+ * {@link AccumuloKeyPackage}s.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ElementConverterBenchmark {
+    @Param({"gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage",
+            "gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage"})
+    public String keyPackageClass;
+
+    private AccumuloElementConverter converter;
+
+    private Edge[] edges;
+    private Entity[] entities;
+    private Key[] edgeKeys;
+    private Value[] edgeValues;
+    private Key[] entityKeys;
+    private Value[] entityValues;
+
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        final AccumuloKeyPackage keyPackage = Class.forName(keyPackageClass).asSubclass(AccumuloKeyPackage.class).newInstance();
+        keyPackage.setStoreSchema(BenchmarkData.storeSchema());
+        converter = keyPackage.getKeyConverter();
+
+        final List<Edge> edgeList = BenchmarkData.edges();
+        edges = edgeList.toArray(new Edge[edgeList.size()]);
+        edgeKeys = new Key[edges.length];
+        edgeValues = new Value[edges.length];
+        for (int i = 0; i < edges.length; i++) {
+            edgeKeys[i] = converter.getKeysFromElement(edges[i]).getFirst();
+            edgeValues[i] = converter.getValueFromElement(edges[i]);
+        }
+
+        final List<Entity> entityList = BenchmarkData.entities();
+        entities = entityList.toArray(new Entity[entityList.size()]);
+        entityKeys = new Key[entities.length];
+        entityValues = new Value[entities.length];
+        for (int i = 0; i < entities.length; i++) {
+            entityKeys[i] = converter.getKeysFromElement(entities[i]).getFirst();
+            entityValues[i] = converter.getValueFromElement(entities[i]);
+        }
+    }
+
+    @Benchmark
+    public Pair<Key> getKeysFromEdge() throws AccumuloElementConversionException {
+        return converter.getKeysFromElement(edges[next()]);
+    }
+
+    @Benchmark
+    public Pair<Key> getKeysFromEntity() throws AccumuloElementConversionException {
+        return converter.getKeysFromElement(entities[next()]);
+    }
+
+    @Benchmark
+    public Value getValueFromEdge() throws AccumuloElementConversionException {
+        return converter.getValueFromElement(edges[next()]);
+    }
+
+    @Benchmark
+    public Element getFullElementEdge() throws AccumuloElementConversionException {
+        final int i = next();
+        return converter.getFullElement(edgeKeys[i], edgeValues[i]);
+    }
+
+    @Benchmark
+    public Element getFullElementEntity() throws AccumuloElementConversionException {
+        final int i = next();
+        return converter.getFullElement(entityKeys[i], entityValues[i]);
+    }
+
+    private int next() {
+        index = (index + 1) & BenchmarkData.BATCH_MASK;
+        return index;
+    }
+}
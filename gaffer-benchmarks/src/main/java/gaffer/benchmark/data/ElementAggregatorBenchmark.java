@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.data;
+
+import gaffer.benchmark.BenchmarkData;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ElementAggregator#aggregate(Properties)} over groups of edge properties, mirroring the way the
+ * Accumulo aggregator iterators combine all the values for a single key.
+ * <p>
+ * The schemaAggregator benchmark also includes the cost of fetching the aggregator from the
+ * {@link DataElementDefinition}, which is what the iterators currently do for each key.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ElementAggregatorBenchmark {
+    /**
+     * The number of properties aggregated together in each operation.
+     */
+    public static final int GROUP_SIZE = 16;
+
+    private DataElementDefinition elementDef;
+    private ElementAggregator aggregator;
+    private Properties[] properties;
+
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        elementDef = BenchmarkData.dataSchema().getElement(BenchmarkData.EDGE_GROUP);
+        aggregator = elementDef.getAggregator();
+
+        final List<Edge> edges = BenchmarkData.edges();
+        properties = new Properties[edges.size()];
+        for (int i = 0; i < properties.length; i++) {
+            properties[i] = edges.get(i).getProperties();
+        }
+    }
+
+    @Benchmark
+    public Properties aggregate() {
+        return aggregate(aggregator);
+    }
+
+    @Benchmark
+    public Properties schemaAggregator() {
+        return aggregate(elementDef.getAggregator());
+    }
+
+    private Properties aggregate(final ElementAggregator elementAggregator) {
+        elementAggregator.initFunctions();
+        for (int i = 0; i < GROUP_SIZE; i++) {
+            elementAggregator.aggregate(properties[index]);
+            index = (index + 1) & BenchmarkData.BATCH_MASK;
+        }
+
+        final Properties result = new Properties();
+        elementAggregator.state(result);
+        return result;
+    }
+}
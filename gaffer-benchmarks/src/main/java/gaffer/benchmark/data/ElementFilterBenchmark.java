@@ -0,0 +1,99 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.data;
+
+import gaffer.benchmark.BenchmarkData;
+import gaffer.data.ElementValidator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.view.View;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link ElementFilter#filter(Element)} using the filters defined in the benchmark {@link View}, and the
+ * {@link ElementValidator}s used by the Accumulo filter iterators and when adding elements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ElementFilterBenchmark {
+    private ElementFilter edgeFilter;
+    private ElementValidator viewValidator;
+    private ElementValidator schemaValidator;
+    private Element[] elements;
+    private Edge[] edges;
+
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        final View view = BenchmarkData.view();
+        final DataSchema dataSchema = BenchmarkData.dataSchema();
+        edgeFilter = view.getElement(BenchmarkData.EDGE_GROUP).getFilter();
+        viewValidator = new ElementValidator(view);
+        schemaValidator = new ElementValidator(dataSchema);
+
+        final List<Edge> edgeList = BenchmarkData.edges();
+        final List<Entity> entityList = BenchmarkData.entities();
+        edges = edgeList.toArray(new Edge[edgeList.size()]);
+
+        // Interleave the edges and entities so the validators have to switch between groups.
+        final List<Element> elementList = new ArrayList<>(BenchmarkData.BATCH_SIZE);
+        for (int i = 0; i < BenchmarkData.BATCH_SIZE; i++) {
+            elementList.add(0 == (i & 1) ? edgeList.get(i) : entityList.get(i));
+        }
+        elements = elementList.toArray(new Element[elementList.size()]);
+    }
+
+    @Benchmark
+    public boolean filter() {
+        return edgeFilter.filter(edges[next()]);
+    }
+
+    @Benchmark
+    public boolean validateWithView() {
+        return viewValidator.validate(elements[next()]);
+    }
+
+    @Benchmark
+    public boolean validateWithSchema() {
+        return schemaValidator.validate(elements[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) & BenchmarkData.BATCH_MASK;
+        return index;
+    }
+}
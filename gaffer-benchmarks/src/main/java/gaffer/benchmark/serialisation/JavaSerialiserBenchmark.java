@@ -0,0 +1,165 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.benchmark.serialisation;
+
+import gaffer.benchmark.BenchmarkData;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.SerialisationUtils;
+import gaffer.serialisation.implementation.CompactJavaSerialiser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the {@link CompactJavaSerialiser} against the {@link gaffer.serialisation.implementation.JavaSerialiser} it replaces, for the common
+ * built in types and for a custom property class that is registered with the compact serialiser.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class JavaSerialiserBenchmark {
+    @Param({"gaffer.serialisation.implementation.JavaSerialiser",
+            "gaffer.benchmark.serialisation.JavaSerialiserBenchmark$BenchmarkCompactJavaSerialiser"})
+    public String serialiserClass;
+
+    @Param({"String", "Long", "Date", "CustomProperty"})
+    public String valueType;
+
+    private Serialisation serialiser;
+    private Object[] values;
+    private byte[][] serialisedValues;
+    private final ByteArrayBuffer buffer = new ByteArrayBuffer();
+
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        serialiser = Class.forName(serialiserClass).asSubclass(Serialisation.class).newInstance();
+
+        final Random random = new Random(BenchmarkData.SEED);
+        values = new Object[BenchmarkData.BATCH_SIZE];
+        serialisedValues = new byte[BenchmarkData.BATCH_SIZE][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = createValue(random);
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialise() throws SerialisationException {
+        return serialiser.serialise(values[next()]);
+    }
+
+    @Benchmark
+    public int serialiseIntoBuffer() throws SerialisationException {
+        buffer.reset();
+        SerialisationUtils.serialise(serialiser, values[next()], buffer);
+        return buffer.getLength();
+    }
+
+    @Benchmark
+    public Object deserialise() throws SerialisationException {
+        return serialiser.deserialise(serialisedValues[next()]);
+    }
+
+    private Object createValue(final Random random) {
+        switch (valueType) {
+            case "String":
+                return "vertex" + random.nextInt();
+            case "Long":
+                return random.nextLong();
+            case "Date":
+                return new Date(random.nextInt(Integer.MAX_VALUE) * 1000L);
+            case "CustomProperty":
+                return new CustomProperty("label" + random.nextInt(100), random.nextInt(1000), random.nextDouble(),
+                        new Date(random.nextInt(Integer.MAX_VALUE) * 1000L));
+            default:
+                throw new IllegalArgumentException("Unknown value type " + valueType);
+        }
+    }
+
+    private int next() {
+        index = (index + 1) & BenchmarkData.BATCH_MASK;
+        return index;
+    }
+
+    /**
+     * A {@link CompactJavaSerialiser} with the {@link CustomProperty} class registered.
+     */
+    public static class BenchmarkCompactJavaSerialiser extends CompactJavaSerialiser {
+        private static final long serialVersionUID = 8326403593414853612L;
+
+        public BenchmarkCompactJavaSerialiser() {
+            register(CustomProperty.class, 0);
+        }
+    }
+
+    /**
+     * An example of a custom property class that would otherwise be serialised with the {@link gaffer.serialisation.implementation.JavaSerialiser}.
+     */
+    public static class CustomProperty implements Serializable {
+        private static final long serialVersionUID = -2815316624418766302L;
+        private String label;
+        private int count;
+        private double score;
+        private Date lastSeen;
+
+        public CustomProperty() {
+        }
+
+        public CustomProperty(final String label, final int count, final double score, final Date lastSeen) {
+            this.label = label;
+            this.count = count;
+            this.score = score;
+            this.lastSeen = null == lastSeen ? null : new Date(lastSeen.getTime());
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        public Date getLastSeen() {
+            return null == lastSeen ? null : new Date(lastSeen.getTime());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.serialisation;
+
+import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
+import gaffer.benchmark.BenchmarkData;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising and deserialising values with each of the serialisers in the simple serialisation library.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class SerialisationBenchmark {
+    @Param({"gaffer.serialisation.simple.StringSerialiser",
+            "gaffer.serialisation.simple.IntegerSerialiser",
+            "gaffer.serialisation.simple.LongSerialiser",
+            "gaffer.serialisation.simple.DoubleSerialiser",
+            "gaffer.serialisation.simple.DateSerialiser",
+            "gaffer.serialisation.simple.BooleanSerialiser",
+            "gaffer.serialisation.simple.raw.RawIntegerSerialiser",
+            "gaffer.serialisation.simple.raw.RawLongSerialiser",
+            "gaffer.serialisation.simple.raw.RawDoubleSerialiser",
+            "gaffer.serialisation.simple.raw.RawFloatSerialiser",
+            "gaffer.serialisation.simple.HyperLogLogPlusSerialiser",
+            "gaffer.serialisation.simple.AvroSerialiser"})
+    public String serialiserClass;
+
+    private Serialisation serialiser;
+    private Object[] values;
+    private byte[][] serialisedValues;
+
+    private int index;
+
+    @Setup
+    public void setup() throws Exception {
+        serialiser = Class.forName(serialiserClass).asSubclass(Serialisation.class).newInstance();
+
+        final Random random = new Random(BenchmarkData.SEED);
+        values = new Object[BenchmarkData.BATCH_SIZE];
+        serialisedValues = new byte[BenchmarkData.BATCH_SIZE][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = createValue(random);
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialise() throws SerialisationException {
+        return serialiser.serialise(values[next()]);
+    }
+
+    @Benchmark
+    public Object deserialise() throws SerialisationException {
+        return serialiser.deserialise(serialisedValues[next()]);
+    }
+
+    private Object createValue(final Random random) {
+        final Object[] candidates = {
+                "vertex" + random.nextInt(),
+                random.nextInt(),
+                random.nextLong(),
+                random.nextDouble(),
+                new Date(random.nextInt(Integer.MAX_VALUE) * 1000L),
+                random.nextBoolean(),
+                random.nextFloat(),
+                createHyperLogLogPlus(random)
+        };
+
+        for (final Object candidate : candidates) {
+            if (serialiser.canHandle(candidate.getClass())) {
+                return candidate;
+            }
+        }
+
+        throw new IllegalArgumentException("No benchmark values are available for serialiser " + serialiserClass);
+    }
+
+    private HyperLogLogPlus createHyperLogLogPlus(final Random random) {
+        final HyperLogLogPlus hllp = new HyperLogLogPlus(5, 5);
+        for (int i = 0; i < 10; i++) {
+            hllp.offer("vertex" + random.nextInt(1000));
+        }
+
+        return hllp;
+    }
+
+    private int next() {
+        index = (index + 1) & BenchmarkData.BATCH_MASK;
+        return index;
+    }
+}
@@ -24,6 +24,8 @@ import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * An <code>ElementValidator</code> is a {@link gaffer.data.Validator} for {@link gaffer.data.element.Element}s
@@ -35,6 +37,12 @@ public class ElementValidator implements Validator<Element> {
     private final DataSchema dataSchema;
     private final View view;
 
+    /**
+     * The data schema validators for each group. Validators are fetched from the data schema on first use and then
+     * reused, so a single <code>ElementValidator</code> should not be shared between threads.
+     */
+    private final Map<String, ElementFilter> schemaValidators = new HashMap<>();
+
     /**
      * Constructs a <code>ElementValidator</code> with a {@link gaffer.data.elementdefinition.schema.DataSchema} to use to
      * validate {@link gaffer.data.element.Element}s.
@@ -78,13 +86,19 @@ public class ElementValidator implements Validator<Element> {
     }
 
     private boolean validateWithDataSchema(final Element element) {
-        final DataElementDefinition elementDef = dataSchema.getElement(element.getGroup());
-        if (null == elementDef) {
-            LOGGER.warn("No element definition found for : " + element.getGroup());
-            return false;
+        ElementFilter validator = schemaValidators.get(element.getGroup());
+        if (null == validator) {
+            final DataElementDefinition elementDef = dataSchema.getElement(element.getGroup());
+            if (null == elementDef) {
+                LOGGER.warn("No element definition found for : " + element.getGroup());
+                return false;
+            }
+
+            validator = elementDef.getValidator();
+            schemaValidators.put(element.getGroup(), validator);
         }
 
-        return elementDef.getValidator().filter(element);
+        return validator.filter(element);
     }
 
     private boolean validateWithView(final Element element) {
@@ -77,20 +77,21 @@ public abstract class TransformIterable<INPUT, OUTPUT> implements Iterable<OUTPU
 
             @Override
             public boolean hasNext() {
-                if (null == hasNext) {
-                    if (inputItr.hasNext()) {
-                        final INPUT possibleNext = inputItr.next();
-                        if (validator.validate(possibleNext)) {
-                            nextElement = transform(possibleNext);
-                            hasNext = true;
-                        } else if (skipInvalid) {
-                            hasNext();
-                        } else {
-                            handleInvalidItem(possibleNext);
-                        }
-                    } else {
+                // Loop rather than recurse over invalid items so long runs of skipped items can't overflow the stack.
+                while (null == hasNext) {
+                    if (!inputItr.hasNext()) {
                         hasNext = false;
                         nextElement = null;
+                        break;
+                    }
+
+                    final INPUT possibleNext = inputItr.next();
+                    if (validator.validate(possibleNext)) {
+                        nextElement = transform(possibleNext);
+                        hasNext = true;
+                    } else if (!skipInvalid) {
+                        handleInvalidItem(possibleNext);
+                        break;
                     }
                 }
 
@@ -79,25 +79,28 @@ public abstract class TransformOneToManyIterable<INPUT, OUTPUT> implements Itera
 
             @Override
             public boolean hasNext() {
-                if (null == hasNext) {
-                    if (inputItr.hasNext()) {
-                        final INPUT possibleNext = inputItr.next();
-                        if (validator.validate(possibleNext)) {
-                            final Iterable<OUTPUT> nextElementsIterable = transform(possibleNext);
-                            if (null != nextElementsIterable) {
-                                nextElements = nextElementsIterable.iterator();
+                // Loop rather than recurse over invalid items and empty transformed iterables
+                // so long runs of them can't overflow the stack or end the iteration early.
+                while (null == hasNext) {
+                    if (!inputItr.hasNext()) {
+                        hasNext = false;
+                        nextElements = null;
+                        break;
+                    }
+
+                    final INPUT possibleNext = inputItr.next();
+                    if (validator.validate(possibleNext)) {
+                        final Iterable<OUTPUT> nextElementsIterable = transform(possibleNext);
+                        if (null != nextElementsIterable) {
+                            final Iterator<OUTPUT> nextElementsItr = nextElementsIterable.iterator();
+                            if (nextElementsItr.hasNext()) {
+                                nextElements = nextElementsItr;
                                 hasNext = true;
-                            } else {
-                                hasNext();
                             }
-                        } else if (skipInvalid) {
-                            hasNext();
-                        } else {
-                            handleInvalidItem(possibleNext);
                         }
-                    } else {
-                        hasNext = false;
-                        nextElements = null;
+                    } else if (!skipInvalid) {
+                        handleInvalidItem(possibleNext);
+                        break;
                     }
                 }
 
@@ -81,7 +81,9 @@ public class ElementAggregator extends Aggregator<ElementComponentKey> {
     @Override
     public ElementAggregator clone() {
         final ElementAggregator clone = new ElementAggregator();
-        clone.addFunctions(super.cloneFunctions());
+        if (null != functions) {
+            clone.addFunctions(super.cloneFunctions());
+        }
 
         return clone;
     }
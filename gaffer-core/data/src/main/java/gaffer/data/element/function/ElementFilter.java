@@ -45,7 +45,9 @@ public class ElementFilter extends Filter<ElementComponentKey> {
     @Override
     public ElementFilter clone() {
         final ElementFilter clone = new ElementFilter();
-        clone.addFunctions(super.cloneFunctions());
+        if (null != functions) {
+            clone.addFunctions(super.cloneFunctions());
+        }
 
         return clone;
     }
@@ -87,6 +87,7 @@ public abstract class TypedElementDefinition implements ElementDefinitionWithIds
     @JsonSetter("properties")
     void setPropertyMap(final LinkedHashMap<String, String> properties) {
         this.properties = properties;
+        propertiesOrIdentifiersChanged();
     }
 
     @JsonIgnore
@@ -98,6 +99,14 @@ public abstract class TypedElementDefinition implements ElementDefinitionWithIds
         return identifiers;
     }
 
+    /**
+     * Called whenever a property or identifier is added or replaced. Subclasses that cache anything derived from
+     * the properties or identifiers should discard it here. Subclasses that change the identifier map directly must
+     * call this method themselves.
+     */
+    protected void propertiesOrIdentifiersChanged() {
+    }
+
     public boolean containsIdentifier(final IdentifierType identifierType) {
         return identifiers.containsKey(identifierType);
     }
@@ -153,11 +162,13 @@ public abstract class TypedElementDefinition implements ElementDefinitionWithIds
 
         public Builder property(final String propertyName, final Class<?> clazz) {
             elDef.properties.put(propertyName, clazz.getName());
+            elDef.propertiesOrIdentifiersChanged();
             return this;
         }
 
         protected Builder identifier(final IdentifierType identifierType, final Class<?> clazz) {
             elDef.identifiers.put(identifierType, clazz.getName());
+            elDef.propertiesOrIdentifiersChanged();
             return this;
         }
 
@@ -25,14 +25,17 @@ public class DataEdgeDefinition extends DataElementDefinition {
 
     public void setSource(final String className) {
         getIdentifierMap().put(IdentifierType.SOURCE, className);
+        propertiesOrIdentifiersChanged();
     }
 
     public void setDestination(final String className) {
         getIdentifierMap().put(IdentifierType.DESTINATION, className);
+        propertiesOrIdentifiersChanged();
     }
 
     public void setDirected(final String className) {
         getIdentifierMap().put(IdentifierType.DIRECTED, className);
+        propertiesOrIdentifiersChanged();
     }
 
     public String getSource() {
@@ -45,6 +45,16 @@ public abstract class DataElementDefinition extends TypedElementDefinition {
     private ElementFilter validator;
     private ElementAggregator aggregator;
 
+    /**
+     * The full validator and aggregator, compiled from this element definition and its
+     * {@link gaffer.data.elementdefinition.Type}s the first time they are requested. These are never handed out
+     * directly, only clones of them are returned. Both are discarded whenever the validator, aggregator, type store,
+     * properties or identifiers change. They are volatile so that a definition shared between threads, such as one
+     * in a cached schema, only ever hands out clones of fully compiled functions.
+     */
+    private transient volatile ElementFilter fullValidator;
+    private transient volatile ElementAggregator fullAggregator;
+
     /**
      * The <code>TypeStore</code> provides the different element identifier value types and property value types.
      *
@@ -68,18 +78,23 @@ public abstract class DataElementDefinition extends TypedElementDefinition {
      * {@link gaffer.data.elementdefinition.schema.DataElementDefinition} and also the
      * {@link gaffer.function.AggregateFunction}s defined in the corresponding property value
      * {@link gaffer.data.elementdefinition.Type}s.
+     * The full aggregator is only compiled once, so this is just a clone of its functions. The returned aggregator
+     * is not thread safe, but it can be reused for multiple aggregations by calling
+     * {@link ElementAggregator#initFunctions()} before each one.
      */
     public ElementAggregator getAggregator() {
-        final ElementAggregator fullAggregator = null != aggregator ? aggregator.clone() : new ElementAggregator();
-        for (Map.Entry<String, String> entry : getPropertyMap().entrySet()) {
-            addTypeAggregatorFunctions(fullAggregator, new ElementComponentKey(entry.getKey()), entry.getValue());
+        ElementAggregator compiledAggregator = fullAggregator;
+        if (null == compiledAggregator) {
+            compiledAggregator = compileAggregator();
+            fullAggregator = compiledAggregator;
         }
 
-        return fullAggregator;
+        return compiledAggregator.clone();
     }
 
     public void setAggregator(final ElementAggregator aggregator) {
         this.aggregator = aggregator;
+        fullAggregator = null;
     }
 
     /**
@@ -88,25 +103,22 @@ public abstract class DataElementDefinition extends TypedElementDefinition {
      * {@link gaffer.data.elementdefinition.schema.DataElementDefinition} and also the
      * {@link gaffer.function.FilterFunction}s defined in the corresponding identifier and property value
      * {@link gaffer.data.elementdefinition.Type}s.
+     * The full validator is only compiled once, so this is just a clone of its functions. The returned validator is
+     * not thread safe, but it can be reused for any number of elements.
      */
     public ElementFilter getValidator() {
-        final ElementFilter fullValidator = null != validator ? validator.clone() : new ElementFilter();
-        for (Map.Entry<IdentifierType, String> entry : getIdentifierMap().entrySet()) {
-            final ElementComponentKey key = new ElementComponentKey(entry.getKey());
-            addIsAFunction(fullValidator, key, entry.getValue());
-            addTypeValidatorFunctions(fullValidator, key, entry.getValue());
-        }
-        for (Map.Entry<String, String> entry : getPropertyMap().entrySet()) {
-            final ElementComponentKey key = new ElementComponentKey(entry.getKey());
-            addIsAFunction(fullValidator, key, entry.getValue());
-            addTypeValidatorFunctions(fullValidator, key, entry.getValue());
+        ElementFilter compiledValidator = fullValidator;
+        if (null == compiledValidator) {
+            compiledValidator = compileValidator();
+            fullValidator = compiledValidator;
         }
 
-        return fullValidator;
+        return compiledValidator.clone();
     }
 
     public void setValidator(final ElementFilter validator) {
         this.validator = validator;
+        fullValidator = null;
     }
 
     @JsonProperty("validator")
@@ -126,6 +138,7 @@ public abstract class DataElementDefinition extends TypedElementDefinition {
 
     public void setTypeStore(final TypeStore typeStore) {
         this.typeStore = typeStore;
+        clearCompiledFunctions();
     }
 
     @Override
@@ -147,10 +160,45 @@ public abstract class DataElementDefinition extends TypedElementDefinition {
         return null != type ? type.getClazz() : getClass(classOrTypeName);
     }
 
+    @Override
+    protected void propertiesOrIdentifiersChanged() {
+        clearCompiledFunctions();
+    }
+
+    private void clearCompiledFunctions() {
+        fullValidator = null;
+        fullAggregator = null;
+    }
+
     private Type getType(final String classOrTypeName) {
         return null != typeStore ? typeStore.get(classOrTypeName) : null;
     }
 
+    private ElementAggregator compileAggregator() {
+        final ElementAggregator compiledAggregator = null != aggregator ? aggregator.clone() : new ElementAggregator();
+        for (Map.Entry<String, String> entry : getPropertyMap().entrySet()) {
+            addTypeAggregatorFunctions(compiledAggregator, new ElementComponentKey(entry.getKey()), entry.getValue());
+        }
+
+        return compiledAggregator;
+    }
+
+    private ElementFilter compileValidator() {
+        final ElementFilter compiledValidator = null != validator ? validator.clone() : new ElementFilter();
+        for (Map.Entry<IdentifierType, String> entry : getIdentifierMap().entrySet()) {
+            final ElementComponentKey key = new ElementComponentKey(entry.getKey());
+            addIsAFunction(compiledValidator, key, entry.getValue());
+            addTypeValidatorFunctions(compiledValidator, key, entry.getValue());
+        }
+        for (Map.Entry<String, String> entry : getPropertyMap().entrySet()) {
+            final ElementComponentKey key = new ElementComponentKey(entry.getKey());
+            addIsAFunction(compiledValidator, key, entry.getValue());
+            addTypeValidatorFunctions(compiledValidator, key, entry.getValue());
+        }
+
+        return compiledValidator;
+    }
+
     private void addTypeValidatorFunctions(final ElementFilter fullValidator, final ElementComponentKey key, final String classOrTypeName) {
         final Type type = getType(classOrTypeName);
         if (null != type && null != type.getValidator()) {
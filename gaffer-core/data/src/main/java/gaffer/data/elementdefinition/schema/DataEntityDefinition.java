@@ -25,6 +25,7 @@ public class DataEntityDefinition extends DataElementDefinition {
 
     public void setVertex(final String className) {
         getIdentifierMap().put(IdentifierType.VERTEX, className);
+        propertiesOrIdentifiersChanged();
     }
 
     public String getVertex() {
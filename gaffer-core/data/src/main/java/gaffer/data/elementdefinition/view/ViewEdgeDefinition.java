@@ -83,6 +83,10 @@ public class ViewEdgeDefinition extends ViewElementDefinition {
             return (Builder) super.transformer(transformer);
         }
 
+        public Builder groupBy(final String... propertyNames) {
+            return (Builder) super.groupBy(propertyNames);
+        }
+
         public ViewEdgeDefinition build() {
             return getElementDef();
         }
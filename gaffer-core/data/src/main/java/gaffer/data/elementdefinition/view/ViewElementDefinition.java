@@ -20,15 +20,20 @@ import gaffer.data.element.IdentifierType;
 import gaffer.data.element.function.ElementFilter;
 import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.TypedElementDefinition;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 
 /**
  * A <code>ViewElementDefinition</code> extends {@link gaffer.data.elementdefinition.TypedElementDefinition} and adds
  * the ability to specify a {@link gaffer.data.element.function.ElementTransformer} and a
  * {@link gaffer.data.element.function.ElementFilter}.
+ * When elements are summarised at query time an optional group by list of property names can be provided;
+ * elements are then only summarised together if these properties are equal.
  */
 public abstract class ViewElementDefinition extends TypedElementDefinition {
     private ElementTransformer transformer;
     private ElementFilter filter;
+    private LinkedHashSet<String> groupBy;
 
     public ViewElementDefinition() {
         super(new ViewElementDefinitionValidator());
@@ -50,6 +55,18 @@ public abstract class ViewElementDefinition extends TypedElementDefinition {
         this.filter = filter;
     }
 
+    /**
+     * @return the names of the properties to group by when summarising elements, or null if elements should be
+     * summarised regardless of their property values.
+     */
+    public LinkedHashSet<String> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(final LinkedHashSet<String> groupBy) {
+        this.groupBy = groupBy;
+    }
+
     public abstract static class Builder extends TypedElementDefinition.Builder {
         public Builder(final ViewElementDefinition elDef) {
             super(elDef);
@@ -73,6 +90,11 @@ public abstract class ViewElementDefinition extends TypedElementDefinition {
             return this;
         }
 
+        public Builder groupBy(final String... propertyNames) {
+            getElementDef().setGroupBy(new LinkedHashSet<>(Arrays.asList(propertyNames)));
+            return this;
+        }
+
         public ViewElementDefinition build() {
             return getElementDef();
         }
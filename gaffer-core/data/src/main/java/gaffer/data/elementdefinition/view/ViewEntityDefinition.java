@@ -57,6 +57,10 @@ public class ViewEntityDefinition extends ViewElementDefinition {
             return (Builder) super.transformer(transformer);
         }
 
+        public Builder groupBy(final String... propertyNames) {
+            return (Builder) super.groupBy(propertyNames);
+        }
+
         public ViewEntityDefinition build() {
             return getElementDef();
         }
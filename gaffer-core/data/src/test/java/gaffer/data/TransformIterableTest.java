@@ -16,8 +16,12 @@
 
 package gaffer.data;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -161,6 +165,29 @@ public class TransformIterableTest {
         }
     }
 
+    @Test
+    public void shouldSkipLongRunsOfInvalidItems() {
+        // Given
+        final List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            items.add("invalid");
+        }
+        items.add("valid");
+        final Validator<String> validator = new Validator<String>() {
+            @Override
+            public boolean validate(final String obj) {
+                return "valid".equals(obj);
+            }
+        };
+        final TransformIterable iterable = new TransformIterableImpl(items, validator, true);
+
+        // When
+        final List<String> output = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(Collections.singletonList("VALID"), output);
+    }
+
     private class TransformIterableImpl extends TransformIterable<String, String> {
         public TransformIterableImpl(final Iterable<String> input, final Validator<String> validator) {
             super(input, validator);
@@ -21,7 +21,9 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -158,6 +160,47 @@ public class TransformOneToManyIterableTest {
         }
     }
 
+    @Test
+    public void shouldSkipItemsThatTransformToEmptyIterables() {
+        // Given
+        final Iterable<String> items = Arrays.asList("item 1", "", "", "item 2", "");
+        final TransformOneToManyIterable<String, String> iterable = new TransformOneToManyIterable<String, String>(items) {
+            @Override
+            protected Iterable<String> transform(final String item) {
+                return item.isEmpty() ? Collections.<String>emptyList() : Collections.singletonList(item.toUpperCase());
+            }
+        };
+
+        // When
+        final List<String> output = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(Arrays.asList("ITEM 1", "ITEM 2"), output);
+    }
+
+    @Test
+    public void shouldSkipLongRunsOfInvalidItems() {
+        // Given
+        final List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            items.add("invalid");
+        }
+        items.add("valid");
+        final Validator<String> validator = new Validator<String>() {
+            @Override
+            public boolean validate(final String obj) {
+                return "valid".equals(obj);
+            }
+        };
+        final TransformOneToManyIterable iterable = new TransformOneToManyIterableImpl(items, validator, true);
+
+        // When
+        final List<String> output = Lists.newArrayList(iterable);
+
+        // Then
+        assertEquals(Collections.singletonList("VALID"), output);
+    }
+
     private class TransformOneToManyIterableImpl extends TransformOneToManyIterable<String, String> {
         public TransformOneToManyIterableImpl(final Iterable<String> input, final Validator<String> validator) {
             super(input, validator);
@@ -17,6 +17,7 @@
 package gaffer.data.elementdefinition.schema;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -59,6 +60,67 @@ public class DataEdgeDefinitionTest {
 
     }
 
+    @Test
+    public void shouldReturnNewAggregatorInstanceEachTime() {
+        // Given
+        final DataEdgeDefinition elementDef = new DataEdgeDefinition.Builder()
+                .property("property", String.class)
+                .aggregator(new ElementAggregator.Builder()
+                        .select("property")
+                        .execute(new ExampleAggregatorFunction())
+                        .build())
+                .build();
+
+        // When
+        final ElementAggregator aggregator1 = elementDef.getAggregator();
+        final ElementAggregator aggregator2 = elementDef.getAggregator();
+
+        // Then
+        assertNotSame(aggregator1, aggregator2);
+        assertNotSame(aggregator1.getFunctions().get(0).getFunction(), aggregator2.getFunctions().get(0).getFunction());
+    }
+
+    @Test
+    public void shouldRecompileAggregatorWhenAggregatorIsChanged() {
+        // Given
+        final DataEdgeDefinition elementDef = new DataEdgeDefinition.Builder()
+                .property("property", String.class)
+                .build();
+        assertNull(elementDef.getAggregator().getFunctions());
+
+        // When
+        elementDef.setAggregator(new ElementAggregator.Builder()
+                .select("property")
+                .execute(new ExampleAggregatorFunction())
+                .build());
+        final ElementAggregator aggregator = elementDef.getAggregator();
+
+        // Then
+        assertEquals(1, aggregator.getFunctions().size());
+        assertTrue(aggregator.getFunctions().get(0).getFunction() instanceof ExampleAggregatorFunction);
+    }
+
+    @Test
+    public void shouldRecompileValidatorWhenPropertiesOrIdentifiersAreChanged() {
+        // Given
+        final DataEdgeDefinition elementDef = new DataEdgeDefinition.Builder()
+                .property("property", String.class)
+                .build();
+        assertEquals(1, elementDef.getValidator().getFunctions().size());
+
+        // When
+        new DataEdgeDefinition.Builder(elementDef)
+                .property("property2", Integer.class)
+                .build();
+        elementDef.setSource(Date.class.getName());
+        final ElementFilter validator = elementDef.getValidator();
+
+        // Then
+        assertEquals(3, validator.getFunctions().size());
+        assertEquals(Date.class.getName(), ((IsA) validator.getFunctions().get(0).getFunction()).getType());
+        assertEquals(Integer.class.getName(), ((IsA) validator.getFunctions().get(2).getFunction()).getType());
+    }
+
     @Test
     public void shouldReturnAggregatorWithNoFunctionsWhenNoProperties() {
         // Given
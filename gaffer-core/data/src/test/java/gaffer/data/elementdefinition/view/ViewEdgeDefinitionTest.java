@@ -22,6 +22,7 @@ import gaffer.data.element.function.ElementFilter;
 import gaffer.data.element.function.ElementTransformer;
 import org.junit.Test;
 
+import java.util.Collections;
 import java.util.Date;
 
 import static org.junit.Assert.assertEquals;
@@ -44,6 +45,7 @@ public class ViewEdgeDefinitionTest {
                 .destination(Date.class)
                 .transformer(transformer)
                 .filter(filter)
+                .groupBy(TestPropertyNames.F1)
                 .build();
 
         // Then
@@ -57,5 +59,6 @@ public class ViewEdgeDefinitionTest {
 
         assertSame(filter, elementDef.getFilter());
         assertSame(transformer, elementDef.getTransformer());
+        assertEquals(Collections.singleton(TestPropertyNames.F1), elementDef.getGroupBy());
     }
 }
\ No newline at end of file
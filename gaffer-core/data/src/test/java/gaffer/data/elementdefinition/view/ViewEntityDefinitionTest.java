@@ -22,6 +22,8 @@ import gaffer.data.element.function.ElementFilter;
 import gaffer.data.element.function.ElementTransformer;
 import org.junit.Test;
 
+import java.util.Collections;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -41,6 +43,7 @@ public class ViewEntityDefinitionTest {
                 .property(TestPropertyNames.F2, String.class)
                 .transformer(transformer)
                 .filter(filter)
+                .groupBy(TestPropertyNames.F1)
                 .build();
 
         // Then
@@ -53,5 +56,6 @@ public class ViewEntityDefinitionTest {
 
         assertSame(filter, elementDef.getFilter());
         assertSame(transformer, elementDef.getTransformer());
+        assertEquals(Collections.singleton(TestPropertyNames.F1), elementDef.getGroupBy());
     }
 }
\ No newline at end of file
@@ -17,13 +17,17 @@
 package gaffer.data.elementdefinition.view;
 
 import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.elementdefinition.schema.exception.SchemaException;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
@@ -102,4 +106,24 @@ public class ViewTest {
         assertSame(entityDef1, view.getEntity(TestGroups.ENTITY));
         assertSame(entityDef2, view.getEntity(TestGroups.ENTITY_2));
     }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseGroupByToJson() throws SchemaException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .groupBy(TestPropertyNames.F2, TestPropertyNames.F1)
+                        .build())
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition.Builder()
+                        .build())
+                .build();
+
+        // When
+        final View deserialisedView = View.fromJson(view.toJson(false));
+
+        // Then
+        assertEquals(Arrays.asList(TestPropertyNames.F2, TestPropertyNames.F1),
+                new ArrayList<>(deserialisedView.getEdge(TestGroups.EDGE).getGroupBy()));
+        assertNull(deserialisedView.getEntity(TestGroups.ENTITY).getGroupBy());
+    }
 }
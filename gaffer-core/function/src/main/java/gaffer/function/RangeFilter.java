@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.function;
+
+/**
+ * A <code>RangeFilter</code> is implemented by {@link FilterFunction}s that only accept a single {@link Comparable}
+ * input lying within a range. Whenever either bound is set, null inputs are rejected.
+ * <p>
+ * Stores can use the bounds to avoid reading values the filter would reject, but the filter must still be applied to
+ * the values that are read. The bounds take no account of the <code>not</code> option of the filter function.
+ */
+public interface RangeFilter {
+    /**
+     * @return the lower bound of the accepted range, or null if the range has no lower bound.
+     */
+    Comparable getLowerBound();
+
+    /**
+     * @return true if the lower bound is part of the accepted range.
+     */
+    boolean isLowerBoundInclusive();
+
+    /**
+     * @return the upper bound of the accepted range, or null if the range has no upper bound.
+     */
+    Comparable getUpperBound();
+
+    /**
+     * @return true if the upper bound is part of the accepted range.
+     */
+    boolean isUpperBoundInclusive();
+}
@@ -99,7 +99,9 @@ public class Filter<R> extends Processor<R, ConsumerFunctionContext<R, FilterFun
 
             final FilterFunction af = function.getFunction();
             if (af != null) {
-                cloneContext.setFunction(af.statelessClone());
+                final FilterFunction afClone = af.statelessClone();
+                afClone.setNot(af.isNot());
+                cloneContext.setFunction(afClone);
             }
             functionClones.add(cloneContext);
         }
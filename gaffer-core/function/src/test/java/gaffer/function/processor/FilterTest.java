@@ -210,6 +210,25 @@ public class FilterTest {
         assertSame(function2, resultClonedFunction.getFunction());
     }
 
+    @Test
+    public void shouldKeepNotFlagWhenCloningFilter() {
+        // Given
+        final Filter<String> filter = new Filter<>();
+        final ConsumerFunctionContext<String, FilterFunction> functionContext1 = mock(PassThroughFunctionContext.class);
+        given(functionContext1.getFunction()).willReturn(function1);
+        given(functionContext1.getSelection()).willReturn(Collections.singletonList("reference1"));
+        given(function1.isNot()).willReturn(true);
+        given(function1.statelessClone()).willReturn(function2);
+
+        filter.addFunction(functionContext1);
+
+        // When
+        filter.clone();
+
+        // Then
+        verify(function2).setNot(true);
+    }
+
     @Test
     public void shouldBuildFilter() {
         // Given
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A base {@link BufferSerialisation} that implements the byte array methods of {@link Serialisation} and the
+ * {@link ByteBuffer} method in terms of {@link #serialise(Object, ByteArrayBuffer)} and
+ * {@link #deserialise(byte[], int, int)}.
+ */
+public abstract class AbstractBufferSerialisation implements BufferSerialisation {
+    private static final long serialVersionUID = -4525283740547386946L;
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        serialise(object, buffer);
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public Object deserialise(final ByteBuffer buffer) throws SerialisationException {
+        final int length = buffer.remaining();
+        final Object object;
+        if (buffer.hasArray()) {
+            object = deserialise(buffer.array(), buffer.arrayOffset() + buffer.position(), length);
+        } else {
+            final byte[] bytes = new byte[length];
+            buffer.duplicate().get(bytes);
+            object = deserialise(bytes, 0, length);
+        }
+        buffer.position(buffer.limit());
+        return object;
+    }
+}
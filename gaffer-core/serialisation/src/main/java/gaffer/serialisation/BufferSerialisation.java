@@ -0,0 +1,63 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link Serialisation} that can write into a caller-supplied {@link ByteArrayBuffer} and read from part of a
+ * byte array or a {@link ByteBuffer}, so callers that hold the serialised form inside a larger array, such as a
+ * stored key or value, do not need to copy it out before deserialising it.
+ * <p>
+ * {@link SerialisationUtils} provides the same methods for any {@link Serialisation}, using these methods when the
+ * serialiser supports them.
+ */
+public interface BufferSerialisation extends Serialisation {
+
+    /**
+     * Serialises an object, appending the serialised bytes to the given buffer.
+     *
+     * @param object the object to be serialised
+     * @param buffer the buffer to append the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException;
+
+    /**
+     * Deserialises an object from a range of a byte array. The array is not modified or retained.
+     *
+     * @param bytes  the array containing the serialised bytes
+     * @param offset the position in the array of the first serialised byte
+     * @param length the number of serialised bytes
+     * @return Object the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException;
+
+    /**
+     * Deserialises an object from the remaining bytes of a {@link ByteBuffer}. The position of the buffer is moved
+     * to its limit.
+     *
+     * @param buffer the buffer containing the serialised bytes
+     * @return Object the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    Object deserialise(final ByteBuffer buffer) throws SerialisationException;
+}
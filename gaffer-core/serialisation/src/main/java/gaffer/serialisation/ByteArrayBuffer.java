@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+
+/**
+ * A <code>ByteArrayBuffer</code> is a growable byte array that {@link BufferSerialisation}s write their serialised
+ * form into. The buffer can be reset and reused, so a caller serialising many objects only allocates when the
+ * buffer needs to grow.
+ * <p>
+ * The bytes written are available from {@link #getBytes()}, which returns the backing array without copying it;
+ * only the first {@link #getLength()} bytes of the backing array are valid.
+ */
+public class ByteArrayBuffer {
+    private static final int DEFAULT_INITIAL_CAPACITY = 64;
+    private static final char MAX_ISO_LATIN_1_CHAR = '\u00FF';
+
+    private byte[] bytes;
+    private int length;
+
+    public ByteArrayBuffer() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    public ByteArrayBuffer(final int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must not be negative: " + initialCapacity);
+        }
+        bytes = new byte[initialCapacity];
+    }
+
+    /**
+     * Appends a single byte to the buffer.
+     *
+     * @param b the byte to append
+     * @return this buffer
+     */
+    public ByteArrayBuffer append(final byte b) {
+        ensureCapacity(1);
+        bytes[length++] = b;
+        return this;
+    }
+
+    /**
+     * Appends all of the given bytes to the buffer.
+     *
+     * @param src the bytes to append
+     * @return this buffer
+     */
+    public ByteArrayBuffer append(final byte[] src) {
+        return append(src, 0, src.length);
+    }
+
+    /**
+     * Appends a range of the given bytes to the buffer.
+     *
+     * @param src    the bytes to append
+     * @param offset the position in src of the first byte to append
+     * @param len    the number of bytes to append
+     * @return this buffer
+     */
+    public ByteArrayBuffer append(final byte[] src, final int offset, final int len) {
+        ensureCapacity(len);
+        System.arraycopy(src, offset, bytes, length, len);
+        length += len;
+        return this;
+    }
+
+    /**
+     * Appends the characters of a string as ISO-8859-1 bytes, one byte per character, without encoding the string
+     * into a separate array first. Characters outside ISO-8859-1 are written as '?', as
+     * {@link String#getBytes(String)} does.
+     *
+     * @param value the string to append
+     * @return this buffer
+     */
+    public ByteArrayBuffer appendIsoLatin1(final String value) {
+        final int len = value.length();
+        ensureCapacity(len);
+        for (int i = 0; i < len; i++) {
+            final char c = value.charAt(i);
+            bytes[length++] = c <= MAX_ISO_LATIN_1_CHAR ? (byte) c : (byte) '?';
+        }
+        return this;
+    }
+
+    /**
+     * Makes sure the buffer can hold the given number of additional bytes without growing, growing it if necessary.
+     *
+     * @param additional the number of bytes about to be written
+     */
+    public void ensureCapacity(final int additional) {
+        final int required = length + additional;
+        if (required > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length << 1));
+        }
+    }
+
+    /**
+     * @return the backing array of this buffer. Only the first {@link #getLength()} bytes are valid and the array
+     * may be replaced when the buffer grows, so it should not be held on to after further writes.
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP", justification = "The backing array is exposed to avoid copying it")
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the number of bytes written to the buffer
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Sets the number of valid bytes in the buffer, for callers that write directly into the backing array after
+     * calling {@link #ensureCapacity(int)}.
+     *
+     * @param length the new length
+     */
+    public void setLength(final int length) {
+        if (length < 0 || length > bytes.length) {
+            throw new IllegalArgumentException("Length must be between 0 and the capacity " + bytes.length + ": " + length);
+        }
+        this.length = length;
+    }
+
+    /**
+     * Empties the buffer so it can be reused. The backing array is kept.
+     */
+    public void reset() {
+        length = 0;
+    }
+
+    /**
+     * @return a copy of the bytes written to the buffer
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+/**
+ * An <code>OrderPreservingSerialisation</code> is a {@link Serialisation} whose serialised bytes, compared
+ * lexicographically as unsigned bytes, sort in the same order as the values they were serialised from.
+ * <p>
+ * Stores that keep serialised values in sorted order can use this to turn range predicates on those values into
+ * ranges of keys to scan.
+ */
+public interface OrderPreservingSerialisation extends Serialisation {
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+import gaffer.exception.SerialisationException;
+
+import java.util.Arrays;
+
+/**
+ * Utility methods for serialising into a {@link ByteArrayBuffer} and deserialising from part of a byte array with
+ * any {@link Serialisation}. {@link BufferSerialisation}s are used directly; other serialisers fall back to their
+ * byte array methods, copying the bytes where necessary.
+ */
+public final class SerialisationUtils {
+
+    private SerialisationUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Serialises an object, appending the serialised bytes to the given buffer.
+     *
+     * @param serialiser the serialiser to use
+     * @param object     the object to be serialised
+     * @param buffer     the buffer to append the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    public static void serialise(final Serialisation serialiser, final Object object, final ByteArrayBuffer buffer)
+            throws SerialisationException {
+        if (serialiser instanceof BufferSerialisation) {
+            ((BufferSerialisation) serialiser).serialise(object, buffer);
+        } else {
+            buffer.append(serialiser.serialise(object));
+        }
+    }
+
+    /**
+     * Deserialises an object from a range of a byte array.
+     *
+     * @param serialiser the serialiser to use
+     * @param bytes      the array containing the serialised bytes
+     * @param offset     the position in the array of the first serialised byte
+     * @param length     the number of serialised bytes
+     * @return the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    public static Object deserialise(final Serialisation serialiser, final byte[] bytes, final int offset,
+                                     final int length) throws SerialisationException {
+        if (serialiser instanceof BufferSerialisation) {
+            return ((BufferSerialisation) serialiser).deserialise(bytes, offset, length);
+        }
+
+        if (0 == offset && bytes.length == length) {
+            return serialiser.deserialise(bytes);
+        }
+
+        return serialiser.deserialise(Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+}
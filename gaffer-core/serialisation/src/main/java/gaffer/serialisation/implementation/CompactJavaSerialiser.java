@@ -0,0 +1,559 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.implementation;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A <code>CompactJavaSerialiser</code> is a faster, more compact replacement for {@link JavaSerialiser}.
+ * <p>
+ * Each value is written as a type id followed by the value. The common immutable types (the boxed primitives,
+ * String, byte[] and Date) have built in ids and compact encodings. Other classes can be registered with a fixed id
+ * by subclassing this serialiser and calling {@link #register(Class, int)} in the subclass's no-argument
+ * constructor. The fields of a registered class are written by reflection, in a fixed order, without any class
+ * descriptors; the class must have a no-argument constructor, which may be private. Any other {@link Serializable}
+ * value is written with standard Java serialisation, so this serialiser can handle every class that
+ * {@link JavaSerialiser} can.
+ * <p>
+ * The registered ids are stored in the serialised values, so once data has been written a registered class must
+ * keep its id, and the non-static, non-transient fields of a registered class must not change.
+ * The values written are not compatible with {@link JavaSerialiser}.
+ */
+public class CompactJavaSerialiser extends AbstractBufferSerialisation {
+    private static final long serialVersionUID = -1718446011716562716L;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int NULL = 0;
+    private static final int FALSE = 1;
+    private static final int TRUE = 2;
+    private static final int BYTE = 3;
+    private static final int SHORT = 4;
+    private static final int INTEGER = 5;
+    private static final int LONG = 6;
+    private static final int FLOAT = 7;
+    private static final int DOUBLE = 8;
+    private static final int CHARACTER = 9;
+    private static final int STRING = 10;
+    private static final int BYTE_ARRAY = 11;
+    private static final int DATE = 12;
+    private static final int JAVA_SERIALISED = 13;
+
+    /**
+     * Registered ids are offset by this amount so they do not clash with the built in ids.
+     */
+    private static final int FIRST_REGISTERED_ID = 32;
+
+    private static final Map<Class<?>, Integer> BUILT_IN_IDS = new HashMap<>();
+
+    static {
+        BUILT_IN_IDS.put(Byte.class, BYTE);
+        BUILT_IN_IDS.put(Short.class, SHORT);
+        BUILT_IN_IDS.put(Integer.class, INTEGER);
+        BUILT_IN_IDS.put(Long.class, LONG);
+        BUILT_IN_IDS.put(Float.class, FLOAT);
+        BUILT_IN_IDS.put(Double.class, DOUBLE);
+        BUILT_IN_IDS.put(Character.class, CHARACTER);
+        BUILT_IN_IDS.put(String.class, STRING);
+        BUILT_IN_IDS.put(byte[].class, BYTE_ARRAY);
+        BUILT_IN_IDS.put(Date.class, DATE);
+    }
+
+    private static final ThreadLocal<ByteArrayBuffer> BUFFERS = new ThreadLocal<ByteArrayBuffer>() {
+        @Override
+        protected ByteArrayBuffer initialValue() {
+            return new ByteArrayBuffer();
+        }
+    };
+
+    private final Map<Class<?>, Integer> registeredIds = new LinkedHashMap<>();
+    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Rebuilt lazily from the registered ids")
+    private transient volatile Map<Class<?>, ClassCodec> codecsByClass;
+    @SuppressFBWarnings(value = "SE_TRANSIENT_FIELD_NOT_RESTORED", justification = "Rebuilt lazily from the registered ids")
+    private transient volatile Map<Integer, ClassCodec> codecsById;
+
+    /**
+     * Registers a class with a fixed id. This should only be called from the constructor of a subclass.
+     *
+     * @param clazz the class to register
+     * @param id    the id to write in place of the class, which must not be negative and must be unique within
+     *              this serialiser
+     */
+    protected final void register(final Class<?> clazz, final int id) {
+        if (id < 0) {
+            throw new IllegalArgumentException("Registered ids must not be negative: " + id);
+        }
+        if (BUILT_IN_IDS.containsKey(clazz) || Boolean.class.equals(clazz)) {
+            throw new IllegalArgumentException(clazz.getName() + " is already handled and cannot be registered");
+        }
+        if (registeredIds.containsKey(clazz)) {
+            throw new IllegalArgumentException(clazz.getName() + " has already been registered");
+        }
+        if (registeredIds.containsValue(id)) {
+            throw new IllegalArgumentException("The id " + id + " has already been registered");
+        }
+
+        // Build the codec now so that classes that cannot be handled are rejected when they are registered.
+        new ClassCodec(clazz, id);
+        registeredIds.put(clazz, id);
+        codecsByClass = null;
+        codecsById = null;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Serializable.class.isAssignableFrom(clazz) || registeredIds.containsKey(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        serialise(object, buffer);
+        final byte[] bytes = buffer.toByteArray();
+        if (buffer.getBytes().length > 1 << 16) {
+            // Don't keep hold of unusually large buffers
+            BUFFERS.remove();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        writeObject(object, buffer);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final Input input = new Input(bytes, offset, offset + length);
+        final Object object = readObject(input);
+        if (input.position != input.end) {
+            throw new SerialisationException("Unable to deserialise object, " + (input.end - input.position)
+                    + " bytes were not read");
+        }
+        return object;
+    }
+
+    public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
+        return clazz.cast(deserialise(bytes));
+    }
+
+    private void writeObject(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        if (null == object) {
+            writeVarLong(NULL, buffer);
+            return;
+        }
+
+        final Class<?> clazz = object.getClass();
+        final ClassCodec codec = getCodecsByClass().get(clazz);
+        if (null != codec) {
+            writeVarLong(FIRST_REGISTERED_ID + (long) codec.id, buffer);
+            codec.write(object, buffer);
+            return;
+        }
+
+        if (Boolean.class.equals(clazz)) {
+            writeVarLong((Boolean) object ? TRUE : FALSE, buffer);
+            return;
+        }
+
+        final Integer builtInId = BUILT_IN_IDS.get(clazz);
+        if (null == builtInId) {
+            writeVarLong(JAVA_SERIALISED, buffer);
+            writeJavaSerialised(object, buffer);
+            return;
+        }
+
+        writeVarLong(builtInId, buffer);
+        switch (builtInId) {
+            case BYTE:
+                buffer.append((Byte) object);
+                break;
+            case SHORT:
+                writeVarLong(zigZag((Short) object), buffer);
+                break;
+            case INTEGER:
+                writeVarLong(zigZag((Integer) object), buffer);
+                break;
+            case LONG:
+                writeVarLong(zigZag((Long) object), buffer);
+                break;
+            case FLOAT:
+                writeFixed(Float.floatToRawIntBits((Float) object), 4, buffer);
+                break;
+            case DOUBLE:
+                writeFixed(Double.doubleToRawLongBits((Double) object), 8, buffer);
+                break;
+            case CHARACTER:
+                writeVarLong((Character) object, buffer);
+                break;
+            case STRING:
+                writeBytes(((String) object).getBytes(UTF_8), buffer);
+                break;
+            case BYTE_ARRAY:
+                writeBytes((byte[]) object, buffer);
+                break;
+            case DATE:
+                writeVarLong(zigZag(((Date) object).getTime()), buffer);
+                break;
+            default:
+                throw new SerialisationException("Unknown type id " + builtInId);
+        }
+    }
+
+    private Object readObject(final Input input) throws SerialisationException {
+        final long id = input.readVarLong();
+        switch ((int) Math.min(id, FIRST_REGISTERED_ID)) {
+            case NULL:
+                return null;
+            case FALSE:
+                return Boolean.FALSE;
+            case TRUE:
+                return Boolean.TRUE;
+            case BYTE:
+                return input.readByte();
+            case SHORT:
+                return (short) unZigZag(input.readVarLong());
+            case INTEGER:
+                return (int) unZigZag(input.readVarLong());
+            case LONG:
+                return unZigZag(input.readVarLong());
+            case FLOAT:
+                return Float.intBitsToFloat((int) input.readFixed(4));
+            case DOUBLE:
+                return Double.longBitsToDouble(input.readFixed(8));
+            case CHARACTER:
+                return (char) input.readVarLong();
+            case STRING:
+                final int length = input.readLength();
+                final String string = new String(input.bytes, input.position, length, UTF_8);
+                input.position += length;
+                return string;
+            case BYTE_ARRAY:
+                return input.readBytes();
+            case DATE:
+                return new Date(unZigZag(input.readVarLong()));
+            case JAVA_SERIALISED:
+                return readJavaSerialised(input);
+            case FIRST_REGISTERED_ID:
+                final ClassCodec codec = getCodecsById().get((int) (id - FIRST_REGISTERED_ID));
+                if (null == codec) {
+                    throw new SerialisationException("Unable to deserialise object, no class is registered with id "
+                            + (id - FIRST_REGISTERED_ID));
+                }
+                return codec.read(input);
+            default:
+                throw new SerialisationException("Unable to deserialise object, unknown type id " + id);
+        }
+    }
+
+    private static void writeJavaSerialised(final Object object, final ByteArrayBuffer buffer)
+            throws SerialisationException {
+        // Reserve space for the length, which is only known once the object has been written.
+        final int lengthPosition = buffer.getLength();
+        buffer.ensureCapacity(4);
+        buffer.setLength(lengthPosition + 4);
+        try (final ObjectOutputStream out = new ObjectOutputStream(new BufferOutputStream(buffer))) {
+            out.writeObject(object);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise given object of class: " + object.getClass().getName()
+                    + ", does it implement the serializable interface?", e);
+        }
+        final int length = buffer.getLength() - lengthPosition - 4;
+        final byte[] bytes = buffer.getBytes();
+        for (int i = 0; i < 4; i++) {
+            bytes[lengthPosition + i] = (byte) (length >> (24 - 8 * i));
+        }
+    }
+
+    private static Object readJavaSerialised(final Input input) throws SerialisationException {
+        final int length = (int) input.readFixed(4);
+        input.checkAvailable(length);
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(input.bytes, input.position, length))) {
+            final Object object = in.readObject();
+            input.position += length;
+            return object;
+        } catch (final ClassNotFoundException | IOException e) {
+            throw new SerialisationException("Unable to deserialise object, failed to recreate object", e);
+        }
+    }
+
+    private static void writeBytes(final byte[] bytes, final ByteArrayBuffer buffer) {
+        writeVarLong(bytes.length, buffer);
+        buffer.append(bytes);
+    }
+
+    private static void writeFixed(final long value, final int numBytes, final ByteArrayBuffer buffer) {
+        for (int i = numBytes - 1; i >= 0; i--) {
+            buffer.append((byte) (value >>> (8 * i)));
+        }
+    }
+
+    private static void writeVarLong(final long value, final ByteArrayBuffer buffer) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            buffer.append((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        buffer.append((byte) remaining);
+    }
+
+    private static long zigZag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private Map<Class<?>, ClassCodec> getCodecsByClass() {
+        Map<Class<?>, ClassCodec> codecs = codecsByClass;
+        if (null == codecs) {
+            codecs = new HashMap<>();
+            for (final Map.Entry<Class<?>, Integer> entry : registeredIds.entrySet()) {
+                codecs.put(entry.getKey(), new ClassCodec(entry.getKey(), entry.getValue()));
+            }
+            codecsByClass = codecs;
+        }
+        return codecs;
+    }
+
+    private Map<Integer, ClassCodec> getCodecsById() {
+        Map<Integer, ClassCodec> codecs = codecsById;
+        if (null == codecs) {
+            codecs = new HashMap<>();
+            for (final ClassCodec codec : getCodecsByClass().values()) {
+                codecs.put(codec.id, codec);
+            }
+            codecsById = codecs;
+        }
+        return codecs;
+    }
+
+    /**
+     * Writes and reads the fields of a registered class by reflection. Primitive fields are written directly and
+     * all other fields are written as objects, with their own type ids.
+     */
+    private final class ClassCodec {
+        private final int id;
+        private final Constructor<?> constructor;
+        private final Field[] fields;
+
+        private ClassCodec(final Class<?> clazz, final int id) {
+            this.id = id;
+            try {
+                constructor = clazz.getDeclaredConstructor();
+            } catch (final NoSuchMethodException e) {
+                throw new IllegalArgumentException("Registered class " + clazz.getName()
+                        + " must have a no-argument constructor", e);
+            }
+            constructor.setAccessible(true);
+
+            final List<Field> fieldList = new ArrayList<>();
+            for (Class<?> current = clazz; null != current && !Object.class.equals(current); current = current.getSuperclass()) {
+                final List<Field> declaredFields = new ArrayList<>();
+                for (final Field field : current.getDeclaredFields()) {
+                    final int modifiers = field.getModifiers();
+                    if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+                        field.setAccessible(true);
+                        declaredFields.add(field);
+                    }
+                }
+                // Sort the fields by name so the order does not depend on the JVM.
+                Collections.sort(declaredFields, new Comparator<Field>() {
+                    @Override
+                    public int compare(final Field field1, final Field field2) {
+                        return field1.getName().compareTo(field2.getName());
+                    }
+                });
+                fieldList.addAll(0, declaredFields);
+            }
+            fields = fieldList.toArray(new Field[fieldList.size()]);
+        }
+
+        private void write(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+            try {
+                for (final Field field : fields) {
+                    final Class<?> type = field.getType();
+                    if (!type.isPrimitive()) {
+                        writeObject(field.get(object), buffer);
+                    } else if (int.class.equals(type)) {
+                        writeVarLong(zigZag(field.getInt(object)), buffer);
+                    } else if (long.class.equals(type)) {
+                        writeVarLong(zigZag(field.getLong(object)), buffer);
+                    } else if (boolean.class.equals(type)) {
+                        buffer.append(field.getBoolean(object) ? (byte) 1 : (byte) 0);
+                    } else if (double.class.equals(type)) {
+                        writeFixed(Double.doubleToRawLongBits(field.getDouble(object)), 8, buffer);
+                    } else if (float.class.equals(type)) {
+                        writeFixed(Float.floatToRawIntBits(field.getFloat(object)), 4, buffer);
+                    } else if (short.class.equals(type)) {
+                        writeVarLong(zigZag(field.getShort(object)), buffer);
+                    } else if (byte.class.equals(type)) {
+                        buffer.append(field.getByte(object));
+                    } else {
+                        writeVarLong(field.getChar(object), buffer);
+                    }
+                }
+            } catch (final IllegalAccessException e) {
+                throw new SerialisationException("Unable to serialise given object of class: "
+                        + object.getClass().getName(), e);
+            }
+        }
+
+        private Object read(final Input input) throws SerialisationException {
+            try {
+                final Object object = constructor.newInstance();
+                for (final Field field : fields) {
+                    final Class<?> type = field.getType();
+                    if (!type.isPrimitive()) {
+                        field.set(object, readObject(input));
+                    } else if (int.class.equals(type)) {
+                        field.setInt(object, (int) unZigZag(input.readVarLong()));
+                    } else if (long.class.equals(type)) {
+                        field.setLong(object, unZigZag(input.readVarLong()));
+                    } else if (boolean.class.equals(type)) {
+                        field.setBoolean(object, 0 != input.readByte());
+                    } else if (double.class.equals(type)) {
+                        field.setDouble(object, Double.longBitsToDouble(input.readFixed(8)));
+                    } else if (float.class.equals(type)) {
+                        field.setFloat(object, Float.intBitsToFloat((int) input.readFixed(4)));
+                    } else if (short.class.equals(type)) {
+                        field.setShort(object, (short) unZigZag(input.readVarLong()));
+                    } else if (byte.class.equals(type)) {
+                        field.setByte(object, input.readByte());
+                    } else {
+                        field.setChar(object, (char) input.readVarLong());
+                    }
+                }
+                return object;
+            } catch (final InstantiationException | IllegalAccessException | InvocationTargetException
+                    | IllegalArgumentException e) {
+                throw new SerialisationException("Unable to deserialise object of class: "
+                        + constructor.getDeclaringClass().getName(), e);
+            }
+        }
+    }
+
+    /**
+     * A cursor over the range of a byte array being deserialised.
+     */
+    private static final class Input {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private Input(final byte[] bytes, final int position, final int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        private void checkAvailable(final int length) throws SerialisationException {
+            if (length < 0 || length > end - position) {
+                throw new SerialisationException("Unable to deserialise object, expected " + length
+                        + " more bytes but only " + (end - position) + " remain");
+            }
+        }
+
+        private byte readByte() throws SerialisationException {
+            checkAvailable(1);
+            return bytes[position++];
+        }
+
+        private long readFixed(final int numBytes) throws SerialisationException {
+            checkAvailable(numBytes);
+            long value = 0;
+            for (int i = 0; i < numBytes; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        private long readVarLong() throws SerialisationException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new SerialisationException("Unable to deserialise object, malformed variable length number");
+        }
+
+        private int readLength() throws SerialisationException {
+            final long length = readVarLong();
+            if (length > Integer.MAX_VALUE) {
+                throw new SerialisationException("Unable to deserialise object, invalid length " + length);
+            }
+            checkAvailable((int) length);
+            return (int) length;
+        }
+
+        private byte[] readBytes() throws SerialisationException {
+            final int length = readLength();
+            final byte[] result = new byte[length];
+            System.arraycopy(bytes, position, result, 0, length);
+            position += length;
+            return result;
+        }
+    }
+
+    /**
+     * An {@link OutputStream} that appends to a {@link ByteArrayBuffer}.
+     */
+    private static final class BufferOutputStream extends OutputStream {
+        private final ByteArrayBuffer buffer;
+
+        private BufferOutputStream(final ByteArrayBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(final int b) {
+            buffer.append((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            buffer.append(bytes, offset, length);
+        }
+    }
+}
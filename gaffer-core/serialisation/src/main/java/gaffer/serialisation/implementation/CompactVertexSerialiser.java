@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.implementation;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>CompactVertexSerialiser</code> is the default serialiser for vertices. Vertices are written into every
+ * row key, range and bloom key, so it avoids the class descriptors that {@link JavaSerialiser} writes.
+ * <p>
+ * Each value is written as a one byte type tag followed by the value. Strings are written as UTF-8, Integers and
+ * Longs as fixed width big-endian values with the sign bit flipped, byte arrays as they are and Lists (composite
+ * vertices) as their items followed by an end marker. Strings and byte arrays inside a List are escaped and
+ * terminated so that each item can be found without a length prefix. With these encodings the serialised bytes of
+ * two values of the same type sort in the same order as the values, and a List sorts before any longer List that it
+ * is a prefix of. Any other {@link Serializable} vertex is written with standard Java serialisation after its tag,
+ * and its bytes do not sort in any useful order.
+ * <p>
+ * The values written are not compatible with {@link JavaSerialiser}. Data written with the
+ * {@link JavaSerialiser} as the vertex serialiser must either keep using it, by setting it explicitly in the store
+ * schema, or be migrated.
+ */
+public class CompactVertexSerialiser extends AbstractBufferSerialisation {
+    private static final long serialVersionUID = 4183052617725311268L;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final byte END = 0;
+    private static final byte NULL = 1;
+    private static final byte INTEGER = 2;
+    private static final byte LONG = 3;
+    private static final byte STRING = 4;
+    private static final byte BYTE_ARRAY = 5;
+    private static final byte LIST = 6;
+    private static final byte JAVA_SERIALISED = 127;
+
+    private static final byte ESCAPE = 0;
+    private static final byte ESCAPED_ZERO = (byte) 0xFF;
+    private static final byte TERMINATOR = 1;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Serializable.class.isAssignableFrom(clazz) || List.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        write(object, buffer, false);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final Input input = new Input(bytes, offset, offset + length);
+        final Object object = read(input, false);
+        if (input.position != input.end) {
+            throw new SerialisationException("Unable to deserialise vertex, " + (input.end - input.position)
+                    + " bytes were not read");
+        }
+        return object;
+    }
+
+    private static void write(final Object object, final ByteArrayBuffer buffer, final boolean nested)
+            throws SerialisationException {
+        if (null == object) {
+            buffer.append(NULL);
+        } else if (object instanceof String) {
+            buffer.append(STRING);
+            writeBytes(((String) object).getBytes(UTF_8), buffer, nested);
+        } else if (object instanceof Long) {
+            buffer.append(LONG);
+            writeFixed((Long) object ^ Long.MIN_VALUE, 8, buffer);
+        } else if (object instanceof Integer) {
+            buffer.append(INTEGER);
+            writeFixed((Integer) object ^ Integer.MIN_VALUE, 4, buffer);
+        } else if (object instanceof byte[]) {
+            buffer.append(BYTE_ARRAY);
+            writeBytes((byte[]) object, buffer, nested);
+        } else if (object instanceof List) {
+            buffer.append(LIST);
+            for (final Object item : (List<?>) object) {
+                write(item, buffer, true);
+            }
+            buffer.append(END);
+        } else {
+            buffer.append(JAVA_SERIALISED);
+            writeBytes(javaSerialise(object), buffer, nested);
+        }
+    }
+
+    private static Object read(final Input input, final boolean nested) throws SerialisationException {
+        final byte tag = input.readByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                final byte[] bytes = input.readBytes(nested);
+                return new String(bytes, UTF_8);
+            case LONG:
+                return input.readFixed(8) ^ Long.MIN_VALUE;
+            case INTEGER:
+                return (int) input.readFixed(4) ^ Integer.MIN_VALUE;
+            case BYTE_ARRAY:
+                return input.readBytes(nested);
+            case LIST:
+                final List<Object> list = new ArrayList<>();
+                while (END != input.peekByte()) {
+                    list.add(read(input, true));
+                }
+                input.position++;
+                return list;
+            case JAVA_SERIALISED:
+                return javaDeserialise(input.readBytes(nested));
+            default:
+                throw new SerialisationException("Unable to deserialise vertex, unknown type tag " + tag);
+        }
+    }
+
+    private static void writeBytes(final byte[] bytes, final ByteArrayBuffer buffer, final boolean nested) {
+        if (!nested) {
+            buffer.append(bytes);
+            return;
+        }
+
+        buffer.ensureCapacity(bytes.length + 2);
+        for (final byte b : bytes) {
+            buffer.append(b);
+            if (ESCAPE == b) {
+                buffer.append(ESCAPED_ZERO);
+            }
+        }
+        buffer.append(ESCAPE);
+        buffer.append(TERMINATOR);
+    }
+
+    private static void writeFixed(final long value, final int numBytes, final ByteArrayBuffer buffer) {
+        for (int i = numBytes - 1; i >= 0; i--) {
+            buffer.append((byte) (value >>> (8 * i)));
+        }
+    }
+
+    private static byte[] javaSerialise(final Object object) throws SerialisationException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        } catch (final IOException e) {
+            throw new SerialisationException("Unable to serialise given object of class: " + object.getClass().getName()
+                    + ", does it implement the serializable interface?", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object javaDeserialise(final byte[] bytes) throws SerialisationException {
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        } catch (final ClassNotFoundException | IOException e) {
+            throw new SerialisationException("Unable to deserialise vertex, failed to recreate object", e);
+        }
+    }
+
+    /**
+     * A position within a range of a byte array.
+     */
+    private static final class Input {
+        private final byte[] bytes;
+        private final int end;
+        private int position;
+
+        private Input(final byte[] bytes, final int position, final int end) {
+            this.bytes = bytes;
+            this.position = position;
+            this.end = end;
+        }
+
+        private byte peekByte() throws SerialisationException {
+            checkAvailable(1);
+            return bytes[position];
+        }
+
+        private byte readByte() throws SerialisationException {
+            checkAvailable(1);
+            return bytes[position++];
+        }
+
+        private long readFixed(final int numBytes) throws SerialisationException {
+            checkAvailable(numBytes);
+            long value = 0;
+            for (int i = 0; i < numBytes; i++) {
+                value = (value << 8) | (bytes[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        // Reads the rest of the input, or up to the terminator if the bytes are nested in a List.
+        private byte[] readBytes(final boolean nested) throws SerialisationException {
+            if (!nested) {
+                final byte[] result = new byte[end - position];
+                System.arraycopy(bytes, position, result, 0, result.length);
+                position = end;
+                return result;
+            }
+
+            final ByteArrayBuffer result = new ByteArrayBuffer();
+            while (true) {
+                final byte b = readByte();
+                if (ESCAPE != b) {
+                    result.append(b);
+                    continue;
+                }
+
+                final byte escaped = readByte();
+                if (ESCAPED_ZERO == escaped) {
+                    result.append(ESCAPE);
+                } else if (TERMINATOR == escaped) {
+                    return result.toByteArray();
+                } else {
+                    throw new SerialisationException("Unable to deserialise vertex, invalid escape sequence");
+                }
+            }
+        }
+
+        private void checkAvailable(final int numBytes) throws SerialisationException {
+            if (end - position < numBytes) {
+                throw new SerialisationException("Unable to deserialise vertex, unexpected end of bytes");
+            }
+        }
+    }
+}
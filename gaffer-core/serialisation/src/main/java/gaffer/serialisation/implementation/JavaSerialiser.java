@@ -17,7 +17,8 @@
 package gaffer.serialisation.implementation;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.io.ByteArrayInputStream;
@@ -32,11 +33,12 @@ import java.io.Serializable;
 /**
  * This class is used to serialise and deserialise objects in java.
  */
-public class JavaSerialiser implements Serialisation {
+public class JavaSerialiser extends AbstractBufferSerialisation {
     private static final long serialVersionUID = 2073581763875104361L;
     private static final Class<Serializable> SERIALISABLE = Serializable.class;
     private static final Logger LOGGER = LoggerFactory.getLogger(JavaSerialiser.class);
 
+    @Override
     public byte[] serialise(final Object object) throws SerialisationException {
         ObjectOutputStream out = null;
         ByteArrayOutputStream byteOut = null;
@@ -53,8 +55,14 @@ public class JavaSerialiser implements Serialisation {
         }
     }
 
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
-        try (final InputStream inputStream = new ByteArrayInputStream(bytes);
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.append(serialise(object));
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        try (final InputStream inputStream = new ByteArrayInputStream(bytes, offset, length);
              final ObjectInputStream is = new ObjectInputStream(inputStream)) {
             return is.readObject();
         } catch (ClassNotFoundException | IOException e) {
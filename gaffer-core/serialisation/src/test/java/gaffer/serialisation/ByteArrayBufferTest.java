@@ -0,0 +1,98 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ByteArrayBufferTest {
+
+    @Test
+    public void shouldAppendBytesAndGrowWhenFull() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(2);
+
+        // When
+        buffer.append((byte) 1).append(new byte[]{2, 3, 4}).append(new byte[]{5, 6, 7}, 1, 2);
+
+        // Then
+        assertEquals(6, buffer.getLength());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 6, 7}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldReuseBackingArrayAfterReset() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(4);
+        buffer.append(new byte[]{1, 2, 3});
+        final byte[] backingArray = buffer.getBytes();
+
+        // When
+        buffer.reset();
+        buffer.append(new byte[]{4, 5});
+
+        // Then
+        assertSame(backingArray, buffer.getBytes());
+        assertArrayEquals(new byte[]{4, 5}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldAllowWritingDirectlyIntoBackingArray() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(0);
+        buffer.append((byte) 1);
+
+        // When
+        buffer.ensureCapacity(2);
+        buffer.getBytes()[1] = 2;
+        buffer.getBytes()[2] = 3;
+        buffer.setLength(3);
+
+        // Then
+        assertArrayEquals(new byte[]{1, 2, 3}, buffer.toByteArray());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowLengthBeyondCapacity() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(2);
+
+        // When / Then
+        buffer.setLength(3);
+    }
+
+    @Test
+    public void shouldAppendStringAsIsoLatin1Bytes() throws Exception {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.append((byte) 1);
+        final String value = "-12.5e\u00E9\u20AC";
+
+        // When
+        buffer.appendIsoLatin1(value);
+
+        // Then
+        final byte[] expected = new byte[value.length() + 1];
+        expected[0] = 1;
+        System.arraycopy(value.getBytes("ISO-8859-1"), 0, expected, 1, value.length());
+        assertArrayEquals(expected, buffer.toByteArray());
+    }
+}
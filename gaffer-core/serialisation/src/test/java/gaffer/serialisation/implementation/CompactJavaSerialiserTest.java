@@ -0,0 +1,290 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.implementation;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.test.ParameterisedTestObject;
+import gaffer.serialisation.test.SimpleTestObject;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactJavaSerialiserTest {
+
+    private static final CompactJavaSerialiser SERIALISER = new TestObjectSerialiser();
+    private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseBuiltInTypes() throws SerialisationException {
+        // Given
+        final Object[] values = {null, true, false, (byte) -3, (short) -300, 0, Integer.MIN_VALUE, Integer.MAX_VALUE,
+                -1L, Long.MIN_VALUE, Long.MAX_VALUE, 1.5f, Float.NaN, -2.25d, Double.MAX_VALUE, 'x', "", "test é",
+                new Date(1234567890L)};
+
+        for (final Object value : values) {
+            // When
+            final Object result = SERIALISER.deserialise(SERIALISER.serialise(value));
+
+            // Then
+            assertEquals(value, result);
+            if (null != value) {
+                assertEquals(value.getClass(), result.getClass());
+            }
+        }
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseByteArray() throws SerialisationException {
+        // Given
+        final byte[] value = {0, 1, -1, 127};
+
+        // When
+        final Object result = SERIALISER.deserialise(SERIALISER.serialise(value));
+
+        // Then
+        assertArrayEquals(value, (byte[]) result);
+    }
+
+    @Test
+    public void shouldSerialiseBuiltInTypesMoreCompactlyThanJavaSerialiser() throws SerialisationException {
+        for (final Object value : Arrays.asList(5, 123456789L, "vertex", new Date())) {
+            // When
+            final int length = SERIALISER.serialise(value).length;
+
+            // Then
+            assertTrue(length < JAVA_SERIALISER.serialise(value).length);
+        }
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseRegisteredClass() throws SerialisationException {
+        // Given
+        final SimpleTestObject test = new SimpleTestObject();
+        test.setX("Test");
+
+        // When
+        final byte[] bytes = SERIALISER.serialise(test);
+        final SimpleTestObject result = SERIALISER.deserialise(bytes, SimpleTestObject.class);
+
+        // Then
+        assertEquals("Test", result.getX());
+        assertTrue(bytes.length < JAVA_SERIALISER.serialise(test).length / 4);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseRegisteredClassWithNestedFields() throws SerialisationException {
+        // Given
+        final SimpleTestObject nested = new SimpleTestObject();
+        nested.setX(null);
+        final ParameterisedTestObject<SimpleTestObject> test = new ParameterisedTestObject<>();
+        test.setX("Test");
+        test.setK(nested);
+
+        // When
+        final ParameterisedTestObject result = SERIALISER.deserialise(SERIALISER.serialise(test), ParameterisedTestObject.class);
+
+        // Then
+        assertEquals("Test", result.getX());
+        assertEquals(SimpleTestObject.class, result.getK().getClass());
+        assertNull(((SimpleTestObject) result.getK()).getX());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseRegisteredClassWithPrimitiveFields() throws SerialisationException {
+        // Given
+        final PrimitivesObject test = new PrimitivesObject(-7, Long.MIN_VALUE, true, 0.5d, -0.25f, (short) 12, (byte) -1, 'c');
+
+        // When
+        final PrimitivesObject result = (PrimitivesObject) SERIALISER.deserialise(SERIALISER.serialise(test));
+
+        // Then
+        assertEquals(test.toString(), result.toString());
+    }
+
+    @Test
+    public void shouldFallBackToJavaSerialisationForUnregisteredClasses() throws SerialisationException {
+        // Given
+        final List<Object> test = new ArrayList<>();
+        test.add("a");
+        test.add(1L);
+
+        // When
+        final Object result = SERIALISER.deserialise(SERIALISER.serialise(test));
+
+        // Then
+        assertEquals(ArrayList.class, result.getClass());
+        assertEquals(test, result);
+    }
+
+    @Test
+    public void shouldFallBackToJavaSerialisationForUnregisteredNestedFields() throws SerialisationException {
+        // Given
+        final ParameterisedTestObject<List<String>> test = new ParameterisedTestObject<>();
+        test.setK(new ArrayList<>(Arrays.asList("a", "b")));
+
+        // When
+        final ParameterisedTestObject result = SERIALISER.deserialise(SERIALISER.serialise(test), ParameterisedTestObject.class);
+
+        // Then
+        assertEquals(Arrays.asList("a", "b"), result.getK());
+        assertEquals("TEST", result.getX());
+    }
+
+    @Test
+    public void shouldHandleSameClassesAsJavaSerialiserAndRegisteredClasses() {
+        for (final Class<?> clazz : Arrays.<Class<?>>asList(String.class, Long.class, ArrayList.class, Object.class,
+                SimpleTestObject.class)) {
+            assertEquals(JAVA_SERIALISER.canHandle(clazz), SERIALISER.canHandle(clazz));
+        }
+        assertFalse(JAVA_SERIALISER.canHandle(PrimitivesObject.class));
+        assertTrue(SERIALISER.canHandle(PrimitivesObject.class));
+    }
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseFromRange() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.append((byte) 99);
+        SERIALISER.serialise("first", buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(2L, buffer);
+
+        // When
+        final Object first = SERIALISER.deserialise(buffer.getBytes(), 1, end - 1);
+        final Object second = SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end);
+
+        // Then
+        assertEquals("first", first);
+        assertEquals(2L, second);
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionWhenBytesAreTruncated() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise("test");
+
+        // When / Then
+        SERIALISER.deserialise(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionWhenClassIdIsNotRegistered() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(new PrimitivesObject());
+
+        // When / Then
+        new CompactJavaSerialiser().deserialise(bytes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRegisterSameIdTwice() {
+        new CompactJavaSerialiser() {
+            {
+                register(SimpleTestObject.class, 1);
+                register(PrimitivesObject.class, 1);
+            }
+        };
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotRegisterClassWithoutNoArgumentConstructor() {
+        new CompactJavaSerialiser() {
+            {
+                register(Integer[].class, 1);
+            }
+        };
+    }
+
+    @Test
+    public void shouldWorkAfterBeingJavaSerialised() throws IOException, ClassNotFoundException {
+        // Given
+        final ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(byteOut)) {
+            out.writeObject(SERIALISER);
+        }
+        final CompactJavaSerialiser copy;
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(byteOut.toByteArray()))) {
+            copy = (CompactJavaSerialiser) in.readObject();
+        }
+        final PrimitivesObject test = new PrimitivesObject(1, 2L, false, 3d, 4f, (short) 5, (byte) 6, '7');
+
+        // When
+        final Object result = copy.deserialise(SERIALISER.serialise(test));
+
+        // Then
+        assertEquals(test.toString(), result.toString());
+    }
+
+    public static class TestObjectSerialiser extends CompactJavaSerialiser {
+        private static final long serialVersionUID = 1L;
+
+        public TestObjectSerialiser() {
+            register(SimpleTestObject.class, 0);
+            register(ParameterisedTestObject.class, 1);
+            register(PrimitivesObject.class, 2);
+        }
+    }
+
+    public static final class PrimitivesObject {
+        private static int ignoredStatic = 100;
+        private transient int ignoredTransient = 200;
+        private int i;
+        private long l;
+        private boolean bool;
+        private double d;
+        private float f;
+        private short s;
+        private byte b;
+        private char c;
+
+        private PrimitivesObject() {
+        }
+
+        private PrimitivesObject(final int i, final long l, final boolean bool, final double d, final float f,
+                                 final short s, final byte b, final char c) {
+            this.i = i;
+            this.l = l;
+            this.bool = bool;
+            this.d = d;
+            this.f = f;
+            this.s = s;
+            this.b = b;
+            this.c = c;
+        }
+
+        @Override
+        public String toString() {
+            return i + "," + l + "," + bool + "," + d + "," + f + "," + s + "," + b + "," + c;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.implementation;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.test.SimpleTestObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompactVertexSerialiserTest {
+
+    private static final CompactVertexSerialiser SERIALISER = new CompactVertexSerialiser();
+    private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseVertexTypes() throws SerialisationException {
+        // Given
+        final Object[] values = {null, "", "vertex é", 0, Integer.MIN_VALUE, Integer.MAX_VALUE, -1L, Long.MIN_VALUE,
+                Long.MAX_VALUE, Arrays.asList("a", 1, 2L), Collections.emptyList(),
+                Arrays.asList("a\u0000b", null, Arrays.asList("nested", "\u0000"), "")};
+
+        for (final Object value : values) {
+            // When
+            final Object result = SERIALISER.deserialise(SERIALISER.serialise(value));
+
+            // Then
+            assertEquals(value, result);
+            if (null != value && !(value instanceof List)) {
+                assertEquals(value.getClass(), result.getClass());
+            }
+        }
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseByteArrays() throws SerialisationException {
+        // Given
+        final byte[] value = {0, 1, -1, 0, 0};
+
+        // When
+        final Object result = SERIALISER.deserialise(SERIALISER.serialise(value));
+        final List<?> nestedResult = (List<?>) SERIALISER.deserialise(SERIALISER.serialise(
+                Arrays.<Object>asList(value, value)));
+
+        // Then
+        assertArrayEquals(value, (byte[]) result);
+        assertArrayEquals(value, (byte[]) nestedResult.get(0));
+        assertArrayEquals(value, (byte[]) nestedResult.get(1));
+    }
+
+    @Test
+    public void shouldFallBackToJavaSerialisationForOtherTypes() throws SerialisationException {
+        // Given
+        final SimpleTestObject test = new SimpleTestObject();
+        test.setX("Test");
+
+        // When
+        final SimpleTestObject result = (SimpleTestObject) SERIALISER.deserialise(SERIALISER.serialise(test));
+        final List<?> nestedResult = (List<?>) SERIALISER.deserialise(SERIALISER.serialise(Arrays.asList(test, 1)));
+
+        // Then
+        assertEquals("Test", result.getX());
+        assertEquals("Test", ((SimpleTestObject) nestedResult.get(0)).getX());
+        assertEquals(1, nestedResult.get(1));
+    }
+
+    @Test
+    public void shouldSerialiseVertexTypesMoreCompactlyThanJavaSerialiser() throws SerialisationException {
+        for (final Object value : Arrays.asList(5, 123456789L, "vertex", new ArrayList<>(Arrays.asList("a", 1L)))) {
+            // When
+            final int length = SERIALISER.serialise(value).length;
+
+            // Then
+            assertTrue(length < JAVA_SERIALISER.serialise(value).length);
+        }
+    }
+
+    @Test
+    public void shouldPreserveOrderOfValuesOfTheSameType() throws SerialisationException {
+        assertOrdered(Integer.MIN_VALUE, -256, -1, 0, 1, 255, 256, Integer.MAX_VALUE);
+        assertOrdered(Long.MIN_VALUE, -1L, 0L, 1L, 1L << 40, Long.MAX_VALUE);
+        assertOrdered("", "a", "a\u0000", "a\u0001", "ab", "b", "é");
+        assertOrdered(Collections.emptyList(), Arrays.asList("a"), Arrays.asList("a", 1), Arrays.asList("a", 2),
+                Arrays.asList("a\u0000"), Arrays.asList("a\u0000", 0), Arrays.asList("ab"), Arrays.asList("b"));
+    }
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseFromRange() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.append((byte) 99);
+        SERIALISER.serialise("first", buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(2L, buffer);
+
+        // When
+        final Object first = SERIALISER.deserialise(buffer.getBytes(), 1, end - 1);
+        final Object second = SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end);
+
+        // Then
+        assertEquals("first", first);
+        assertEquals(2L, second);
+    }
+
+    @Test
+    public void shouldSerialiseNullAsSingleByte() throws SerialisationException {
+        // When
+        final byte[] bytes = SERIALISER.serialise(null);
+
+        // Then
+        assertEquals(1, bytes.length);
+        assertNull(SERIALISER.deserialise(bytes));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionWhenBytesAreTruncated() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(12L);
+
+        // When / Then
+        SERIALISER.deserialise(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionWhenListIsNotTerminated() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(Arrays.asList("a", "b"));
+
+        // When / Then
+        SERIALISER.deserialise(Arrays.copyOf(bytes, bytes.length - 2));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionForUnknownTypeTag() throws SerialisationException {
+        SERIALISER.deserialise(new byte[]{50, 1, 2});
+    }
+
+    private static void assertOrdered(final Object... values) throws SerialisationException {
+        for (int i = 1; i < values.length; i++) {
+            final byte[] previous = SERIALISER.serialise(values[i - 1]);
+            final byte[] current = SERIALISER.serialise(values[i]);
+            assertTrue(values[i - 1] + " should sort before " + values[i], compareUnsigned(previous, current) < 0);
+        }
+    }
+
+    private static int compareUnsigned(final byte[] first, final byte[] second) {
+        for (int i = 0; i < Math.min(first.length, second.length); i++) {
+            final int diff = (first[i] & 0xFF) - (second[i] & 0xFF);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return first.length - second.length;
+    }
+}
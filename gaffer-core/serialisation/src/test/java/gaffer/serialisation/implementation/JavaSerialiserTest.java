@@ -21,6 +21,8 @@ import gaffer.serialisation.test.ParameterisedTestObject;
 import gaffer.serialisation.test.SimpleTestObject;
 import org.junit.Test;
 
+import java.nio.ByteBuffer;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -109,4 +111,33 @@ public class JavaSerialiserTest {
         final Integer o = SERIALISER.deserialise(b, Integer.class);
     }
 
+
+    @Test
+    public void shouldDeserialiseFromRangeOfLargerArray() throws SerialisationException {
+        // Given
+        final byte[] serialised = SERIALISER.serialise("Test");
+        final byte[] bytes = new byte[serialised.length + 4];
+        System.arraycopy(serialised, 0, bytes, 2, serialised.length);
+
+        // When
+        final Object o = SERIALISER.deserialise(bytes, 2, serialised.length);
+
+        // Then
+        assertEquals("Test", o);
+    }
+
+    @Test
+    public void shouldDeserialiseFromByteBuffer() throws SerialisationException {
+        // Given
+        final byte[] serialised = SERIALISER.serialise(2);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(serialised.length);
+        buffer.put(serialised).flip();
+
+        // When
+        final Object o = SERIALISER.deserialise(buffer);
+
+        // Then
+        assertEquals(2, o);
+        assertEquals(0, buffer.remaining());
+    }
 }
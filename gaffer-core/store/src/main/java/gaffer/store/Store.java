@@ -42,6 +42,7 @@ import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.JavaSerialiser;
 import gaffer.store.operation.handler.GenerateElementsHandler;
 import gaffer.store.operation.handler.GenerateObjectsHandler;
 import gaffer.store.operation.handler.OperationHandler;
@@ -269,6 +270,10 @@ public abstract class Store {
             throw new SchemaException("ERROR: Store schema property serialiser cannot handle a property in the data schema");
         }
 
+        if (getStoreSchema().getVertexSerialiser() instanceof JavaSerialiser) {
+            LOGGER.warn("the store schema serialises vertices with the JavaSerialiser, which is the default if no vertexSerialiserClass is set. "
+                    + "It is slow and produces large keys: consider migrating the data to the CompactVertexSerialiser and setting it explicitly.");
+        }
     }
 
     protected boolean validateTwoSetsContainSameElements(final Set<String> firstSet, final Set<String> secondSet, final String type) {
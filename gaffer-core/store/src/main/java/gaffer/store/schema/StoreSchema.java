@@ -45,7 +45,9 @@ public class StoreSchema extends ElementDefinitions<StoreElementDefinition, Stor
 
     /**
      * The {@link gaffer.serialisation.Serialisation} for all identifiers. By default it is set to
-     * {@link gaffer.serialisation.implementation.JavaSerialiser}.
+     * {@link gaffer.serialisation.implementation.JavaSerialiser}. The
+     * {@link gaffer.serialisation.implementation.CompactVertexSerialiser} produces smaller keys faster, but is
+     * opt in as it cannot read data written with the default, which has to be migrated first.
      */
     private Serialisation vertexSerialiser = DEFAULT_VERTEX_SERIALISER;
 
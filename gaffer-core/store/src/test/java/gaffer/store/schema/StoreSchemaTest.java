@@ -21,6 +21,7 @@ import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
 import gaffer.data.element.IdentifierType;
 import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.implementation.CompactVertexSerialiser;
 import gaffer.serialisation.implementation.JavaSerialiser;
 import org.junit.Assert;
 import org.junit.Test;
@@ -32,6 +33,7 @@ import java.util.Map;
 
 import static junit.framework.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 
@@ -245,4 +247,19 @@ public class StoreSchemaTest {
 
         assertSame(vertexSerialiser, schema.getVertexSerialiser());
     }
+
+    @Test
+    public void shouldDefaultToJavaVertexSerialiserAndOnlyUseCompactVertexSerialiserWhenSet() {
+        // When
+        final StoreSchema defaultSchema = new StoreSchema.Builder().build();
+        final StoreSchema compactSchema = new StoreSchema.Builder()
+                .vertexSerialiser(CompactVertexSerialiser.class.getName())
+                .build();
+
+        // Then
+        assertEquals(JavaSerialiser.class, defaultSchema.getVertexSerialiser().getClass());
+        assertNull(defaultSchema.getVertexSerialiserClass());
+        assertEquals(CompactVertexSerialiser.class, compactSchema.getVertexSerialiser().getClass());
+        assertEquals(CompactVertexSerialiser.class.getName(), compactSchema.getVertexSerialiserClass());
+    }
 }
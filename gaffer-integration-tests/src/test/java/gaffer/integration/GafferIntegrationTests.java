@@ -85,7 +85,8 @@ public abstract class GafferIntegrationTests {
         return Arrays.asList(
                 new Object[][]{
                         {"AccumuloStore", "/accumulo.properties"},
-                        {"ArrayListStore", "/arraylist.properties"}
+                        {"ArrayListStore", "/arraylist.properties"},
+                        {"InMemoryStore", "/inmemory.properties"}
                 }
         );
     }
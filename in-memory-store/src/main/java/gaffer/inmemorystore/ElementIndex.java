@@ -0,0 +1,234 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.inmemorystore;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementAggregator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An <code>ElementIndex</code> holds {@link Element}s in memory, indexed by vertex and by group.
+ * <p>
+ * {@link Entity}s are indexed by their vertex and {@link Edge}s are indexed by both their source and destination, so
+ * the elements related to a vertex can be found without scanning every element. Elements that have the same group,
+ * identifiers and group by property values can optionally be aggregated together as they are added.
+ * <p>
+ * The index is guarded by a read write lock, so elements can be added whilst other threads look elements up. The
+ * lists returned are snapshots holding copies of the indexed elements, taken whilst no element is being added, so
+ * they can be iterated and changed without seeing or affecting later additions or aggregations.
+ */
+public class ElementIndex {
+    private final Map<Object, List<Entity>> entitiesByVertex = new HashMap<>();
+    private final Map<Object, List<Edge>> edgesByVertex = new HashMap<>();
+    private final Map<String, List<Element>> elementsByGroup = new HashMap<>();
+
+    /**
+     * The elements that have been added with an aggregator, keyed by their group, identifiers and group by
+     * property values.
+     */
+    private final Map<AggregationKey, Element> aggregatedElements = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Adds an element to the index, aggregating it with any element that has the same group and identifiers.
+     *
+     * @param element    the element to add
+     * @param aggregator the aggregator to use, or null if elements of this group should not be aggregated
+     * @see #addElement(Element, ElementAggregator, Collection)
+     */
+    public void addElement(final Element element, final ElementAggregator aggregator) {
+        addElement(element, aggregator, Collections.<String>emptySet());
+    }
+
+    /**
+     * Adds an element to the index. If an aggregator is provided and an element with the same group, identifiers
+     * and group by property values has already been added then the properties of the new element are aggregated
+     * into the existing element, otherwise the element is added to the index. The group by properties are never
+     * aggregated.
+     *
+     * @param element    the element to add
+     * @param aggregator the aggregator to use, or null if elements of this group should not be aggregated
+     * @param groupBy    the names of the properties that must also be equal for elements to be aggregated
+     */
+    public void addElement(final Element element, final ElementAggregator aggregator, final Collection<String> groupBy) {
+        lock.writeLock().lock();
+        try {
+            addElementWithLock(element, aggregator, groupBy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "If an element is not an Entity it must be an Edge")
+    private void addElementWithLock(final Element element, final ElementAggregator aggregator,
+                                    final Collection<String> groupBy) {
+        if (null != aggregator) {
+            final AggregationKey key = new AggregationKey(element, groupBy);
+            final Element existingElement = aggregatedElements.get(key);
+            if (null != existingElement) {
+                aggregator.initFunctions();
+                aggregator.aggregate(existingElement);
+                aggregator.aggregate(element);
+                aggregator.state(existingElement);
+                for (final String propertyName : groupBy) {
+                    existingElement.putProperty(propertyName, element.getProperty(propertyName));
+                }
+                return;
+            }
+            aggregatedElements.put(key, element);
+        }
+
+        if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            getOrCreate(entitiesByVertex, entity.getVertex()).add(entity);
+        } else {
+            // Assume it is an Edge
+            final Edge edge = (Edge) element;
+            getOrCreate(edgesByVertex, edge.getSource()).add(edge);
+            if (!isSelfEdge(edge)) {
+                getOrCreate(edgesByVertex, edge.getDestination()).add(edge);
+            }
+        }
+        getOrCreate(elementsByGroup, element.getGroup()).add(element);
+    }
+
+    /**
+     * @param vertex the vertex to look up
+     * @return copies of the entities with the given vertex, or an empty list if there are none
+     */
+    public List<Entity> getEntities(final Object vertex) {
+        return getCopies(entitiesByVertex, vertex);
+    }
+
+    /**
+     * @param vertex the vertex to look up
+     * @return copies of the edges with the given vertex as their source or destination, or an empty list if there
+     * are none. A self edge is only returned once.
+     */
+    public List<Edge> getEdges(final Object vertex) {
+        return getCopies(edgesByVertex, vertex);
+    }
+
+    /**
+     * @param group the group to look up
+     * @return copies of the elements in the given group, or an empty list if there are none
+     */
+    public List<Element> getElements(final String group) {
+        return getCopies(elementsByGroup, group);
+    }
+
+    /**
+     * @return a snapshot of the groups of all the elements in the index
+     */
+    public Set<String> getGroups() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(elementsByGroup.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static boolean isSelfEdge(final Edge edge) {
+        return null == edge.getSource() ? null == edge.getDestination() : edge.getSource().equals(edge.getDestination());
+    }
+
+    /**
+     * Creates a copy of an element with the same identifiers and properties, so that the original element cannot be
+     * changed through it.
+     *
+     * @param element the element to copy
+     * @param <T>     the type of element
+     * @return the copy
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Element> T copy(final T element) {
+        final T copy = (T) element.emptyClone();
+        copy.copyProperties(element.getProperties());
+        return copy;
+    }
+
+    private static <K, V> List<V> getOrCreate(final Map<K, List<V>> map, final K key) {
+        List<V> values = map.get(key);
+        if (null == values) {
+            values = new ArrayList<>();
+            map.put(key, values);
+        }
+
+        return values;
+    }
+
+    private <K, V extends Element> List<V> getCopies(final Map<K, List<V>> map, final K key) {
+        lock.readLock().lock();
+        try {
+            final List<V> values = map.get(key);
+            if (null == values) {
+                return Collections.emptyList();
+            }
+
+            final List<V> copies = new ArrayList<>(values.size());
+            for (final V value : values) {
+                copies.add(copy(value));
+            }
+            return copies;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The group and identifiers of an element, as compared by {@link Element#equals(Object)}, together with the
+     * values of its group by properties.
+     */
+    private static final class AggregationKey {
+        private final Element element;
+        private final List<Object> groupByValues;
+
+        private AggregationKey(final Element element, final Collection<String> groupBy) {
+            this.element = element;
+            groupByValues = new ArrayList<>(groupBy.size());
+            for (final String propertyName : groupBy) {
+                groupByValues.add(element.getProperty(propertyName));
+            }
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof AggregationKey
+                    && element.equals(((AggregationKey) obj).element)
+                    && groupByValues.equals(((AggregationKey) obj).groupByValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * element.hashCode() + groupByValues.hashCode();
+        }
+    }
+}
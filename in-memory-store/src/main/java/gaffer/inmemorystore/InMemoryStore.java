@@ -0,0 +1,164 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.inmemorystore;
+
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import gaffer.inmemorystore.operation.handler.AddElementsHandler;
+import gaffer.inmemorystore.operation.handler.GetAdjacentEntitySeedsHandler;
+import gaffer.inmemorystore.operation.handler.GetElementsHandler;
+import gaffer.operation.Operation;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Store;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.store.schema.StoreElementDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static gaffer.store.StoreTrait.AGGREGATION;
+import static gaffer.store.StoreTrait.FILTERING;
+import static gaffer.store.StoreTrait.VALIDATION;
+
+/**
+ * A simple in memory implementation of {@link Store} that indexes its elements.
+ * <p>
+ * The elements are held in an {@link ElementIndex}, which indexes {@link gaffer.data.element.Entity}s by vertex,
+ * {@link gaffer.data.element.Edge}s by source and destination, and all elements by group, so look ups only touch
+ * the elements related to the seeds. Elements are aggregated as they are added, using the aggregators defined in the
+ * {@link gaffer.data.elementdefinition.schema.DataSchema}, when they have the same group, identifiers and values of
+ * the properties that the {@link gaffer.store.schema.StoreSchema} puts in the COLUMN_QUALIFIER or VISIBILITY
+ * positions. This matches the elements that the Accumulo store keeps separate. Copies of the stored elements are
+ * returned, so they can be changed without changing the store, and elements can be added by one thread whilst
+ * the results of a get are being iterated by another.
+ */
+public class InMemoryStore extends Store {
+    private static final List<StoreTrait> TRAITS = Arrays.asList(AGGREGATION, FILTERING, VALIDATION);
+    private static final Set<String> GROUP_BY_POSITIONS = new HashSet<>(Arrays.asList("COLUMN_QUALIFIER", "VISIBILITY"));
+    private final ElementIndex index = new ElementIndex();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private final Map<String, List<String>> groupBys = new HashMap<>();
+
+    @Override
+    protected Collection<StoreTrait> getTraits() {
+        return TRAITS;
+    }
+
+    @Override
+    protected boolean isValidationRequired() {
+        return false;
+    }
+
+    @Override
+    protected OperationHandler<GetElements<ElementSeed, Element>, Iterable<Element>> getGetElementsHandler() {
+        return new GetElementsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends GetAdjacentEntitySeeds, Iterable<EntitySeed>> getAdjacentEntitySeedsHandler() {
+        return new GetAdjacentEntitySeedsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends AddElements, Void> getAddElementsHandler() {
+        return new AddElementsHandler();
+    }
+
+    /**
+     * This store does not support any other optional operations.
+     */
+    @Override
+    protected void addAdditionalOperationHandlers() {
+        // no additional operations supported
+    }
+
+    @Override
+    protected <OUTPUT> OUTPUT doUnhandledOperation(final Operation<?, OUTPUT> operation) {
+        throw new UnsupportedOperationException("I do not know how to handle: " + operation.getClass().getSimpleName());
+    }
+
+    public ElementIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Adds elements to the index. Calls are synchronised so the cached aggregators are only used by one thread at a
+     * time; elements can still be looked up whilst they are being added.
+     *
+     * @param elements the elements to add
+     */
+    public synchronized void addElements(final Iterable<Element> elements) {
+        for (final Element element : elements) {
+            index.addElement(element, getAggregator(element.getGroup()), getGroupBy(element.getGroup()));
+        }
+    }
+
+    /**
+     * Gets the aggregator for a group. The aggregator is cached and reused for every element in the group.
+     *
+     * @param group the group of the elements to aggregate
+     * @return the aggregator, or null if the group has no aggregate functions.
+     */
+    private ElementAggregator getAggregator(final String group) {
+        if (!aggregators.containsKey(group)) {
+            final DataElementDefinition elementDef = getDataSchema().getElement(group);
+            ElementAggregator aggregator = null != elementDef ? elementDef.getAggregator() : null;
+            if (null != aggregator && (null == aggregator.getFunctions() || aggregator.getFunctions().isEmpty())) {
+                aggregator = null;
+            }
+            aggregators.put(group, aggregator);
+        }
+
+        return aggregators.get(group);
+    }
+
+    /**
+     * Gets the names of the properties of a group that are stored in the COLUMN_QUALIFIER or VISIBILITY positions.
+     *
+     * @param group the group of the elements to aggregate
+     * @return the group by property names
+     */
+    private List<String> getGroupBy(final String group) {
+        List<String> groupBy = groupBys.get(group);
+        if (null == groupBy) {
+            groupBy = new ArrayList<>();
+            final StoreElementDefinition elementDef = getStoreSchema().getElement(group);
+            if (null != elementDef) {
+                for (final String propertyName : elementDef.getProperties()) {
+                    if (GROUP_BY_POSITIONS.contains(elementDef.getProperty(propertyName).getPosition())) {
+                        groupBy.add(propertyName);
+                    }
+                }
+            }
+            groupBys.put(group, groupBy);
+        }
+
+        return groupBy;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.inmemorystore.operation.handler;
+
+import gaffer.data.TransformOneToManyIterable;
+import gaffer.data.Validator;
+import gaffer.data.element.Edge;
+import gaffer.inmemorystore.ElementIndex;
+import gaffer.inmemorystore.InMemoryStore;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.INCOMING;
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.OUTGOING;
+
+/**
+ * Gets the vertices at the other end of the edges connected to the seeds, by looking up the seed vertices in the
+ * {@link ElementIndex}.
+ */
+public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, Iterable<EntitySeed>> {
+    @Override
+    public Iterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final Store store) throws OperationException {
+        return doOperation(operation, ((InMemoryStore) store).getIndex());
+    }
+
+    /**
+     * Returns a lazy {@link Iterable} of the adjacent entity seeds. The seed vertices are only looked up in the index
+     * as the results are iterated over, so consumers that stop early do not cause every seed to be looked up.
+     *
+     * @param operation the operation
+     * @param index     the index to look up the seeds in
+     * @return the adjacent entity seeds
+     */
+    private static Iterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ElementIndex index) {
+        final Set<Object> seedVertices = new LinkedHashSet<>();
+        if (null != operation.getSeeds()) {
+            for (final EntitySeed seed : operation.getSeeds()) {
+                seedVertices.add(seed.getVertex());
+            }
+        }
+
+        return new TransformOneToManyIterable<Object, EntitySeed>(seedVertices) {
+            @Override
+            protected Iterable<EntitySeed> transform(final Object vertex) {
+                return new TransformOneToManyIterable<Edge, EntitySeed>(index.getEdges(vertex), new Validator<Edge>() {
+                    @Override
+                    public boolean validate(final Edge edge) {
+                        // An edge is found from both its source and destination, so only
+                        // use it when it is found from the first of these that is a seed.
+                        final Object foundFrom = seedVertices.contains(edge.getSource()) ? edge.getSource() : edge.getDestination();
+                        return isEqual(vertex, foundFrom) && operation.validateFlags(edge);
+                    }
+                }, true) {
+                    @Override
+                    protected Iterable<EntitySeed> transform(final Edge edge) {
+                        return getOtherEndsOfSeededEdge(edge, operation, seedVertices);
+                    }
+                };
+            }
+        };
+    }
+
+    private static Iterable<EntitySeed> getOtherEndsOfSeededEdge(final Edge edge,
+                                                                 final GetAdjacentEntitySeeds operation,
+                                                                 final Set<Object> seedVertices) {
+        final EntitySeed[] tuple = new EntitySeed[2];
+        extractOtherEndOfSeededEdge(edge, operation, seedVertices, tuple);
+        if ((null == tuple[0] && null == tuple[1]) || !operation.validateFilter(edge)) {
+            return null;
+        }
+        if (null == tuple[0]) {
+            return Collections.singletonList(tuple[1]);
+        }
+        if (null == tuple[1]) {
+            return Collections.singletonList(tuple[0]);
+        }
+        return Arrays.asList(tuple);
+    }
+
+    /**
+     * Extracts the vertex at other end of a seeded edge
+     *
+     * @param edge           the edge to extract the vertex at other end of
+     * @param operation      the operation
+     * @param seedVertices   the vertices of the seeds
+     * @param tuple          the array to populate with the seeds at the other ends of the edge
+     */
+    private static void extractOtherEndOfSeededEdge(final Edge edge,
+                                                    final GetAdjacentEntitySeeds operation,
+                                                    final Set<Object> seedVertices,
+                                                    final EntitySeed[] tuple) {
+        tuple[0] = null;
+        tuple[1] = null;
+        final boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
+        final boolean matchDestination = !edge.isDirected() || !OUTGOING.equals(operation.getIncludeIncomingOutGoing());
+
+        if (matchSource && seedVertices.contains(edge.getSource())) {
+            tuple[1] = new EntitySeed(edge.getDestination());
+        }
+
+        if (matchDestination && seedVertices.contains(edge.getDestination())) {
+            tuple[0] = new EntitySeed(edge.getSource());
+        }
+
+        // Don't return duplicate results
+        if (tuple[0] != null && tuple[1] != null && tuple[0].equals(tuple[1])) {
+            tuple[1] = null;
+        }
+    }
+
+    private static boolean isEqual(final Object vertex, final Object otherVertex) {
+        return null == vertex ? null == otherVertex : vertex.equals(otherVertex);
+    }
+}
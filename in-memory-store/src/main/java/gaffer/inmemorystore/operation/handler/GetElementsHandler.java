@@ -0,0 +1,233 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.inmemorystore.operation.handler;
+
+import com.google.common.collect.Iterables;
+import gaffer.data.TransformIterable;
+import gaffer.data.TransformOneToManyIterable;
+import gaffer.data.Validator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.inmemorystore.ElementIndex;
+import gaffer.inmemorystore.InMemoryStore;
+import gaffer.operation.GetOperation.SeedMatchingType;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.ElementSeed.Matches;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static gaffer.operation.GetOperation.IncludeEdgeType;
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+
+/**
+ * Gets the elements related to or equal to the seeds by looking up the seeds in the {@link ElementIndex}, so only
+ * the elements that share a vertex with a seed are checked. The index returns copies of the elements for each
+ * vertex as it is looked up, so the results can be iterated whilst elements are being added.
+ */
+public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, Iterable<Element>> {
+    @Override
+    public Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final Store store) {
+        return doOperation(operation, ((InMemoryStore) store).getIndex());
+    }
+
+    /**
+     * Returns a lazy {@link Iterable} of the matching elements. The seeds are looked up in the index and the flags,
+     * filters and seed matching are only checked as the results are iterated over, so consumers that stop early do
+     * not cause every seed to be looked up.
+     *
+     * @param operation the operation
+     * @param index     the index to look up the seeds in
+     * @return the matching elements
+     */
+    private static Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ElementIndex index) {
+        final SeedSet seeds = new SeedSet(operation.getSeeds());
+        final boolean equalMatching = SeedMatchingType.EQUAL == operation.getSeedMatching();
+
+        final Iterable<Element> entities;
+        if (operation.isIncludeEntities()) {
+            entities = new TransformOneToManyIterable<Object, Element>(equalMatching ? seeds.entityVertices : seeds.getAllVertices()) {
+                @Override
+                protected Iterable<Element> transform(final Object vertex) {
+                    return new TransformIterable<Entity, Element>(index.getEntities(vertex), new Validator<Entity>() {
+                        @Override
+                        public boolean validate(final Entity entity) {
+                            return operation.validateFlags(entity) && operation.validateFilter(entity);
+                        }
+                    }, true) {
+                        @Override
+                        protected Element transform(final Entity entity) {
+                            return entity;
+                        }
+                    };
+                }
+            };
+        } else {
+            entities = Collections.emptyList();
+        }
+
+        final Iterable<Element> edges;
+        if (IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
+            edges = Collections.emptyList();
+        } else if (equalMatching) {
+            edges = new TransformOneToManyIterable<EdgeSeed, Element>(seeds.edgeSeeds) {
+                @Override
+                protected Iterable<Element> transform(final EdgeSeed edgeSeed) {
+                    if (!isDirectionIncluded(edgeSeed.isDirected(), operation.getIncludeEdges())) {
+                        return null;
+                    }
+                    return new TransformIterable<Edge, Element>(index.getEdges(edgeSeed.getSource()), new Validator<Edge>() {
+                        @Override
+                        public boolean validate(final Edge edge) {
+                            return edgeSeed.equals(ElementSeed.createSeed(edge))
+                                    && operation.validateFlags(edge) && operation.validateFilter(edge);
+                        }
+                    }, true) {
+                        @Override
+                        protected Element transform(final Edge edge) {
+                            return edge;
+                        }
+                    };
+                }
+            };
+        } else {
+            final Set<Object> vertices = seeds.getEdgeLookupVertices();
+            edges = new TransformOneToManyIterable<Object, Element>(vertices) {
+                @Override
+                protected Iterable<Element> transform(final Object vertex) {
+                    return new TransformIterable<Edge, Element>(index.getEdges(vertex), new Validator<Edge>() {
+                        @Override
+                        public boolean validate(final Edge edge) {
+                            // An edge is found from both its source and destination, so only
+                            // include it when it is found from the first of these that is looked up.
+                            final boolean foundFromSource = vertices.contains(edge.getSource());
+                            return isEqual(vertex, foundFromSource ? edge.getSource() : edge.getDestination())
+                                    && operation.validateFlags(edge) && operation.validateFilter(edge)
+                                    && isSeedRelated(operation, edge, seeds.getMatches(edge));
+                        }
+                    }, true) {
+                        @Override
+                        protected Element transform(final Edge edge) {
+                            return edge;
+                        }
+                    };
+                }
+            };
+        }
+
+        return Iterables.concat(entities, edges);
+    }
+
+    private static boolean isEqual(final Object vertex, final Object otherVertex) {
+        return null == vertex ? null == otherVertex : vertex.equals(otherVertex);
+    }
+
+    private static boolean isDirectionIncluded(final boolean directed, final IncludeEdgeType includeEdgeType) {
+        return !(IncludeEdgeType.DIRECTED == includeEdgeType && !directed)
+                && !(IncludeEdgeType.UNDIRECTED == includeEdgeType && directed);
+    }
+
+    private static boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge,
+                                         final Matches seedMatches) {
+        if (!seedMatches.isMatch() || !isDirectionIncluded(edge.isDirected(), operation.getIncludeEdges())) {
+            return false;
+        }
+
+        final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
+        if (!edge.isDirected() || IncludeIncomingOutgoingType.BOTH == inOutType) {
+            return true;
+        }
+        if (IncludeIncomingOutgoingType.INCOMING == inOutType) {
+            return seedMatches.isDestination();
+        }
+        if (IncludeIncomingOutgoingType.OUTGOING == inOutType) {
+            return seedMatches.isSource();
+        }
+        return false;
+    }
+
+    /**
+     * The seeds of an operation, split into the distinct entity seed vertices and the distinct edge seeds.
+     */
+    private static final class SeedSet {
+        private final Set<Object> entityVertices = new LinkedHashSet<>();
+        private final Set<EdgeSeed> edgeSeeds = new LinkedHashSet<>();
+
+        private SeedSet(final Iterable<ElementSeed> seeds) {
+            if (null != seeds) {
+                for (final ElementSeed seed : seeds) {
+                    if (seed instanceof EntitySeed) {
+                        entityVertices.add(((EntitySeed) seed).getVertex());
+                    } else {
+                        edgeSeeds.add((EdgeSeed) seed);
+                    }
+                }
+            }
+        }
+
+        /**
+         * @return the entity seed vertices and the sources and destinations of the edge seeds
+         */
+        private Set<Object> getAllVertices() {
+            final Set<Object> vertices = new LinkedHashSet<>(entityVertices);
+            for (final EdgeSeed edgeSeed : edgeSeeds) {
+                vertices.add(edgeSeed.getSource());
+                vertices.add(edgeSeed.getDestination());
+            }
+            return vertices;
+        }
+
+        /**
+         * @return the vertices that edges related to the seeds can be found from - the entity seed vertices and the
+         * sources of the edge seeds.
+         */
+        private Set<Object> getEdgeLookupVertices() {
+            final Set<Object> vertices = new LinkedHashSet<>(entityVertices);
+            for (final EdgeSeed edgeSeed : edgeSeeds) {
+                vertices.add(edgeSeed.getSource());
+            }
+            return vertices;
+        }
+
+        /**
+         * Works out how an edge is related to the seeds, in the same way as
+         * {@link ElementSeed#isRelated(ElementSeed)} combined over all the seeds.
+         *
+         * @param edge the edge
+         * @return how the edge is related to the seeds
+         */
+        private Matches getMatches(final Edge edge) {
+            if (edgeSeeds.contains(ElementSeed.createSeed(edge))) {
+                return Matches.BOTH;
+            }
+
+            final boolean matchesSource = entityVertices.contains(edge.getSource());
+            final boolean matchesDestination = entityVertices.contains(edge.getDestination());
+            if (matchesSource) {
+                return matchesDestination ? Matches.BOTH : Matches.SOURCE;
+            }
+            return matchesDestination ? Matches.DESTINATION : Matches.NONE;
+        }
+    }
+}
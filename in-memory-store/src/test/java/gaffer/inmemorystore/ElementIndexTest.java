@@ -0,0 +1,257 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.inmemorystore;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.function.simple.aggregate.Sum;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class ElementIndexTest {
+    @Test
+    public void shouldIndexEdgesBySourceAndDestination() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        final Edge selfEdge = new Edge(TestGroups.EDGE, "A", "A", false);
+
+        // When
+        index.addElement(edge, null);
+        index.addElement(selfEdge, null);
+
+        // Then
+        assertEquals(Arrays.asList(edge, selfEdge), index.getEdges("A"));
+        assertEquals(Collections.singletonList(edge), index.getEdges("B"));
+        assertTrue(index.getEdges("C").isEmpty());
+        assertTrue(index.getEntities("A").isEmpty());
+    }
+
+    @Test
+    public void shouldIndexEntitiesByVertexAndElementsByGroup() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+
+        // When
+        index.addElement(entity, null);
+        index.addElement(edge, null);
+
+        // Then
+        assertEquals(Collections.singletonList(entity), index.getEntities("A"));
+        assertEquals(Collections.singletonList(entity), index.getElements(TestGroups.ENTITY));
+        assertEquals(Collections.singletonList(edge), index.getElements(TestGroups.EDGE));
+        assertEquals(2, index.getGroups().size());
+    }
+
+    @Test
+    public void shouldAggregateElementsWithSameIdentifiersWhenAggregatorProvided() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(TestPropertyNames.INT)
+                .execute(new Sum())
+                .build();
+        final Edge edge1 = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge1.putProperty(TestPropertyNames.INT, 1);
+        final Edge edge2 = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge2.putProperty(TestPropertyNames.INT, 2);
+        final Edge undirectedEdge = new Edge(TestGroups.EDGE, "A", "B", false);
+        undirectedEdge.putProperty(TestPropertyNames.INT, 4);
+
+        // When
+        index.addElement(edge1, aggregator);
+        index.addElement(edge2, aggregator);
+        index.addElement(undirectedEdge, aggregator);
+
+        // Then
+        assertEquals(2, index.getEdges("A").size());
+        assertEquals(3, index.getEdges("A").get(0).getProperty(TestPropertyNames.INT));
+        assertEquals(4, index.getEdges("A").get(1).getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldNotAggregateElementsWithoutAggregator() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+
+        // When
+        index.addElement(new Entity(TestGroups.ENTITY, "A"), null);
+        index.addElement(new Entity(TestGroups.ENTITY, "A"), null);
+
+        // Then
+        assertEquals(2, index.getEntities("A").size());
+    }
+
+    @Test
+    public void shouldOnlyAggregateElementsWithSameGroupByPropertyValues() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(TestPropertyNames.INT)
+                .execute(new Sum())
+                .build();
+        final Entity entity1 = new Entity(TestGroups.ENTITY, "A");
+        entity1.putProperty(TestPropertyNames.STRING, "x");
+        entity1.putProperty(TestPropertyNames.INT, 1);
+        final Entity entity2 = new Entity(TestGroups.ENTITY, "A");
+        entity2.putProperty(TestPropertyNames.STRING, "y");
+        entity2.putProperty(TestPropertyNames.INT, 2);
+        final Entity entity3 = new Entity(TestGroups.ENTITY, "A");
+        entity3.putProperty(TestPropertyNames.STRING, "x");
+        entity3.putProperty(TestPropertyNames.INT, 4);
+        final List<String> groupBy = Collections.singletonList(TestPropertyNames.STRING);
+
+        // When
+        index.addElement(entity1, aggregator, groupBy);
+        index.addElement(entity2, aggregator, groupBy);
+        index.addElement(entity3, aggregator, groupBy);
+
+        // Then
+        final List<Entity> entities = index.getEntities("A");
+        assertEquals(2, entities.size());
+        assertEquals("x", entities.get(0).getProperty(TestPropertyNames.STRING));
+        assertEquals(5, entities.get(0).getProperty(TestPropertyNames.INT));
+        assertEquals("y", entities.get(1).getProperty(TestPropertyNames.STRING));
+        assertEquals(2, entities.get(1).getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldNotAggregateGroupByPropertyValues() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(TestPropertyNames.INT)
+                .execute(new Sum())
+                .build();
+        final Entity entity1 = new Entity(TestGroups.ENTITY, "A");
+        entity1.putProperty(TestPropertyNames.INT, 1);
+        final Entity entity2 = new Entity(TestGroups.ENTITY, "A");
+        entity2.putProperty(TestPropertyNames.INT, 1);
+
+        // When
+        index.addElement(entity1, aggregator, Collections.singletonList(TestPropertyNames.INT));
+        index.addElement(entity2, aggregator, Collections.singletonList(TestPropertyNames.INT));
+
+        // Then
+        final List<Entity> entities = index.getEntities("A");
+        assertEquals(1, entities.size());
+        assertEquals(1, entities.get(0).getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldCopyElementAndItsProperties() {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "A", "B", true);
+        edge.putProperty(TestPropertyNames.INT, 1);
+
+        // When
+        final Edge copy = ElementIndex.copy(edge);
+        copy.putProperty(TestPropertyNames.INT, 2);
+
+        // Then
+        assertNotSame(edge, copy);
+        assertEquals("A", copy.getSource());
+        assertEquals("B", copy.getDestination());
+        assertTrue(copy.isDirected());
+        assertEquals(1, edge.getProperty(TestPropertyNames.INT));
+        assertEquals(2, copy.getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldReturnSnapshotsThatAreNotChangedByLaterAdditions() {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(TestPropertyNames.INT)
+                .execute(new Sum())
+                .build();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        entity.putProperty(TestPropertyNames.INT, 1);
+        index.addElement(entity, aggregator);
+        final List<Entity> entities = index.getEntities("A");
+
+        // When
+        final Entity entity2 = new Entity(TestGroups.ENTITY, "A");
+        entity2.putProperty(TestPropertyNames.INT, 2);
+        index.addElement(entity2, aggregator);
+        index.addElement(new Entity(TestGroups.ENTITY_2, "A"), null);
+        entities.get(0).putProperty(TestPropertyNames.INT, 10);
+
+        // Then
+        assertEquals(1, entities.size());
+        assertEquals(10, entities.get(0).getProperty(TestPropertyNames.INT));
+        assertEquals(2, index.getEntities("A").size());
+        assertEquals(3, index.getEntities("A").get(0).getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldAllowElementsToBeAddedWhilstOtherThreadsLookThemUp() throws Exception {
+        // Given
+        final ElementIndex index = new ElementIndex();
+        final ElementAggregator aggregator = new ElementAggregator.Builder()
+                .select(TestPropertyNames.INT)
+                .execute(new Sum())
+                .build();
+        final int numAdds = 1000;
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When
+        final Future<?> adds = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < numAdds; i++) {
+                    final Edge edge = new Edge(TestGroups.EDGE, "A", "B" + (i % 10), true);
+                    edge.putProperty(TestPropertyNames.INT, 1);
+                    index.addElement(edge, aggregator);
+                }
+            }
+        });
+        try {
+            while (!adds.isDone()) {
+                for (final Edge edge : index.getEdges("A")) {
+                    assertTrue((Integer) edge.getProperty(TestPropertyNames.INT) <= numAdds / 10);
+                }
+            }
+            adds.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        int total = 0;
+        for (final Edge edge : index.getEdges("A")) {
+            total += (Integer) edge.getProperty(TestPropertyNames.INT);
+        }
+        assertEquals(numAdds, total);
+    }
+}
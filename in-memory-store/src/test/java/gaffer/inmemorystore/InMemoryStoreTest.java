@@ -0,0 +1,192 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.inmemorystore;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.StreamUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.graph.Graph;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreTrait;
+import org.hamcrest.core.IsCollectionContaining;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryStoreTest {
+    @Test
+    public void shouldHaveAggregationAndFilteringTraits() {
+        // Given
+        final Graph graph = createGraph();
+
+        // Then
+        assertTrue(graph.hasTrait(StoreTrait.AGGREGATION));
+        assertTrue(graph.hasTrait(StoreTrait.FILTERING));
+        assertTrue(graph.hasTrait(StoreTrait.VALIDATION));
+    }
+
+    @Test
+    public void shouldAggregateIdenticalEdgesWhenAdded() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(new GetEdgesBySeed.Builder()
+                .addSeed(new EdgeSeed("B", "C", true))
+                .build()));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(2L, results.get(0).getProperty(TestPropertyNames.COUNT));
+        assertEquals(9, results.get(0).getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldNotAggregateEdgesWithDifferentDirections() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(new GetRelatedEdges.Builder()
+                .addSeed(new EntitySeed("C"))
+                .build()));
+
+        // Then
+        assertEquals(3, results.size());
+        assertThat(results, IsCollectionContaining.hasItems(
+                new Edge(TestGroups.EDGE, "B", "C", true),
+                new Edge(TestGroups.EDGE, "C", "B", true),
+                new Edge(TestGroups.EDGE, "C", "B", false)
+        ));
+    }
+
+    @Test
+    public void shouldGetRelatedElementsOnceEachWhenSeedsShareEdges() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetRelatedElements.Builder<>()
+                .addSeed(new EntitySeed("A"))
+                .addSeed(new EntitySeed("B"))
+                .addSeed(new EntitySeed("A"))
+                .build()));
+
+        // Then
+        assertEquals(6, results.size());
+        assertThat(results, IsCollectionContaining.hasItems(
+                new Entity(TestGroups.ENTITY, "A"),
+                new Entity(TestGroups.ENTITY, "B"),
+                new Edge(TestGroups.EDGE, "A", "B", true),
+                new Edge(TestGroups.EDGE, "B", "C", true),
+                new Edge(TestGroups.EDGE, "C", "B", true),
+                new Edge(TestGroups.EDGE, "C", "B", false)
+        ));
+    }
+
+    @Test
+    public void shouldGetOutgoingEdgesAndApplyFilter() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .property(TestPropertyNames.INT, Integer.class)
+                        .filter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.INT)
+                                .execute(new IsLessThan(7))
+                                .build())
+                        .build())
+                .build();
+        final GetRelatedEdges operation = new GetRelatedEdges.Builder()
+                .addSeed(new EntitySeed("C"))
+                .view(view)
+                .build();
+        operation.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.OUTGOING);
+
+        // When
+        final List<Edge> results = Lists.newArrayList(graph.execute(operation));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(new Edge(TestGroups.EDGE, "C", "B", true), results.get(0));
+    }
+
+    @Test
+    public void shouldGetAdjacentEntitySeeds() throws OperationException {
+        // Given
+        final Graph graph = createGraph();
+        addElementsToGraph(graph);
+        final GetAdjacentEntitySeeds operation = new GetAdjacentEntitySeeds.Builder()
+                .addSeed(new EntitySeed("A"))
+                .build();
+
+        // When
+        final List<EntitySeed> results = Lists.newArrayList(graph.execute(operation));
+
+        // Then
+        assertEquals(Arrays.asList(new EntitySeed("B")), results);
+    }
+
+    private Graph createGraph() {
+        return new Graph(StreamUtil.dataSchema(getClass()), StreamUtil.storeSchema(getClass()), StreamUtil.storeProps(getClass()));
+    }
+
+    private void addElementsToGraph(final Graph graph) throws OperationException {
+        graph.execute(new AddElements(Arrays.asList(
+                (Element) new Entity(TestGroups.ENTITY, "A"),
+                new Entity(TestGroups.ENTITY, "B"),
+                createEdge("A", "B", true, 1),
+                createEdge("B", "C", true, 4),
+                createEdge("B", "C", true, 5),
+                createEdge("C", "B", true, 6),
+                createEdge("C", "B", false, 7)
+        )));
+    }
+
+    private Edge createEdge(final String source, final String destination, final boolean directed, final int intProperty) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(TestPropertyNames.INT, intProperty);
+        edge.putProperty(TestPropertyNames.COUNT, 1L);
+        return edge;
+    }
+}
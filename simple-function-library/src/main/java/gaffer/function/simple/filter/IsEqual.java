@@ -15,16 +15,21 @@
  */
 package gaffer.function.simple.filter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import gaffer.function.RangeFilter;
 import gaffer.function.SimpleFilterFunction;
 import gaffer.function.annotation.Inputs;
 
 /**
  * An <code>IsEqual</code> is a {@link SimpleFilterFunction} that checks that the input object is
  * equal to a control value.
+ * <p>
+ * As a {@link RangeFilter} a {@link Comparable} control value is both the lower and upper bound of the accepted
+ * range. Other control values, including null, do not bound the range.
  */
 @Inputs(Object.class)
-public class IsEqual extends SimpleFilterFunction<Object> {
+public class IsEqual extends SimpleFilterFunction<Object> implements RangeFilter {
     private Object controlValue;
 
     public IsEqual() {
@@ -49,6 +54,34 @@ public class IsEqual extends SimpleFilterFunction<Object> {
         this.controlValue = controlValue;
     }
 
+    @JsonIgnore
+    @Override
+    public Comparable getLowerBound() {
+        return getComparableControlValue();
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isLowerBoundInclusive() {
+        return true;
+    }
+
+    @JsonIgnore
+    @Override
+    public Comparable getUpperBound() {
+        return getComparableControlValue();
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isUpperBoundInclusive() {
+        return true;
+    }
+
+    private Comparable getComparableControlValue() {
+        return controlValue instanceof Comparable ? (Comparable) controlValue : null;
+    }
+
     @Override
     protected boolean _isValid(final Object input) {
         if (null == controlValue) {
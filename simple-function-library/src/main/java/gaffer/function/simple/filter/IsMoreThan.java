@@ -15,8 +15,10 @@
  */
 package gaffer.function.simple.filter;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import gaffer.function.RangeFilter;
 import gaffer.function.SimpleFilterFunction;
 import gaffer.function.annotation.Inputs;
 
@@ -24,9 +26,11 @@ import gaffer.function.annotation.Inputs;
  * An <code>IsMoreThan</code> is a {@link SimpleFilterFunction} that checks that the input
  * {@link java.lang.Comparable} is more than a control value. There is also an orEqualTo flag that can be set to allow
  * the input value to be more than or equal to the control value.
+ * <p>
+ * As a {@link RangeFilter} the control value is the lower bound of the accepted range.
  */
 @Inputs(Comparable.class)
-public class IsMoreThan extends SimpleFilterFunction<Comparable> {
+public class IsMoreThan extends SimpleFilterFunction<Comparable> implements RangeFilter {
     private Comparable controlValue;
     private boolean orEqualTo;
 
@@ -68,6 +72,30 @@ public class IsMoreThan extends SimpleFilterFunction<Comparable> {
         return clone;
     }
 
+    @JsonIgnore
+    @Override
+    public Comparable getLowerBound() {
+        return controlValue;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isLowerBoundInclusive() {
+        return orEqualTo;
+    }
+
+    @JsonIgnore
+    @Override
+    public Comparable getUpperBound() {
+        return null;
+    }
+
+    @JsonIgnore
+    @Override
+    public boolean isUpperBoundInclusive() {
+        return true;
+    }
+
     @Override
     protected boolean _isValid(final Comparable input) {
         if (null == input
@@ -24,10 +24,33 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class IsEqualTest extends FilterFunctionTest {
 
+    @Test
+    public void shouldUseComparableControlValueAsBothBounds() {
+        // Given
+        final IsEqual filter = new IsEqual(5L);
+
+        // When / Then
+        assertEquals(5L, filter.getLowerBound());
+        assertTrue(filter.isLowerBoundInclusive());
+        assertEquals(5L, filter.getUpperBound());
+        assertTrue(filter.isUpperBoundInclusive());
+    }
+
+    @Test
+    public void shouldNotBoundRangeWhenControlValueIsNotComparable() {
+        // Given
+        final IsEqual filter = new IsEqual(new Object());
+
+        // When / Then
+        assertNull(filter.getLowerBound());
+        assertNull(filter.getUpperBound());
+    }
+
     @Test
     public void shouldAcceptTheTestValue() {
         final IsEqual filter = new IsEqual("test");
@@ -24,9 +24,21 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class IsLessThanTest extends FilterFunctionTest {
+    @Test
+    public void shouldUseControlValueAsUpperBound() {
+        // Given
+        final IsLessThan filter = new IsLessThan(5);
+
+        // When / Then
+        assertNull(filter.getLowerBound());
+        assertEquals(5, filter.getUpperBound());
+        assertFalse(filter.isUpperBoundInclusive());
+    }
+
     @Test
     public void shouldAcceptWhenLessThan() {
         // Given
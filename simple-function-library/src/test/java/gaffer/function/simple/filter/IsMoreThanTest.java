@@ -24,6 +24,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class IsMoreThanTest extends FilterFunctionTest {
@@ -63,6 +64,17 @@ public class IsMoreThanTest extends FilterFunctionTest {
         assertFalse(accepted);
     }
 
+    @Test
+    public void shouldUseControlValueAsLowerBound() {
+        // Given
+        final IsMoreThan filter = new IsMoreThan(5, true);
+
+        // When / Then
+        assertEquals(5, filter.getLowerBound());
+        assertTrue(filter.isLowerBoundInclusive());
+        assertNull(filter.getUpperBound());
+    }
+
     @Test
     public void shouldRejectTheValueWhenLessThan() {
         // Given
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.avro.reflect.ReflectData;
+import org.apache.avro.reflect.ReflectDatumReader;
+import org.apache.avro.reflect.ReflectDatumWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An <code>AvroDatumSerialiser</code> serialises objects of a single class as a bare Avro binary datum, using the
+ * schema Avro reflects from the class.
+ * <p>
+ * Unlike {@link AvroSerialiser}, which writes a complete Avro container file with a schema header and sync marker
+ * for every value, only the datum itself is written. The schema is not stored with the value, so it is fixed by the
+ * serialiser: create a subclass with a no-argument constructor for each property class and use that subclass as the
+ * property's serialiser in the store schema, e.g.
+ * <pre>
+ * public class MyPropertyAvroSerialiser extends AvroDatumSerialiser&lt;MyProperty&gt; {
+ *     public MyPropertyAvroSerialiser() {
+ *         super(MyProperty.class);
+ *     }
+ * }
+ * </pre>
+ * The datum readers and writers are created once per class and shared, and the encoders and decoders are reused
+ * by each thread, so serialising a value does not allocate any Avro objects. Changing the class of a property
+ * changes its schema, so values written before the change can no longer be read.
+ *
+ * @param <T> the class of the objects to serialise
+ */
+public abstract class AvroDatumSerialiser<T> extends AbstractBufferSerialisation {
+    private static final long serialVersionUID = 4803227593407209357L;
+
+    private static final ConcurrentMap<Class<?>, DatumWriter<Object>> WRITERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, DatumReader<Object>> READERS = new ConcurrentHashMap<>();
+
+    private static final ThreadLocal<EncoderHolder> ENCODERS = new ThreadLocal<EncoderHolder>() {
+        @Override
+        protected EncoderHolder initialValue() {
+            return new EncoderHolder();
+        }
+    };
+
+    private static final ThreadLocal<BinaryDecoder> DECODERS = new ThreadLocal<>();
+
+    private final Class<T> clazz;
+
+    protected AvroDatumSerialiser(final Class<T> clazz) {
+        if (null == clazz) {
+            throw new IllegalArgumentException("The class to serialise is required");
+        }
+        this.clazz = clazz;
+    }
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return this.clazz.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final ByteArrayBuffer buffer = ENCODERS.get().scratch;
+        buffer.reset();
+        serialise(object, buffer);
+        return buffer.toByteArray();
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        if (!clazz.isInstance(object)) {
+            throw new SerialisationException("Unable to serialise object of class: "
+                    + (null == object ? null : object.getClass().getName()) + ", expected: " + clazz.getName());
+        }
+
+        final EncoderHolder holder = ENCODERS.get();
+        holder.out.buffer = buffer;
+        try {
+            holder.encoder = EncoderFactory.get().directBinaryEncoder(holder.out, holder.encoder);
+            getWriter(clazz).write(object, holder.encoder);
+        } catch (final IOException | RuntimeException e) {
+            throw new SerialisationException("Unable to serialise given object of class: " + clazz.getName(), e);
+        } finally {
+            holder.out.buffer = null;
+        }
+    }
+
+    @Override
+    public T deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(bytes, offset, length, DECODERS.get());
+        DECODERS.set(decoder);
+        try {
+            return clazz.cast(getReader(clazz).read(null, decoder));
+        } catch (final IOException | RuntimeException e) {
+            throw new SerialisationException("Unable to deserialise object of class: " + clazz.getName(), e);
+        }
+    }
+
+    public Class<T> getSerialisedClass() {
+        return clazz;
+    }
+
+    private static DatumWriter<Object> getWriter(final Class<?> clazz) {
+        DatumWriter<Object> writer = WRITERS.get(clazz);
+        if (null == writer) {
+            writer = new ReflectDatumWriter<>(getSchema(clazz));
+            final DatumWriter<Object> existingWriter = WRITERS.putIfAbsent(clazz, writer);
+            if (null != existingWriter) {
+                writer = existingWriter;
+            }
+        }
+
+        return writer;
+    }
+
+    private static DatumReader<Object> getReader(final Class<?> clazz) {
+        DatumReader<Object> reader = READERS.get(clazz);
+        if (null == reader) {
+            reader = new ReflectDatumReader<>(getSchema(clazz));
+            final DatumReader<Object> existingReader = READERS.putIfAbsent(clazz, reader);
+            if (null != existingReader) {
+                reader = existingReader;
+            }
+        }
+
+        return reader;
+    }
+
+    private static Schema getSchema(final Class<?> clazz) {
+        return ReflectData.get().getSchema(clazz);
+    }
+
+    /**
+     * The encoder reused by a thread, along with the stream it writes to and a scratch buffer for serialising
+     * to a new byte array.
+     */
+    private static final class EncoderHolder {
+        private final ByteArrayBufferOutputStream out = new ByteArrayBufferOutputStream();
+        private final ByteArrayBuffer scratch = new ByteArrayBuffer();
+        private BinaryEncoder encoder;
+    }
+
+    /**
+     * An {@link OutputStream} that appends to whichever {@link ByteArrayBuffer} it is currently pointed at.
+     */
+    private static final class ByteArrayBufferOutputStream extends OutputStream {
+        private ByteArrayBuffer buffer;
+
+        @Override
+        public void write(final int b) {
+            buffer.append((byte) b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) {
+            buffer.append(bytes, offset, length);
+        }
+    }
+}
@@ -35,7 +35,9 @@ import java.io.IOException;
 import java.io.InputStream;
 
 /**
- * This class is used to serialise and deserialise avro files
+ * This class is used to serialise and deserialise avro files.
+ * Each value is written as a complete avro container file, including its schema, so values of any class can be
+ * deserialised. Where the class of a property is fixed, {@link AvroDatumSerialiser} writes much smaller values.
  */
 public class AvroSerialiser implements Serialisation {
 
@@ -16,12 +16,13 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 
 /**
  * This class is used to serialise and deserialise a boolean value
  */
-public class BooleanSerialiser implements Serialisation {
+public class BooleanSerialiser extends AbstractBufferSerialisation {
 
     private static final long serialVersionUID = -3964992157560886710L;
     private static final byte FALSE = (byte) 0;
@@ -31,8 +32,12 @@ public class BooleanSerialiser implements Serialisation {
         return new byte[]{Boolean.TRUE.equals(object) ? TRUE : FALSE};
     }
 
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return bytes.length == 1 && TRUE == bytes[0];
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.append(Boolean.TRUE.equals(object) ? TRUE : FALSE);
+    }
+
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return length == 1 && TRUE == bytes[offset];
     }
 
     public <T> T deserialise(final byte[] bytes, final Class<T> clazz) throws SerialisationException {
@@ -17,13 +17,14 @@ package gaffer.serialisation.simple;
 
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 
 import java.io.UnsupportedEncodingException;
 import java.util.Date;
 
-public class DateSerialiser implements Serialisation {
+public class DateSerialiser extends AbstractBufferSerialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
 
@@ -43,10 +44,15 @@ public class DateSerialiser implements Serialisation {
     }
 
     @Override
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.appendIsoLatin1(Long.toString(((Date) object).getTime()));
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         Long longR;
         try {
-             longR = Long.parseLong(new String(bytes, SimpleSerialisationConstants.ISO_8859_1_ENCODING).trim());
+             longR = Long.parseLong(new String(bytes, offset, length, SimpleSerialisationConstants.ISO_8859_1_ENCODING).trim());
         } catch (NumberFormatException | UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
@@ -17,10 +17,14 @@ package gaffer.serialisation.simple;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
-public class HyperLogLogPlusSerialiser implements Serialisation {
+public class HyperLogLogPlusSerialiser extends AbstractBufferSerialisation {
     private static final long serialVersionUID = 2782098698280905174L;
 
     @Override
@@ -37,10 +41,29 @@ public class HyperLogLogPlusSerialiser implements Serialisation {
         }
     }
 
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        // HyperLogLogPlus only exposes its serialised form as a new array, so it is copied into the buffer
+        buffer.append(serialise(object));
+    }
+
     @Override
     public HyperLogLogPlus deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public HyperLogLogPlus deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         try {
-            return HyperLogLogPlus.Builder.build(bytes);
+            // Sketches written by HyperLogLogPlus.getBytes() start with a negative format version and can be read
+            // straight from the range. The legacy format is re-read from the start of the array, so needs its own copy.
+            if (length > 0 && bytes[offset] < 0) {
+                return HyperLogLogPlus.Builder.build(new DataInputStream(new ByteArrayInputStream(bytes, offset, length)));
+            }
+            if (0 == offset && bytes.length == length) {
+                return HyperLogLogPlus.Builder.build(bytes);
+            }
+            return HyperLogLogPlus.Builder.build(Arrays.copyOfRange(bytes, offset, offset + length));
         } catch (IOException exception) {
             throw new RuntimeException("Failed to create HyperLogLogPlus sketch from given bytes", exception);
         }
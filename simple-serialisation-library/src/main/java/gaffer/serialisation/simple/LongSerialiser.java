@@ -16,12 +16,13 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 
 import java.io.UnsupportedEncodingException;
 
-public class LongSerialiser implements Serialisation {
+public class LongSerialiser extends AbstractBufferSerialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
 
@@ -41,9 +42,14 @@ public class LongSerialiser implements Serialisation {
     }
 
     @Override
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.appendIsoLatin1(((Long) object).toString());
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         try {
-            return Long.parseLong(new String(bytes, SimpleSerialisationConstants.ISO_8859_1_ENCODING).trim());
+            return Long.parseLong(new String(bytes, offset, length, SimpleSerialisationConstants.ISO_8859_1_ENCODING).trim());
         } catch (NumberFormatException | UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
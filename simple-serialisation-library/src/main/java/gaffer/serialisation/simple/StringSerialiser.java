@@ -16,14 +16,16 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 import gaffer.serialisation.simple.constants.SimpleSerialisationConstants;
 
 import java.io.UnsupportedEncodingException;
 
-public class StringSerialiser implements Serialisation {
+public class StringSerialiser extends AbstractBufferSerialisation {
 
     private static final long serialVersionUID = 5647756843689779437L;
+    private static final char MAX_ASCII_CHAR = '\u007F';
 
     @Override
     public boolean canHandle(final Class clazz) {
@@ -41,9 +43,29 @@ public class StringSerialiser implements Serialisation {
     }
 
     @Override
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        final String value = (String) object;
+        final int start = buffer.getLength();
+        final int len = value.length();
+        buffer.ensureCapacity(len);
+        final byte[] bytes = buffer.getBytes();
+        for (int i = 0; i < len; i++) {
+            final char c = value.charAt(i);
+            if (c > MAX_ASCII_CHAR) {
+                // ASCII is written directly, anything else is encoded by the JDK
+                buffer.setLength(start);
+                buffer.append(serialise(object));
+                return;
+            }
+            bytes[start + i] = (byte) c;
+        }
+        buffer.setLength(start + len);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
         try {
-            return new String(bytes, SimpleSerialisationConstants.UTF_8_ENCODING);
+            return new String(bytes, offset, length, SimpleSerialisationConstants.UTF_8_ENCODING);
         } catch (UnsupportedEncodingException e) {
             throw new SerialisationException(e.getMessage(), e);
         }
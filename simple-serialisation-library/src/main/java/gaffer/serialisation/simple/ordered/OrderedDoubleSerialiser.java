@@ -0,0 +1,68 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.OrderPreservingSerialisation;
+
+/**
+ * An <code>OrderedDoubleSerialiser</code> serialises {@link Double}s into a variable length form that sorts
+ * lexicographically in the same order as {@link Double#compare(double, double)}.
+ * <p>
+ * The bits of the double are transformed so they sort as an unsigned big-endian long, by flipping the sign bit of
+ * positive values and every bit of negative values. Trailing zero bytes are then dropped, which keeps the order and
+ * means values with short mantissas, such as small whole numbers, take fewer than 8 bytes.
+ */
+public class OrderedDoubleSerialiser extends AbstractBufferSerialisation implements OrderPreservingSerialisation {
+    private static final long serialVersionUID = -3196513719440916812L;
+    private static final int MAX_LENGTH = 8;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Double.class.equals(clazz);
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        final long bits = Double.doubleToLongBits((Double) object);
+        final long sortableBits = bits ^ ((bits >> 63) | Long.MIN_VALUE);
+        final int length = Math.max(1, MAX_LENGTH - Long.numberOfTrailingZeros(sortableBits) / 8);
+        buffer.ensureCapacity(length);
+        final byte[] bytes = buffer.getBytes();
+        final int offset = buffer.getLength();
+        for (int i = 0; i < length; i++) {
+            bytes[offset + i] = (byte) (sortableBits >> (56 - 8 * i));
+        }
+        buffer.setLength(offset + length);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        if (length < 1 || length > MAX_LENGTH) {
+            throw new SerialisationException("Invalid ordered double of length " + length);
+        }
+        long sortableBits = 0;
+        for (int i = 0; i < length; i++) {
+            sortableBits |= (bytes[offset + i] & 0xFFL) << (56 - 8 * i);
+        }
+        final long bits = sortableBits < 0 ? sortableBits ^ Long.MIN_VALUE : ~sortableBits;
+        return Double.longBitsToDouble(bits);
+    }
+}
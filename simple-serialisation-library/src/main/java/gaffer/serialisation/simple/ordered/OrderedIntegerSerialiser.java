@@ -0,0 +1,50 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.OrderPreservingSerialisation;
+
+/**
+ * An <code>OrderedIntegerSerialiser</code> serialises {@link Integer}s into a variable length form that sorts
+ * lexicographically in the same order as the values, using {@link OrderedVarLongUtils}.
+ */
+public class OrderedIntegerSerialiser extends AbstractBufferSerialisation implements OrderPreservingSerialisation {
+    private static final long serialVersionUID = -6218906361409187547L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Integer.class.equals(clazz);
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        OrderedVarLongUtils.write((Integer) object, buffer);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        final long value = OrderedVarLongUtils.read(bytes, offset, length);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new SerialisationException("Ordered value " + value + " is out of range for an Integer");
+        }
+        return (int) value;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
+import gaffer.serialisation.OrderPreservingSerialisation;
+
+/**
+ * An <code>OrderedLongSerialiser</code> serialises {@link Long}s into a variable length form that sorts
+ * lexicographically in the same order as the values, using {@link OrderedVarLongUtils}. Small values take fewer bytes
+ * than {@link gaffer.serialisation.simple.LongSerialiser} and, unlike it, values can be range-scanned in a sorted store.
+ */
+public class OrderedLongSerialiser extends AbstractBufferSerialisation implements OrderPreservingSerialisation {
+    private static final long serialVersionUID = 3457390253962442213L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Long.class.equals(clazz);
+    }
+
+    @Override
+    public void serialise(final Object object, final ByteArrayBuffer buffer) throws SerialisationException {
+        OrderedVarLongUtils.write((Long) object, buffer);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return OrderedVarLongUtils.read(bytes, offset, length);
+    }
+}
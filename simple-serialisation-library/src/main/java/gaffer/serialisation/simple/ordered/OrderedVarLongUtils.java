@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+
+/**
+ * Utility methods for writing longs in a variable length form that sorts lexicographically in the same order as the
+ * longs themselves.
+ * <p>
+ * A long is written as a single header byte followed by between 0 and 8 big-endian bytes. Non-negative values are
+ * written with the fewest bytes needed to hold them, and the header records how many bytes there are, so larger
+ * values have larger headers. Negative values are written with the fewest bytes needed to hold their complement, with
+ * headers below those of non-negative values that decrease as more bytes are needed. The header is never 0 or 1, so
+ * it never needs escaping when used in an Accumulo key.
+ */
+public final class OrderedVarLongUtils {
+    /**
+     * The largest number of bytes written for a long, including the header.
+     */
+    public static final int MAX_LENGTH = 9;
+
+    /**
+     * The header of the value 0. Non-negative values have the header ZERO_HEADER + number of bytes, negative values
+     * have the header ZERO_HEADER - 1 - number of bytes.
+     */
+    private static final int ZERO_HEADER = 11;
+
+    private OrderedVarLongUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * @param value the long to write
+     * @return the number of bytes that will be written for the long, including the header
+     */
+    public static int getLength(final long value) {
+        return 1 + getNumberOfBytes(value);
+    }
+
+    /**
+     * Appends the ordered variable length form of a long to a buffer.
+     *
+     * @param value  the long to write
+     * @param buffer the buffer to append to
+     */
+    public static void write(final long value, final ByteArrayBuffer buffer) {
+        final int numBytes = getNumberOfBytes(value);
+        buffer.ensureCapacity(1 + numBytes);
+        final byte[] bytes = buffer.getBytes();
+        int position = buffer.getLength();
+        bytes[position++] = (byte) (value < 0 ? ZERO_HEADER - 1 - numBytes : ZERO_HEADER + numBytes);
+        for (int shift = (numBytes - 1) * 8; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (value >> shift);
+        }
+        buffer.setLength(position);
+    }
+
+    /**
+     * Reads a long written by {@link #write(long, ByteArrayBuffer)}.
+     *
+     * @param bytes  the byte array containing the long
+     * @param offset the position of the header byte
+     * @param length the number of bytes written for the long, including the header
+     * @return the long
+     * @throws SerialisationException if the bytes do not hold a long written by this class
+     */
+    public static long read(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        if (length < 1) {
+            throw new SerialisationException("Cannot read an ordered long from an empty byte array");
+        }
+        final int header = bytes[offset] & 0xFF;
+        final boolean negative = header < ZERO_HEADER;
+        final int numBytes = negative ? ZERO_HEADER - 1 - header : header - ZERO_HEADER;
+        if (numBytes < 0 || numBytes > 8 || length != 1 + numBytes) {
+            throw new SerialisationException("Invalid ordered long of length " + length + " with header " + header);
+        }
+        long value = negative ? -1L : 0L;
+        for (int i = 1; i <= numBytes; i++) {
+            value = (value << 8) | (bytes[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static int getNumberOfBytes(final long value) {
+        final long magnitude = value < 0 ? ~value : value;
+        return (Long.SIZE - Long.numberOfLeadingZeros(magnitude) + 7) / 8;
+    }
+}
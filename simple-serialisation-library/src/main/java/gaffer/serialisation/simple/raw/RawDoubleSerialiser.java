@@ -17,15 +17,17 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 
 /**
  * RawDoubleSerialiser serialises Doubles into an IEEE floating point little-endian byte array.
  * It's significantly faster than {@link gaffer.serialisation.simple.DoubleSerialiser}, but potentially
  * uses much more space.
  */
-public class RawDoubleSerialiser implements Serialisation {
+public class RawDoubleSerialiser extends AbstractBufferSerialisation {
     private static final long serialVersionUID = 1568251281744704278L;
+    private static final int LENGTH = 8;
 
     @Override
     public boolean canHandle(final Class clazz) {
@@ -34,28 +36,39 @@ public class RawDoubleSerialiser implements Serialisation {
 
     @Override
     public byte[] serialise(final Object o) throws SerialisationException {
-        final byte[] out = new byte[8];
-        final long value = Double.doubleToRawLongBits((Double) o);
-        out[0] = (byte) ((int) (value & 255));
-        out[1] = (byte) ((int) (value >> 8) & 255);
-        out[2] = (byte) ((int) (value >> 16) & 255);
-        out[3] = (byte) ((int) (value >> 24) & 255);
-        out[4] = (byte) ((int) (value >> 32) & 255);
-        out[5] = (byte) ((int) (value >> 40) & 255);
-        out[6] = (byte) ((int) (value >> 48) & 255);
-        out[7] = (byte) ((int) (value >> 56) & 255);
+        final byte[] out = new byte[LENGTH];
+        write(o, out, 0);
         return out;
     }
 
     @Override
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return Double.longBitsToDouble((long) bytes[0] & 255L
-                | ((long) bytes[1] & 255L) << 8
-                | ((long) bytes[2] & 255L) << 16
-                | ((long) bytes[3] & 255L) << 24
-                | ((long) bytes[4] & 255L) << 32
-                | ((long) bytes[5] & 255L) << 40
-                | ((long) bytes[6] & 255L) << 48
-                | ((long) bytes[7] & 255L) << 56);
+    public void serialise(final Object o, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.ensureCapacity(LENGTH);
+        write(o, buffer.getBytes(), buffer.getLength());
+        buffer.setLength(buffer.getLength() + LENGTH);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return Double.longBitsToDouble((long) bytes[offset] & 255L
+                | ((long) bytes[offset + 1] & 255L) << 8
+                | ((long) bytes[offset + 2] & 255L) << 16
+                | ((long) bytes[offset + 3] & 255L) << 24
+                | ((long) bytes[offset + 4] & 255L) << 32
+                | ((long) bytes[offset + 5] & 255L) << 40
+                | ((long) bytes[offset + 6] & 255L) << 48
+                | ((long) bytes[offset + 7] & 255L) << 56);
+    }
+
+    private static void write(final Object o, final byte[] out, final int offset) {
+        final long value = Double.doubleToRawLongBits((Double) o);
+        out[offset] = (byte) ((int) (value & 255));
+        out[offset + 1] = (byte) ((int) (value >> 8) & 255);
+        out[offset + 2] = (byte) ((int) (value >> 16) & 255);
+        out[offset + 3] = (byte) ((int) (value >> 24) & 255);
+        out[offset + 4] = (byte) ((int) (value >> 32) & 255);
+        out[offset + 5] = (byte) ((int) (value >> 40) & 255);
+        out[offset + 6] = (byte) ((int) (value >> 48) & 255);
+        out[offset + 7] = (byte) ((int) (value >> 56) & 255);
     }
 }
@@ -17,15 +17,17 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
-import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.AbstractBufferSerialisation;
+import gaffer.serialisation.ByteArrayBuffer;
 
 /**
  * RawIntegerSerialiser serialises Integers into a little-endian byte array.
  * It's significantly faster than {@link gaffer.serialisation.simple.IntegerSerialiser}, but potentially
  * uses much more space.
  */
-public class RawIntegerSerialiser implements Serialisation {
+public class RawIntegerSerialiser extends AbstractBufferSerialisation {
     private static final long serialVersionUID = -8344193425875811395L;
+    private static final int LENGTH = 4;
 
     @Override
     public boolean canHandle(final Class clazz) {
@@ -34,20 +36,31 @@ public class RawIntegerSerialiser implements Serialisation {
 
     @Override
     public byte[] serialise(final Object o) throws SerialisationException {
-        final byte[] out = new byte[4];
-        final int value = (Integer) o;
-        out[0] = (byte) ((int) (value & 255));
-        out[1] = (byte) ((value >> 8) & 255);
-        out[2] = (byte) ((value >> 16) & 255);
-        out[3] = (byte) ((value >> 24) & 255);
+        final byte[] out = new byte[LENGTH];
+        write(o, out, 0);
         return out;
     }
 
     @Override
-    public Object deserialise(final byte[] bytes) throws SerialisationException {
-        return (int) ((int) bytes[0] & 255L
-                | ((int) bytes[1] & 255L) << 8
-                | ((int) bytes[2] & 255L) << 16
-                | ((int) bytes[3] & 255L) << 24);
+    public void serialise(final Object o, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.ensureCapacity(LENGTH);
+        write(o, buffer.getBytes(), buffer.getLength());
+        buffer.setLength(buffer.getLength() + LENGTH);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+        return (int) ((int) bytes[offset] & 255L
+                | ((int) bytes[offset + 1] & 255L) << 8
+                | ((int) bytes[offset + 2] & 255L) << 16
+                | ((int) bytes[offset + 3] & 255L) << 24);
+    }
+
+    private static void write(final Object o, final byte[] out, final int offset) {
+        final int value = (Integer) o;
+        out[offset] = (byte) ((int) (value & 255));
+        out[offset + 1] = (byte) ((value >> 8) & 255);
+        out[offset + 2] = (byte) ((value >> 16) & 255);
+        out[offset + 3] = (byte) ((value >> 24) & 255);
     }
 }
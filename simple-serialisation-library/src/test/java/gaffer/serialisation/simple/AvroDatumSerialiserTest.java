@@ -0,0 +1,160 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AvroDatumSerialiserTest {
+
+    private static final TestRecordSerialiser SERIALISER = new TestRecordSerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws SerialisationException {
+        // Given
+        final TestRecord record = new TestRecord("test", 5L);
+
+        // When
+        final byte[] bytes = SERIALISER.serialise(record);
+        final TestRecord result = (TestRecord) SERIALISER.deserialise(bytes);
+
+        // Then
+        assertEquals(record, result);
+    }
+
+    @Test
+    public void shouldWriteSmallerValuesThanContainerFileSerialiser() throws SerialisationException {
+        // Given
+        final TestRecord record = new TestRecord("test", 5L);
+
+        // When
+        final byte[] datumBytes = SERIALISER.serialise(record);
+        final byte[] containerBytes = new AvroSerialiser().serialise(record);
+
+        // Then
+        assertTrue(datumBytes.length < containerBytes.length / 10);
+    }
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseFromRange() throws SerialisationException {
+        // Given
+        final TestRecord first = new TestRecord("first", 1L);
+        final TestRecord second = new TestRecord("second", Long.MAX_VALUE);
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+        // When
+        SERIALISER.serialise(first, buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(second, buffer);
+
+        // Then
+        assertEquals(first, SERIALISER.deserialise(buffer.getBytes(), 0, end));
+        assertEquals(second, SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end));
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldNotSerialiseObjectOfOtherClass() throws SerialisationException {
+        // When / Then
+        SERIALISER.serialise("not a test record");
+    }
+
+    @Test
+    public void shouldOnlyHandleSerialisedClass() {
+        // When / Then
+        assertTrue(SERIALISER.canHandle(TestRecord.class));
+        assertFalse(SERIALISER.canHandle(String.class));
+        assertEquals(TestRecord.class, SERIALISER.getSerialisedClass());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseFromMultipleThreads() throws Exception {
+        // Given
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<Boolean>> results = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            final int thread = i;
+            results.add(executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws SerialisationException {
+                    for (long j = 0; j < 1000; j++) {
+                        final TestRecord record = new TestRecord("thread" + thread, j);
+                        if (!record.equals(SERIALISER.deserialise(SERIALISER.serialise(record)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }
+            }));
+        }
+        executor.shutdown();
+
+        // Then
+        for (final Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+    }
+
+    public static class TestRecordSerialiser extends AvroDatumSerialiser<TestRecord> {
+        private static final long serialVersionUID = 1L;
+
+        public TestRecordSerialiser() {
+            super(TestRecord.class);
+        }
+    }
+
+    public static class TestRecord {
+        private String name;
+        private long count;
+
+        public TestRecord() {
+        }
+
+        public TestRecord(final String name, final long count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof TestRecord)) {
+                return false;
+            }
+            final TestRecord other = (TestRecord) obj;
+            return count == other.count && (null == name ? null == other.name : name.equals(other.name));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (null == name ? 0 : name.hashCode()) + (int) count;
+        }
+    }
+}
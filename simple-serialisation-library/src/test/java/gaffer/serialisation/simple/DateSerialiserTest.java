@@ -16,10 +16,13 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 
+import java.util.Arrays;
 import java.util.Date;
 import org.junit.Test;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -56,4 +59,19 @@ public class DateSerialiserTest {
         assertTrue(SERIALISER.canHandle(Date.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSerialiseIntoBufferTheSameBytesAsIntoAnArray() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+        // When
+        SERIALISER.serialise(new Date(123L), buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(new Date(-4500000000L), buffer);
+
+        // Then
+        assertArrayEquals(SERIALISER.serialise(new Date(123L)), Arrays.copyOf(buffer.getBytes(), end));
+        assertEquals(new Date(123L), SERIALISER.deserialise(buffer.getBytes(), 0, end));
+        assertEquals(new Date(-4500000000L), SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end));
+    }
+}
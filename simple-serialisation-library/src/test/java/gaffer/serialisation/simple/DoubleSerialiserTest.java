@@ -16,8 +16,12 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -62,4 +66,19 @@ public class DoubleSerialiserTest {
         assertTrue(SERIALISER.canHandle(Double.class));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSerialiseIntoBufferTheSameBytesAsIntoAnArray() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+        // When
+        SERIALISER.serialise(1.5, buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(-2.25E-10, buffer);
+
+        // Then
+        assertArrayEquals(SERIALISER.serialise(1.5), Arrays.copyOf(buffer.getBytes(), end));
+        assertEquals(1.5, SERIALISER.deserialise(buffer.getBytes(), 0, end));
+        assertEquals(-2.25E-10, SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end));
+    }
+}
@@ -17,6 +17,7 @@ package gaffer.serialisation.simple;
 
 import com.clearspring.analytics.stream.cardinality.HyperLogLogPlus;
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -79,4 +80,21 @@ public class HyperLogLogPlusSerialiserTest {
     public void testCanHandleHyperLogLogPlus() {
         assertTrue(hyperLogLogPlusSerialiser.canHandle(HyperLogLogPlus.class));
     }
+
+    @Test
+    public void shouldDeserialiseFromRangeOfLargerArray() throws SerialisationException {
+        // Given
+        final HyperLogLogPlus hyperLogLogPlus = new HyperLogLogPlus(5, 5);
+        hyperLogLogPlus.offer("A");
+        hyperLogLogPlus.offer("B");
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.append(new byte[]{1, 2, 3});
+        hyperLogLogPlusSerialiser.serialise(hyperLogLogPlus, buffer);
+
+        // When
+        final HyperLogLogPlus deserialised = hyperLogLogPlusSerialiser.deserialise(buffer.getBytes(), 3, buffer.getLength() - 3);
+
+        // Then
+        assertEquals(hyperLogLogPlus.cardinality(), deserialised.cardinality());
+    }
 }
@@ -16,6 +16,7 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
@@ -62,4 +63,21 @@ public class IntegerSerialiserTest {
         assertTrue(SERIALISER.canHandle(Integer.class));
     }
 
-}
\ No newline at end of file
+
+    @Test
+    public void shouldDeserialiseFromRangeOfLargerArray() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        SERIALISER.serialise(123, buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(-45, buffer);
+
+        // When
+        final Object first = SERIALISER.deserialise(buffer.getBytes(), 0, end);
+        final Object second = SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end);
+
+        // Then
+        assertEquals(123, first);
+        assertEquals(-45, second);
+    }
+}
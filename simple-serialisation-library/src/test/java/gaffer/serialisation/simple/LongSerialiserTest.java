@@ -16,8 +16,12 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -61,4 +65,20 @@ public class LongSerialiserTest {
     public void canSerialiseLongClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSerialiseIntoBufferTheSameBytesAsIntoAnArray() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+        // When
+        SERIALISER.serialise(123L, buffer);
+        final int end = buffer.getLength();
+        SERIALISER.serialise(-4500000000L, buffer);
+
+        // Then
+        assertArrayEquals(SERIALISER.serialise(123L), Arrays.copyOf(buffer.getBytes(), end));
+        assertEquals(123L, SERIALISER.deserialise(buffer.getBytes(), 0, end));
+        assertEquals(-4500000000L, SERIALISER.deserialise(buffer.getBytes(), end, buffer.getLength() - end));
+    }
+}
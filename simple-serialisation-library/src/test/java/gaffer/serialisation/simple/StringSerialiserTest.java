@@ -16,8 +16,12 @@
 package gaffer.serialisation.simple;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -47,4 +51,21 @@ public class StringSerialiserTest {
     public void canSerialiseStringClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(String.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSerialiseIntoBufferAfterExistingBytes() throws SerialisationException {
+        for (final String value : new String[]{"", "abc", "ab\u00E9c\u20AC", "\uD83D\uDE00x"}) {
+            // Given
+            final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+            buffer.append((byte) 7);
+
+            // When
+            SERIALISER.serialise(value, buffer);
+
+            // Then
+            assertEquals(7, buffer.getBytes()[0]);
+            assertArrayEquals(SERIALISER.serialise(value), Arrays.copyOfRange(buffer.getBytes(), 1, buffer.getLength()));
+            assertEquals(value, SERIALISER.deserialise(buffer.getBytes(), 1, buffer.getLength() - 1));
+        }
+    }
+}
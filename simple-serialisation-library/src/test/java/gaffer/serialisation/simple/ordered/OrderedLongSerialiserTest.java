@@ -0,0 +1,113 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedLongSerialiserTest {
+
+    private static final OrderedLongSerialiser SERIALISER = new OrderedLongSerialiser();
+
+    // Values in ascending order
+    private static final Long[] VALUES = {Long.MIN_VALUE, -4294967296L, -65537L, -256L, -255L, -2L, -1L, 0L, 1L, 255L, 256L, 65536L, 4294967296L, Long.MAX_VALUE};
+
+    @Test
+    public void shouldSerialiseAndDeserialiseValues() throws SerialisationException {
+        for (final Long value : VALUES) {
+            // When
+            final Object result = SERIALISER.deserialise(SERIALISER.serialise(value));
+
+            // Then
+            assertEquals(Long.class, result.getClass());
+            assertEquals(value, result);
+        }
+    }
+
+    @Test
+    public void shouldSerialiseValuesInOrder() throws SerialisationException {
+        for (int i = 1; i < VALUES.length; i++) {
+            // When
+            final byte[] previous = SERIALISER.serialise(VALUES[i - 1]);
+            final byte[] current = SERIALISER.serialise(VALUES[i]);
+
+            // Then
+            assertTrue(VALUES[i - 1] + " should sort before " + VALUES[i], compareUnsigned(previous, current) < 0);
+        }
+    }
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseFromRange() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.append((byte) 9);
+        final int firstLength = SERIALISER.serialise(VALUES[0]).length;
+
+        // When
+        SERIALISER.serialise(VALUES[0], buffer);
+        SERIALISER.serialise(VALUES[VALUES.length - 1], buffer);
+
+        // Then
+        assertEquals(VALUES[0], SERIALISER.deserialise(buffer.getBytes(), 1, firstLength));
+        assertEquals(VALUES[VALUES.length - 1],
+                SERIALISER.deserialise(buffer.getBytes(), 1 + firstLength, buffer.getLength() - 1 - firstLength));
+    }
+
+    @Test
+    public void shouldSerialiseSmallValuesCompactly() throws SerialisationException {
+        assertEquals(1, SERIALISER.serialise(0L).length);
+        assertEquals(1, SERIALISER.serialise(-1L).length);
+        assertEquals(2, SERIALISER.serialise(100L).length);
+        assertEquals(3, SERIALISER.serialise(-1000L).length);
+        assertEquals(OrderedVarLongUtils.MAX_LENGTH, SERIALISER.serialise(Long.MIN_VALUE).length);
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionIfLengthDoesNotMatchHeader() throws SerialisationException {
+        // Given
+        final byte[] bytes = SERIALISER.serialise(65536L);
+
+        // When
+        SERIALISER.deserialise(bytes, 0, bytes.length - 1);
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseLongClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Long.class));
+    }
+
+    private static int compareUnsigned(final byte[] first, final byte[] second) {
+        for (int i = 0; i < first.length && i < second.length; i++) {
+            final int diff = (first[i] & 0xFF) - (second[i] & 0xFF);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return first.length - second.length;
+    }
+}
@@ -16,8 +16,12 @@
 package gaffer.serialisation.simple.raw;
 
 import gaffer.exception.SerialisationException;
+import gaffer.serialisation.ByteArrayBuffer;
 import org.junit.Test;
 
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
@@ -61,4 +65,21 @@ public class RawLongSerialiserTest {
     public void canSerialiseLongClass() throws SerialisationException {
         assertTrue(SERIALISER.canHandle(Long.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseFromRange() throws SerialisationException {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.append((byte) 9);
+
+        // When
+        SERIALISER.serialise(Long.MIN_VALUE, buffer);
+        SERIALISER.serialise(123456789L, buffer);
+
+        // Then
+        assertEquals(17, buffer.getLength());
+        assertEquals(Long.MIN_VALUE, SERIALISER.deserialise(buffer.getBytes(), 1, 8));
+        assertEquals(123456789L, SERIALISER.deserialise(buffer.getBytes(), 9, 8));
+        assertArrayEquals(SERIALISER.serialise(123456789L), Arrays.copyOfRange(buffer.getBytes(), 9, 17));
+    }
+}